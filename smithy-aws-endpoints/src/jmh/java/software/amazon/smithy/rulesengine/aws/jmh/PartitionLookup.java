@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.aws.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.rulesengine.aws.language.functions.AwsPartition;
+
+/**
+ * Measures finding the partition of known regions, unknown regions that are resolved repeatedly, and unknown
+ * regions that are each resolved once.
+ *
+ * <p>Each invocation resolves a batch of regions spread over every partition.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class PartitionLookup {
+
+    private static final String[] PREFIXES = {"us", "eu", "ap", "us-gov", "cn", "us-iso", "us-isob", "eusc-de"};
+
+    @State(Scope.Thread)
+    public static class PartitionLookupState {
+        public List<String> knownRegions = new ArrayList<>();
+        public List<String> unknownRegions = new ArrayList<>();
+
+        // Enough distinct unknown regions that they're evicted from the cache before they're seen again.
+        public String[] distinctUnknownRegions = new String[1 << 16];
+        public int next;
+
+        @Setup
+        public void prepare() {
+            knownRegions.add("us-east-1");
+            knownRegions.add("eu-west-1");
+            knownRegions.add("ap-southeast-2");
+            knownRegions.add("us-gov-west-1");
+            knownRegions.add("cn-north-1");
+            knownRegions.add("us-iso-east-1");
+            knownRegions.add("us-isob-east-1");
+            knownRegions.add("eusc-de-east-1");
+
+            for (String prefix : PREFIXES) {
+                unknownRegions.add(prefix + "-future-9");
+            }
+            unknownRegions.add("not-a-region");
+
+            for (int i = 0; i < distinctUnknownRegions.length; i++) {
+                distinctUnknownRegions[i] = PREFIXES[i % PREFIXES.length] + "-future-" + i;
+            }
+        }
+    }
+
+    @Benchmark
+    public void knownRegions(PartitionLookupState state, Blackhole blackhole) {
+        for (String region : state.knownRegions) {
+            blackhole.consume(AwsPartition.findPartition(region));
+        }
+    }
+
+    @Benchmark
+    public void repeatedUnknownRegions(PartitionLookupState state, Blackhole blackhole) {
+        for (String region : state.unknownRegions) {
+            blackhole.consume(AwsPartition.findPartition(region));
+        }
+    }
+
+    @Benchmark
+    public void distinctUnknownRegions(PartitionLookupState state, Blackhole blackhole) {
+        String[] regions = state.distinctUnknownRegions;
+        for (int i = 0; i < PREFIXES.length; i++) {
+            blackhole.consume(AwsPartition.findPartition(regions[state.next]));
+            state.next = (state.next + 1) & (regions.length - 1);
+        }
+    }
+}
@@ -54,7 +54,7 @@ public final class AwsPartition extends LibraryFunction {
     // the `evaluate` method below.
     private static final List<Partition> PARTITIONS = new ArrayList<>();
     private static final Map<String, Partition> REGION_MAP = new HashMap<>();
-    private static Partition AWS_PARTITION;
+    private static PartitionMatcher MATCHER;
 
     static {
         // Use the override if present in the environment. Ignore an empty string value.
@@ -96,15 +96,17 @@ public final class AwsPartition extends LibraryFunction {
 
     private static void initializeRegionMap() {
         REGION_MAP.clear();
-        AWS_PARTITION = null;
+        Partition awsPartition = null;
         for (Partition partition : PARTITIONS) {
             if (partition.getId().equals("aws")) {
-                AWS_PARTITION = partition;
+                awsPartition = partition;
             }
             for (String region : partition.getRegions().keySet()) {
                 REGION_MAP.put(region, partition);
             }
         }
+        // Unknown regions default to the `aws` partition if present, or null if not.
+        MATCHER = new PartitionMatcher(PARTITIONS, awsPartition);
     }
 
     /**
@@ -224,14 +226,7 @@ public final class AwsPartition extends LibraryFunction {
             return matchedPartition;
         }
 
-        // Try matching on region name pattern
-        for (Partition partition : PARTITIONS) {
-            if (partition.getCompiledRegionRegex().matcher(regionName).matches()) {
-                return partition;
-            }
-        }
-
-        // Default to the `aws` partition if present, or null if not.
-        return AWS_PARTITION;
+        // Try matching on region name pattern, defaulting to the `aws` partition.
+        return MATCHER.match(regionName);
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.aws.language.functions;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.Partition;
+
+/**
+ * Matches region names that aren't enumerated by a partition against the region patterns of each partition.
+ *
+ * <p>The literal prefix required by each pattern is found up front, like {@code us-gov-} in
+ * {@code ^us\-gov\-\w+\-\d+$}, and a pattern is only run against regions that start with its prefix. Partitions
+ * are still tried in order, so the first partition whose pattern matches the whole region is returned. Results are
+ * kept in a bounded cache, since the same unknown regions tend to be resolved over and over.
+ */
+final class PartitionMatcher {
+
+    // The cache is cleared when it's full rather than tracking usage, which keeps lookups lock-free.
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private final Partition[] partitions;
+    private final String[] prefixes;
+    private final Partition defaultPartition;
+    private final ConcurrentMap<String, Partition> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param partitions Partitions to match, in priority order.
+     * @param defaultPartition Partition to use when no pattern matches, or null.
+     */
+    PartitionMatcher(List<Partition> partitions, Partition defaultPartition) {
+        this.partitions = partitions.toArray(new Partition[0]);
+        this.defaultPartition = defaultPartition;
+        prefixes = new String[this.partitions.length];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = parsePrefix(this.partitions[i].getRegionRegex());
+        }
+    }
+
+    /**
+     * Finds the partition of a region based on its name.
+     *
+     * @param regionName Name of the region to match.
+     * @return the first partition with a matching pattern, the default partition, or null.
+     */
+    Partition match(String regionName) {
+        Partition result = cache.get(regionName);
+        if (result == null) {
+            result = find(regionName);
+            if (result != null) {
+                if (cache.size() >= MAX_CACHE_SIZE) {
+                    cache.clear();
+                }
+                cache.put(regionName, result);
+            }
+        }
+        return result;
+    }
+
+    private Partition find(String regionName) {
+        for (int i = 0; i < partitions.length; i++) {
+            if (regionName.startsWith(prefixes[i])
+                    && partitions[i].getCompiledRegionRegex().matcher(regionName).matches()) {
+                return partitions[i];
+            }
+        }
+        return defaultPartition;
+    }
+
+    // Returns the literal prefix of every string matched by the pattern, or an empty string if there isn't one.
+    // Patterns are matched against the entire region, so a leading "^" doesn't change the prefix.
+    private static String parsePrefix(String regex) {
+        if (regex == null || hasTopLevelAlternation(regex)) {
+            return "";
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (int i = regex.startsWith("^") ? 1 : 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                // Escaped punctuation is literal, but escaped letters and digits are classes, quotes, etc.
+                if (i + 1 == regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    break;
+                }
+                c = regex.charAt(++i);
+            } else if ("^$.|?*+{}()[]".indexOf(c) >= 0) {
+                break;
+            }
+
+            // A character followed by a quantifier is optional or repeated, so it isn't part of the prefix.
+            if (i + 1 < regex.length() && "?*+{".indexOf(regex.charAt(i + 1)) >= 0) {
+                break;
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    // Finds a "|" that isn't in a group or character class, which would let the pattern match without the prefix.
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                // \Q quotes everything up to \E, and may contain unbalanced characters.
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+                    int end = regex.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        return false;
+                    }
+                    i = end + 1;
+                } else {
+                    i++;
+                }
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
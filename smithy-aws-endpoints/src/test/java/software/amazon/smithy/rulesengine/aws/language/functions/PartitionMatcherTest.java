@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.aws.language.functions;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.Partition;
+
+public class PartitionMatcherTest {
+    private static final Partition AWS = partition("aws", "^(us|eu|ap)\\-\\w+\\-\\d+$");
+    private static final Partition GOV = partition("aws-us-gov", "^us\\-gov\\-\\w+\\-\\d+$");
+    private static final Partition EUSC = partition("aws-eusc", "^eusc\\-(de)\\-\\w+\\-\\d+$");
+    private static final Partition CN = partition("aws-cn", "^cn\\-\\w+\\-\\d+$");
+
+    @Test
+    public void matchesFirstPartitionWithMatchingPattern() {
+        PartitionMatcher matcher = new PartitionMatcher(Arrays.asList(AWS, GOV, EUSC, CN), AWS);
+
+        assertSame(GOV, matcher.match("us-gov-west-9"));
+        assertSame(AWS, matcher.match("eu-west-9"));
+        assertSame(EUSC, matcher.match("eusc-de-east-3"));
+        assertSame(CN, matcher.match("cn-north-7"));
+    }
+
+    @Test
+    public void earlierPartitionsTakePrecedence() {
+        Partition any = partition("any", "^.+$");
+
+        assertSame(CN, new PartitionMatcher(Arrays.asList(CN, any), null).match("cn-north-7"));
+        assertSame(any, new PartitionMatcher(Arrays.asList(any, CN), null).match("cn-north-7"));
+    }
+
+    @Test
+    public void usesDefaultWhenNoPatternMatches() {
+        PartitionMatcher matcher = new PartitionMatcher(Arrays.asList(GOV, CN), AWS);
+
+        assertSame(AWS, matcher.match("mars-east-1"));
+        assertSame(AWS, matcher.match("mars-east-1"));
+        assertNull(new PartitionMatcher(Arrays.asList(GOV, CN), null).match("mars-east-1"));
+    }
+
+    @Test
+    public void onlyUsesRequiredCharactersAsPrefix() {
+        Partition optional = partition("optional", "^ab?c\\-\\d+$");
+        Partition alternation = partition("alternation", "^cn\\-\\d+|x\\-\\d+");
+        Partition quoted = partition("quoted", "^\\Q(|)\\E\\d+$");
+        PartitionMatcher matcher = new PartitionMatcher(Arrays.asList(optional, alternation, quoted), null);
+
+        assertSame(optional, matcher.match("ac-1"));
+        assertSame(optional, matcher.match("abc-1"));
+        assertSame(alternation, matcher.match("cn-1"));
+        assertSame(alternation, matcher.match("x-1"));
+        assertSame(quoted, matcher.match("(|)1"));
+        assertNull(matcher.match("bc-1"));
+    }
+
+    @Test
+    public void matchesAfterCacheIsCleared() {
+        PartitionMatcher matcher = new PartitionMatcher(Collections.singletonList(CN), AWS);
+
+        for (int i = 0; i < 3000; i++) {
+            assertSame(CN, matcher.match("cn-region-" + i));
+        }
+        assertSame(CN, matcher.match("cn-region-0"));
+    }
+
+    private static Partition partition(String id, String regionRegex) {
+        return Partition.builder().id(id).regionRegex(regionRegex).build();
+    }
+}
@@ -4,6 +4,7 @@
  */
 package software.amazon.smithy.build;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -23,6 +24,7 @@ public final class ProjectionResult {
     private final Map<String, FileManifest> pluginManifests;
     private final FileManifest sharedFileManifest;
     private final List<ValidationEvent> events;
+    private final Duration duration;
 
     private ProjectionResult(Builder builder) {
         this.projectionName = SmithyBuilder.requiredState("projectionName", builder.projectionName);
@@ -30,6 +32,7 @@ public final class ProjectionResult {
         this.events = builder.events.copy();
         this.pluginManifests = builder.pluginManifests.copy();
         this.sharedFileManifest = builder.sharedFileManifest;
+        this.duration = builder.duration;
     }
 
     /**
@@ -122,6 +125,16 @@ public final class ProjectionResult {
         return sharedFileManifest;
     }
 
+    /**
+     * Gets how long it took to create the projection, including applying
+     * transforms, validating the projected model, and running plugins.
+     *
+     * @return Returns the duration of the projection, or zero if it wasn't measured.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
     /**
      * Builds up a {@link ProjectionResult}.
      */
@@ -131,6 +144,7 @@ public final class ProjectionResult {
         private final BuilderRef<Map<String, FileManifest>> pluginManifests = BuilderRef.forUnorderedMap();
         private FileManifest sharedFileManifest;
         private final BuilderRef<List<ValidationEvent>> events = BuilderRef.forList();
+        private Duration duration = Duration.ZERO;
 
         @Override
         public ProjectionResult build() {
@@ -207,5 +221,16 @@ public final class ProjectionResult {
             events.forEach(this::addEvent);
             return this;
         }
+
+        /**
+         * Sets how long it took to create the projection.
+         *
+         * @param duration Duration of the projection.
+         * @return Returns the builder.
+         */
+        public Builder duration(Duration duration) {
+            this.duration = Objects.requireNonNull(duration);
+            return this;
+        }
     }
 }
@@ -9,8 +9,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.function.Function;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
@@ -45,6 +48,25 @@ public interface ProjectionTransformer {
         return ListUtils.of();
     }
 
+    /**
+     * Gets the shapes that the transformer removes from the model, if
+     * removing shapes is all that the transformer does.
+     *
+     * <p>Smithy build uses this method to remove the shapes of consecutive
+     * transformers from a projection in a single pass rather than creating
+     * a new model after each transformer. Transformers that implement this
+     * method must produce the same model from {@link #transform} as calling
+     * {@link ModelTransformer#removeShapes} with the returned shapes, and
+     * must only select shapes based on their shape IDs, types, and traits.
+     *
+     * @param context Transformation context.
+     * @return Returns the shapes to remove, or an empty Optional if the transformer does more than remove shapes.
+     * @throws IllegalArgumentException if the arguments are invalid.
+     */
+    default Optional<Set<Shape>> getRemovedShapes(TransformContext context) {
+        return Optional.empty();
+    }
+
     /**
      * Creates a {@code ProjectionTransformer} factory function using SPI
      * and the current thread's context class loader.
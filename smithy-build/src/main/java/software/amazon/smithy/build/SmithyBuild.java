@@ -50,6 +50,7 @@ public final class SmithyBuild {
     Set<Path> sources = new HashSet<>();
     Predicate<String> projectionFilter = name -> true;
     Predicate<String> pluginFilter = name -> true;
+    boolean fuseTransforms = true;
 
     public SmithyBuild() {}
 
@@ -424,6 +425,25 @@ public final class SmithyBuild {
         return this;
     }
 
+    /**
+     * Sets whether consecutive transforms of a projection that only remove
+     * shapes are fused into a single pass over the model.
+     *
+     * <p>Fused transforms create the same model as applying each transform
+     * one after the other, but only create a single intermediate model for
+     * each group of fused transforms. Consecutive {@code removeUnusedShapes}
+     * transforms at the end of a group are also only applied once. This is
+     * enabled by default.
+     *
+     * @param fuseTransforms Set to false to apply each transform separately.
+     * @return Returns the builder.
+     * @see ProjectionTransformer#getRemovedShapes
+     */
+    public SmithyBuild fuseTransforms(boolean fuseTransforms) {
+        this.fuseTransforms = fuseTransforms;
+        return this;
+    }
+
     // Lazy initialization holder class idiom.
     private static final class DefaultPathHolder {
         private static final Path DEFAULT_PATH = resolveDefaultPath();
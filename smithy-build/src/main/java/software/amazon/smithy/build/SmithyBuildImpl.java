@@ -6,6 +6,7 @@ package software.amazon.smithy.build;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -17,30 +18,55 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import software.amazon.smithy.build.model.ProjectionConfig;
 import software.amazon.smithy.build.model.SmithyBuildConfig;
 import software.amazon.smithy.build.model.TransformConfig;
+import software.amazon.smithy.build.transforms.RemoveUnusedShapes;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.EventStreamIndex;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NullableIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.PaginatedIndex;
+import software.amazon.smithy.model.knowledge.ServiceIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.MixinTrait;
+import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.utils.CycleException;
 import software.amazon.smithy.utils.DependencyGraph;
+import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.Pair;
 import software.amazon.smithy.utils.SmithyBuilder;
 
 final class SmithyBuildImpl {
     private static final Logger LOGGER = Logger.getLogger(SmithyBuild.class.getName());
 
+    private static final List<Class<? extends KnowledgeIndex>> PREWARMED_INDEXES = ListUtils.of(
+            TopDownIndex.class,
+            OperationIndex.class,
+            ServiceIndex.class,
+            HttpBindingIndex.class,
+            NullableIndex.class,
+            EventStreamIndex.class,
+            PaginatedIndex.class);
+
     // Must start with one or more alphanumerics, followed by zero or more alphanumerics, "-", "_", or ".".
     private static final String PATTERN_PART = "[A-Za-z0-9]+[A-Za-z0-9\\-_.]*";
 
@@ -66,6 +92,32 @@ final class SmithyBuildImpl {
     private final Set<Path> sources;
     private final Predicate<String> projectionFilter;
     private final Predicate<String> pluginFilter;
+    private final boolean fuseTransforms;
+
+    // Consecutive transformers that are fused into a single pass over a model. Each transformer selects the shapes
+    // to remove from the model the group started with, so no transformer can be added to the group once removing
+    // its shapes would change the traits of other shapes. A removeUnusedShapes transformer can end the group.
+    private static final class FusedTransforms {
+        final Set<Shape> removedShapes = new HashSet<>();
+        Pair<ObjectNode, ProjectionTransformer> removeUnusedShapes;
+        boolean changesTraits;
+
+        boolean canAddRemovedShapes() {
+            return removeUnusedShapes == null && !changesTraits;
+        }
+
+        void addRemovedShapes(Model model, Set<Shape> shapes) {
+            removedShapes.addAll(shapes);
+            for (Shape shape : shapes) {
+                // Removing a trait definition removes the trait from every shape, and removing a mixin or a
+                // member of a mixin removes the traits that shapes inherited from the mixin.
+                Shape container = model.getShape(shape.getId().withoutMember()).orElse(shape);
+                if (container.hasTrait(TraitDefinition.class) || container.hasTrait(MixinTrait.class)) {
+                    changesTraits = true;
+                }
+            }
+        }
+    }
 
     private static final class ResolvedPlugin {
         final PluginId id;
@@ -118,6 +170,7 @@ final class SmithyBuildImpl {
         pluginClassLoader = builder.pluginClassLoader;
         projectionFilter = builder.projectionFilter;
         pluginFilter = builder.pluginFilter;
+        fuseTransforms = builder.fuseTransforms;
     }
 
     private static SmithyBuildConfig prepareConfig(SmithyBuildConfig config) {
@@ -370,6 +423,7 @@ final class SmithyBuildImpl {
             ValidatedResult<Model> baseModel,
             List<ResolvedPlugin> resolvedPlugins
     ) throws Throwable {
+        long startTime = System.nanoTime();
         Model resolvedModel = baseModel.unwrap();
         LOGGER.fine(() -> String.format("Creating the `%s` projection", projectionName));
 
@@ -394,6 +448,7 @@ final class SmithyBuildImpl {
                         .model(Model.builder().build())
                         .projectionName(projectionName)
                         .events(baseModel.getValidationEvents())
+                        .duration(Duration.ofNanos(System.nanoTime() - startTime))
                         .build();
             }
 
@@ -412,11 +467,16 @@ final class SmithyBuildImpl {
             LOGGER.fine(() -> String.format("Applying transforms to projection %s: %s",
                     projectionName,
                     projection.getTransforms().stream().map(TransformConfig::getName).collect(Collectors.toList())));
+            long transformStartTime = System.nanoTime();
             projectedModel = applyProjectionTransforms(
                     baseModel,
                     resolvedModel,
                     projectionName,
                     Collections.emptySet());
+            long transformTime = System.nanoTime() - transformStartTime;
+            LOGGER.fine(() -> String.format("Applied transforms to projection %s in %d ms",
+                    projectionName,
+                    TimeUnit.NANOSECONDS.toMillis(transformTime)));
             modelResult = modelAssemblerSupplier.get().addModel(projectedModel).assemble();
         } else {
             LOGGER.fine(() -> String.format("No transforms to apply for projection %s", projectionName));
@@ -434,6 +494,17 @@ final class SmithyBuildImpl {
                 .events(modelResult.getValidationEvents())
                 .sharedFileManifest(sharedManifest);
 
+        // Start computing the indexes commonly used by code generators in parallel before plugins need them.
+        // Plugins that generate code aren't run when the projected model is invalid.
+        if (!resolvedPlugins.isEmpty() && !modelResult.isBroken()) {
+            projectedModel.prewarm(PREWARMED_INDEXES, ForkJoinPool.commonPool()).whenComplete((ignored, e) -> {
+                if (e != null) {
+                    // Plugins that need the index compute it again, and fail with the same error.
+                    LOGGER.log(Level.FINE, "Unable to prewarm knowledge indexes of projection " + projectionName, e);
+                }
+            });
+        }
+
         for (ResolvedPlugin resolvedPlugin : resolvedPlugins) {
             if (pluginFilter.test(resolvedPlugin.id.getArtifactName())) {
                 try {
@@ -461,7 +532,9 @@ final class SmithyBuildImpl {
             throw firstPluginError;
         }
 
-        return resultBuilder.build();
+        Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+        LOGGER.fine(() -> String.format("Created the `%s` projection in %d ms", projectionName, duration.toMillis()));
+        return resultBuilder.duration(duration).build();
     }
 
     private Model applyProjectionTransforms(
@@ -470,26 +543,93 @@ final class SmithyBuildImpl {
             String projectionName,
             Set<String> visited
     ) {
-        Model originalModel = baseModel.unwrap();
+        FusedTransforms fused = new FusedTransforms();
 
         for (Pair<ObjectNode, ProjectionTransformer> transformerBinding : transformers.get(projectionName)) {
-            TransformContext context = TransformContext.builder()
-                    .model(currentModel)
-                    .originalModel(originalModel)
-                    .originalModelValidationEvents(baseModel.getValidationEvents())
-                    .transformer(modelTransformer)
-                    .projectionName(projectionName)
-                    .sources(sources)
-                    .settings(transformerBinding.left)
-                    .build();
-            currentModel = transformerBinding.right.transform(context);
-            Collection<String> queuedProjections = transformerBinding.right.getAdditionalProjections(context);
+            ProjectionTransformer transformer = transformerBinding.right;
+
+            if (fuseTransforms) {
+                if (transformer instanceof RemoveUnusedShapes) {
+                    // Removing unused shapes again with the same settings has no effect.
+                    if (fused.removeUnusedShapes != null
+                            && !fused.removeUnusedShapes.left.equals(transformerBinding.left)) {
+                        currentModel = applyFusedTransforms(fused, baseModel, currentModel, projectionName);
+                    }
+                    fused.removeUnusedShapes = transformerBinding;
+                    continue;
+                }
+
+                if (!fused.canAddRemovedShapes()) {
+                    currentModel = applyFusedTransforms(fused, baseModel, currentModel, projectionName);
+                }
+
+                TransformContext context = createTransformContext(
+                        baseModel,
+                        currentModel,
+                        projectionName,
+                        transformerBinding.left);
+                Optional<Set<Shape>> removedShapes = transformer.getRemovedShapes(context);
+                if (removedShapes.isPresent() && transformer.getAdditionalProjections(context).isEmpty()) {
+                    fused.addRemovedShapes(currentModel, removedShapes.get());
+                    continue;
+                }
+
+                currentModel = applyFusedTransforms(fused, baseModel, currentModel, projectionName);
+            }
+
+            TransformContext context = createTransformContext(
+                    baseModel,
+                    currentModel,
+                    projectionName,
+                    transformerBinding.left);
+            currentModel = transformer.transform(context);
+            Collection<String> queuedProjections = transformer.getAdditionalProjections(context);
             currentModel = applyQueuedProjections(queuedProjections, context, currentModel, visited);
         }
 
+        return applyFusedTransforms(fused, baseModel, currentModel, projectionName);
+    }
+
+    private Model applyFusedTransforms(
+            FusedTransforms fused,
+            ValidatedResult<Model> baseModel,
+            Model currentModel,
+            String projectionName
+    ) {
+        currentModel = modelTransformer.removeShapes(currentModel, fused.removedShapes);
+
+        if (fused.removeUnusedShapes != null) {
+            TransformContext context = createTransformContext(
+                    baseModel,
+                    currentModel,
+                    projectionName,
+                    fused.removeUnusedShapes.left);
+            currentModel = fused.removeUnusedShapes.right.transform(context);
+        }
+
+        fused.removedShapes.clear();
+        fused.removeUnusedShapes = null;
+        fused.changesTraits = false;
         return currentModel;
     }
 
+    private TransformContext createTransformContext(
+            ValidatedResult<Model> baseModel,
+            Model currentModel,
+            String projectionName,
+            ObjectNode settings
+    ) {
+        return TransformContext.builder()
+                .model(currentModel)
+                .originalModel(baseModel.unwrap())
+                .originalModelValidationEvents(baseModel.getValidationEvents())
+                .transformer(modelTransformer)
+                .projectionName(projectionName)
+                .sources(sources)
+                .settings(settings)
+                .build();
+    }
+
     private void applyPlugin(
             String projectionName,
             ProjectionConfig projection,
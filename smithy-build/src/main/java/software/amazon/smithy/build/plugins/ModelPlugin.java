@@ -4,10 +4,10 @@
  */
 package software.amazon.smithy.build.plugins;
 
+import java.nio.file.Paths;
 import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.build.SmithyBuildPlugin;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ModelSerializer;
 
 /**
@@ -24,10 +24,9 @@ public final class ModelPlugin implements SmithyBuildPlugin {
     @Override
     public void execute(PluginContext context) {
         boolean includePrelude = context.getSettings().getBooleanMemberOrDefault("includePreludeShapes");
-        context.getFileManifest().writeJson("model.json", serializeModel(context.getModel(), includePrelude));
-    }
-
-    private static Node serializeModel(Model model, boolean includePrelude) {
-        return ModelSerializer.builder().includePrelude(includePrelude).build().serialize(model);
+        ModelSerializer serializer = ModelSerializer.builder().includePrelude(includePrelude).build();
+        Model model = context.getModel();
+        // Write shapes as they're serialized rather than creating a node for the entire model.
+        context.getFileManifest().writeUsing(Paths.get("model.json"), writer -> serializer.serialize(model, writer));
     }
 }
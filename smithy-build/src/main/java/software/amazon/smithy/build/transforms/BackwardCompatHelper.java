@@ -5,10 +5,13 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Logger;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
@@ -112,6 +115,11 @@ abstract class BackwardCompatHelper<T> extends ConfigurableProjectionTransformer
 
     }
 
+    @Override
+    public Optional<Set<Shape>> getRemovedShapes(TransformContext context) {
+        return super.getRemovedShapes(updateContextIfNecessary(context));
+    }
+
     private TransformContext updateContextIfNecessary(TransformContext context) {
         ObjectNode original = context.getSettings();
 
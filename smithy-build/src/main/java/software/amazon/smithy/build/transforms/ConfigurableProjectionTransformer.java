@@ -6,11 +6,13 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import software.amazon.smithy.build.ProjectionTransformer;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.NodeMapper;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
@@ -65,6 +67,13 @@ public abstract class ConfigurableProjectionTransformer<T> implements Projection
         }).orElseGet(ListUtils::of);
     }
 
+    @Override
+    public Optional<Set<Shape>> getRemovedShapes(TransformContext context) {
+        NodeMapper mapper = new NodeMapper();
+        T config = mapper.deserialize(context.getSettings(), getConfigType());
+        return getRemovedShapesWithConfig(context, config);
+    }
+
     /**
      * Executes the transform using the deserialized configuration object.
      *
@@ -74,6 +83,19 @@ public abstract class ConfigurableProjectionTransformer<T> implements Projection
      */
     protected abstract Model transformWithConfig(TransformContext context, T config);
 
+    /**
+     * Gets the shapes removed by the transformer using the deserialized
+     * configuration object.
+     *
+     * @param context Transform context.
+     * @param config Deserialized configuration object.
+     * @return Returns the shapes to remove, or an empty Optional if the transformer does more than remove shapes.
+     * @see ProjectionTransformer#getRemovedShapes
+     */
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, T config) {
+        return Optional.empty();
+    }
+
     /**
      * @return an Optional of either a BiFunction that returns the additional
      *         projections to run after this one, or empty to indicate this
@@ -5,10 +5,13 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.transform.ModelTransformer;
 
 /**
@@ -61,11 +64,18 @@ public final class ExcludeShapesByTag extends BackwardCompatHelper<ExcludeShapes
 
     @Override
     protected Model transformWithConfig(TransformContext context, Config config) {
-        Set<String> includeTags = config.getTags();
         ModelTransformer transformer = context.getTransformer();
         Model model = context.getModel();
-        return transformer.filterShapes(model, shape -> {
-            return Prelude.isPreludeShape(shape) || shape.getTags().stream().noneMatch(includeTags::contains);
-        });
+        return transformer.filterShapes(model, createFilter(config));
+    }
+
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        return Optional.of(context.getTransformer().getFilteredShapes(context.getModel(), createFilter(config)));
+    }
+
+    private static Predicate<Shape> createFilter(Config config) {
+        Set<String> excludeTags = config.getTags();
+        return shape -> Prelude.isPreludeShape(shape) || shape.getTags().stream().noneMatch(excludeTags::contains);
     }
 }
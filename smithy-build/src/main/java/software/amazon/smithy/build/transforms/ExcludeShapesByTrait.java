@@ -6,10 +6,13 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 
 /**
@@ -52,14 +55,22 @@ public final class ExcludeShapesByTrait extends ConfigurableProjectionTransforme
     }
 
     protected Model transformWithConfig(TransformContext context, Config config) {
+        return context.getTransformer().removeShapesIf(context.getModel(), createRemovalFilter(config));
+    }
+
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        Predicate<Shape> removalFilter = createRemovalFilter(config);
+        return Optional.of(context.getTransformer().getFilteredShapes(context.getModel(), removalFilter.negate()));
+    }
+
+    private static Predicate<Shape> createRemovalFilter(Config config) {
         // Resolve relative IDs by defaulting to smithy.api# if the given trait ID is relative.
         Set<ShapeId> ids = new HashSet<>(config.getTraits().size());
         for (String id : config.getTraits()) {
             ids.add(ShapeId.fromOptionalNamespace(Prelude.NAMESPACE, id));
         }
 
-        return context.getTransformer().removeShapesIf(context.getModel(), shape -> {
-            return ids.stream().anyMatch(shape::hasTrait);
-        });
+        return shape -> ids.stream().anyMatch(shape::hasTrait);
     }
 }
@@ -5,6 +5,7 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -75,14 +76,22 @@ public final class ExcludeTraits extends BackwardCompatHelper<ExcludeTraits.Conf
 
     @Override
     public Model transformWithConfig(TransformContext context, Config config) {
+        Model model = context.getModel();
+        ModelTransformer transformer = context.getTransformer();
+        return transformer.removeShapes(model, getRemovedTraits(model, config));
+    }
+
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        return Optional.of(getRemovedTraits(context.getModel(), config));
+    }
+
+    private static Set<Shape> getRemovedTraits(Model model, Config config) {
         Pair<Set<ShapeId>, Set<String>> namesAndNamespaces = TraitRemovalUtils.parseTraits(config.getTraits());
         Set<ShapeId> names = namesAndNamespaces.getLeft();
         Set<String> namespaces = namesAndNamespaces.getRight();
         LOGGER.info(() -> "Excluding traits by ID " + names + " and namespaces " + namespaces);
 
-        Model model = context.getModel();
-        ModelTransformer transformer = context.getTransformer();
-
         Set<Shape> removeTraits = model.getShapesWithTrait(TraitDefinition.class)
                 .stream()
                 .filter(trait -> TraitRemovalUtils.matchesTraitDefinition(trait, names, namespaces))
@@ -92,6 +101,6 @@ public final class ExcludeTraits extends BackwardCompatHelper<ExcludeTraits.Conf
             LOGGER.info(() -> "Excluding traits: " + removeTraits);
         }
 
-        return transformer.removeShapes(model, removeTraits);
+        return removeTraits;
     }
 }
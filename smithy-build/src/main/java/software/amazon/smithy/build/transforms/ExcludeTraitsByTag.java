@@ -6,6 +6,7 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
@@ -70,6 +71,13 @@ public final class ExcludeTraitsByTag extends BackwardCompatHelper<ExcludeTraits
         return transformer.removeShapesIf(model, shape -> removeIfPredicate(shape, tags));
     }
 
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        Set<String> tags = config.getTags();
+        return Optional.of(context.getTransformer().getFilteredShapes(context.getModel(),
+                shape -> !removeIfPredicate(shape, tags)));
+    }
+
     private boolean removeIfPredicate(Shape shape, Collection<String> tags) {
         return !Prelude.isPreludeShape(shape)
                 && shape.hasTrait(TraitDefinition.ID)
@@ -5,10 +5,13 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.transform.ModelTransformer;
 
 /**
@@ -59,11 +62,18 @@ public final class IncludeNamespaces extends BackwardCompatHelper<IncludeNamespa
 
     @Override
     protected Model transformWithConfig(TransformContext context, Config config) {
-        Set<String> namespaces = config.getNamespaces();
         Model model = context.getModel();
         ModelTransformer transformer = context.getTransformer();
-        return transformer.filterShapes(model, shape -> {
-            return Prelude.isPreludeShape(shape) || namespaces.contains(shape.getId().getNamespace());
-        });
+        return transformer.filterShapes(model, createFilter(config));
+    }
+
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        return Optional.of(context.getTransformer().getFilteredShapes(context.getModel(), createFilter(config)));
+    }
+
+    private static Predicate<Shape> createFilter(Config config) {
+        Set<String> namespaces = config.getNamespaces();
+        return shape -> Prelude.isPreludeShape(shape) || namespaces.contains(shape.getId().getNamespace());
     }
 }
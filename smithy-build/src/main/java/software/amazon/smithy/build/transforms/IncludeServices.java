@@ -5,9 +5,12 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.transform.ModelTransformer;
 
@@ -58,9 +61,18 @@ public final class IncludeServices extends BackwardCompatHelper<IncludeServices.
 
     @Override
     protected Model transformWithConfig(TransformContext context, Config config) {
-        Set<ShapeId> services = config.getServices();
         Model model = context.getModel();
         ModelTransformer transformer = context.getTransformer();
-        return transformer.filterShapes(model, shape -> !shape.isServiceShape() || services.contains(shape.getId()));
+        return transformer.filterShapes(model, createFilter(config));
+    }
+
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        return Optional.of(context.getTransformer().getFilteredShapes(context.getModel(), createFilter(config)));
+    }
+
+    private static Predicate<Shape> createFilter(Config config) {
+        Set<ShapeId> services = config.getServices();
+        return shape -> !shape.isServiceShape() || services.contains(shape.getId());
     }
 }
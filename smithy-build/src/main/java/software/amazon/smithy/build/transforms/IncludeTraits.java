@@ -5,6 +5,7 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -75,6 +76,17 @@ public final class IncludeTraits extends BackwardCompatHelper<IncludeTraits.Conf
 
     @Override
     public Model transformWithConfig(TransformContext context, Config config) {
+        Model model = context.getModel();
+        ModelTransformer transformer = context.getTransformer();
+        return transformer.removeShapes(model, getRemovedTraits(model, config));
+    }
+
+    @Override
+    protected Optional<Set<Shape>> getRemovedShapesWithConfig(TransformContext context, Config config) {
+        return Optional.of(getRemovedTraits(context.getModel(), config));
+    }
+
+    private static Set<Shape> getRemovedTraits(Model model, Config config) {
         Pair<Set<ShapeId>, Set<String>> namesAndNamespaces = TraitRemovalUtils.parseTraits(config.getTraits());
         Set<ShapeId> names = namesAndNamespaces.getLeft();
         Set<String> namespaces = namesAndNamespaces.getRight();
@@ -83,9 +95,6 @@ public final class IncludeTraits extends BackwardCompatHelper<IncludeTraits.Conf
         // Don't remove the trait definition trait because it breaks everything!
         names.add(TraitDefinition.ID);
 
-        Model model = context.getModel();
-        ModelTransformer transformer = context.getTransformer();
-
         Set<Shape> removeTraits = model.getShapesWithTrait(TraitDefinition.class)
                 .stream()
                 .filter(trait -> !TraitRemovalUtils.matchesTraitDefinition(trait, names, namespaces))
@@ -95,6 +104,6 @@ public final class IncludeTraits extends BackwardCompatHelper<IncludeTraits.Conf
             LOGGER.info(() -> "Removing traits that are not explicitly allowed: " + removeTraits);
         }
 
-        return transformer.removeShapes(model, removeTraits);
+        return removeTraits;
     }
 }
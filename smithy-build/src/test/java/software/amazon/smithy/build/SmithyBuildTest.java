@@ -117,6 +117,28 @@ public class SmithyBuildTest {
         assertThat(resultB.getShape(ShapeId.from("ns.foo#String3")), not(Optional.empty()));
     }
 
+    @Test
+    public void fusedTransformsCreateSameModelsAsSequentialTransforms() throws Exception {
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .load(Paths.get(getClass().getResource("fused-transforms/smithy-build.json").toURI()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("fused-transforms/model.smithy"))
+                .assemble()
+                .unwrap();
+        SmithyBuildResult fused = new SmithyBuild().config(config).model(model).build();
+        SmithyBuildResult sequential = new SmithyBuild().config(config).model(model).fuseTransforms(false).build();
+
+        assertThat(fused.getProjectionResultsMap().keySet(),
+                equalTo(sequential.getProjectionResultsMap().keySet()));
+        for (ProjectionResult expected : sequential.getProjectionResults()) {
+            ProjectionResult actual = fused.getProjectionResult(expected.getProjectionName()).get();
+            assertThat(expected.getProjectionName(), actual.getModel(), equalTo(expected.getModel()));
+            assertThat(actual.getDuration().isNegative(), is(false));
+        }
+    }
+
     @Test
     public void buildsModels() throws Exception {
         SmithyBuildConfig config = SmithyBuildConfig.builder()
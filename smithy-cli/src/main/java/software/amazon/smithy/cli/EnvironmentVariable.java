@@ -109,7 +109,15 @@ public enum EnvironmentVariable {
      * defined in the smithy-build maven configuration unless a repo-specific
      * configuration is provided.
      */
-    SMITHY_PROXY_CREDENTIALS;
+    SMITHY_PROXY_CREDENTIALS,
+
+    /**
+     * If set to any value, models that are loaded by the CLI are cached in a content-addressed
+     * directory of the CLI cache, allowing unchanged models to skip parsing on subsequent runs.
+     *
+     * <p>The cache is removed along with the rest of the CLI cache by {@code smithy clean}.
+     */
+    SMITHY_MODEL_CACHE;
 
     private static final Logger LOGGER = Logger.getLogger(EnvironmentVariable.class.getName());
 
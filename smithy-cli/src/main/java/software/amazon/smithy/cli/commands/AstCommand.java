@@ -4,14 +4,19 @@
  */
 package software.amazon.smithy.cli.commands;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import software.amazon.smithy.build.model.SmithyBuildConfig;
 import software.amazon.smithy.cli.ArgumentReceiver;
 import software.amazon.smithy.cli.Arguments;
+import software.amazon.smithy.cli.CliPrinter;
 import software.amazon.smithy.cli.Command;
 import software.amazon.smithy.cli.HelpPrinter;
 import software.amazon.smithy.cli.dependencies.DependencyResolver;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ModelSerializer;
 import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.model.validation.Severity;
@@ -93,7 +98,42 @@ final class AstCommand implements Command {
         if (options.flatten) {
             model = ModelTransformer.create().flattenAndRemoveMixins(model);
         }
-        env.stdout().println(Node.prettyPrintJson(serializer.serialize(model)));
+        // Write shapes as they're serialized rather than creating a node and a string for the entire model.
+        try (Writer writer = new BufferedWriter(new PrinterWriter(env.stdout()))) {
+            serializer.serialize(model, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        env.stdout().println("");
         return 0;
     }
+
+    // Adapts a CliPrinter to a Writer. Closing the writer only flushes the printer.
+    private static final class PrinterWriter extends Writer {
+        private final CliPrinter printer;
+
+        PrinterWriter(CliPrinter printer) {
+            this.printer = printer;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            printer.append(CharBuffer.wrap(cbuf, off, len));
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            printer.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {
+            printer.flush();
+        }
+
+        @Override
+        public void close() {
+            printer.flush();
+        }
+    }
 }
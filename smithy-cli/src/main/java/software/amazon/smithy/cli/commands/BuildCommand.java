@@ -244,6 +244,9 @@ final class BuildCommand implements Command {
                             .append(String.valueOf(result.getModel().toSet().size()))
                             .append("): ")
                             .append(String.valueOf(root))
+                            .append(" in ")
+                            .append(String.valueOf(result.getDuration().toMillis()))
+                            .append("ms")
                             .println();
                 }
 
@@ -19,6 +19,10 @@ interface CliCache {
         return () -> ROOT_CACHE_DIR.resolve("templates");
     }
 
+    static CliCache getModelCache() {
+        return () -> ROOT_CACHE_DIR.resolve("models");
+    }
+
     Path getPath();
 
     default boolean clear() {
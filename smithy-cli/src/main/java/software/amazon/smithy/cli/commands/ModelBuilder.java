@@ -24,6 +24,7 @@ import software.amazon.smithy.cli.EnvironmentVariable;
 import software.amazon.smithy.cli.StandardOptions;
 import software.amazon.smithy.cli.Style;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ConcurrentStringTable;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.loader.sourcecontext.SourceContextLoader;
 import software.amazon.smithy.model.validation.Severity;
@@ -40,6 +41,9 @@ final class ModelBuilder {
     private static final String CLEAR_LINE_ESCAPE = "\033[2K\r";
     private static final int DEFAULT_CODE_LINES = 6;
 
+    // Shared by every model loaded by the CLI (e.g., the old and new models of a diff).
+    private static final ConcurrentStringTable STRING_TABLE = new ConcurrentStringTable();
+
     private Validator.Mode validationMode;
     private CliPrinter validationPrinter;
     private Arguments arguments;
@@ -304,6 +308,12 @@ final class ModelBuilder {
     }
 
     static ModelAssembler createModelAssembler(ClassLoader classLoader) {
-        return Model.assembler(classLoader).putProperty(ModelAssembler.DISABLE_JAR_CACHE, true);
+        ModelAssembler assembler = Model.assembler(classLoader)
+                .putProperty(ModelAssembler.DISABLE_JAR_CACHE, true)
+                .stringTable(STRING_TABLE);
+        if (EnvironmentVariable.SMITHY_MODEL_CACHE.isSet()) {
+            assembler.putProperty(ModelAssembler.PARSED_MODEL_CACHE, CliCache.getModelCache().get());
+        }
+        return assembler;
     }
 }
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.diff.ModelDiff;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ConcurrentStringTable;
 import software.amazon.smithy.model.loader.ModelAssembler;
 
 /**
@@ -96,7 +97,9 @@ public final class SmithyDiffTestSuite {
      */
     public static Stream<Object[]> defaultParameterizedTestSource(Class<?> contextClass) {
         ClassLoader classLoader = contextClass.getClassLoader();
-        ModelAssembler assembler = Model.assembler(classLoader).discoverModels(classLoader);
+        ModelAssembler assembler = Model.assembler(classLoader)
+                .discoverModels(classLoader)
+                .stringTable(new ConcurrentStringTable());
         return SmithyDiffTestSuite.runner()
                 .setModelAssemblerFactory(assembler::copy)
                 .addTestCasesFromUrl(contextClass.getResource(DEFAULT_TEST_CASE_LOCATION))
@@ -17,3 +17,41 @@ dependencies {
     api(project(":smithy-utils"))
     jmh(project(":smithy-utils"))
 }
+
+// Generate a binary snapshot of the prelude that is loaded at runtime instead of parsing prelude.smithy.
+// The generator runs from the compiled classes and source resources since the processed resources
+// depend on its output.
+val preludeSnapshotDir = layout.buildDirectory.dir("generated-resources/prelude")
+
+val generatePreludeSnapshot by tasks.registering(JavaExec::class) {
+    description = "Generates the binary snapshot of the Smithy prelude."
+    val main = sourceSets.main.get()
+    classpath = main.output.classesDirs + files("src/main/resources") + main.compileClasspath
+    mainClass.set("software.amazon.smithy.model.loader.PreludeSnapshot")
+    args(preludeSnapshotDir.get().file("software/amazon/smithy/model/loader/prelude.snapshot").asFile.path)
+    inputs.dir("src/main/resources")
+    outputs.dir(preludeSnapshotDir)
+}
+
+// Write the Smithy version to a resource so that model snapshots written by other versions can be rejected.
+val smithyVersionDir = layout.buildDirectory.dir("generated-resources/version")
+
+val generateSmithyVersion by tasks.registering {
+    description = "Writes the Smithy version used by model snapshots."
+    val versionFile = smithyVersionDir.get().file("software/amazon/smithy/model/loader/smithy-version").asFile
+    inputs.property("version", project.version.toString())
+    outputs.dir(smithyVersionDir)
+    doLast {
+        versionFile.parentFile.mkdirs()
+        versionFile.writeText(project.version.toString())
+    }
+}
+
+sourceSets {
+    main {
+        resources {
+            srcDir(files(preludeSnapshotDir) { builtBy(generatePreludeSnapshot) })
+            srcDir(files(smithyVersionDir) { builtBy(generateSmithyVersion) })
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.jmh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.loader.IdlToken;
+import software.amazon.smithy.model.loader.IdlTokenizer;
+import software.amazon.smithy.model.loader.StringTable;
+
+/**
+ * Compares tokenizing a corpus of large IDL files decoded into Strings, like
+ * the model loader does, against tokenizing their UTF-8 bytes directly.
+ *
+ * <p>Each benchmark includes the cost of reading or decoding the UTF-8 bytes
+ * of each file, and interns identifiers and strings with a {@link StringTable}
+ * like the model loader does. Run with {@code -prof gc} to compare allocations.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class IdlTokenizing {
+
+    @State(Scope.Benchmark)
+    public static class IdlTokenizingState {
+
+        @Param({"10"})
+        public int fileCount;
+
+        @Param({"2000"})
+        public int shapesPerFile;
+
+        public List<byte[]> files = new ArrayList<>();
+        public List<Path> paths = new ArrayList<>();
+        public Path directory;
+
+        @Setup
+        public void prepare() throws IOException {
+            directory = Files.createTempDirectory("idl-tokenizing");
+            for (int file = 0; file < fileCount; file++) {
+                StringBuilder builder = new StringBuilder("$version: \"2.0\"\n\nnamespace smithy.example")
+                        .append(file)
+                        .append("\n\n");
+                for (int i = 0; i < shapesPerFile; i++) {
+                    builder.append("/// Documentation for structure number ").append(i).append(".\n")
+                            .append("@deprecated(message: \"Caf\u00e9 number ").append(i).append("\")\n")
+                            .append("@tags([\"a\", \"b\"])\n")
+                            .append("structure Structure").append(i).append(" {\n")
+                            .append("    @required\n")
+                            .append("    foo: String\n\n")
+                            .append("    @range(min: 1, max: 100)\n")
+                            .append("    bar: Integer = 10\n")
+                            .append("}\n\n");
+                }
+                byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+                Path path = directory.resolve("model" + file + ".smithy");
+                Files.write(path, bytes);
+                files.add(bytes);
+                paths.add(path);
+            }
+        }
+
+        @TearDown
+        public void cleanup() throws IOException {
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Benchmark
+    public int tokenizeDecodedString(IdlTokenizingState state) {
+        int tokens = 0;
+        for (byte[] file : state.files) {
+            tokens += tokenize(IdlTokenizer.create("model.smithy", new String(file, StandardCharsets.UTF_8)));
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public int tokenizeUtf8Bytes(IdlTokenizingState state) {
+        int tokens = 0;
+        for (byte[] file : state.files) {
+            tokens += tokenize(IdlTokenizer.create("model.smithy", ByteBuffer.wrap(file)));
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public int tokenizeMappedUtf8Bytes(IdlTokenizingState state) throws IOException {
+        int tokens = 0;
+        for (Path path : state.paths) {
+            try (FileChannel channel = FileChannel.open(path)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                tokens += tokenize(IdlTokenizer.create("model.smithy", buffer));
+            }
+        }
+        return tokens;
+    }
+
+    private static int tokenize(IdlTokenizer tokenizer) {
+        StringTable table = new StringTable();
+        int tokens = 0;
+        while (tokenizer.hasNext()) {
+            IdlToken token = tokenizer.next();
+            if (token == IdlToken.IDENTIFIER || token == IdlToken.STRING || token == IdlToken.TEXT_BLOCK) {
+                table.apply(tokenizer.getCurrentTokenStringSlice());
+            }
+            tokens++;
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+
+/**
+ * Compares loading a JSON AST model by streaming its shapes to the loader
+ * against parsing the entire document into a Node first.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate of each path.
+ * The streaming path also never holds the Node values of every shape at
+ * once, which lowers the peak heap needed to load large models.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JsonAstLoading {
+
+    @State(Scope.Benchmark)
+    public static class JsonAstState {
+
+        @Param({"1000", "10000"})
+        public int shapeCount;
+
+        public String json;
+
+        @Setup
+        public void prepare() {
+            StringBuilder builder = new StringBuilder("{\"smithy\": \"2.0\", \"shapes\": {");
+            for (int i = 0; i < shapeCount; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append("\"smithy.example#Structure").append(i).append("\": {")
+                        .append("\"type\": \"structure\", \"members\": {")
+                        .append("\"foo\": {\"target\": \"smithy.api#String\", ")
+                        .append("\"traits\": {\"smithy.api#required\": {}}},")
+                        .append("\"bar\": {\"target\": \"smithy.api#Integer\"}},")
+                        .append("\"traits\": {\"smithy.api#documentation\": \"Structure number ")
+                        .append(i)
+                        .append("\"}}");
+            }
+            json = builder.append("}}").toString();
+        }
+    }
+
+    @Benchmark
+    public Model loadStreamingJsonAst(JsonAstState state) {
+        return Model.assembler()
+                .addUnparsedModel("model.json", state.json)
+                .disableValidation()
+                .assemble()
+                .unwrap();
+    }
+
+    @Benchmark
+    public Model loadParsedJsonAst(JsonAstState state) {
+        return Model.assembler()
+                .addDocumentNode(Node.parse(state.json, "model.json"))
+                .disableValidation()
+                .assemble()
+                .unwrap();
+    }
+}
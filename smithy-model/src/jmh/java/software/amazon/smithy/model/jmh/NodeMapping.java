@@ -0,0 +1,203 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NodeMapper;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.utils.SmithyBuilder;
+
+/**
+ * Measures converting Nodes to and from POJOs with {@link NodeMapper},
+ * covering beans, builders, and nested lists of each.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class NodeMapping {
+
+    @State(Scope.Benchmark)
+    public static class NodeMappingState {
+        public NodeMapper mapper;
+        public ObjectNode beanNode;
+        public Bean bean;
+
+        @Setup
+        public void prepare() {
+            mapper = new NodeMapper();
+            List<Node> items = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                items.add(Node.objectNode()
+                        .withMember("name", "item" + i)
+                        .withMember("count", i)
+                        .withMember("enabled", i % 2 == 0)
+                        .withMember("tags", Node.fromStrings("a", "b", "c")));
+            }
+            beanNode = Node.objectNode()
+                    .withMember("name", "root")
+                    .withMember("count", 1)
+                    .withMember("enabled", true)
+                    .withMember("tags", Node.fromStrings("x"))
+                    .withMember("children", Node.fromNodes(items));
+            bean = mapper.deserialize(beanNode, Bean.class);
+        }
+    }
+
+    @Benchmark
+    public Bean deserializeBean(NodeMappingState state) {
+        return state.mapper.deserialize(state.beanNode, Bean.class);
+    }
+
+    @Benchmark
+    public Built deserializeBuilder(NodeMappingState state) {
+        return state.mapper.deserialize(state.beanNode, Built.class);
+    }
+
+    @Benchmark
+    public Node serializeBean(NodeMappingState state) {
+        return state.mapper.serialize(state.bean);
+    }
+
+    public static final class Bean {
+        private String name;
+        private int count;
+        private boolean enabled;
+        private List<String> tags;
+        private List<Bean> children;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<Bean> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Bean> children) {
+            this.children = children;
+        }
+    }
+
+    public static final class Built {
+        private final String name;
+        private final int count;
+        private final boolean enabled;
+        private final List<String> tags;
+        private final List<Built> children;
+
+        private Built(Builder builder) {
+            name = builder.name;
+            count = builder.count;
+            enabled = builder.enabled;
+            tags = builder.tags;
+            children = builder.children;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public List<Built> getChildren() {
+            return children;
+        }
+
+        public static final class Builder implements SmithyBuilder<Built> {
+            private String name;
+            private int count;
+            private boolean enabled;
+            private List<String> tags;
+            private List<Built> children;
+
+            @Override
+            public Built build() {
+                return new Built(this);
+            }
+
+            public Builder name(String name) {
+                this.name = name;
+                return this;
+            }
+
+            public Builder count(int count) {
+                this.count = count;
+                return this;
+            }
+
+            public Builder enabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public Builder tags(List<String> tags) {
+                this.tags = tags;
+                return this;
+            }
+
+            public Builder children(List<Built> children) {
+                this.children = children;
+                return this;
+            }
+        }
+    }
+}
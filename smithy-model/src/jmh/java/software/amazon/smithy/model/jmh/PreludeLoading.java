@@ -0,0 +1,46 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Measures loading the prelude in a cold JVM, which is paid by every short-lived process that loads a model.
+ *
+ * <p>Each fork performs a single invocation so that class loading and interpretation are included.
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(20)
+public class PreludeLoading {
+
+    @Benchmark
+    public Model parsePrelude() {
+        return Model.assembler()
+                .disablePrelude()
+                .disableValidation()
+                .addImport(Prelude.class.getResource("prelude.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    @Benchmark
+    public boolean loadPreludeSnapshot() {
+        // Resolving a public prelude shape loads the prelude from the snapshot generated at build time.
+        return Prelude.isPublicPreludeShape(ShapeId.from("smithy.api#String"));
+    }
+}
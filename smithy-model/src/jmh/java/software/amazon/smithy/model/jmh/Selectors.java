@@ -4,6 +4,10 @@
  */
 package software.amazon.smithy.model.jmh;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -11,6 +15,7 @@ import java.util.stream.Stream;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Scope;
@@ -20,6 +25,7 @@ import org.openjdk.jmh.annotations.Warmup;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
@@ -37,6 +43,8 @@ public class Selectors {
         public Model model;
         public Selector suboptimalHttpBindingSelector = createSuboptimalHttpBindingIncompatibilitySelector();
         public Selector httpBindingSelector = createHttpBindingIncompatibilitySelector();
+        public Selector typeAndTraitSelector = Selector.parse("operation [trait|http]");
+        public Selector filterSequenceSelector = Selector.parse("member [trait|required] :not([trait|default])");
         public String testIdlModelLocation = "test-model.smithy";
         public String testJsonModelLocation = "test-model.json";
 
@@ -66,6 +74,32 @@ public class Selectors {
         }
     }
 
+    @State(Scope.Thread)
+    public static class BatchState {
+
+        public Model model;
+        public List<Selector> selectors = Arrays.asList(
+                Selector.parse("operation [trait|http]"),
+                Selector.parse("member [trait|required] :not([trait|default])"),
+                Selector.parse("member [trait|required] > string"),
+                Selector.parse(":is(structure, union) > member [trait|required]"),
+                Selector.parse("service $operations(~> operation) :test(${operations}[trait|http]) ${operations}"),
+                Selector.parse("operation -[input, output]-> structure > member [trait|required]"),
+                Selector.parse("service ~> structure [trait|error = client]"),
+                Selector.parse("service ~> operation [id|namespace = 'smithy.example']"));
+
+        // Matches are recorded with the model they were evaluated against, so each invocation gets a new model.
+        @Setup(Level.Invocation)
+        public void prepare() {
+            model = Model.builder()
+                    .addShapes(Model.assembler()
+                            .addImport(Selectors.class.getResource("http-model.smithy"))
+                            .assemble()
+                            .unwrap())
+                    .build();
+        }
+    }
+
     @Benchmark
     public Model loadsIdlModelWithoutValidation(SelectorState state) {
         return Model.assembler()
@@ -112,6 +146,34 @@ public class Selectors {
         return state.suboptimalHttpBindingSelector.select(state.model);
     }
 
+    // The starting shapes come from whichever of the type or trait index has fewer shapes.
+    @Benchmark
+    public Set<Shape> evaluateTypeAndTraitSelector(SelectorState state) {
+        return state.typeAndTraitSelector.select(state.model);
+    }
+
+    // Consecutive filters are tested in a single flat sequence.
+    @Benchmark
+    public Set<Shape> evaluateFilterSequenceSelector(SelectorState state) {
+        return state.filterSequenceSelector.select(state.model);
+    }
+
+    // The baseline for evaluateSelectorBatch: each selector traverses the model on its own.
+    @Benchmark
+    public Map<Selector, Set<Shape>> evaluateSelectorsIndividually(BatchState state) {
+        Map<Selector, Set<Shape>> result = new HashMap<>();
+        for (Selector selector : state.selectors) {
+            result.put(selector, selector.select(state.model));
+        }
+        return result;
+    }
+
+    // Evaluates the same selectors in one traversal that shares attribute tests and neighbor lookups.
+    @Benchmark
+    public Map<Selector, Set<Shape>> evaluateSelectorBatch(BatchState state) {
+        return SelectorBatch.of(state.selectors).select(state.model);
+    }
+
     // The is the hand-written alternative to evaluateHttpBindingSelector to provide
     // a baseline.
     @Benchmark
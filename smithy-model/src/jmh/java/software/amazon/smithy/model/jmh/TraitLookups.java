@@ -16,8 +16,10 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.ErrorTrait;
@@ -34,6 +36,7 @@ public class TraitLookups {
     @State(Scope.Thread)
     public static class TraitLookupState {
         public List<ShapeId> shapeIds = new ArrayList<>();
+        public List<Shape> shapes = new ArrayList<>();
         public Model model;
 
         @Setup
@@ -56,7 +59,9 @@ public class TraitLookups {
                         case "one":
                             builder.addTrait(new HttpErrorTrait(400));
                     }
-                    assembler.addShape(builder.build());
+                    StructureShape shape = builder.build();
+                    shapes.add(shape);
+                    assembler.addShape(shape);
                 }
             }
 
@@ -107,4 +112,34 @@ public class TraitLookups {
             state.model.expectShape(shapeId).hasTrait(HttpErrorTrait.class);
         }
     }
+
+    @Benchmark
+    public int getShapesWithTraitByShapeId(TraitLookupState state) {
+        return state.model.getShapesWithTrait(InputTrait.ID).size()
+                + state.model.getShapesWithTrait(OutputTrait.ID).size()
+                + state.model.getShapesWithTrait(ErrorTrait.ID).size()
+                + state.model.getShapesWithTrait(HttpErrorTrait.ID).size();
+    }
+
+    @Benchmark
+    public void getShapesWithTraitByClass(TraitLookupState state, Blackhole blackhole) {
+        for (Shape shape : state.model.getShapesWithTrait(InputTrait.class)) {
+            blackhole.consume(shape);
+        }
+        for (Shape shape : state.model.getShapesWithTrait(OutputTrait.class)) {
+            blackhole.consume(shape);
+        }
+        for (Shape shape : state.model.getShapesWithTrait(ErrorTrait.class)) {
+            blackhole.consume(shape);
+        }
+        for (Shape shape : state.model.getShapesWithTrait(HttpErrorTrait.class)) {
+            blackhole.consume(shape);
+        }
+    }
+
+    @Benchmark
+    public Model buildModelWithTraitIndex(TraitLookupState state) {
+        // Building a model includes building its trait index.
+        return Model.builder().addShapes(state.shapes).build();
+    }
 }
@@ -4,20 +4,28 @@
  */
 package software.amazon.smithy.model;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import software.amazon.smithy.model.knowledge.IncrementalKnowledgeIndex;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
@@ -71,23 +79,85 @@ public final class Model implements ToSmithyBuilder<Model> {
     private final Map<String, Node> metadata;
 
     /** A map of shape ID to shapes that backs the shape map. */
-    private final Map<ShapeId, Shape> shapeMap;
+    private final ShapeMap shapeMap;
 
     /** A cache of shapes of a specific type. */
     private final Map<Class<? extends Shape>, Set<? extends Shape>> cachedTypes = new ConcurrentHashMap<>();
 
     /** Cache of computed {@link KnowledgeIndex} instances. */
-    private final Map<String, KnowledgeIndex> blackboard = new ConcurrentSkipListMap<>();
+    private final Map<String, KnowledgeIndex> blackboard = new ConcurrentHashMap<>();
 
-    /** Lazily computed trait mappings. */
-    private volatile TraitCache traitCache;
+    /** {@link KnowledgeIndex} instances that are currently being computed. */
+    private final Map<String, PendingKnowledge> pendingKnowledge = new ConcurrentHashMap<>();
+
+    /** Trait mappings computed when the model is created. */
+    private final TraitShapeIndex traitIndex;
 
     /** Lazily computed hashcode. */
     private int hash;
 
     private Model(Builder builder) {
-        shapeMap = builder.shapeMap.copy();
+        shapeMap = builder.shapeMap.build();
         metadata = builder.metadata.copy();
+        boolean unchanged = builder.base != null && inheritComputedState(builder.base);
+        traitIndex = unchanged ? builder.base.traitIndex : new TraitShapeIndex(shapeMap);
+    }
+
+    // Models created from another model (e.g., by a ModelTransformer) share the parts of the other model's shape
+    // map that didn't change. Cached shape sets and incremental knowledge indexes that aren't affected by the
+    // changed shapes are carried over too, so they don't need to be computed again. Returns true if no shapes
+    // changed.
+    private boolean inheritComputedState(Model base) {
+        List<KnowledgeIndex> indexes = new ArrayList<>();
+        if (metadata.equals(base.metadata)) {
+            for (KnowledgeIndex index : base.blackboard.values()) {
+                if (index instanceof IncrementalKnowledgeIndex) {
+                    indexes.add(index);
+                }
+            }
+        }
+
+        List<Shape> changed = new ArrayList<>();
+        ShapeMap.diff(base.shapeMap, shapeMap, (previous, current) -> {
+            if (previous != null) {
+                changed.add(previous);
+            }
+            if (current != null) {
+                changed.add(current);
+            }
+        });
+
+        for (Map.Entry<Class<? extends Shape>, Set<? extends Shape>> entry : base.cachedTypes.entrySet()) {
+            if (!containsInstance(changed, entry.getKey())) {
+                cachedTypes.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (KnowledgeIndex index : indexes) {
+            if (!isAffectedBy((IncrementalKnowledgeIndex) index, changed)) {
+                blackboard.put(index.getClass().getName(), index);
+            }
+        }
+
+        return changed.isEmpty();
+    }
+
+    private static boolean containsInstance(List<Shape> shapes, Class<? extends Shape> type) {
+        for (Shape shape : shapes) {
+            if (type.isInstance(shape)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAffectedBy(IncrementalKnowledgeIndex index, List<Shape> shapes) {
+        for (Shape shape : shapes) {
+            if (index.dependsOn(shape)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -163,21 +233,7 @@ public final class Model implements ToSmithyBuilder<Model> {
      * @return Returns the immutable set of matching shapes.
      */
     public Set<Shape> getShapesWithTrait(ToShapeId trait) {
-        Map<ShapeId, Set<Shape>> mappings = getTraitCache().traitIdsToShapes;
-        return Collections.unmodifiableSet(mappings.getOrDefault(trait.toShapeId(), Collections.emptySet()));
-    }
-
-    private TraitCache getTraitCache() {
-        TraitCache cache = traitCache;
-        if (cache == null) {
-            synchronized (this) {
-                cache = traitCache;
-                if (cache == null) {
-                    traitCache = cache = new TraitCache(this.shapeMap.values());
-                }
-            }
-        }
-        return cache;
+        return traitIndex.getShapesWithTrait(trait.toShapeId());
     }
 
     /**
@@ -199,8 +255,7 @@ public final class Model implements ToSmithyBuilder<Model> {
      * @return Returns the immutable set of matching shapes.
      */
     public Set<Shape> getShapesWithTrait(Class<? extends Trait> trait) {
-        Map<Class<? extends Trait>, Set<Shape>> mappings = getTraitCache().traitsToShapes;
-        return Collections.unmodifiableSet(mappings.getOrDefault(trait, Collections.emptySet()));
+        return traitIndex.getShapesWithTrait(trait);
     }
 
     /**
@@ -667,7 +722,7 @@ public final class Model implements ToSmithyBuilder<Model> {
      * @return Returns the shape IDs of traits used in the model.
      */
     public Set<ShapeId> getAppliedTraits() {
-        return Collections.unmodifiableSet(getTraitCache().traitIdsToShapes.keySet());
+        return traitIndex.getAppliedTraits();
     }
 
     /**
@@ -885,7 +940,149 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     @SuppressWarnings("unchecked")
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type, Function<Model, T> constructor) {
-        return (T) blackboard.computeIfAbsent(type.getName(), t -> constructor.apply(this));
+        String key = type.getName();
+        KnowledgeIndex result = blackboard.get(key);
+        return (T) (result != null ? result : computeKnowledge(key, constructor));
+    }
+
+    // Computes a knowledge index once, even if it's requested by multiple threads at the same time. Threads that
+    // request an index while another thread is computing it wait for that thread to finish. Indexes are
+    // computed while holding no locks, so indexes can use other indexes while being computed.
+    private KnowledgeIndex computeKnowledge(String key, Function<Model, ? extends KnowledgeIndex> constructor) {
+        PendingKnowledge pending = new PendingKnowledge();
+        PendingKnowledge existing = pendingKnowledge.putIfAbsent(key, pending);
+
+        if (existing != null) {
+            // An index that requires itself recurses until the stack overflows, just like it would without this.
+            return existing.owner == Thread.currentThread() ? constructor.apply(this) : existing.join();
+        }
+
+        try {
+            // The index might have been computed between checking the blackboard and becoming pending.
+            KnowledgeIndex result = blackboard.get(key);
+            if (result == null) {
+                result = constructor.apply(this);
+                blackboard.put(key, result);
+            }
+            pending.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            pending.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingKnowledge.remove(key);
+        }
+    }
+
+    private static final class PendingKnowledge {
+        private final Thread owner = Thread.currentThread();
+        private final CompletableFuture<KnowledgeIndex> result = new CompletableFuture<>();
+
+        KnowledgeIndex join() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                // Rethrow the same exception that was thrown when computing the index.
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Computes knowledge indexes in parallel using the common fork join pool.
+     *
+     * @param types Types of knowledge indexes to compute.
+     * @return Returns a future that completes when every index has been computed.
+     * @see #prewarm(Collection, Executor)
+     */
+    public CompletableFuture<Void> prewarm(Collection<Class<? extends KnowledgeIndex>> types) {
+        return prewarm(types, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes knowledge indexes in parallel using the given executor, so
+     * they're already computed when they're needed.
+     *
+     * <p>Each index is computed by calling the public static {@code of}
+     * method of its class, or by calling {@link #getKnowledge(Class)} if the
+     * class has no such method. Code that requests an index while it's
+     * being computed waits for it rather than computing it again, so
+     * indexes that are used by other indexes are only computed once, and
+     * indexes that don't depend on each other are computed concurrently.
+     *
+     * <p>This method doesn't wait for indexes to be computed. An index that
+     * fails to be computed causes the returned future to complete
+     * exceptionally, and the index is computed again the next time it's
+     * requested. Cancelling the returned future skips the indexes that
+     * haven't started to be computed.
+     *
+     * @param types Types of knowledge indexes to compute.
+     * @param executor Executor used to compute each index.
+     * @return Returns a future that completes when every index has been computed.
+     */
+    public CompletableFuture<Void> prewarm(Collection<Class<? extends KnowledgeIndex>> types, Executor executor) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(types.size());
+        for (Class<? extends KnowledgeIndex> type : types) {
+            if (!blackboard.containsKey(type.getName())) {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                futures.add(future);
+                executor.execute(() -> {
+                    if (!future.isDone()) {
+                        try {
+                            createKnowledge(type);
+                            future.complete(null);
+                        } catch (Throwable e) {
+                            future.completeExceptionally(e);
+                        }
+                    }
+                });
+            }
+        }
+
+        CompletableFuture<Void> result = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        result.whenComplete((ignored, e) -> {
+            if (result.isCancelled()) {
+                futures.forEach(future -> future.cancel(false));
+            }
+        });
+        return result;
+    }
+
+    @SuppressWarnings("deprecation")
+    private void createKnowledge(Class<? extends KnowledgeIndex> type) {
+        Method factory;
+        try {
+            factory = type.getMethod("of", Model.class);
+        } catch (NoSuchMethodException e) {
+            factory = null;
+        }
+
+        if (factory == null
+                || !Modifier.isStatic(factory.getModifiers())
+                || !type.isAssignableFrom(factory.getReturnType())) {
+            getKnowledge(type);
+            return;
+        }
+
+        try {
+            // Index classes don't need to be public to be prewarmed.
+            factory.trySetAccessible();
+            factory.invoke(null, this);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Unable to create a KnowledgeIndex for type `" + type + "`", e);
+        }
     }
 
     /**
@@ -893,7 +1090,8 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     public static final class Builder implements SmithyBuilder<Model> {
         private final BuilderRef<Map<String, Node>> metadata = BuilderRef.forUnorderedMap();
-        private final BuilderRef<Map<ShapeId, Shape>> shapeMap = BuilderRef.forUnorderedMap();
+        private final ShapeMap.Editor shapeMap = new ShapeMap.Editor();
+        private Model base;
 
         private Builder() {}
 
@@ -933,10 +1131,10 @@ public final class Model implements ToSmithyBuilder<Model> {
         public Builder addShape(Shape shape) {
             // Members must be added by their containing shapes.
             if (!shape.isMemberShape()) {
-                shapeMap.get().put(shape.getId(), shape);
+                shapeMap.put(shape.getId(), shape);
                 // Automatically add members of the shape.
                 for (MemberShape memberShape : shape.members()) {
-                    shapeMap.get().put(memberShape.getId(), memberShape);
+                    shapeMap.put(memberShape.getId(), memberShape);
                 }
             }
 
@@ -950,7 +1148,11 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder addShapes(Model model) {
-            shapeMap.get().putAll(model.shapeMap);
+            if (shapeMap.size() == 0) {
+                // The shapes of the model are shared rather than copied, so the built model is derived from it.
+                base = model;
+            }
+            shapeMap.putAll(model.shapeMap);
             return this;
         }
 
@@ -991,13 +1193,13 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder removeShape(ShapeId shapeId) {
-            if (shapeMap.hasValue() && shapeMap.peek().containsKey(shapeId)) {
-                Shape previous = shapeMap.peek().get(shapeId);
-                shapeMap.get().remove(shapeId);
+            Shape previous = shapeMap.get(shapeId);
+            if (previous != null) {
+                shapeMap.remove(shapeId);
 
                 // Automatically remove any members contained in the shape.
                 for (MemberShape memberShape : previous.members()) {
-                    shapeMap.get().remove(memberShape.getId());
+                    shapeMap.remove(memberShape.getId());
                 }
             }
 
@@ -1012,7 +1214,7 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the current shapes in the builder.
          */
         public Map<ShapeId, Shape> getCurrentShapes() {
-            return shapeMap.peek();
+            return shapeMap.view();
         }
 
         @Override
@@ -1020,18 +1222,4 @@ public final class Model implements ToSmithyBuilder<Model> {
             return new Model(this);
         }
     }
-
-    private static final class TraitCache {
-        private final Map<ShapeId, Set<Shape>> traitIdsToShapes = new HashMap<>();
-        private final Map<Class<? extends Trait>, Set<Shape>> traitsToShapes = new HashMap<>();
-
-        TraitCache(Collection<Shape> shapes) {
-            for (Shape shape : shapes) {
-                for (Trait trait : shape.getAllTraits().values()) {
-                    traitIdsToShapes.computeIfAbsent(trait.toShapeId(), id -> new HashSet<>()).add(shape);
-                    traitsToShapes.computeIfAbsent(trait.getClass(), id -> new HashSet<>()).add(shape);
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,672 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * An immutable map of shape IDs to shapes implemented as a hash array mapped trie.
+ *
+ * <p>Updating the map only copies the nodes on the path from the root to the updated entry, so a model that's
+ * created from another model shares every part of the map that wasn't changed. Updates are applied in batches
+ * using an {@link Editor}, which updates the nodes it created in place until the map is built.
+ *
+ * <p>Iterating over the entries of a trie is slower than iterating over an array, which matters for models that
+ * are queried heavily (for example, by validators). The values of the map are copied into an array the first time
+ * they're iterated, so models that are only briefly used between transformations never pay for the copy. Entries
+ * are iterated in the order of the trie, which is based on the hash codes of shape IDs.
+ */
+final class ShapeMap extends AbstractMap<ShapeId, Shape> {
+
+    static final ShapeMap EMPTY = new ShapeMap(BitmapNode.EMPTY, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Bitmap nodes at shifts 0 through 30, followed by a collision node.
+    private static final int MAX_DEPTH = 8;
+
+    private final Node root;
+    private final int size;
+
+    // A copy of the values of the map that is lazily created.
+    private volatile Shape[] valueArray;
+
+    private ShapeMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Calls a consumer with the previous and current value of each entry that isn't the same in both maps.
+     *
+     * <p>The previous value is null for added entries, and the current value is null for removed entries. Values
+     * are compared by reference, and parts of the maps that are shared are skipped.
+     *
+     * @param previous Previous map.
+     * @param current Current map.
+     * @param consumer Consumer that accepts the previous and current value of each changed entry.
+     */
+    static void diff(ShapeMap previous, ShapeMap current, BiConsumer<Shape, Shape> consumer) {
+        diff(previous.root, current.root, consumer);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Shape get(Object key) {
+        return key instanceof ShapeId ? find(root, (ShapeId) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<ShapeId, Shape>> entrySet() {
+        return new EntrySet(root, size);
+    }
+
+    @Override
+    public Collection<Shape> values() {
+        Shape[] values = valueArray;
+        return Collections.unmodifiableList(Arrays.asList(values != null ? values : createValueArray()));
+    }
+
+    private synchronized Shape[] createValueArray() {
+        Shape[] values = valueArray;
+        if (values == null) {
+            values = new Shape[size];
+            int i = 0;
+            for (Node.Cursor cursor = new Node.Cursor(root); cursor.advance();) {
+                values[i++] = cursor.value;
+            }
+            valueArray = values;
+        }
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return (o instanceof ShapeMap && ((ShapeMap) o).root == root) || super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // Lookups are the most common operation, so bitmap nodes are walked in a loop rather than recursively.
+    private static Shape find(Node root, ShapeId key) {
+        int hash = hash(key);
+        Node node = root;
+        for (int shift = 0; node instanceof BitmapNode; shift += BITS) {
+            BitmapNode bitmapNode = (BitmapNode) node;
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmapNode.bitmap & bit) == 0) {
+                return null;
+            }
+            int index = bitmapNode.index(bit);
+            Object[] array = bitmapNode.array;
+            Object k = array[index];
+            if (k == null) {
+                node = (Node) array[index + 1];
+            } else {
+                return k == key || key.equals(k) ? (Shape) array[index + 1] : null;
+            }
+        }
+        return node.find(0, hash, key);
+    }
+
+    /**
+     * Applies a batch of updates to a map.
+     */
+    static final class Editor {
+        private Node root;
+        private int size;
+        private Object owner = new Object();
+        private ShapeMap built;
+
+        Editor() {
+            this(EMPTY);
+        }
+
+        Editor(ShapeMap map) {
+            root = map.root;
+            size = map.size;
+            built = map;
+        }
+
+        int size() {
+            return size;
+        }
+
+        Shape get(ShapeId id) {
+            return find(root, id);
+        }
+
+        void put(ShapeId id, Shape shape) {
+            root = root.put(this, 0, hash(id), id, shape);
+        }
+
+        void remove(ShapeId id) {
+            Node result = root.remove(this, 0, hash(id), id);
+            root = result == null ? BitmapNode.EMPTY : result;
+        }
+
+        void putAll(ShapeMap map) {
+            if (size == 0) {
+                // Share the entire map rather than copying it.
+                root = map.root;
+                size = map.size;
+                built = map;
+            } else {
+                for (Node.Cursor cursor = new Node.Cursor(map.root); cursor.advance();) {
+                    put(cursor.key, cursor.value);
+                }
+            }
+        }
+
+        /**
+         * Creates a map of the current entries.
+         *
+         * <p>Nodes that are part of a built map are copied rather than updated in place by subsequent updates.
+         *
+         * @return Returns the created map.
+         */
+        ShapeMap build() {
+            if (built == null) {
+                owner = new Object();
+                built = new ShapeMap(root, size);
+            }
+            return built;
+        }
+
+        /**
+         * Gets an unmodifiable view of the current entries that doesn't need to be rebuilt after each update.
+         *
+         * @return Returns the view.
+         */
+        Map<ShapeId, Shape> view() {
+            return new AbstractMap<ShapeId, Shape>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Shape get(Object key) {
+                    return key instanceof ShapeId ? Editor.this.get((ShapeId) key) : null;
+                }
+
+                @Override
+                public boolean containsKey(Object key) {
+                    return get(key) != null;
+                }
+
+                @Override
+                public Set<Entry<ShapeId, Shape>> entrySet() {
+                    return new EntrySet(root, size);
+                }
+            };
+        }
+
+        private void changed(int sizeDelta) {
+            size += sizeDelta;
+            built = null;
+        }
+    }
+
+    private abstract static class Node {
+        // Entries are stored as key and value pairs. A null key means the value is a child node.
+        Object[] array;
+        final Object owner;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+
+        abstract Shape find(int shift, int hash, ShapeId key);
+
+        abstract Node put(Editor editor, int shift, int hash, ShapeId key, Shape value);
+
+        abstract Node remove(Editor editor, int shift, int hash, ShapeId key);
+
+        static Object[] insertPair(Object[] array, int index, Object key, Object value) {
+            Object[] result = new Object[array.length + 2];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = key;
+            result[index + 1] = value;
+            System.arraycopy(array, index, result, index + 2, array.length - index);
+            return result;
+        }
+
+        static Object[] removePair(Object[] array, int index) {
+            Object[] result = new Object[array.length - 2];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 2, result, index, array.length - index - 2);
+            return result;
+        }
+
+        /**
+         * Visits every entry of a node and its children in depth-first order.
+         */
+        static final class Cursor {
+            private final Object[][] arrays = new Object[MAX_DEPTH][];
+            private final int[] positions = new int[MAX_DEPTH];
+            private int depth;
+            ShapeId key;
+            Shape value;
+
+            Cursor(Node root) {
+                arrays[0] = root.array;
+            }
+
+            boolean advance() {
+                while (depth >= 0) {
+                    Object[] array = arrays[depth];
+                    int position = positions[depth];
+                    if (position == array.length) {
+                        depth--;
+                        continue;
+                    }
+                    positions[depth] = position + 2;
+                    if (array[position] != null) {
+                        key = (ShapeId) array[position];
+                        value = (Shape) array[position + 1];
+                        return true;
+                    }
+                    depth++;
+                    arrays[depth] = ((Node) array[position + 1]).array;
+                    positions[depth] = 0;
+                }
+                return false;
+            }
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        int bitmap;
+
+        BitmapNode(Object owner, int bitmap, Object[] array) {
+            super(owner, array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) << 1;
+        }
+
+        @Override
+        Shape find(int shift, int hash, ShapeId key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = index(bit);
+            Object k = array[index];
+            if (k == null) {
+                return ((Node) array[index + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? (Shape) array[index + 1] : null;
+        }
+
+        @Override
+        Node put(Editor editor, int shift, int hash, ShapeId key, Shape value) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                editor.changed(1);
+                BitmapNode node = editable(editor);
+                node.array = insertPair(array, index, key, value);
+                node.bitmap |= bit;
+                return node;
+            }
+
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node updated = child.put(editor, shift + BITS, hash, key, value);
+                return updated == child ? this : set(editor, index, null, updated);
+            } else if (key.equals(k)) {
+                if (v == value) {
+                    return this;
+                }
+                editor.changed(0);
+                return set(editor, index, key, value);
+            }
+
+            editor.changed(1);
+            Node child = createNode(editor.owner, shift + BITS, (ShapeId) k, (Shape) v, hash, key, value);
+            return set(editor, index, null, child);
+        }
+
+        @Override
+        Node remove(Editor editor, int shift, int hash, ShapeId key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = index(bit);
+            Object k = array[index];
+            if (k == null) {
+                Node child = (Node) array[index + 1];
+                Node updated = child.remove(editor, shift + BITS, hash, key);
+                if (updated == child) {
+                    return this;
+                } else if (updated == null) {
+                    return removeSlot(editor, bit, index);
+                } else if (updated.array.length == 2 && updated.array[0] != null) {
+                    // Inline a child that only contains a single entry.
+                    return set(editor, index, updated.array[0], updated.array[1]);
+                }
+                return set(editor, index, null, updated);
+            } else if (key.equals(k)) {
+                editor.changed(-1);
+                return removeSlot(editor, bit, index);
+            }
+
+            return this;
+        }
+
+        private Node removeSlot(Editor editor, int bit, int index) {
+            if (bitmap == bit) {
+                return null;
+            }
+            BitmapNode node = editable(editor);
+            node.array = removePair(array, index);
+            node.bitmap ^= bit;
+            return node;
+        }
+
+        private BitmapNode set(Editor editor, int index, Object key, Object value) {
+            BitmapNode node = editable(editor);
+            if (node == this) {
+                array[index] = key;
+                array[index + 1] = value;
+            } else {
+                node.array = array.clone();
+                node.array[index] = key;
+                node.array[index + 1] = value;
+            }
+            return node;
+        }
+
+        private BitmapNode editable(Editor editor) {
+            return owner == editor.owner ? this : new BitmapNode(editor.owner, bitmap, array);
+        }
+
+        private static Node createNode(
+                Object owner,
+                int shift,
+                ShapeId key1,
+                Shape value1,
+                int hash2,
+                ShapeId key2,
+                Shape value2
+        ) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(owner, hash1, new Object[] {key1, value1, key2, value2});
+            }
+
+            int bit1 = 1 << ((hash1 >>> shift) & MASK);
+            int bit2 = 1 << ((hash2 >>> shift) & MASK);
+            if (bit1 == bit2) {
+                Node child = createNode(owner, shift + BITS, key1, value1, hash2, key2, value2);
+                return new BitmapNode(owner, bit1, new Object[] {null, child});
+            } else if (Integer.compareUnsigned(bit1, bit2) < 0) {
+                return new BitmapNode(owner, bit1 | bit2, new Object[] {key1, value1, key2, value2});
+            } else {
+                return new BitmapNode(owner, bit1 | bit2, new Object[] {key2, value2, key1, value1});
+            }
+        }
+    }
+
+    // Contains keys that have the same hash.
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(Object owner, int hash, Object[] array) {
+            super(owner, array);
+            this.hash = hash;
+        }
+
+        private int indexOf(ShapeId key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Shape find(int shift, int hash, ShapeId key) {
+            int index = indexOf(key);
+            return index == -1 ? null : (Shape) array[index + 1];
+        }
+
+        @Override
+        Node put(Editor editor, int shift, int hash, ShapeId key, Shape value) {
+            if (hash != this.hash) {
+                // Nest this node in a bitmap node so that the key can be stored next to it.
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(editor.owner, bit, new Object[] {null, this})
+                        .put(editor, shift, hash, key, value);
+            }
+
+            int index = indexOf(key);
+            Object[] updated;
+            if (index == -1) {
+                editor.changed(1);
+                updated = insertPair(array, array.length, key, value);
+            } else if (array[index + 1] == value) {
+                return this;
+            } else {
+                editor.changed(0);
+                updated = array.clone();
+                updated[index + 1] = value;
+            }
+
+            if (owner == editor.owner) {
+                array = updated;
+                return this;
+            }
+            return new CollisionNode(editor.owner, hash, updated);
+        }
+
+        @Override
+        Node remove(Editor editor, int shift, int hash, ShapeId key) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return this;
+            }
+            editor.changed(-1);
+            if (array.length == 2) {
+                return null;
+            }
+            return new CollisionNode(editor.owner, hash, removePair(array, index));
+        }
+    }
+
+    private static void diff(Node previous, Node current, BiConsumer<Shape, Shape> consumer) {
+        if (previous == current) {
+            return;
+        } else if (!(previous instanceof BitmapNode) || !(current instanceof BitmapNode)) {
+            diffEntries(previous.array, 0, previous.array.length, current.array, 0, current.array.length, consumer);
+            return;
+        }
+
+        BitmapNode left = (BitmapNode) previous;
+        BitmapNode right = (BitmapNode) current;
+        int remaining = left.bitmap | right.bitmap;
+        while (remaining != 0) {
+            int bit = Integer.lowestOneBit(remaining);
+            remaining ^= bit;
+            int leftIndex = (left.bitmap & bit) == 0 ? -1 : left.index(bit);
+            int rightIndex = (right.bitmap & bit) == 0 ? -1 : right.index(bit);
+
+            if (leftIndex == -1) {
+                diffEntries(left.array, 0, 0, right.array, rightIndex, rightIndex + 2, consumer);
+            } else if (rightIndex == -1) {
+                diffEntries(left.array, leftIndex, leftIndex + 2, right.array, 0, 0, consumer);
+            } else {
+                Object leftKey = left.array[leftIndex];
+                Object leftValue = left.array[leftIndex + 1];
+                Object rightKey = right.array[rightIndex];
+                Object rightValue = right.array[rightIndex + 1];
+                if (leftKey == null && rightKey == null) {
+                    diff((Node) leftValue, (Node) rightValue, consumer);
+                } else if (leftKey != null && leftKey.equals(rightKey)) {
+                    if (leftValue != rightValue) {
+                        consumer.accept((Shape) leftValue, (Shape) rightValue);
+                    }
+                } else {
+                    diffEntries(left.array, leftIndex, leftIndex + 2,
+                            right.array, rightIndex, rightIndex + 2, consumer);
+                }
+            }
+        }
+    }
+
+    // Compares the entries of two ranges of pairs that don't have the same structure.
+    private static void diffEntries(
+            Object[] left,
+            int leftStart,
+            int leftEnd,
+            Object[] right,
+            int rightStart,
+            int rightEnd,
+            BiConsumer<Shape, Shape> consumer
+    ) {
+        Map<ShapeId, Shape> previous = new HashMap<>();
+        collect(left, leftStart, leftEnd, previous);
+        Map<ShapeId, Shape> current = new HashMap<>();
+        collect(right, rightStart, rightEnd, current);
+
+        for (Map.Entry<ShapeId, Shape> entry : previous.entrySet()) {
+            Shape value = current.get(entry.getKey());
+            if (value != entry.getValue()) {
+                consumer.accept(entry.getValue(), value);
+            }
+        }
+
+        for (Map.Entry<ShapeId, Shape> entry : current.entrySet()) {
+            if (!previous.containsKey(entry.getKey())) {
+                consumer.accept(null, entry.getValue());
+            }
+        }
+    }
+
+    private static void collect(Object[] array, int start, int end, Map<ShapeId, Shape> result) {
+        for (int i = start; i < end; i += 2) {
+            if (array[i] != null) {
+                result.put((ShapeId) array[i], (Shape) array[i + 1]);
+            } else {
+                Node child = (Node) array[i + 1];
+                collect(child.array, 0, child.array.length, result);
+            }
+        }
+    }
+
+    private static final class EntrySet extends AbstractSet<Entry<ShapeId, Shape>> {
+        private final Node root;
+        private final int size;
+
+        EntrySet(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Object key = entry.getKey();
+            Shape value = key instanceof ShapeId ? find(root, (ShapeId) key) : null;
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public Iterator<Entry<ShapeId, Shape>> iterator() {
+            return new CursorIterator<Entry<ShapeId, Shape>>(root) {
+                @Override
+                Entry<ShapeId, Shape> current(Node.Cursor cursor) {
+                    return new SimpleImmutableEntry<>(cursor.key, cursor.value);
+                }
+            };
+        }
+    }
+
+    private abstract static class CursorIterator<T> implements Iterator<T> {
+        private final Node.Cursor cursor;
+        private boolean ready;
+        private boolean hasNext;
+
+        CursorIterator(Node root) {
+            cursor = new Node.Cursor(root);
+        }
+
+        abstract T current(Node.Cursor cursor);
+
+        @Override
+        public boolean hasNext() {
+            if (!ready) {
+                hasNext = cursor.advance();
+                ready = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return current(cursor);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * Maps trait shape IDs and trait classes to the shapes they're applied to.
+ *
+ * <p>Every shape in the model is assigned an ordinal, and each trait maps to a sorted array of the ordinals of
+ * the shapes it's applied to. Lookups return immutable views over these arrays rather than copies.
+ */
+final class TraitShapeIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<ShapeId, Shape> shapeMap;
+    private final Shape[] shapes;
+    private final Map<ShapeId, int[]> traitIdsToOrdinals;
+    private final Map<Class<? extends Trait>, int[]> traitsToOrdinals;
+
+    TraitShapeIndex(Map<ShapeId, Shape> shapeMap) {
+        this.shapeMap = shapeMap;
+        this.shapes = shapeMap.values().toArray(new Shape[0]);
+
+        // Ordinals are visited in increasing order, so each array is sorted as it's built. A shape can have multiple
+        // traits of the same class (e.g., DynamicTrait), so the last ordinal is checked to avoid duplicates.
+        Map<ShapeId, OrdinalList> ids = new HashMap<>();
+        Map<Class<? extends Trait>, OrdinalList> classes = new HashMap<>();
+        for (int ordinal = 0; ordinal < this.shapes.length; ordinal++) {
+            for (Trait trait : this.shapes[ordinal].getAllTraits().values()) {
+                ids.computeIfAbsent(trait.toShapeId(), id -> new OrdinalList()).add(ordinal);
+                classes.computeIfAbsent(trait.getClass(), c -> new OrdinalList()).add(ordinal);
+            }
+        }
+
+        traitIdsToOrdinals = toArrays(ids);
+        traitsToOrdinals = toArrays(classes);
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, OrdinalList> lists) {
+        Map<K, int[]> result = new HashMap<>(lists.size() + (lists.size() >> 1) + 1);
+        for (Map.Entry<K, OrdinalList> entry : lists.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return result;
+    }
+
+    Set<Shape> getShapesWithTrait(ShapeId trait) {
+        return new OrdinalSet(traitIdsToOrdinals.getOrDefault(trait, EMPTY), shape -> shape.hasTrait(trait));
+    }
+
+    Set<Shape> getShapesWithTrait(Class<? extends Trait> trait) {
+        return new OrdinalSet(traitsToOrdinals.getOrDefault(trait, EMPTY), shape -> {
+            for (Trait value : shape.getAllTraits().values()) {
+                if (value.getClass() == trait) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    Set<ShapeId> getAppliedTraits() {
+        return Collections.unmodifiableSet(traitIdsToOrdinals.keySet());
+    }
+
+    private static final class OrdinalList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && values[size - 1] == ordinal) {
+                return;
+            } else if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = ordinal;
+        }
+
+        int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * An immutable view of the shapes at a sorted array of ordinals.
+     */
+    private final class OrdinalSet extends AbstractSet<Shape> {
+        private final int[] ordinals;
+        private final Predicate<Shape> hasTrait;
+
+        OrdinalSet(int[] ordinals, Predicate<Shape> hasTrait) {
+            this.ordinals = ordinals;
+            this.hasTrait = hasTrait;
+        }
+
+        @Override
+        public int size() {
+            return ordinals.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ordinals.length == 0;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (ordinals.length == 0 || !(o instanceof Shape)) {
+                return false;
+            }
+            Shape shape = (Shape) o;
+            return hasTrait.test(shape) && shape.equals(shapeMap.get(shape.getId()));
+        }
+
+        @Override
+        public Iterator<Shape> iterator() {
+            return new Iterator<Shape>() {
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position < ordinals.length;
+                }
+
+                @Override
+                public Shape next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return shapes[ordinals[position++]];
+                }
+            };
+        }
+    }
+}
@@ -25,7 +25,7 @@ import software.amazon.smithy.utils.ListUtils;
 /**
  * Computes all of the parent shapes of resources and operations from the bottom-up.
  */
-public final class BottomUpIndex implements KnowledgeIndex {
+public final class BottomUpIndex implements IncrementalKnowledgeIndex {
     private final Map<ShapeId, Map<ShapeId, List<EntityShape>>> parentBindings = new HashMap<>();
 
     public BottomUpIndex(Model model) {
@@ -68,6 +68,11 @@ public final class BottomUpIndex implements KnowledgeIndex {
         return model.getKnowledge(BottomUpIndex.class, BottomUpIndex::new);
     }
 
+    @Override
+    public boolean dependsOn(Shape shape) {
+        return shape.isServiceShape() || shape.isResourceShape() || shape.isOperationShape();
+    }
+
     /**
      * Gets all of the parents of an operation or resource within a service.
      *
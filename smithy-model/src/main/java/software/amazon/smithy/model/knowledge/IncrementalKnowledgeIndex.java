@@ -0,0 +1,37 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.knowledge;
+
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.transform.ModelTransformer;
+
+/**
+ * A {@link KnowledgeIndex} that can be reused by models created from the
+ * model it was computed for, as long as none of the shapes it depends on
+ * were changed.
+ *
+ * <p>When a model is created from another model (for example, by a
+ * {@link ModelTransformer}), each incremental index that was computed for
+ * the original model is carried over to the new model if the metadata of
+ * the models is the same, and {@link #dependsOn} returns false for every
+ * shape that was added, removed, or replaced.
+ *
+ * <p>Incremental indexes must only be computed from the shapes they depend
+ * on, and must not retain a reference to the {@link Model} they were
+ * computed for.
+ */
+public interface IncrementalKnowledgeIndex extends KnowledgeIndex {
+    /**
+     * Checks if the index depends on the given shape.
+     *
+     * <p>This method is called with both the previous and current version
+     * of each shape that changed.
+     *
+     * @param shape Shape that was added, removed, or replaced.
+     * @return Returns true if the index needs to be recomputed when the shape changes.
+     */
+    boolean dependsOn(Shape shape);
+}
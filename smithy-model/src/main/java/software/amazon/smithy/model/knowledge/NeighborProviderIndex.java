@@ -7,6 +7,7 @@ package software.amazon.smithy.model.knowledge;
 import java.lang.ref.WeakReference;
 import java.util.Objects;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.NeighborGraph;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 
 /**
@@ -21,6 +22,7 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
     private volatile NeighborProvider reversed;
     private volatile NeighborProvider providerWithTraits;
     private volatile NeighborProvider reversedWithTraits;
+    private volatile NeighborGraph graph;
 
     public NeighborProviderIndex(Model model) {
         provider = NeighborProvider.precomputed(model);
@@ -107,6 +109,27 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
         return result;
     }
 
+    /**
+     * Gets an ordinal-indexed graph of the relationships returned by {@link #getProvider()}.
+     *
+     * @return Returns the neighbor graph.
+     */
+    public NeighborGraph getGraph() {
+        NeighborGraph result = graph;
+
+        if (result == null) {
+            Model model = getOrThrowModel();
+            synchronized (this) {
+                result = graph;
+                if (result == null) {
+                    graph = result = NeighborGraph.of(model, provider);
+                }
+            }
+        }
+
+        return result;
+    }
+
     private Model getOrThrowModel() {
         return Objects.requireNonNull(model.get(), "Model was destroyed before using this knowledge index");
     }
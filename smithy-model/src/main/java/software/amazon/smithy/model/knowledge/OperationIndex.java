@@ -38,7 +38,7 @@ import software.amazon.smithy.utils.SetUtils;
  * errors actually reference valid structures. Such operation inputs,
  * outputs, and errors may be discarded as if they do not exist.
  */
-public final class OperationIndex implements KnowledgeIndex {
+public final class OperationIndex implements IncrementalKnowledgeIndex {
     private final Map<ShapeId, StructureShape> inputs = new HashMap<>();
     private final Map<ShapeId, StructureShape> outputs = new HashMap<>();
     private final Map<ShapeId, List<StructureShape>> errors = new HashMap<>();
@@ -78,6 +78,11 @@ public final class OperationIndex implements KnowledgeIndex {
         return model.getKnowledge(OperationIndex.class, OperationIndex::new);
     }
 
+    @Override
+    public boolean dependsOn(Shape shape) {
+        return shape.isOperationShape() || shape.isServiceShape() || shape.isStructureShape();
+    }
+
     /**
      * Gets the optional input structure of an operation, and returns an
      * empty optional if the input targets {@code smithy.api#Unit}.
@@ -4,19 +4,20 @@
  */
 package software.amazon.smithy.model.knowledge;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.neighbor.NeighborProvider;
-import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.NeighborGraph;
 import software.amazon.smithy.model.neighbor.RelationshipType;
-import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
@@ -28,35 +29,44 @@ import software.amazon.smithy.model.shapes.ToShapeId;
  * Provides top-down access to all resources and operations contained within a
  * service or resource closure.
  */
-public final class TopDownIndex implements KnowledgeIndex {
+public final class TopDownIndex implements IncrementalKnowledgeIndex {
     private final Map<ShapeId, Set<ResourceShape>> resources = new HashMap<>();
     private final Map<ShapeId, Set<OperationShape>> operations = new HashMap<>();
     private final Map<ShapeId, Set<ResourceShape>> sortedResources = new HashMap<>();
     private final Map<ShapeId, Set<OperationShape>> sortedOperations = new HashMap<>();
 
     public TopDownIndex(Model model) {
-        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
-        Walker walker = new Walker(provider);
+        NeighborGraph graph = NeighborProviderIndex.of(model).getGraph();
 
         // Only traverse resource and operation bindings.
-        Predicate<Relationship> filter = rel -> {
-            RelationshipType type = rel.getRelationshipType();
-            return type == RelationshipType.RESOURCE || type.isOperationBinding();
-        };
+        Predicate<RelationshipType> filter = type -> type == RelationshipType.RESOURCE || type.isOperationBinding();
 
         for (ResourceShape resource : model.getResourceShapes()) {
-            findContained(resource.getId(), walker.walkShapes(resource, filter));
+            findContained(resource.getId(), walk(graph, resource, filter));
         }
 
         for (ServiceShape service : model.getServiceShapes()) {
-            findContained(service.getId(), walker.walkShapes(service, filter));
+            findContained(service.getId(), walk(graph, service, filter));
         }
     }
 
+    private static List<Shape> walk(NeighborGraph graph, Shape shape, Predicate<RelationshipType> filter) {
+        List<Shape> result = new ArrayList<>();
+        graph.walk(graph.getOrdinal(shape.getId()), filter, new BitSet(graph.size()), ordinal -> {
+            result.add(graph.getShape(ordinal));
+        });
+        return result;
+    }
+
     public static TopDownIndex of(Model model) {
         return model.getKnowledge(TopDownIndex.class, TopDownIndex::new);
     }
 
+    @Override
+    public boolean dependsOn(Shape shape) {
+        return shape.isServiceShape() || shape.isResourceShape() || shape.isOperationShape();
+    }
+
     private void findContained(ShapeId container, Collection<Shape> shapes) {
         Set<ResourceShape> containedResources = new LinkedHashSet<>();
         Set<OperationShape> containedOperations = new LinkedHashSet<>();
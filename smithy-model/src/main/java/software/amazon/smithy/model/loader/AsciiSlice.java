@@ -0,0 +1,69 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A CharSequence view of a range of ASCII bytes.
+ *
+ * <p>ASCII bytes are also UTF-16 chars, so the bytes are read in place and a String is only created when
+ * {@link #toString} is called (for example, when a {@link StringTable} hasn't seen the characters yet).
+ */
+final class AsciiSlice implements CharSequence {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    AsciiSlice(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a CharSequence from a range of UTF-8 bytes.
+     *
+     * @param bytes  Bytes to read.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @return Returns a view of the bytes if they're ASCII, or the decoded String if they aren't.
+     */
+    static CharSequence of(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        }
+        return new AsciiSlice(bytes, offset, length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+        return new AsciiSlice(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -56,7 +56,7 @@ final class AstModelLoader {
 
     private static final String METADATA = "metadata";
     private static final String MEMBERS = "members";
-    private static final String SHAPES = "shapes";
+    static final String SHAPES = "shapes";
     private static final String TRAITS = "traits";
     private static final String TYPE = "type";
     private static final String TARGET = "target";
@@ -104,7 +104,7 @@ final class AstModelLoader {
             MIXINS);
 
     private final Version modelVersion;
-    private final ObjectNode model;
+    private ObjectNode model;
     private Consumer<LoadOperation> operations;
 
     AstModelLoader(Version modelVersion, ObjectNode model) {
@@ -114,9 +114,37 @@ final class AstModelLoader {
 
     void parse(Consumer<LoadOperation> consumer) {
         operations = consumer;
-        LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES).ifPresent(this::emit);
         StringNode versionNode = model.expectStringMember("smithy");
         consumer.accept(new LoadOperation.ModelVersion(modelVersion, versionNode.getSourceLocation()));
+        loadModel();
+    }
+
+    /**
+     * Starts loading a model whose shapes are streamed to the loader.
+     *
+     * <p>Shapes are loaded as they're given to {@link #loadShape(StringNode, Node)},
+     * and the rest of the model is loaded by {@link #finishStreaming(ObjectNode)}.
+     *
+     * @param consumer Where loader operations are published.
+     * @param versionNode The "smithy" version of the model.
+     */
+    void startStreaming(Consumer<LoadOperation> consumer, StringNode versionNode) {
+        operations = consumer;
+        consumer.accept(new LoadOperation.ModelVersion(modelVersion, versionNode.getSourceLocation()));
+    }
+
+    /**
+     * Loads the rest of a model whose shapes were streamed to the loader.
+     *
+     * @param remaining The model without the shapes that were already streamed.
+     */
+    void finishStreaming(ObjectNode remaining) {
+        model = remaining;
+        loadModel();
+    }
+
+    private void loadModel() {
+        LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES).ifPresent(this::emit);
         loadMetadata();
         loadShapes();
     }
@@ -140,23 +168,27 @@ final class AstModelLoader {
     private void loadShapes() {
         model.getObjectMember(SHAPES).ifPresent(shapes -> {
             for (Map.Entry<StringNode, Node> entry : shapes.getMembers().entrySet()) {
-                ShapeId id = entry.getKey().expectShapeId();
-                ObjectNode definition = entry.getValue().expectObjectNode();
-                String type = definition.expectStringMember(TYPE).getValue();
-                try {
-                    // Note: loadShape() returns null when using apply for traits.
-                    LoadOperation.DefineShape defineShape = loadShape(id, type, definition);
-                    if (defineShape != null) {
-                        operations.accept(defineShape);
-                    }
-                } catch (SourceException e) {
-                    ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
-                    emit(event);
-                }
+                loadShape(entry.getKey(), entry.getValue());
             }
         });
     }
 
+    void loadShape(StringNode key, Node value) {
+        ShapeId id = key.expectShapeId();
+        ObjectNode definition = value.expectObjectNode();
+        String type = definition.expectStringMember(TYPE).getValue();
+        try {
+            // Note: loadShape() returns null when using apply for traits.
+            LoadOperation.DefineShape defineShape = loadShape(id, type, definition);
+            if (defineShape != null) {
+                operations.accept(defineShape);
+            }
+        } catch (SourceException e) {
+            ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
+            emit(event);
+        }
+    }
+
     private LoadOperation.DefineShape loadShape(ShapeId id, String type, ObjectNode value) {
         switch (type) {
             case "blob":
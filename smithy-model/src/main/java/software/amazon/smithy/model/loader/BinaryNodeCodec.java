@@ -0,0 +1,330 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+
+/**
+ * Encodes and decodes {@link Node} values, including their source locations,
+ * in a compact binary form.
+ *
+ * <p>Every string (values, object keys, and source location filenames) is
+ * written once and then referred to by index, so repeated keys like "type",
+ * "target", and "traits" and repeated filenames cost a few bytes each.
+ * Integers are written as variable-length quantities. The Java type of the
+ * number held by a {@link NumberNode} is preserved.
+ *
+ * <p>Strings can instead be kept in a table shared by many independently
+ * written values, in which case only the index of each string is written.
+ * This lets a reader decode any one of the values without first decoding
+ * the values written before it.
+ */
+final class BinaryNodeCodec {
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte STRING = 3;
+    private static final byte ARRAY = 4;
+    private static final byte OBJECT = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+    private static final byte SHORT = 8;
+    private static final byte BYTE = 9;
+    private static final byte FLOAT = 10;
+    private static final byte DOUBLE = 11;
+    private static final byte BIG_INTEGER = 12;
+    private static final byte BIG_DECIMAL = 13;
+
+    private BinaryNodeCodec() {}
+
+    /**
+     * Writes nodes to a stream.
+     */
+    static final class Writer {
+        private final DataOutputStream out;
+        private final UnaryOperator<String> filenames;
+        private final ToIntFunction<String> sharedStrings;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this(out, UnaryOperator.identity());
+        }
+
+        /**
+         * @param out Stream to write to.
+         * @param filenames Maps the filenames of source locations before they're written.
+         */
+        Writer(DataOutputStream out, UnaryOperator<String> filenames) {
+            this(out, filenames, null);
+        }
+
+        /**
+         * @param out Stream to write to.
+         * @param filenames Maps the filenames of source locations before they're written.
+         * @param sharedStrings Gets the index of a string in a shared table, or null to write strings inline.
+         */
+        Writer(DataOutputStream out, UnaryOperator<String> filenames, ToIntFunction<String> sharedStrings) {
+            this.out = out;
+            this.filenames = filenames;
+            this.sharedStrings = sharedStrings;
+        }
+
+        void writeNode(Node node) throws IOException {
+            switch (node.getType()) {
+                case NULL:
+                    out.writeByte(NULL);
+                    writeLocation(node.getSourceLocation());
+                    break;
+                case BOOLEAN:
+                    out.writeByte(node.expectBooleanNode().getValue() ? TRUE : FALSE);
+                    writeLocation(node.getSourceLocation());
+                    break;
+                case STRING:
+                    out.writeByte(STRING);
+                    writeLocation(node.getSourceLocation());
+                    writeString(node.expectStringNode().getValue());
+                    break;
+                case NUMBER:
+                    writeNumber(node.expectNumberNode());
+                    break;
+                case ARRAY:
+                    ArrayNode array = node.expectArrayNode();
+                    out.writeByte(ARRAY);
+                    writeLocation(node.getSourceLocation());
+                    writeVarInt(array.size());
+                    for (Node element : array.getElements()) {
+                        writeNode(element);
+                    }
+                    break;
+                case OBJECT:
+                    ObjectNode object = node.expectObjectNode();
+                    out.writeByte(OBJECT);
+                    writeLocation(node.getSourceLocation());
+                    writeVarInt(object.size());
+                    for (Map.Entry<StringNode, Node> entry : object.getMembers().entrySet()) {
+                        writeLocation(entry.getKey().getSourceLocation());
+                        writeString(entry.getKey().getValue());
+                        writeNode(entry.getValue());
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected node type: " + node.getType());
+            }
+        }
+
+        private void writeNumber(NumberNode node) throws IOException {
+            Number value = node.getValue();
+            if (value instanceof Integer) {
+                out.writeByte(INT);
+                writeLocation(node.getSourceLocation());
+                out.writeInt(value.intValue());
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                writeLocation(node.getSourceLocation());
+                out.writeLong(value.longValue());
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT);
+                writeLocation(node.getSourceLocation());
+                out.writeShort(value.shortValue());
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE);
+                writeLocation(node.getSourceLocation());
+                out.writeByte(value.byteValue());
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                writeLocation(node.getSourceLocation());
+                out.writeFloat(value.floatValue());
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                writeLocation(node.getSourceLocation());
+                out.writeDouble(value.doubleValue());
+            } else if (value instanceof BigInteger) {
+                out.writeByte(BIG_INTEGER);
+                writeLocation(node.getSourceLocation());
+                writeString(value.toString());
+            } else {
+                out.writeByte(BIG_DECIMAL);
+                writeLocation(node.getSourceLocation());
+                writeString(value.toString());
+            }
+        }
+
+        void writeLocation(SourceLocation location) throws IOException {
+            writeString(filenames.apply(location.getFilename()));
+            writeVarInt(location.getLine());
+            writeVarInt(location.getColumn());
+        }
+
+        void writeString(String value) throws IOException {
+            if (sharedStrings != null) {
+                writeVarInt(sharedStrings.applyAsInt(value));
+                return;
+            }
+
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index);
+            } else {
+                // A new string is written as the next unused index followed by its UTF-8 bytes.
+                int next = strings.size();
+                strings.put(value, next);
+                writeVarInt(next);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    /**
+     * Reads nodes from a stream written by a {@link Writer}.
+     */
+    static final class Reader {
+        private final DataInputStream in;
+        private final UnaryOperator<String> filenames;
+        private final IntFunction<String> sharedStrings;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this(in, UnaryOperator.identity());
+        }
+
+        /**
+         * @param in Stream to read from.
+         * @param filenames Maps the filenames of source locations after they're read.
+         */
+        Reader(DataInputStream in, UnaryOperator<String> filenames) {
+            this(in, filenames, null);
+        }
+
+        /**
+         * @param in Stream to read from.
+         * @param filenames Maps the filenames of source locations after they're read.
+         * @param sharedStrings Gets a string from a shared table by index, or null to read strings inline.
+         */
+        Reader(DataInputStream in, UnaryOperator<String> filenames, IntFunction<String> sharedStrings) {
+            this.in = in;
+            this.filenames = filenames;
+            this.sharedStrings = sharedStrings;
+        }
+
+        Node readNode() throws IOException {
+            byte tag = in.readByte();
+            SourceLocation location = readLocation();
+            switch (tag) {
+                case NULL:
+                    return new NullNode(location);
+                case TRUE:
+                    return new BooleanNode(true, location);
+                case FALSE:
+                    return new BooleanNode(false, location);
+                case STRING:
+                    return new StringNode(readString(), location);
+                case ARRAY:
+                    int size = readVarInt();
+                    List<Node> elements = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        elements.add(readNode());
+                    }
+                    return new ArrayNode(elements, location);
+                case OBJECT:
+                    int members = readVarInt();
+                    Map<StringNode, Node> map = new LinkedHashMap<>(members + (members >> 1) + 1);
+                    for (int i = 0; i < members; i++) {
+                        SourceLocation keyLocation = readLocation();
+                        map.put(new StringNode(readString(), keyLocation), readNode());
+                    }
+                    return new ObjectNode(map, location);
+                case INT:
+                    return new NumberNode(in.readInt(), location);
+                case LONG:
+                    return new NumberNode(in.readLong(), location);
+                case SHORT:
+                    return new NumberNode(in.readShort(), location);
+                case BYTE:
+                    return new NumberNode(in.readByte(), location);
+                case FLOAT:
+                    return new NumberNode(in.readFloat(), location);
+                case DOUBLE:
+                    return new NumberNode(in.readDouble(), location);
+                case BIG_INTEGER:
+                    return new NumberNode(new BigInteger(readString()), location);
+                case BIG_DECIMAL:
+                    return new NumberNode(new BigDecimal(readString()), location);
+                default:
+                    throw new IOException("Invalid binary node tag: " + tag);
+            }
+        }
+
+        SourceLocation readLocation() throws IOException {
+            String filename = filenames.apply(readString());
+            int line = readVarInt();
+            int column = readVarInt();
+            if (line == 0 && column == 0 && filename.equals(SourceLocation.NONE.getFilename())) {
+                // Preserve the identity of SourceLocation.NONE since it's compared by reference in places.
+                return SourceLocation.NONE;
+            }
+            return new SourceLocation(filename, line, column);
+        }
+
+        String readString() throws IOException {
+            int index = readVarInt();
+            if (sharedStrings != null) {
+                return sharedStrings.apply(index);
+            } else if (index < strings.size()) {
+                return strings.get(index);
+            } else if (index != strings.size()) {
+                throw new IOException("Invalid binary node string index: " + index);
+            }
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed variable-length integer");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, lock-free caching string table that converts CharSequence to String objects.
+ *
+ * <p>Unlike {@link StringTable}, a single instance can be shared by any number of threads and
+ * {@link ModelAssembler}s (see {@link ModelAssembler#stringTable}) so that the namespaces, trait
+ * names, and member names repeated across models are only created once.
+ *
+ * <p>The implementation uses an FNV-1a hash to select a bucket of four entries. A String is stored in the
+ * first empty entry of its bucket, and when the bucket is full, an entry selected by the hash is overwritten.
+ * Concurrent writes to the same entry can race, in which case one of them is lost and the String is simply
+ * created again the next time it's requested.
+ */
+public final class ConcurrentStringTable implements Function<CharSequence, String> {
+
+    private static final int FNV_OFFSET_BIAS = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x1000193;
+    private static final int BUCKET_BITS = 2;
+    private static final int BUCKET_SIZE = 1 << BUCKET_BITS;
+
+    private final AtomicReferenceArray<String> table;
+    private final int bucketMask;
+
+    /**
+     * Create a string table with 16384 entries.
+     */
+    public ConcurrentStringTable() {
+        // Defaults to 16384 entries.
+        this(14);
+    }
+
+    /**
+     * Create a string table with a specific number of entries.
+     *
+     * @param sizeBits Size of the table based on bit shifting (e.g., 2 -> 4, 3 -> 8, ..., 14 -> 16384).
+     */
+    public ConcurrentStringTable(int sizeBits) {
+        if (sizeBits < BUCKET_BITS) {
+            throw new IllegalArgumentException("Cache sizeBits must be >= " + BUCKET_BITS);
+        } else if (sizeBits >= 21) {
+            throw new IllegalArgumentException("Refusing to create a cache with " + (1 << 21) + " entries");
+        }
+
+        this.table = new AtomicReferenceArray<>(1 << sizeBits);
+        this.bucketMask = (1 << (sizeBits - BUCKET_BITS)) - 1;
+    }
+
+    @Override
+    public String apply(CharSequence chars) {
+        int hash = getFnvHashCode(chars);
+        int start = (hash & bucketMask) << BUCKET_BITS;
+        int end = start + BUCKET_SIZE;
+
+        for (int i = start; i < end; i++) {
+            String text = table.get(i);
+            if (text == null) {
+                // Entries are filled in order, so the rest of the bucket is empty too.
+                String value = chars.toString();
+                if (table.compareAndSet(i, null, value)) {
+                    return value;
+                }
+                // Another thread filled this entry first, so it might have stored the same text.
+                text = table.get(i);
+                if (textEquals(chars, text)) {
+                    return text;
+                }
+            } else if (textEquals(chars, text)) {
+                return text;
+            }
+        }
+
+        // The bucket is full, so replace an entry using the bits of the hash not used to select the bucket.
+        String value = chars.toString();
+        table.set(start + ((hash >>> 29) & (BUCKET_SIZE - 1)), value);
+        return value;
+    }
+
+    private static int getFnvHashCode(CharSequence text) {
+        int hashCode = FNV_OFFSET_BIAS;
+        int end = text.length();
+
+        for (int i = 0; i < end; i++) {
+            hashCode = (hashCode ^ text.charAt(i)) * FNV_PRIME;
+        }
+
+        return hashCode;
+    }
+
+    private static boolean textEquals(CharSequence left, String right) {
+        if (left.length() != right.length()) {
+            return false;
+        }
+        for (int i = 0; i < left.length(); i++) {
+            if (left.charAt(i) != right.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,6 +4,7 @@
  */
 package software.amazon.smithy.model.loader;
 
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.util.Iterator;
 import software.amazon.smithy.model.SourceLocation;
@@ -34,6 +35,32 @@ public interface IdlTokenizer extends Iterator<IdlToken> {
         return new DefaultTokenizer(filename, model);
     }
 
+    /**
+     * Create a tokenizer for the given filename and UTF-8 encoded model.
+     *
+     * <p>The bytes are tokenized without decoding the model first, and identifiers and strings only become
+     * Strings when they're converted with {@code toString} or interned with a {@link StringTable}. Positions and
+     * {@link #getModel(int, int)} use byte offsets relative to the position of the buffer, while lines and columns
+     * are counted in chars.
+     *
+     * <p>The bytes between the position and limit of the buffer are tokenized, and the position of the buffer is
+     * not changed. Buffers that aren't backed by an array, like memory-mapped files, are copied into an array once
+     * because reading every byte through the buffer is slower than reading from an array.
+     *
+     * @param filename Filename being parsed.
+     * @param model    UTF-8 encoded IDL model contents to parse.
+     * @return         Returns the tokenizer.
+     */
+    static IdlTokenizer create(String filename, ByteBuffer model) {
+        if (model.hasArray()) {
+            return new Utf8Tokenizer(filename, model.array(), model.arrayOffset() + model.position(),
+                    model.remaining());
+        }
+        byte[] bytes = new byte[model.remaining()];
+        model.duplicate().get(bytes);
+        return new Utf8Tokenizer(filename, bytes, 0, bytes.length);
+    }
+
     /**
      * Get the filename of the content being tokenized.
      *
@@ -0,0 +1,45 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buffers load operations until they are replayed into a processor.
+ *
+ * <p>Loaders can emit operations after parsing completes (for example, when
+ * a forward reference to a trait is resolved). Once replayed, the buffer
+ * forwards any further operations directly to the processor.
+ */
+final class LoadOperationBuffer implements Consumer<LoadOperation> {
+    private List<LoadOperation> operations = new ArrayList<>();
+    private Consumer<LoadOperation> delegate;
+
+    @Override
+    public void accept(LoadOperation operation) {
+        if (delegate != null) {
+            delegate.accept(operation);
+        } else {
+            operations.add(operation);
+        }
+    }
+
+    /**
+     * Gets the operations buffered so far.
+     *
+     * @return Returns the buffered operations.
+     */
+    List<LoadOperation> operations() {
+        return operations;
+    }
+
+    void replay(Consumer<LoadOperation> target) {
+        operations.forEach(target);
+        operations = null;
+        delegate = target;
+    }
+}
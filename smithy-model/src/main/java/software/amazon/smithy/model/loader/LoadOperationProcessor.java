@@ -12,9 +12,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Queue;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.shapes.Shape;
@@ -125,6 +126,10 @@ final class LoadOperationProcessor implements Consumer<LoadOperation> {
         }
     }
 
+    Version getFileVersion(String filename) {
+        return modelVersions.get(filename);
+    }
+
     Model buildModel() {
         Model.Builder modelBuilder = Model.builder();
         modelBuilder.metadata(metadata.getData());
@@ -169,38 +174,55 @@ final class LoadOperationProcessor implements Consumer<LoadOperation> {
     private void resolveForwardReferences() {
         while (!forwardReferences.isEmpty()) {
             LoadOperation.ForwardReference reference = forwardReferences.poll();
-            if (reference.namespace == null) {
-                // Assume smithy.api if there is no namespace. This can happen in metadata and control sections.
-                ShapeId absolute = ShapeId.fromOptionalNamespace(Prelude.NAMESPACE, reference.name);
-                resolveReference(reference, absolute, shapeMap.getShapeType(absolute));
-            } else {
-                detectAndEmitForwardReference(reference);
+            ValidationEvent event = resolveForwardReference(
+                    reference.namespace,
+                    reference.name,
+                    shapeMap::getShapeType,
+                    prelude,
+                    reference::resolve);
+            if (event != null) {
+                events.add(event);
             }
         }
     }
 
-    private void resolveReference(LoadOperation.ForwardReference reference, ShapeId id, ShapeType type) {
-        ValidationEvent event = reference.resolve(id, type);
-        if (event != null) {
-            events.add(event);
+    /**
+     * Resolves a forward reference to a shape in its namespace if one exists, and otherwise to a prelude shape.
+     *
+     * @param namespace Namespace the reference was made from, or null to assume the prelude namespace.
+     * @param name Relative or absolute shape ID that was referenced.
+     * @param shapeTypes Gets the type of a defined shape, or null if the shape isn't defined.
+     * @param prelude Prelude model, or null if the prelude is disabled.
+     * @param resolver Receives the resolved shape ID and type, or a null type if the shape isn't defined.
+     * @param <T> Type of value returned by the resolver.
+     * @return Returns the result of the resolver.
+     */
+    static <T> T resolveForwardReference(
+            String namespace,
+            String name,
+            Function<ShapeId, ShapeType> shapeTypes,
+            Model prelude,
+            BiFunction<ShapeId, ShapeType, T> resolver
+    ) {
+        if (namespace == null) {
+            // Assume smithy.api if there is no namespace. This can happen in metadata and control sections.
+            ShapeId absolute = ShapeId.fromOptionalNamespace(Prelude.NAMESPACE, name);
+            return resolver.apply(absolute, shapeTypes.apply(absolute));
         }
-    }
 
-    private void detectAndEmitForwardReference(LoadOperation.ForwardReference reference) {
-        Objects.requireNonNull(reference.namespace);
-        ShapeId inNamespace = ShapeId.fromOptionalNamespace(reference.namespace, reference.name);
-        ShapeType inNamespaceType = shapeMap.getShapeType(inNamespace);
+        ShapeId inNamespace = ShapeId.fromOptionalNamespace(namespace, name);
+        ShapeType inNamespaceType = shapeTypes.apply(inNamespace);
 
         if (inNamespaceType != null) {
-            resolveReference(reference, inNamespace, inNamespaceType);
+            return resolver.apply(inNamespace, inNamespaceType);
+        }
+
+        // Try to find a prelude shape by ID if no ID exists in the namespace with this name.
+        ShapeId preludeId = ShapeId.fromOptionalNamespace(Prelude.NAMESPACE, name);
+        if (prelude != null && prelude.getShapeIds().contains(preludeId)) {
+            return resolver.apply(preludeId, prelude.expectShape(preludeId).getType());
         } else {
-            // Try to find a prelude shape by ID if no ID exists in the namespace with this name.
-            ShapeId preludeId = ShapeId.fromOptionalNamespace(Prelude.NAMESPACE, reference.name);
-            if (prelude != null && prelude.getShapeIds().contains(preludeId)) {
-                resolveReference(reference, preludeId, prelude.expectShape(preludeId).getType());
-            } else {
-                resolveReference(reference, inNamespace, null);
-            }
+            return resolver.apply(inNamespace, null);
         }
     }
 }
@@ -10,13 +10,23 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import software.amazon.smithy.model.FromSourceLocation;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.Validator;
+import software.amazon.smithy.utils.IoUtils;
 
 final class LoaderUtils {
 
@@ -151,4 +161,61 @@ final class LoaderUtils {
                 .shapeId(shape)
                 .build();
     }
+
+    /**
+     * Gets the version of Smithy, used to reject data written by other versions of Smithy.
+     *
+     * @return Returns the Smithy version.
+     */
+    static String getSmithyVersion() {
+        return SmithyVersionHolder.VERSION;
+    }
+
+    // Shape equality ignores source locations, so compare them separately.
+    static boolean isSameModel(Model expected, Model actual) {
+        if (!expected.equals(actual)) {
+            return false;
+        }
+        for (Shape shape : expected.toSet()) {
+            Shape other = actual.expectShape(shape.getId());
+            if (!shape.getSourceLocation().equals(other.getSourceLocation())) {
+                return false;
+            }
+            for (Trait trait : shape.getAllTraits().values()) {
+                Trait otherTrait = other.getAllTraits().get(trait.toShapeId());
+                if (!trait.getSourceLocation().equals(otherTrait.getSourceLocation())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Traits are created with the source location of their value, which isn't always retained by toNode.
+    static Node createTraitValue(Trait trait) {
+        Node value = trait.toNode();
+        SourceLocation location = trait.getSourceLocation();
+        if (value.getSourceLocation().equals(location)) {
+            return value;
+        }
+        switch (value.getType()) {
+            case OBJECT:
+                return new ObjectNode(value.expectObjectNode().getMembers(), location);
+            case ARRAY:
+                return new ArrayNode(value.expectArrayNode().getElements(), location);
+            case STRING:
+                return new StringNode(value.expectStringNode().getValue(), location);
+            case NUMBER:
+                return new NumberNode(value.expectNumberNode().getValue(), location);
+            case BOOLEAN:
+                return new BooleanNode(value.expectBooleanNode().getValue(), location);
+            default:
+                return new NullNode(location);
+        }
+    }
+
+    // The version is generated into a resource by the build, and only read when it is needed.
+    private static final class SmithyVersionHolder {
+        static final String VERSION = IoUtils.readUtf8Resource(LoaderUtils.class, "smithy-version").trim();
+    }
 }
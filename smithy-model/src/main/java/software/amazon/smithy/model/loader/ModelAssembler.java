@@ -14,9 +14,11 @@ import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -24,8 +26,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
@@ -34,6 +38,7 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationEventDecorator;
@@ -72,6 +77,29 @@ public final class ModelAssembler {
      */
     public static final String DISABLE_JAR_CACHE = "assembler.disableJarCache";
 
+    /**
+     * Parses model files concurrently before merging them into the model.
+     *
+     * <p>When enabled, each imported file is tokenized and parsed on a worker
+     * thread into its own buffer of load operations. Buffers are then replayed
+     * in the order files were added to the assembler, so the assembled model
+     * and emitted events are identical to loading files sequentially.
+     */
+    public static final String PARALLEL_LOAD = "assembler.parallelLoad";
+
+    /**
+     * Caches parsed model files in the given directory, provided as a {@link Path} or a String.
+     *
+     * <p>Each model file imported into the assembler gets its own cache entry, keyed by its name
+     * and contents. An entry is only used while the files it depends on (for example, the files
+     * that define its mixins and the targets of its members) are also unchanged, so changing one
+     * file only requires parsing that file and the files that depend on it. Older entries for a
+     * file are removed when a new entry is written. The cache is only used when the assembler is
+     * given nothing but imports (for example, not when shapes, models, or traits are added
+     * directly). Cache hits and misses are logged at the FINE level.
+     */
+    public static final String PARSED_MODEL_CACHE = "assembler.parsedModelCache";
+
     private static final Logger LOGGER = Logger.getLogger(ModelAssembler.class.getName());
 
     private static final Consumer<ValidationEvent> DEFAULT_EVENT_LISTENER = ValidationEvent -> {
@@ -91,7 +119,10 @@ public final class ModelAssembler {
     private final Map<String, Object> properties = new HashMap<>();
     private boolean disablePrelude;
     private Consumer<ValidationEvent> validationEventListener = DEFAULT_EVENT_LISTENER;
+    private Model previousModel;
+    private Set<ShapeId> changedShapes;
     private StringTable stringTable;
+    private ConcurrentStringTable sharedStringTable;
 
     // Lazy initialization holder class idiom to hold a default trait factory.
     static final class LazyTraitFactoryHolder {
@@ -119,6 +150,9 @@ public final class ModelAssembler {
         assembler.disableValidation = disableValidation;
         assembler.validationEventListener = validationEventListener;
         assembler.stringTable = stringTable;
+        assembler.sharedStringTable = sharedStringTable;
+        assembler.previousModel = previousModel;
+        assembler.changedShapes = changedShapes;
         return assembler;
     }
 
@@ -138,6 +172,7 @@ public final class ModelAssembler {
      *     <li>Metadata registered via {@link #putMetadata}</li>
      *     <li>Validation is re-enabled if it was disabled.</li>
      *     <li>Validation event listener via {@link #validationEventListener(Consumer)}</li>
+     *     <li>Previous result registered via {@link #previousResult}</li>
      * </ul>
      *
      * <p>The state of {@link #disablePrelude} is reset such that the prelude
@@ -156,6 +191,8 @@ public final class ModelAssembler {
         disablePrelude = false;
         disableValidation = false;
         validationEventListener = DEFAULT_EVENT_LISTENER;
+        previousModel = null;
+        changedShapes = null;
         return this;
     }
 
@@ -241,6 +278,12 @@ public final class ModelAssembler {
      * a "smithy" key-value pair found in the directory and any subdirectories
      * are imported into the model.
      *
+     * <p>Files that end with {@link ModelSnapshot#EXTENSION} are loaded as a
+     * {@link ModelSnapshot}. If a snapshot is the only thing added to the
+     * assembler and it was written with the same settings as the assembler,
+     * the snapshot's model and recorded validation events are returned
+     * without validating the model again.
+     *
      * @param importPath Import path to add.
      * @return Returns the assembler.
      */
@@ -294,21 +337,7 @@ public final class ModelAssembler {
     public ModelAssembler addImport(URL url) {
         Objects.requireNonNull(url, "The provided url to ModelAssembler#addImport was null");
 
-        // Format the key used to de-dupe files. Note that a "jar:" prefix
-        // can't be removed since it's needed in order to load files from JARs
-        // and differentiate between top-level JARs and contents of JARs.
-        String key = url.toExternalForm();
-
-        if (key.startsWith("file:")) {
-            try {
-                // Use an absolute Path to ensure paths are normalized for Windows too, and better de-duping.
-                key = Paths.get(url.toURI()).toAbsolutePath().toString();
-            } catch (URISyntaxException e) {
-                key = key.substring(5);
-            }
-        }
-
-        inputStreamModels.put(key, () -> {
+        inputStreamModels.put(createImportKey(url), () -> {
             try {
                 URLConnection connection = url.openConnection();
                 if (properties.containsKey(ModelAssembler.DISABLE_JAR_CACHE)) {
@@ -323,6 +352,24 @@ public final class ModelAssembler {
         return this;
     }
 
+    // Format the key used to de-dupe files, which is also used as the filename of the file's source locations.
+    // Note that a "jar:" prefix can't be removed since it's needed in order to load files from JARs and
+    // differentiate between top-level JARs and contents of JARs.
+    static String createImportKey(URL url) {
+        String key = url.toExternalForm();
+
+        if (key.startsWith("file:")) {
+            try {
+                // Use an absolute Path to ensure paths are normalized for Windows too, and better de-duping.
+                key = Paths.get(url.toURI()).toAbsolutePath().toString();
+            } catch (URISyntaxException e) {
+                key = key.substring(5);
+            }
+        }
+
+        return key;
+    }
+
     /**
      * Disables automatically loading the prelude models.
      *
@@ -469,6 +516,28 @@ public final class ModelAssembler {
         return this;
     }
 
+    /**
+     * Incrementally validates the assembled model using the result of assembling a previous version of the model.
+     *
+     * <p>Validators that implement {@link ShapeScopedValidator} are only applied to the shapes affected by the
+     * changed shapes, and the events they emitted for other shapes in the previous result are reused. Every other
+     * validator is applied to the entire model. The changed shapes can be computed by diffing the previous and
+     * current model, for example with smithy-diff.
+     *
+     * <p>The entire model is validated if the previous result was not completely validated (for example, because
+     * validation was disabled or an ERROR was encountered), or if the model metadata changed. The same validators
+     * and validation event decorators used to assemble the previous result must be used with this assembler.
+     *
+     * @param previousResult Result of assembling the previous version of the model.
+     * @param changedShapes Shapes that were added, removed, or changed since the previous version of the model.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler previousResult(ValidatedResult<Model> previousResult, Set<ShapeId> changedShapes) {
+        this.previousModel = previousResult.getResult().orElse(null);
+        this.changedShapes = Objects.requireNonNull(changedShapes);
+        return this;
+    }
+
     /**
      * Sets a listener that is invoked each time a ValidationEvent is encountered
      * while loading and validating the model.
@@ -486,6 +555,24 @@ public final class ModelAssembler {
         return this;
     }
 
+    /**
+     * Sets a string table used to deduplicate the identifiers and strings
+     * created while parsing models.
+     *
+     * <p>By default, each assembler uses its own string table. A shared table
+     * can be used by any number of assemblers and threads, so identifiers
+     * repeated across models, like namespaces, trait names, and member names,
+     * are only created once. This is useful when assembling many related
+     * models, like each projection of a build or each test case of a suite.
+     *
+     * @param stringTable Shared string table to use, or null to use a table owned by the assembler.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler stringTable(ConcurrentStringTable stringTable) {
+        this.sharedStringTable = stringTable;
+        return this;
+    }
+
     /**
      * Assembles the model and returns the validated result.
      *
@@ -504,6 +591,36 @@ public final class ModelAssembler {
         // Create a singular, composed event decorator used to modify events.
         ValidationEventDecorator decorator = ValidationEventDecorator.compose(validatorFactory.loadDecorators());
 
+        Map<String, Supplier<InputStream>> modelFiles = new LinkedHashMap<>();
+        Map<String, Supplier<InputStream>> snapshotFiles = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
+            if (ModelSnapshot.isSnapshot(entry.getKey())) {
+                snapshotFiles.put(entry.getKey(), entry.getValue());
+            } else {
+                modelFiles.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // Snapshots were validated when they were written, so they are returned as-is when they're all there is
+        // and were written with the same settings. Otherwise, the snapshot is merged and validated below.
+        Map<String, ModelSnapshot> openedSnapshots = new HashMap<>();
+        if (isSnapshotOnly(modelFiles, snapshotFiles)) {
+            Map.Entry<String, Supplier<InputStream>> entry = snapshotFiles.entrySet().iterator().next();
+            ModelSnapshot snapshot = openSnapshot(entry.getKey(), entry.getValue());
+            if (snapshot.getSettings().equals(getSnapshotSettings(!disablePrelude))) {
+                List<ValidationEvent> events = new ArrayList<>();
+                for (ValidationEvent event : snapshot.getEvents()) {
+                    event = decorator.decorate(event);
+                    validationEventListener.accept(event);
+                    events.add(event);
+                }
+                return new ValidatedResult<>(snapshot.toModel(), events);
+            }
+            LOGGER.fine(() -> "Validating model snapshot " + entry.getKey() + " because it was written with "
+                    + "different settings: " + snapshot.getSettings());
+            openedSnapshots.put(entry.getKey(), snapshot);
+        }
+
         Model prelude = disablePrelude ? null : Prelude.getPreludeModel();
 
         // As issues are encountered, they are decorated and then emitted.
@@ -528,6 +645,17 @@ public final class ModelAssembler {
             model.shapes().forEach(processor::putCreatedShape);
         }
 
+        // Register imported snapshots like manually added Models.
+        for (Map.Entry<String, Supplier<InputStream>> entry : snapshotFiles.entrySet()) {
+            ModelSnapshot snapshot = openedSnapshots.get(entry.getKey());
+            if (snapshot == null) {
+                snapshot = openSnapshot(entry.getKey(), entry.getValue());
+            }
+            Model model = snapshot.toModel();
+            addMetadataToProcessor(model.getMetadata(), processor);
+            model.shapes().forEach(processor::putCreatedShape);
+        }
+
         // Load parsed AST nodes and merge them into the processor.
         for (Node node : documentNodes) {
             try {
@@ -537,16 +665,21 @@ public final class ModelAssembler {
             }
         }
 
-        if (stringTable == null) {
+        if (stringTable == null && sharedStringTable == null) {
             stringTable = new StringTable();
         }
 
-        // Load model files into the processor.
-        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
-            try {
-                ModelLoader.load(traitFactory, properties, entry.getKey(), processor, entry.getValue(), stringTable);
-            } catch (SourceException e) {
-                processor.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
+        // Load model files into the processor, skipping parsing of files that are found in the cache.
+        ParsedModelCache modelCache = createParsedModelCache(modelFiles, snapshotFiles);
+        if (modelCache != null) {
+            modelCache.load(processor, prelude, this::parseModels);
+        } else if (isParallelLoadEnabled() && modelFiles.size() > 1) {
+            for (LoadOperationBuffer buffer : parseModels(modelFiles)) {
+                buffer.replay(processor);
+            }
+        } else {
+            for (Map.Entry<String, Supplier<InputStream>> entry : modelFiles.entrySet()) {
+                loadModel(entry.getKey(), entry.getValue(), processor, getStringTable());
             }
         }
 
@@ -558,6 +691,10 @@ public final class ModelAssembler {
 
         Model processedModel = processor.buildModel();
 
+        if (modelCache != null) {
+            modelCache.store(processedModel, events, processor::getFileVersion);
+        }
+
         // Do the 1.0 -> 2.0 transform before full-model validation.
         Model transformed = new ModelInteropTransformer(processedModel, events, processor::getShapeVersion).transform();
 
@@ -567,14 +704,16 @@ public final class ModelAssembler {
         }
 
         try {
-            List<ValidationEvent> mergedEvents = ModelValidator.builder()
+            ModelValidator.Builder validatorBuilder = ModelValidator.builder()
                     .addValidators(validators)
                     .validatorFactory(validatorFactory, decorator)
                     .eventListener(validationEventListener)
                     .includeEvents(events)
-                    .legacyValidationMode((boolean) properties.getOrDefault("LEGACY_VALIDATION_MODE", false))
-                    .build()
-                    .validate(transformed);
+                    .legacyValidationMode((boolean) properties.getOrDefault("LEGACY_VALIDATION_MODE", false));
+            if (previousModel != null) {
+                validatorBuilder.previousModel(previousModel, changedShapes);
+            }
+            List<ValidationEvent> mergedEvents = validatorBuilder.build().validate(transformed);
             return new ValidatedResult<>(transformed, mergedEvents);
         } catch (SourceException e) {
             events.add(ValidationEvent.fromSourceException(e));
@@ -582,6 +721,133 @@ public final class ModelAssembler {
         }
     }
 
+    private void loadModel(
+            String filename,
+            Supplier<InputStream> contentSupplier,
+            Consumer<LoadOperation> operations,
+            Function<CharSequence, String> table
+    ) {
+        try {
+            ModelLoader.load(traitFactory, properties, filename, operations, contentSupplier, table);
+        } catch (SourceException e) {
+            operations.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
+        }
+    }
+
+    // Each file is parsed into its own buffer, in the order files were added, so that the buffers can be replayed
+    // into a processor later. When parallel loading is enabled, files are parsed on worker threads. StringTable
+    // is not thread-safe, so each worker gets its own unless a shared ConcurrentStringTable was provided.
+    private List<LoadOperationBuffer> parseModels(Map<String, Supplier<InputStream>> sources) {
+        if (!isParallelLoadEnabled() || sources.size() <= 1) {
+            List<LoadOperationBuffer> buffers = new ArrayList<>(sources.size());
+            for (Map.Entry<String, Supplier<InputStream>> entry : sources.entrySet()) {
+                LoadOperationBuffer buffer = new LoadOperationBuffer();
+                loadModel(entry.getKey(), entry.getValue(), buffer, getStringTable());
+                buffers.add(buffer);
+            }
+            return buffers;
+        }
+
+        ThreadLocal<StringTable> tables = ThreadLocal.withInitial(StringTable::new);
+        return new ArrayList<>(sources.entrySet())
+                .parallelStream()
+                .map(entry -> {
+                    LoadOperationBuffer buffer = new LoadOperationBuffer();
+                    Function<CharSequence, String> table = sharedStringTable != null
+                            ? sharedStringTable
+                            : tables.get();
+                    loadModel(entry.getKey(), entry.getValue(), buffer, table);
+                    return buffer;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private boolean isSnapshotOnly(
+            Map<String, Supplier<InputStream>> modelFiles,
+            Map<String, Supplier<InputStream>> snapshotFiles
+    ) {
+        return snapshotFiles.size() == 1
+                && modelFiles.isEmpty()
+                && shapes.isEmpty()
+                && mergeModels.isEmpty()
+                && documentNodes.isEmpty()
+                && pendingTraits.isEmpty()
+                && metadata.isEmpty()
+                && validators.isEmpty()
+                && previousModel == null;
+    }
+
+    // Snapshot files are memory-mapped, and anything else (e.g., a URL) is read into memory.
+    private ModelSnapshot openSnapshot(String filename, Supplier<InputStream> contentSupplier) {
+        Path path = toRegularFile(filename);
+        if (path != null) {
+            return ModelSnapshot.open(path, traitFactory);
+        }
+        try (InputStream stream = contentSupplier.get()) {
+            return ModelSnapshot.read(filename, stream, traitFactory);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to read model snapshot " + filename + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Path toRegularFile(String filename) {
+        try {
+            Path path = Paths.get(filename);
+            return Files.isRegularFile(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private ParsedModelCache createParsedModelCache(
+            Map<String, Supplier<InputStream>> modelFiles,
+            Map<String, Supplier<InputStream>> snapshotFiles
+    ) {
+        Object directory = properties.get(ModelAssembler.PARSED_MODEL_CACHE);
+        if (directory == null || modelFiles.isEmpty()) {
+            return null;
+        } else if (!shapes.isEmpty()
+                || !snapshotFiles.isEmpty()
+                || !mergeModels.isEmpty()
+                || !documentNodes.isEmpty()
+                || !pendingTraits.isEmpty()
+                || !metadata.isEmpty()) {
+            LOGGER.fine("Not using the parsed model cache because the assembler contains more than imports");
+            return null;
+        }
+
+        Path path = directory instanceof Path ? (Path) directory : Paths.get(directory.toString());
+        return ParsedModelCache.create(path, modelFiles, getLoadSettings(!disablePrelude));
+    }
+
+    // The settings that change what is loaded from the same files.
+    private String getLoadSettings(boolean prelude) {
+        return "prelude=" + prelude + ",allowUnknownTraits=" + areUnknownTraitsAllowed();
+    }
+
+    // Validation events also depend on the validators that were applied. Decorators aren't included because
+    // they're applied again when a snapshot is loaded.
+    String getSnapshotSettings(boolean prelude) {
+        ValidatorFactory factory = validatorFactory != null
+                ? validatorFactory
+                : ModelValidator.defaultValidationFactory();
+        List<String> validatorNames = new ArrayList<>();
+        for (Validator validator : factory.loadBuiltinValidators()) {
+            validatorNames.add(validator.getClass().getName());
+        }
+        Collections.sort(validatorNames);
+        return getLoadSettings(prelude) + ",validators=" + Integer.toHexString(validatorNames.hashCode());
+    }
+
+    private Function<CharSequence, String> getStringTable() {
+        return sharedStringTable != null ? sharedStringTable : stringTable;
+    }
+
+    private boolean isParallelLoadEnabled() {
+        Object parallel = properties.get(ModelAssembler.PARALLEL_LOAD);
+        return parallel != null && (boolean) parallel;
+    }
+
     private void addMetadataToProcessor(Map<String, Node> metadataMap, LoadOperationProcessor processor) {
         for (Map.Entry<String, Node> entry : metadataMap.entrySet()) {
             processor.accept(new LoadOperation.PutMetadata(Version.UNKNOWN, entry.getKey(), entry.getValue()));
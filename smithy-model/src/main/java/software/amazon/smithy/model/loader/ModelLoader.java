@@ -6,8 +6,13 @@ package software.amazon.smithy.model.loader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -18,8 +23,10 @@ import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeHandler;
 import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.utils.IoUtils;
+import software.amazon.smithy.utils.Pair;
 
 /**
  * Used to load Smithy models from .json, .smithy, and .jar files.
@@ -68,7 +75,7 @@ final class ModelLoader {
             } else if (filename.endsWith(".json") || filename.equals(SourceLocation.NONE.getFilename())) {
                 try (InputStream inputStream = contentSupplier.get()) {
                     // Assume it's JSON if there's an N/A filename.
-                    return loadParsedNode(Node.parse(inputStream, filename), operationConsumer);
+                    return loadJson(filename, inputStream, operationConsumer);
                 }
             } else {
                 LOGGER.warning(() -> "Ignoring unrecognized Smithy model file: " + filename);
@@ -79,6 +86,61 @@ final class ModelLoader {
         }
     }
 
+    // Loads a JSON file, sending each shape to an AstModelLoader as soon as it's parsed rather than parsing the
+    // entire document into a Node first. This keeps the Node values of every shape in a large JSON AST model from
+    // being held in memory at the same time. Files that aren't recognized as Smithy models defer to loadParsedNode.
+    private static boolean loadJson(String filename, InputStream inputStream, Consumer<LoadOperation> consumer)
+            throws IOException {
+        StreamingJsonLoader loader = new StreamingJsonLoader(consumer);
+        Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        Node node = NodeHandler.parseStreaming(filename,
+                reader,
+                AstModelLoader.SHAPES,
+                loader::member,
+                loader::shape);
+
+        if (loader.astModelLoader == null) {
+            return loadParsedNode(node, consumer);
+        }
+
+        loader.astModelLoader.finishStreaming(node.expectObjectNode());
+        return true;
+    }
+
+    // Shapes are buffered until the "smithy" version of the model is known, which is typically the first member.
+    private static final class StreamingJsonLoader {
+        private final Consumer<LoadOperation> consumer;
+        private final List<Pair<StringNode, Node>> pending = new ArrayList<>();
+        private AstModelLoader astModelLoader;
+
+        StreamingJsonLoader(Consumer<LoadOperation> consumer) {
+            this.consumer = consumer;
+        }
+
+        void member(StringNode key, Node value) {
+            if (astModelLoader == null && key.getValue().equals("smithy") && value.isStringNode()) {
+                Version version = Version.fromString(value.expectStringNode().getValue());
+                // Unsupported versions are reported by loadParsedNode.
+                if (version != null) {
+                    astModelLoader = new AstModelLoader(version, null);
+                    astModelLoader.startStreaming(consumer, value.expectStringNode());
+                    for (Pair<StringNode, Node> shape : pending) {
+                        astModelLoader.loadShape(shape.getLeft(), shape.getRight());
+                    }
+                    pending.clear();
+                }
+            }
+        }
+
+        void shape(StringNode key, Node value) {
+            if (astModelLoader != null) {
+                astModelLoader.loadShape(key, value);
+            } else {
+                pending.add(Pair.of(key, value));
+            }
+        }
+    }
+
     // Attempts to load a Smithy AST JSON model. JSON files that do not contain a top-level "smithy" key are skipped
     // and false is returned. The "smithy" version is used to delegate loading to different versions of the Smithy
     // JSON AST format.
@@ -0,0 +1,757 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.traits.synthetic.NoAuthTrait;
+import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
+import software.amazon.smithy.model.traits.synthetic.SyntheticEnumTrait;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * A versioned, binary snapshot of a validated {@link Model} that can be
+ * memory-mapped and reused by other processes.
+ *
+ * <p>A snapshot is written once a model has been assembled and validated,
+ * and contains every shape, trait, and metadata entry of the model along
+ * with the validation events emitted for it. Importing a file that ends
+ * with {@link #EXTENSION} into a {@link ModelAssembler} loads the snapshot
+ * instead of parsing model files. When a snapshot is the only thing given
+ * to an assembler, the model it contains is returned with the recorded
+ * events and is not validated again, as long as the assembler uses the
+ * same settings that the snapshot was written with. The settings that are
+ * compared are whether the prelude is included, whether unknown traits are
+ * allowed, and the built-in validators of the validator factory. Event
+ * decorators of the assembler are applied to the recorded events.
+ *
+ * <p>Opening a snapshot maps the file into memory and only reads its
+ * header. Strings are kept in a single table, and each shape is written as
+ * an independent record found through a sorted index, so a shape and its
+ * trait values are only decoded when that shape is requested with
+ * {@link #getShape(ShapeId)}. {@link #toModel()} decodes every shape.
+ *
+ * <p>Snapshots are tied to the version of Smithy that wrote them. A
+ * snapshot written by a different version of Smithy, or with a different
+ * format version, can't be opened.
+ */
+@SmithyUnstableApi
+public final class ModelSnapshot {
+
+    /** The file extension used for model snapshots. */
+    public static final String EXTENSION = ".smithysnapshot";
+
+    // "SMMS" (Smithy model snapshot).
+    private static final int MAGIC = 0x534D4D53;
+
+    // Increment when the snapshot format changes in a way that invalidates existing snapshots.
+    private static final int FORMAT_VERSION = 3;
+
+    private static final Logger LOGGER = Logger.getLogger(ModelSnapshot.class.getName());
+
+    // The header is the magic number, format version, string count, shape count, and the positions of the
+    // string table, shape index, metadata, and events. The first string is the version of Smithy that wrote the
+    // snapshot, and the second is the settings of the assembler that created the model.
+    private static final int HEADER_SIZE = 8 * Integer.BYTES;
+    private static final int SMITHY_VERSION_STRING = 0;
+    private static final int SETTINGS_STRING = 1;
+
+    // An absent shape ID (e.g., a resource without a read operation) is written as an empty string.
+    private static final String ABSENT = "";
+
+    private final String filename;
+    private final ByteBuffer buffer;
+    private final TraitFactory traitFactory;
+    private final int stringCount;
+    private final int shapeCount;
+    private final int stringTable;
+    private final int shapeIndex;
+    private final int metadataPosition;
+    private final int eventsPosition;
+
+    // Decoded strings and shapes. Both are immutable, so racing to decode the same value is harmless.
+    private final String[] strings;
+    private final Shape[] shapes;
+
+    private ModelSnapshot(String filename, ByteBuffer buffer, TraitFactory traitFactory) throws IOException {
+        this.filename = filename;
+        this.buffer = buffer;
+        this.traitFactory = traitFactory;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a Smithy model snapshot");
+        } else if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported model snapshot format version: " + buffer.getInt(4));
+        }
+
+        stringCount = buffer.getInt(8);
+        shapeCount = buffer.getInt(12);
+        stringTable = buffer.getInt(16);
+        shapeIndex = buffer.getInt(20);
+        metadataPosition = buffer.getInt(24);
+        eventsPosition = buffer.getInt(28);
+        strings = new String[stringCount];
+        shapes = new Shape[shapeCount];
+
+        String version = stringCount > SMITHY_VERSION_STRING ? getString(SMITHY_VERSION_STRING) : "";
+        if (!version.equals(LoaderUtils.getSmithyVersion())) {
+            throw new IOException("Model snapshot was written by Smithy " + version + ", but this is Smithy "
+                    + LoaderUtils.getSmithyVersion());
+        }
+    }
+
+    /**
+     * Checks if a filename refers to a model snapshot.
+     *
+     * @param filename Filename to check.
+     * @return Returns true if the filename ends with {@link #EXTENSION}.
+     */
+    public static boolean isSnapshot(String filename) {
+        return filename.endsWith(EXTENSION);
+    }
+
+    /**
+     * Writes a snapshot of a model validated by an assembler that uses the
+     * default settings.
+     *
+     * @param result Validated model and the events emitted when validating it.
+     * @param path Path to write the snapshot to.
+     * @throws IllegalArgumentException if the result has no model or contains errors.
+     * @throws UncheckedIOException if the snapshot can't be written.
+     * @see #write(ValidatedResult, Path, ModelAssembler)
+     */
+    public static void write(ValidatedResult<Model> result, Path path) {
+        write(result, path, Model.assembler());
+    }
+
+    /**
+     * Writes a snapshot of a validated model.
+     *
+     * <p>The settings of the assembler that created the result are recorded
+     * in the snapshot, and an assembler only returns the snapshot's model
+     * without validating it again when its settings are the same. Whether
+     * the prelude is included is determined from the model.
+     *
+     * <p>The snapshot is written to a temporary file that is then moved to
+     * the given path, so processes that open the path never see a partially
+     * written snapshot.
+     *
+     * @param result Validated model and the events emitted when validating it.
+     * @param path Path to write the snapshot to.
+     * @param assembler Assembler that created the result.
+     * @throws IllegalArgumentException if the result has no model or contains errors.
+     * @throws UncheckedIOException if the snapshot can't be written.
+     */
+    public static void write(ValidatedResult<Model> result, Path path, ModelAssembler assembler) {
+        Model model = result.getResult()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot write a snapshot without a model"));
+        if (!result.getValidationEvents(Severity.ERROR).isEmpty()) {
+            throw new IllegalArgumentException("Cannot write a snapshot of a model that has validation errors");
+        }
+
+        // Every version of the prelude defines the documentation trait.
+        String settings = assembler.getSnapshotSettings(model.getShape(DocumentationTrait.ID).isPresent());
+        Path temp = null;
+        try {
+            Path absolute = path.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(model, settings, result.getValidationEvents(), out);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write model snapshot " + path + ": " + e.getMessage(), e);
+        } finally {
+            // Don't leave a partially written snapshot behind if writing or moving it failed.
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.fine(() -> "Unable to delete temporary model snapshot file: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a snapshot by mapping it into memory.
+     *
+     * <p>Traits are created using the trait factory found on the class path.
+     *
+     * @param path Path of the snapshot to open.
+     * @return Returns the opened snapshot.
+     * @throws ModelImportException if the file can't be read or isn't a supported snapshot.
+     */
+    public static ModelSnapshot open(Path path) {
+        return open(path, ModelAssembler.LazyTraitFactoryHolder.INSTANCE);
+    }
+
+    /**
+     * Opens a snapshot by mapping it into memory.
+     *
+     * @param path Path of the snapshot to open.
+     * @param traitFactory Factory used to create traits.
+     * @return Returns the opened snapshot.
+     * @throws ModelImportException if the file can't be read or isn't a supported snapshot.
+     */
+    public static ModelSnapshot open(Path path, TraitFactory traitFactory) {
+        // The mapping remains valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ModelSnapshot(path.toString(), buffer, traitFactory);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to open model snapshot " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a snapshot from a stream, such as a snapshot packaged in a JAR.
+     *
+     * @param filename Name of the snapshot used in error messages.
+     * @param stream Stream to read. The stream is not closed.
+     * @param traitFactory Factory used to create traits.
+     * @return Returns the read snapshot.
+     * @throws ModelImportException if the stream can't be read or isn't a supported snapshot.
+     */
+    static ModelSnapshot read(String filename, InputStream stream, TraitFactory traitFactory) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            for (int read = stream.read(chunk); read != -1; read = stream.read(chunk)) {
+                bytes.write(chunk, 0, read);
+            }
+            return new ModelSnapshot(filename, ByteBuffer.wrap(bytes.toByteArray()), traitFactory);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to read model snapshot " + filename + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the IDs of every shape in the snapshot, not including members.
+     *
+     * <p>IDs are returned without decoding any shapes.
+     *
+     * @return Returns the shape IDs, sorted by their string form.
+     */
+    public List<ShapeId> getShapeIds() {
+        return new AbstractList<ShapeId>() {
+            @Override
+            public ShapeId get(int index) {
+                return ShapeId.from(getShapeIdString(index));
+            }
+
+            @Override
+            public int size() {
+                return shapeCount;
+            }
+        };
+    }
+
+    /**
+     * Gets a shape from the snapshot, decoding it if it hasn't already been decoded.
+     *
+     * <p>Member shapes are returned from the shape that contains them.
+     *
+     * @param id ID of the shape to get.
+     * @return Returns the optional shape.
+     */
+    public Optional<Shape> getShape(ShapeId id) {
+        if (id.hasMember()) {
+            return getShape(id.withoutMember()).flatMap(shape -> shape.getMember(id.getMember().get()));
+        }
+        int index = findShape(id.toString());
+        return index < 0 ? Optional.empty() : Optional.of(getShape(index));
+    }
+
+    /**
+     * Gets the settings of the assembler that created the snapshot's model.
+     *
+     * @return Returns the settings.
+     */
+    String getSettings() {
+        return stringCount > SETTINGS_STRING ? getString(SETTINGS_STRING) : "";
+    }
+
+    /**
+     * Gets the metadata of the snapshot.
+     *
+     * @return Returns the metadata.
+     */
+    public Map<String, Node> getMetadata() {
+        return decode(metadataPosition, reader -> {
+            int count = reader.readVarInt();
+            Map<String, Node> result = new LinkedHashMap<>(count + (count >> 1) + 1);
+            for (int i = 0; i < count; i++) {
+                result.put(reader.readString(), reader.readNode());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Gets the validation events emitted when the snapshot's model was validated.
+     *
+     * @return Returns the validation events.
+     */
+    public List<ValidationEvent> getEvents() {
+        return decode(eventsPosition, reader -> {
+            int count = reader.readVarInt();
+            List<ValidationEvent> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(ValidationEvent.fromNode(reader.readNode()));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Decodes every shape and the metadata of the snapshot into a model.
+     *
+     * @return Returns the created model.
+     */
+    public Model toModel() {
+        Model.Builder builder = Model.builder().metadata(getMetadata());
+        for (int i = 0; i < shapeCount; i++) {
+            builder.addShape(getShape(i));
+        }
+        return builder.build();
+    }
+
+    private String getString(int index) {
+        String result = strings[index];
+        if (result == null) {
+            int start = buffer.getInt(stringTable + index * Integer.BYTES);
+            int end = buffer.getInt(stringTable + (index + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(start);
+            slice.get(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = result;
+        }
+        return result;
+    }
+
+    private String getShapeIdString(int index) {
+        return getString(buffer.getInt(shapeIndex + index * 2 * Integer.BYTES));
+    }
+
+    // Binary search over the index, which is sorted by the string form of each shape ID.
+    private int findShape(String id) {
+        int low = 0;
+        int high = shapeCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = getShapeIdString(middle).compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private Shape getShape(int index) {
+        Shape result = shapes[index];
+        if (result == null) {
+            ShapeId id = ShapeId.from(getShapeIdString(index));
+            int position = buffer.getInt(shapeIndex + (index * 2 + 1) * Integer.BYTES);
+            result = decode(position, reader -> readShape(reader, id));
+            shapes[index] = result;
+        }
+        return result;
+    }
+
+    private Shape expectShape(ShapeId id) throws IOException {
+        Optional<Shape> shape = getShape(id);
+        if (!shape.isPresent()) {
+            throw new IOException("Model snapshot refers to a shape that it doesn't contain: " + id);
+        }
+        return shape.get();
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(BinaryNodeCodec.Reader reader) throws IOException;
+    }
+
+    private <T> T decode(int position, Decoder<T> decoder) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(position);
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(slice));
+        try {
+            return decoder.decode(new BinaryNodeCodec.Reader(in, UnaryOperator.identity(), this::getString));
+        } catch (IOException | RuntimeException e) {
+            throw new ModelImportException("Invalid model snapshot " + filename + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Shape readShape(BinaryNodeCodec.Reader reader, ShapeId id) throws IOException {
+        String type = reader.readString();
+        AbstractShapeBuilder<?, ?> builder = ShapeType.fromString(type)
+                .orElseThrow(() -> new IOException("Invalid model snapshot shape type: " + type))
+                .createBuilderForType()
+                .id(id)
+                .source(reader.readLocation());
+        readTraits(reader, builder, id);
+        for (ShapeId mixin : readIds(reader)) {
+            builder.addMixin(expectShape(mixin));
+        }
+
+        int memberCount = reader.readVarInt();
+        for (int i = 0; i < memberCount; i++) {
+            ShapeId memberId = id.withMember(reader.readString());
+            MemberShape.Builder member = MemberShape.builder()
+                    .id(memberId)
+                    .target(reader.readString())
+                    .source(reader.readLocation());
+            readTraits(reader, member, memberId);
+            for (ShapeId mixin : readIds(reader)) {
+                member.addMixin(expectShape(mixin));
+            }
+            builder.addMember(member.build());
+        }
+
+        if (builder instanceof OperationShape.Builder) {
+            readOperationProperties(reader, (OperationShape.Builder) builder);
+        } else if (builder instanceof ServiceShape.Builder) {
+            readServiceProperties(reader, (ServiceShape.Builder) builder);
+        } else if (builder instanceof ResourceShape.Builder) {
+            readResourceProperties(reader, (ResourceShape.Builder) builder);
+        }
+
+        return builder.build();
+    }
+
+    private void readTraits(BinaryNodeCodec.Reader reader, AbstractShapeBuilder<?, ?> builder, ShapeId target)
+            throws IOException {
+        int count = reader.readVarInt();
+        for (int i = 0; i < count; i++) {
+            ShapeId traitId = ShapeId.from(reader.readString());
+            Node value = reader.readNode();
+            builder.addTrait(traitFactory.createTrait(traitId, target, value)
+                    .orElseGet(() -> createSyntheticTrait(traitId, value)));
+        }
+    }
+
+    // Synthetic traits added by model transformations don't have trait providers.
+    private static Trait createSyntheticTrait(ShapeId traitId, Node value) {
+        if (traitId.equals(OriginalShapeIdTrait.ID)) {
+            return new OriginalShapeIdTrait(ShapeId.from(value.expectStringNode().getValue()));
+        } else if (traitId.equals(NoAuthTrait.ID)) {
+            return new NoAuthTrait();
+        } else {
+            return new DynamicTrait(traitId, value);
+        }
+    }
+
+    private static void readOperationProperties(BinaryNodeCodec.Reader reader, OperationShape.Builder builder)
+            throws IOException {
+        builder.input(readOptionalId(reader));
+        builder.output(readOptionalId(reader));
+        builder.errors(readIds(reader));
+    }
+
+    private static void readServiceProperties(BinaryNodeCodec.Reader reader, ServiceShape.Builder builder)
+            throws IOException {
+        builder.version(reader.readString());
+        builder.operations(readIds(reader));
+        builder.resources(readIds(reader));
+        builder.errors(readIds(reader));
+        int renameCount = reader.readVarInt();
+        for (int i = 0; i < renameCount; i++) {
+            builder.putRename(ShapeId.from(reader.readString()), reader.readString());
+        }
+    }
+
+    private static void readResourceProperties(BinaryNodeCodec.Reader reader, ResourceShape.Builder builder)
+            throws IOException {
+        builder.identifiers(readIdMap(reader));
+        builder.properties(readIdMap(reader));
+        builder.put(readOptionalId(reader));
+        builder.create(readOptionalId(reader));
+        builder.read(readOptionalId(reader));
+        builder.update(readOptionalId(reader));
+        builder.delete(readOptionalId(reader));
+        builder.list(readOptionalId(reader));
+        builder.operations(readIds(reader));
+        readIds(reader).forEach(builder::addCollectionOperation);
+        builder.resources(readIds(reader));
+    }
+
+    private static ShapeId readOptionalId(BinaryNodeCodec.Reader reader) throws IOException {
+        String value = reader.readString();
+        return value.equals(ABSENT) ? null : ShapeId.from(value);
+    }
+
+    private static List<ShapeId> readIds(BinaryNodeCodec.Reader reader) throws IOException {
+        int count = reader.readVarInt();
+        List<ShapeId> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(ShapeId.from(reader.readString()));
+        }
+        return result;
+    }
+
+    private static Map<String, ShapeId> readIdMap(BinaryNodeCodec.Reader reader) throws IOException {
+        int count = reader.readVarInt();
+        Map<String, ShapeId> result = new LinkedHashMap<>(count + (count >> 1) + 1);
+        for (int i = 0; i < count; i++) {
+            result.put(reader.readString(), ShapeId.from(reader.readString()));
+        }
+        return result;
+    }
+
+    private static void write(Model model, String settings, List<ValidationEvent> events, DataOutputStream out)
+            throws IOException {
+        List<Shape> shapes = new ArrayList<>(model.getShapeIds().size());
+        for (Shape shape : model.toSet()) {
+            if (!shape.isMemberShape()) {
+                shapes.add(shape);
+            }
+        }
+        shapes.sort(Comparator.comparing(shape -> shape.getId().toString()));
+
+        // Records are written first so that every string they use is in the table.
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ToIntFunction<String> indexer = value -> strings.computeIfAbsent(value, v -> strings.size());
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordOut = new DataOutputStream(records);
+        BinaryNodeCodec.Writer writer = new BinaryNodeCodec.Writer(recordOut, UnaryOperator.identity(), indexer);
+        indexer.applyAsInt(LoaderUtils.getSmithyVersion());
+        indexer.applyAsInt(settings);
+
+        int[] index = new int[shapes.size() * 2];
+        for (int i = 0; i < shapes.size(); i++) {
+            Shape shape = shapes.get(i);
+            index[i * 2] = indexer.applyAsInt(shape.getId().toString());
+            index[i * 2 + 1] = recordOut.size();
+            writeShape(writer, shape);
+        }
+
+        int metadataOffset = recordOut.size();
+        writer.writeVarInt(model.getMetadata().size());
+        for (Map.Entry<String, Node> entry : model.getMetadata().entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeNode(entry.getValue());
+        }
+
+        int eventsOffset = recordOut.size();
+        writer.writeVarInt(events.size());
+        for (ValidationEvent event : events) {
+            writer.writeNode(event.toNode());
+        }
+        recordOut.flush();
+
+        List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+        int stringBytes = 0;
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encodedStrings.add(bytes);
+            stringBytes += bytes.length;
+        }
+
+        int stringTable = HEADER_SIZE;
+        int stringData = stringTable + (encodedStrings.size() + 1) * Integer.BYTES;
+        int shapeIndex = stringData + stringBytes;
+        int recordsPosition = shapeIndex + index.length * Integer.BYTES;
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(encodedStrings.size());
+        out.writeInt(shapes.size());
+        out.writeInt(stringTable);
+        out.writeInt(shapeIndex);
+        out.writeInt(recordsPosition + metadataOffset);
+        out.writeInt(recordsPosition + eventsOffset);
+
+        // Strings are found through a table of absolute positions, with a trailing entry for the end of the last.
+        int position = stringData;
+        for (byte[] bytes : encodedStrings) {
+            out.writeInt(position);
+            position += bytes.length;
+        }
+        out.writeInt(position);
+        for (byte[] bytes : encodedStrings) {
+            out.write(bytes);
+        }
+
+        for (int i = 0; i < index.length; i += 2) {
+            out.writeInt(index[i]);
+            out.writeInt(recordsPosition + index[i + 1]);
+        }
+
+        records.writeTo(out);
+    }
+
+    private static void writeShape(BinaryNodeCodec.Writer writer, Shape shape) throws IOException {
+        writer.writeString(shape.getType().toString());
+        writer.writeLocation(shape.getSourceLocation());
+        writeTraits(writer, shape);
+        writeIds(writer, shape.getMixins());
+
+        // Members inherited from mixins are written too, since their source locations depend on how they were defined.
+        writer.writeVarInt(shape.members().size());
+        for (MemberShape member : shape.members()) {
+            writer.writeString(member.getMemberName());
+            writer.writeString(member.getTarget().toString());
+            writer.writeLocation(member.getSourceLocation());
+            writeTraits(writer, member);
+            writeIds(writer, member.getMixins());
+        }
+
+        if (shape instanceof OperationShape) {
+            writeOperationProperties(writer, (OperationShape) shape);
+        } else if (shape instanceof ServiceShape) {
+            writeServiceProperties(writer, (ServiceShape) shape);
+        } else if (shape instanceof ResourceShape) {
+            writeResourceProperties(writer, (ResourceShape) shape);
+        }
+    }
+
+    private static void writeTraits(BinaryNodeCodec.Writer writer, Shape shape) throws IOException {
+        List<Trait> traits = new ArrayList<>(shape.getIntroducedTraits().size());
+        for (Trait trait : shape.getIntroducedTraits().values()) {
+            // The enum trait of an enum shape is created by its builder.
+            if (!(trait instanceof SyntheticEnumTrait)) {
+                traits.add(trait);
+            }
+        }
+        writer.writeVarInt(traits.size());
+        for (Trait trait : traits) {
+            writer.writeString(trait.toShapeId().toString());
+            writer.writeNode(LoaderUtils.createTraitValue(trait));
+        }
+    }
+
+    private static void writeOperationProperties(BinaryNodeCodec.Writer writer, OperationShape shape)
+            throws IOException {
+        writeOptionalId(writer, shape.getInput());
+        writeOptionalId(writer, shape.getOutput());
+        writeIds(writer, shape.getIntroducedErrorsSet());
+    }
+
+    private static void writeServiceProperties(BinaryNodeCodec.Writer writer, ServiceShape shape)
+            throws IOException {
+        writer.writeString(shape.getIntroducedVersion());
+        writeIds(writer, shape.getIntroducedOperations());
+        writeIds(writer, shape.getIntroducedResources());
+        writeIds(writer, shape.getIntroducedErrorsSet());
+        writer.writeVarInt(shape.getIntroducedRename().size());
+        for (Map.Entry<ShapeId, String> entry : shape.getIntroducedRename().entrySet()) {
+            writer.writeString(entry.getKey().toString());
+            writer.writeString(entry.getValue());
+        }
+    }
+
+    private static void writeResourceProperties(BinaryNodeCodec.Writer writer, ResourceShape shape)
+            throws IOException {
+        writeIdMap(writer, shape.getIdentifiers());
+        writeIdMap(writer, shape.getProperties());
+        writeOptionalId(writer, shape.getPut());
+        writeOptionalId(writer, shape.getCreate());
+        writeOptionalId(writer, shape.getRead());
+        writeOptionalId(writer, shape.getUpdate());
+        writeOptionalId(writer, shape.getDelete());
+        writeOptionalId(writer, shape.getList());
+        writeIds(writer, shape.getIntroducedOperations());
+        writeIds(writer, shape.getCollectionOperations());
+        writeIds(writer, shape.getIntroducedResources());
+    }
+
+    private static void writeOptionalId(BinaryNodeCodec.Writer writer, Optional<ShapeId> id) throws IOException {
+        writer.writeString(id.map(ShapeId::toString).orElse(ABSENT));
+    }
+
+    private static void writeIds(BinaryNodeCodec.Writer writer, Collection<ShapeId> ids) throws IOException {
+        writer.writeVarInt(ids.size());
+        for (ShapeId id : ids) {
+            writer.writeString(id.toString());
+        }
+    }
+
+    private static void writeIdMap(BinaryNodeCodec.Writer writer, Map<String, ShapeId> ids) throws IOException {
+        writer.writeVarInt(ids.size());
+        for (Map.Entry<String, ShapeId> entry : ids.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeString(entry.getValue().toString());
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            } else if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -7,15 +7,41 @@ package software.amazon.smithy.model.loader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.IdentifierBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.NullableIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.ServiceIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
+import software.amazon.smithy.model.selector.SelectorSyntaxException;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationEventDecorator;
@@ -52,6 +78,8 @@ import software.amazon.smithy.utils.SmithyBuilder;
  */
 final class ModelValidator implements Validator {
 
+    private static final Logger LOGGER = Logger.getLogger(ModelValidator.class.getName());
+
     // Lazy initialization holder class idiom to hold a default validator factory.
     private static final class LazyValidatorFactoryHolder {
         static final ValidatorFactory INSTANCE = ValidatorFactory.createServiceFactory(
@@ -65,6 +93,16 @@ final class ModelValidator implements Validator {
             ResourceCycleValidator.class,
             new ResourceCycleValidator());
 
+    /** Knowledge indexes used by many built-in validators, computed in parallel before validators are applied. */
+    private static final List<Class<? extends KnowledgeIndex>> PREWARMED_INDEXES = ListUtils.of(
+            NeighborProviderIndex.class,
+            TopDownIndex.class,
+            OperationIndex.class,
+            ServiceIndex.class,
+            HttpBindingIndex.class,
+            IdentifierBindingIndex.class,
+            NullableIndex.class);
+
     private final ValidatorFactory validatorFactory;
     private final List<ValidationEvent> events;
     private final List<Validator> validators;
@@ -72,6 +110,8 @@ final class ModelValidator implements Validator {
     private final ValidationEventDecorator validationEventDecorator;
     private final Consumer<ValidationEvent> eventListener;
     private final boolean legacyValidationMode;
+    private final Model previousModel;
+    private final Set<ShapeId> changedShapes;
 
     ModelValidator(Builder builder) {
         this.validatorFactory = builder.validatorFactory;
@@ -81,6 +121,8 @@ final class ModelValidator implements Validator {
         this.validators = builder.validators.copy();
         this.criticalValidators = builder.criticalValidators.copy();
         this.legacyValidationMode = builder.legacyValidationMode;
+        this.previousModel = builder.previousModel;
+        this.changedShapes = builder.changedShapes;
     }
 
     @Override
@@ -105,6 +147,8 @@ final class ModelValidator implements Validator {
         private Consumer<ValidationEvent> eventListener = event -> {};
         private ValidationEventDecorator validationEventDecorator;
         private boolean legacyValidationMode = false;
+        private Model previousModel;
+        private Set<ShapeId> changedShapes;
 
         private Builder() {}
 
@@ -190,6 +234,23 @@ final class ModelValidator implements Validator {
             return this;
         }
 
+        /**
+         * Validates the model incrementally based on a previously validated version of the model.
+         *
+         * <p>{@link ShapeScopedValidator}s are only applied to shapes affected by the changed shapes, reusing the
+         * events they emitted for other shapes when validating the previous model. The entire model is validated if
+         * the previous model wasn't completely validated or if its metadata differs from the validated model.
+         *
+         * @param previousModel Previous version of the model that was validated.
+         * @param changedShapes Shapes that were added, removed, or changed since the previous model.
+         * @return Returns the builder.
+         */
+        public Builder previousModel(Model previousModel, Set<ShapeId> changedShapes) {
+            this.previousModel = Objects.requireNonNull(previousModel);
+            this.changedShapes = Objects.requireNonNull(changedShapes);
+            return this;
+        }
+
         @Override
         public ModelValidator build() {
             // Adding built-in validators is deferred to allow for a custom factory to be set on the builder.
@@ -207,6 +268,12 @@ final class ModelValidator implements Validator {
         private final ValidationEventDecorator validationEventDecorator;
         private final Consumer<ValidationEvent> eventListener;
         private final boolean legacyValidationMode;
+        private final Map<Validator, String> scopedValidatorNames = new IdentityHashMap<>();
+        private final Map<String, List<ValidationEvent>> scopedEvents = new ConcurrentHashMap<>();
+        private final Set<Selector> metadataSelectors = new LinkedHashSet<>();
+        private Map<String, List<ValidationEvent>> previousScopedEvents = Collections.emptyMap();
+        private Set<ShapeId> affectedShapeIds;
+        private Set<Shape> affectedShapes;
 
         private LoadedModelValidator(Model model, ModelValidator validator) {
             this.model = model;
@@ -240,6 +307,106 @@ final class ModelValidator implements Validator {
 
             // The decorator itself doesn't handle loading and applying validators, just modifying events.
             loadModelValidators(validator.validatorFactory);
+
+            nameScopedValidators();
+            if (validator.previousModel != null) {
+                prepareIncrementalValidation(validator.previousModel, validator.changedShapes);
+            }
+        }
+
+        // Name each shape-scoped validator so that its events can be found when validating a later version of the
+        // model. Validators are applied in a deterministic order, so the class name and the number of preceding
+        // validators of the same class identify a validator.
+        private void nameScopedValidators() {
+            Map<String, Integer> counts = new HashMap<>();
+            for (List<Validator> list : ListUtils.of(criticalValidators, validators)) {
+                for (Validator validator : list) {
+                    if (validator instanceof ShapeScopedValidator) {
+                        String className = validator.getClass().getName();
+                        int index = counts.merge(className, 1, Integer::sum);
+                        scopedValidatorNames.put(validator, className + '#' + index);
+                    }
+                }
+            }
+        }
+
+        private void prepareIncrementalValidation(Model previousModel, Set<ShapeId> changedShapes) {
+            Map<String, List<ValidationEvent>> previousEvents = ScopedValidationIndex.of(previousModel).getEvents();
+            if (previousEvents == null) {
+                LOGGER.fine("Validating the entire model because the previous model was not completely validated");
+                return;
+            } else if (!previousModel.getMetadata().equals(model.getMetadata())) {
+                LOGGER.fine("Validating the entire model because model metadata changed");
+                return;
+            }
+
+            previousScopedEvents = previousEvents;
+            affectedShapeIds = findAffectedShapes(previousModel, model, changedShapes);
+            affectedShapes = new HashSet<>();
+            for (ShapeId id : affectedShapeIds) {
+                model.getShape(id).ifPresent(shape -> {
+                    affectedShapes.add(shape);
+                    affectedShapes.addAll(shape.members());
+                });
+            }
+
+            LOGGER.fine(() -> "Incrementally validating " + affectedShapeIds.size() + " shapes affected by "
+                    + changedShapes.size() + " changed shapes");
+        }
+
+        // Finds the shapes whose shape-scoped validation may depend on the changed shapes: the changed shapes or the
+        // shapes that contain changed members, and the shapes with members that target them. Relationships from both
+        // versions of the model are used to account for removed shapes and members. Shapes that moved are treated
+        // as changed too, since the events of the previous model refer to their previous source locations.
+        private static Set<ShapeId> findAffectedShapes(Model previous, Model model, Set<ShapeId> changedShapes) {
+            Set<ShapeId> changedRoots = new HashSet<>();
+            for (ShapeId id : changedShapes) {
+                changedRoots.add(id.withoutMember());
+            }
+            for (Shape shape : model.toSet()) {
+                if (!shape.isMemberShape() && !changedRoots.contains(shape.getId())) {
+                    Shape previousShape = previous.getShape(shape.getId()).orElse(null);
+                    if (previousShape != null && !hasSameLocations(previousShape, shape)) {
+                        changedRoots.add(shape.getId());
+                    }
+                }
+            }
+
+            Set<ShapeId> result = new HashSet<>(changedRoots);
+            for (Model version : ListUtils.of(previous, model)) {
+                for (MemberShape member : version.getMemberShapes()) {
+                    if (changedRoots.contains(member.getTarget())) {
+                        result.add(member.getContainer());
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        // Compares the source locations of a shape, its traits, and its members and their traits.
+        private static boolean hasSameLocations(Shape previous, Shape shape) {
+            if (!previous.getSourceLocation().equals(shape.getSourceLocation())
+                    || previous.getAllTraits().size() != shape.getAllTraits().size()
+                    || previous.members().size() != shape.members().size()) {
+                return false;
+            }
+
+            for (Trait trait : shape.getAllTraits().values()) {
+                Trait previousTrait = previous.getAllTraits().get(trait.toShapeId());
+                if (previousTrait == null || !previousTrait.getSourceLocation().equals(trait.getSourceLocation())) {
+                    return false;
+                }
+            }
+
+            for (MemberShape member : shape.members()) {
+                MemberShape previousMember = previous.getMember(member.getMemberName()).orElse(null);
+                if (previousMember == null || !hasSameLocations(previousMember, member)) {
+                    return false;
+                }
+            }
+
+            return true;
         }
 
         private void loadModelValidators(ValidatorFactory validatorFactory) {
@@ -253,7 +420,10 @@ final class ModelValidator implements Validator {
             // Attempt to create the Validator instances and collect errors along the way.
             for (ValidatorDefinition val : definitions) {
                 ValidatedResult<Validator> result = factory.loadValidator(val);
-                result.getResult().ifPresent(validators::add);
+                result.getResult().ifPresent(validator -> {
+                    validators.add(validator);
+                    addMetadataSelectors(val);
+                });
                 pushEvents(result.getValidationEvents());
                 if (result.getValidationEvents().isEmpty() && !result.getResult().isPresent()) {
                     ValidationEvent event = unknownValidatorError(val.name, val.sourceLocation);
@@ -262,6 +432,21 @@ final class ModelValidator implements Validator {
             }
         }
 
+        // Collects the selector that scopes the events of a validator, and the selector it's configured with (e.g.,
+        // by EmitEachSelector), so that they can be evaluated together.
+        private void addMetadataSelectors(ValidatorDefinition definition) {
+            if (definition.selector != null) {
+                metadataSelectors.add(definition.selector);
+            }
+            definition.configuration.getStringMember("selector").ifPresent(node -> {
+                try {
+                    metadataSelectors.add(Selector.parse(node.getValue()));
+                } catch (SelectorSyntaxException e) {
+                    // Not every validator's "selector" setting has to be a selector.
+                }
+            });
+        }
+
         // Unknown validators don't fail the build!
         private static ValidationEvent unknownValidatorError(String name, SourceLocation location) {
             return ValidationEvent.builder()
@@ -298,26 +483,89 @@ final class ModelValidator implements Validator {
                 return events;
             }
 
+            // Start computing commonly used indexes while critical validators run. Validators that need an index
+            // that's still being computed wait for it rather than computing it again.
+            CompletableFuture<Void> prewarmed = model.prewarm(PREWARMED_INDEXES, ForkJoinPool.commonPool());
+            prewarmed.whenComplete((ignored, e) -> {
+                if (e != null && !prewarmed.isCancelled()) {
+                    // Validators that need the index compute it again, and fail with the same error.
+                    LOGGER.log(Level.FINE, "Unable to prewarm knowledge indexes", e);
+                }
+            });
+
             // Same thing, but for other critical validators.
             events.addAll(streamEvents(criticalValidators.parallelStream()));
 
             // Only fail early here if legacy validation mode is enabled.
             if (!legacyValidationMode && LoaderUtils.containsErrorEvents(events)) {
+                // The remaining validators won't use the indexes that haven't been computed yet.
+                prewarmed.cancel(false);
                 return events;
             }
 
+            // Selectors used by validators defined in metadata are evaluated in a single traversal of the model.
+            // The validators then reuse the matches recorded with the model.
+            if (!metadataSelectors.isEmpty()) {
+                SelectorBatch.of(metadataSelectors).matches(model);
+            }
+
             events.addAll(streamEvents(validators.parallelStream()));
+
+            // Every validator was applied, so the events of shape-scoped validators can be used to incrementally
+            // validate a later version of the model.
+            ScopedValidationIndex.of(model).setEvents(scopedEvents);
             return events;
         }
 
         private List<ValidationEvent> streamEvents(Stream<Validator> validators) {
             return validators
-                    .flatMap(validator -> validator.validate(model).stream())
-                    .filter(this::filterPrelude)
-                    .map(this::updateAndEmitEvent)
+                    .flatMap(validator -> applyValidator(validator).stream())
                     .collect(Collectors.toList());
         }
 
+        private List<ValidationEvent> applyValidator(Validator validator) {
+            String scopedName = scopedValidatorNames.get(validator);
+            List<ValidationEvent> previousEvents = scopedName == null ? null : previousScopedEvents.get(scopedName);
+            // Events are recorded before they're decorated, so reused events are decorated by the current decorator.
+            List<ValidationEvent> raw = new ArrayList<>();
+            if (previousEvents == null) {
+                collectEvents(validator.validate(model), raw);
+            } else {
+                // Reuse events for shapes that are unaffected by the changes, and validate the affected shapes.
+                for (ValidationEvent event : previousEvents) {
+                    if (isReusable(event)) {
+                        raw.add(event);
+                    }
+                }
+                ShapeScopedValidator scoped = (ShapeScopedValidator) validator;
+                collectEvents(scoped.validateShapes(model, affectedShapes), raw);
+            }
+
+            List<ValidationEvent> emitted = new ArrayList<>(raw.size());
+            for (ValidationEvent event : raw) {
+                emitted.add(updateAndEmitEvent(event));
+            }
+
+            if (scopedName != null) {
+                scopedEvents.put(scopedName, raw);
+            }
+
+            return emitted;
+        }
+
+        private void collectEvents(List<ValidationEvent> source, List<ValidationEvent> result) {
+            for (ValidationEvent event : source) {
+                if (filterPrelude(event)) {
+                    result.add(event);
+                }
+            }
+        }
+
+        private boolean isReusable(ValidationEvent event) {
+            ShapeId id = event.getShapeId().orElse(null);
+            return id != null && !affectedShapeIds.contains(id.withoutMember()) && model.getShape(id).isPresent();
+        }
+
         private boolean filterPrelude(ValidationEvent event) {
             // Don't emit any non-error events for prelude shapes and traits.
             // This prevents custom validators from unnecessarily needing to worry about prelude shapes and trait
@@ -0,0 +1,932 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
+import software.amazon.smithy.model.shapes.CollectionShape;
+import software.amazon.smithy.model.shapes.MapShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.IoUtils;
+import software.amazon.smithy.utils.StringUtils;
+
+/**
+ * A content-addressed, on-disk cache of parsed model files.
+ *
+ * <p>Each model file given to a {@link ModelAssembler} has its own entry, keyed
+ * by a SHA-256 hash of the file's name and contents along with the settings
+ * that affect loading. An entry stores what the file contributed to the model
+ * as a JSON AST document encoded using {@link BinaryNodeCodec}, along with the
+ * events emitted while parsing the file and how each of its forward references
+ * was resolved. Source locations and the IDL version of the file are preserved,
+ * so loading an entry produces the same shapes as parsing the file while
+ * skipping tokenizing and parsing entirely.
+ *
+ * <p>What a file contributes can depend on other files. For example, members
+ * can elide targets defined by mixins, and relative shape IDs can resolve to a
+ * shape in another file or to the prelude. An entry records the hash of every
+ * file it transitively depends on, and it's only used when none of those files
+ * changed and its forward references still resolve to the same shapes.
+ *
+ * <p>Entries are only written when loading emitted no errors, and only for
+ * files whose contribution can be attributed to the file alone: files that
+ * define the same shape or apply the same trait to a shape as another file are
+ * parsed each time. When an entry is written, older entries for the same file
+ * are deleted.
+ */
+final class ParsedModelCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ParsedModelCache.class.getName());
+
+    // "SMPC" (Smithy parsed model cache).
+    private static final int MAGIC = 0x534D5043;
+
+    // Increment when the entry format or the loader changes in a way that invalidates existing entries.
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path directory;
+    private final Map<String, Source> sources;
+
+    // Files that can't be cached because another file defines the same shapes or applies the same traits.
+    private final Set<String> shared = new HashSet<>();
+    private final Map<ShapeId, String> definedBy = new HashMap<>();
+    private final Map<ShapeId, Map<ShapeId, String>> appliedBy = new HashMap<>();
+
+    private ParsedModelCache(Path directory, Map<String, Source> sources) {
+        this.directory = directory;
+        this.sources = sources;
+    }
+
+    /**
+     * Reads and hashes every model source to compute their cache keys.
+     *
+     * @param directory Directory that contains cache entries.
+     * @param models Model files to load, keyed by filename.
+     * @param settings Loader settings that affect the parsed result.
+     * @return Returns the cache, or null if a source could not be read.
+     */
+    static ParsedModelCache create(Path directory, Map<String, Supplier<InputStream>> models, String settings) {
+        Map<String, Source> sources = new LinkedHashMap<>(models.size());
+
+        for (Map.Entry<String, Supplier<InputStream>> entry : models.entrySet()) {
+            byte[] contents;
+            try (InputStream stream = entry.getValue().get()) {
+                contents = IoUtils.toByteArray(stream);
+            } catch (IOException | RuntimeException e) {
+                // Let the normal loading process report the error.
+                LOGGER.fine(() -> "Not using the parsed model cache; unable to read " + entry.getKey()
+                        + ": " + e.getMessage());
+                return null;
+            }
+            sources.put(entry.getKey(), new Source(entry.getKey(), contents, settings));
+        }
+
+        return new ParsedModelCache(directory, sources);
+    }
+
+    /**
+     * Loads every model source into the processor, using cache entries where possible.
+     *
+     * <p>Sources without a usable entry are parsed using the given parser, which returns a buffer
+     * for each source in the order they were given.
+     *
+     * @param processor Processor to load sources into.
+     * @param prelude Prelude model used by the processor, or null if the prelude is disabled.
+     * @param parser Parses model sources into buffers of load operations.
+     */
+    void load(
+            LoadOperationProcessor processor,
+            Model prelude,
+            Function<Map<String, Supplier<InputStream>>, List<LoadOperationBuffer>> parser
+    ) {
+        Map<String, LoadOperationBuffer> buffers = new HashMap<>();
+        for (Source source : sources.values()) {
+            source.entry = readEntry(source);
+            if (source.entry != null) {
+                buffers.put(source.filename, source.entry.createBuffer(source.filename.endsWith(".smithy")));
+            }
+        }
+        parseMisses(buffers, parser);
+
+        // Other files can add or remove shapes that forward references resolve to, so make sure each
+        // entry's references resolve like they did when it was written. Entries that depend on a file
+        // whose references now resolve differently can't be used either.
+        Map<ShapeId, ShapeType> definedTypes = new HashMap<>();
+        for (Source source : sources.values()) {
+            for (LoadOperation operation : buffers.get(source.filename).operations()) {
+                if (operation instanceof LoadOperation.DefineShape) {
+                    LoadOperation.DefineShape defineShape = (LoadOperation.DefineShape) operation;
+                    definedTypes.putIfAbsent(defineShape.toShapeId(), defineShape.getShapeType());
+                }
+            }
+        }
+        Set<String> changed = new HashSet<>();
+        for (Source source : sources.values()) {
+            if (source.entry != null && !source.entry.resolvesSameShapes(definedTypes, prelude)) {
+                changed.add(source.filename);
+            }
+        }
+        if (!changed.isEmpty()) {
+            for (Source source : sources.values()) {
+                if (source.entry != null && (changed.contains(source.filename)
+                        || !Collections.disjoint(changed, source.entry.dependencies.keySet()))) {
+                    LOGGER.fine(() -> "Not using parsed model cache entry for " + source.filename
+                            + ": forward references resolve to different shapes");
+                    source.entry = null;
+                    buffers.remove(source.filename);
+                }
+            }
+            parseMisses(buffers, parser);
+        }
+
+        for (Source source : sources.values()) {
+            LOGGER.fine(() -> "Parsed model cache " + (source.entry == null ? "miss: " : "hit: ") + source.filename);
+            buffers.get(source.filename).replay(new Recorder(source, processor));
+        }
+    }
+
+    private void parseMisses(
+            Map<String, LoadOperationBuffer> buffers,
+            Function<Map<String, Supplier<InputStream>>, List<LoadOperationBuffer>> parser
+    ) {
+        Map<String, Supplier<InputStream>> misses = new LinkedHashMap<>();
+        for (Source source : sources.values()) {
+            if (!buffers.containsKey(source.filename)) {
+                misses.put(source.filename, () -> new ByteArrayInputStream(source.contents));
+            }
+        }
+        if (!misses.isEmpty()) {
+            Iterator<LoadOperationBuffer> parsed = parser.apply(misses).iterator();
+            for (String filename : misses.keySet()) {
+                buffers.put(filename, parsed.next());
+            }
+        }
+    }
+
+    /**
+     * Writes cache entries for the sources that were just parsed.
+     *
+     * @param model Model built from the sources, before any interop transforms are applied.
+     * @param events Events emitted while loading the model.
+     * @param fileVersions Gets the IDL version of a source file, or null if unknown.
+     */
+    void store(Model model, List<ValidationEvent> events, Function<String, Version> fileVersions) {
+        if (LoaderUtils.containsErrorEvents(events)) {
+            LOGGER.fine("Not writing parsed model cache entries: loading emitted errors");
+            return;
+        }
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        Set<String> misses = new TreeSet<>();
+        for (Source source : sources.values()) {
+            Set<String> sourceDependencies = source.findDependencies(model);
+            dependencies.put(source.filename, sourceDependencies);
+            if (source.entry == null) {
+                if (shared.contains(source.filename) || !source.cacheable) {
+                    LOGGER.fine(() -> "Not writing parsed model cache entry for " + source.filename
+                            + ": its shapes, traits, or metadata are also defined elsewhere");
+                } else if (!sources.keySet().containsAll(sourceDependencies)) {
+                    LOGGER.fine(() -> "Not writing parsed model cache entry for " + source.filename
+                            + ": it depends on shapes that weren't loaded from a model file");
+                } else {
+                    misses.add(source.filename);
+                }
+            }
+        }
+
+        for (Document document : createDocuments(model, misses).values()) {
+            Source source = sources.get(document.filename);
+            // The loader can add shapes and traits that aren't in the file, like the default traits of
+            // IDL 1.0 shapes, so only write documents that contain exactly what the file defined.
+            if (!document.reproducible
+                    || !document.defined.equals(source.defined)
+                    || !document.traits.equals(source.traits)) {
+                LOGGER.fine(() -> "Not writing parsed model cache entry for " + source.filename
+                        + ": its shapes cannot be reproduced from the cached form");
+                continue;
+            }
+
+            // Record every file this one transitively depends on, since, for example, a member can elide a
+            // target that's defined by a mixin of a mixin.
+            Map<String, String> hashes = new TreeMap<>();
+            Deque<String> queue = new ArrayDeque<>(dependencies.get(source.filename));
+            while (!queue.isEmpty()) {
+                String dependency = queue.pop();
+                if (!dependency.equals(source.filename) && !hashes.containsKey(dependency)) {
+                    hashes.put(dependency, sources.get(dependency).hash);
+                    queue.addAll(dependencies.get(dependency));
+                }
+            }
+
+            ObjectNode node = document.toNode(fileVersions.apply(document.filename));
+            writeEntry(source, new Entry(node, source.events, source.references, hashes));
+        }
+    }
+
+    private Entry readEntry(Source source) {
+        Path path = source.getEntryPath(directory);
+        Entry entry;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported cache entry format");
+            }
+            entry = Entry.fromNode(new BinaryNodeCodec.Reader(in).readNode().expectObjectNode());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.fine(() -> "Ignoring unreadable parsed model cache entry " + path + ": " + e.getMessage());
+            return null;
+        }
+
+        for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+            Source dependencySource = sources.get(dependency.getKey());
+            if (dependencySource == null || !dependencySource.hash.equals(dependency.getValue())) {
+                LOGGER.fine(() -> "Not using parsed model cache entry for " + source.filename
+                        + ": " + dependency.getKey() + " changed");
+                return null;
+            }
+        }
+
+        return entry;
+    }
+
+    private void writeEntry(Source source, Entry entry) {
+        Path path = source.getEntryPath(directory);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, source.prefix, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                new BinaryNodeCodec.Writer(out).writeNode(entry.toNode());
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            LOGGER.fine(() -> "Wrote parsed model cache entry: " + path);
+
+            // Remove entries written for previous contents of the file.
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, source.prefix + "*.bin")) {
+                for (Path previous : stream) {
+                    if (!previous.equals(path)) {
+                        Files.deleteIfExists(previous);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.fine(() -> "Unable to write parsed model cache entry " + path + ": " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.fine(() -> "Unable to delete temporary parsed model cache file: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Creates a JSON AST document for each of the given files from what they contributed to the model.
+    // Shapes are written to the document of the file that defined them. Traits are written inline when they
+    // were applied in the same file as their target, or as an "apply" entry in the document of the file that
+    // applied them. Traits that weren't applied from a model file, like the traits of inline operation input,
+    // are written with their target.
+    private Map<String, Document> createDocuments(Model model, Set<String> filenames) {
+        Map<String, Document> documents = new TreeMap<>();
+        for (String filename : filenames) {
+            Document document = new Document(filename);
+            document.metadata.putAll(sources.get(filename).metadata);
+            documents.put(filename, document);
+        }
+
+        // Shapes and traits are written in the order they appear in their file, which is also the order the
+        // loader emits events about them.
+        List<Shape> shapes = new ArrayList<>();
+        for (Shape shape : model.toSet()) {
+            if (!shape.isMemberShape() && !Prelude.isPreludeShape(shape)) {
+                shapes.add(shape);
+            }
+        }
+        shapes.sort(Comparator.comparing(Shape::getSourceLocation).thenComparing(Shape::getId));
+
+        for (Shape shape : shapes) {
+            Document document = documents.get(shape.getSourceLocation().getFilename());
+            if (document != null) {
+                document.defined.add(shape.getId());
+                document.shapes.put(shape.getId().toString(), createShapeNode(model, shape, documents));
+            } else {
+                // Shapes defined by other files can have traits applied by these files.
+                addApplies(shape, documents);
+                for (MemberShape member : shape.members()) {
+                    addApplies(member, documents);
+                }
+            }
+        }
+
+        return documents;
+    }
+
+    private Document getApplyingDocument(Shape shape, Trait trait, Map<String, Document> documents) {
+        String filename = trait.getSourceLocation().getFilename();
+        return documents.get(sources.containsKey(filename) ? filename : shape.getSourceLocation().getFilename());
+    }
+
+    private static List<Trait> getIntroducedTraits(Shape shape) {
+        List<Trait> traits = new ArrayList<>(shape.getIntroducedTraits().values());
+        traits.sort(Comparator.comparing(Trait::getSourceLocation));
+        return traits;
+    }
+
+    private void addApplies(Shape shape, Map<String, Document> documents) {
+        for (Trait trait : getIntroducedTraits(shape)) {
+            Document document = getApplyingDocument(shape, trait, documents);
+            if (document != null && !trait.isSynthetic()) {
+                document.addApply(shape.getId(), trait);
+            }
+        }
+    }
+
+    private ObjectNode createShapeNode(Model model, Shape shape, Map<String, Document> documents) {
+        ObjectNode.Builder builder = Node.objectNodeBuilder()
+                .sourceLocation(shape.getSourceLocation())
+                .withMember("type", shape.getType().toString());
+
+        if (!shape.getMixins().isEmpty()) {
+            builder.withMember("mixins", createReferenceList(shape.getMixins()));
+        }
+
+        if (shape instanceof CollectionShape) {
+            addMember(model, builder, "member", ((CollectionShape) shape).getMember(), documents);
+        } else if (shape instanceof MapShape) {
+            addMember(model, builder, "key", ((MapShape) shape).getKey(), documents);
+            addMember(model, builder, "value", ((MapShape) shape).getValue(), documents);
+        } else if (shape.isStructureShape() || shape.isUnionShape() || shape.isEnumShape() || shape.isIntEnumShape()) {
+            ObjectNode.Builder members = Node.objectNodeBuilder();
+            for (MemberShape member : shape.getAllMembers().values()) {
+                addMember(model, members, member.getMemberName(), member, documents);
+            }
+            builder.withMember("members", members.build());
+        } else if (shape instanceof OperationShape) {
+            addOperationProperties(builder, (OperationShape) shape);
+        } else if (shape instanceof ServiceShape) {
+            addServiceProperties(builder, (ServiceShape) shape);
+        } else if (shape instanceof ResourceShape) {
+            addResourceProperties(builder, (ResourceShape) shape);
+        }
+
+        addTraits(builder, shape, documents);
+        return builder.build();
+    }
+
+    private void addMember(
+            Model model,
+            ObjectNode.Builder builder,
+            String name,
+            MemberShape member,
+            Map<String, Document> documents
+    ) {
+        if (member.getMixins().isEmpty()) {
+            ObjectNode.Builder memberBuilder = Node.objectNodeBuilder()
+                    .sourceLocation(member.getSourceLocation())
+                    .withMember("target", member.getTarget().toString());
+            addTraits(memberBuilder, member, documents);
+            builder.withMember(name, memberBuilder.build());
+            return;
+        }
+
+        // Members inherited from mixins are created by the mixin, so only traits introduced on them are written.
+        // Members that were redeclared (e.g., to elide their target) can't be written without losing their location.
+        boolean inherited = false;
+        for (ShapeId mixin : member.getMixins()) {
+            inherited |= model.getShape(mixin)
+                    .filter(mixinMember -> mixinMember.getSourceLocation().equals(member.getSourceLocation()))
+                    .isPresent();
+        }
+        if (!inherited) {
+            documents.get(member.getSourceLocation().getFilename()).reproducible = false;
+        }
+        addApplies(member, documents);
+    }
+
+    private void addTraits(ObjectNode.Builder builder, Shape shape, Map<String, Document> documents) {
+        ObjectNode.Builder traits = Node.objectNodeBuilder();
+        String filename = shape.getSourceLocation().getFilename();
+        for (Trait trait : getIntroducedTraits(shape)) {
+            Document document = getApplyingDocument(shape, trait, documents);
+            // Synthetic traits are recreated by the loader.
+            if (trait.isSynthetic() || document == null) {
+                continue;
+            } else if (document.filename.equals(filename)) {
+                document.addTrait(shape.getId(), trait);
+                traits.withMember(createTraitKey(trait), LoaderUtils.createTraitValue(trait));
+            } else {
+                document.addApply(shape.getId(), trait);
+            }
+        }
+        ObjectNode traitsNode = traits.build();
+        if (!traitsNode.isEmpty()) {
+            builder.withMember("traits", traitsNode);
+        }
+    }
+
+    private static StringNode createTraitKey(Trait trait) {
+        return new StringNode(trait.toShapeId().toString(), trait.getSourceLocation());
+    }
+
+    private static void addOperationProperties(ObjectNode.Builder builder, OperationShape shape) {
+        builder.withMember("input", createReference(shape.getInputShape()));
+        builder.withMember("output", createReference(shape.getOutputShape()));
+        if (!shape.getIntroducedErrorsSet().isEmpty()) {
+            builder.withMember("errors", createReferenceList(shape.getIntroducedErrorsSet()));
+        }
+    }
+
+    private static void addServiceProperties(ObjectNode.Builder builder, ServiceShape shape) {
+        if (!StringUtils.isBlank(shape.getIntroducedVersion())) {
+            builder.withMember("version", shape.getIntroducedVersion());
+        }
+        if (!shape.getIntroducedOperations().isEmpty()) {
+            builder.withMember("operations", createReferenceList(shape.getIntroducedOperations()));
+        }
+        if (!shape.getIntroducedResources().isEmpty()) {
+            builder.withMember("resources", createReferenceList(shape.getIntroducedResources()));
+        }
+        if (!shape.getIntroducedErrorsSet().isEmpty()) {
+            builder.withMember("errors", createReferenceList(shape.getIntroducedErrorsSet()));
+        }
+        if (!shape.getIntroducedRename().isEmpty()) {
+            ObjectNode.Builder rename = Node.objectNodeBuilder();
+            for (Map.Entry<ShapeId, String> entry : shape.getIntroducedRename().entrySet()) {
+                rename.withMember(entry.getKey().toString(), entry.getValue());
+            }
+            builder.withMember("rename", rename.build());
+        }
+    }
+
+    private static void addResourceProperties(ObjectNode.Builder builder, ResourceShape shape) {
+        if (shape.hasIdentifiers()) {
+            builder.withMember("identifiers", createReferenceMap(shape.getIdentifiers()));
+        }
+        if (shape.hasProperties()) {
+            builder.withMember("properties", createReferenceMap(shape.getProperties()));
+        }
+        shape.getPut().ifPresent(id -> builder.withMember("put", createReference(id)));
+        shape.getCreate().ifPresent(id -> builder.withMember("create", createReference(id)));
+        shape.getRead().ifPresent(id -> builder.withMember("read", createReference(id)));
+        shape.getUpdate().ifPresent(id -> builder.withMember("update", createReference(id)));
+        shape.getDelete().ifPresent(id -> builder.withMember("delete", createReference(id)));
+        shape.getList().ifPresent(id -> builder.withMember("list", createReference(id)));
+        if (!shape.getIntroducedOperations().isEmpty()) {
+            builder.withMember("operations", createReferenceList(shape.getIntroducedOperations()));
+        }
+        if (!shape.getCollectionOperations().isEmpty()) {
+            builder.withMember("collectionOperations", createReferenceList(shape.getCollectionOperations()));
+        }
+        if (!shape.getIntroducedResources().isEmpty()) {
+            builder.withMember("resources", createReferenceList(shape.getIntroducedResources()));
+        }
+    }
+
+    private static ObjectNode createReference(ShapeId id) {
+        return Node.objectNode().withMember("target", id.toString());
+    }
+
+    private static ArrayNode createReferenceList(Collection<ShapeId> ids) {
+        List<Node> references = new ArrayList<>(ids.size());
+        for (ShapeId id : ids) {
+            references.add(createReference(id));
+        }
+        return Node.fromNodes(references);
+    }
+
+    private static ObjectNode createReferenceMap(Map<String, ShapeId> ids) {
+        ObjectNode.Builder builder = Node.objectNodeBuilder();
+        for (Map.Entry<String, ShapeId> entry : ids.entrySet()) {
+            builder.withMember(entry.getKey(), createReference(entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    private static String hash(String... parts) {
+        MessageDigest digest = createDigest();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static final class Source {
+        private final String filename;
+        private final byte[] contents;
+        private final String hash;
+        private final String prefix;
+        private final String key;
+
+        // The entry loaded from the cache, or null if the file is parsed.
+        private Entry entry;
+
+        // What the file contributed when it was loaded.
+        private final List<ValidationEvent> events = new ArrayList<>();
+        private final List<Reference> references = new ArrayList<>();
+        private final Map<String, Node> metadata = new LinkedHashMap<>();
+        private final Set<ShapeId> defined = new HashSet<>();
+        private final Map<ShapeId, Set<ShapeId>> traits = new HashMap<>();
+        private boolean cacheable = true;
+
+        Source(String filename, byte[] contents, String settings) {
+            this.filename = filename;
+            this.contents = contents;
+            this.hash = toHex(createDigest().digest(contents));
+            // Every entry of a file starts with the same prefix, which is used to find and remove older entries.
+            // Both include the Smithy version so that entries written by other versions are never replayed.
+            String version = LoaderUtils.getSmithyVersion();
+            this.prefix = hash("smithy-parsed-model", version, settings, filename).substring(0, 16) + '-';
+            this.key = hash("smithy-parsed-model:" + FORMAT_VERSION, version, settings, filename, hash);
+        }
+
+        Path getEntryPath(Path directory) {
+            return directory.resolve(prefix + key + ".bin");
+        }
+
+        // Finds the other files that define shapes this file references.
+        Set<String> findDependencies(Model model) {
+            Set<String> result = new TreeSet<>();
+            for (Reference reference : references) {
+                if (reference.type == null) {
+                    continue;
+                }
+                model.getShape(reference.id.withoutMember())
+                        .filter(shape -> !Prelude.isPreludeShape(shape))
+                        .map(shape -> shape.getSourceLocation().getFilename())
+                        .filter(dependency -> !dependency.equals(filename))
+                        .ifPresent(result::add);
+            }
+            return result;
+        }
+    }
+
+    private static final class Reference {
+        private final String namespace;
+        private final String name;
+        private ShapeId id;
+        private ShapeType type;
+        private ValidationEvent event;
+
+        Reference(String namespace, String name) {
+            this.namespace = namespace;
+            this.name = name;
+        }
+
+        ObjectNode toNode() {
+            return Node.objectNodeBuilder()
+                    .withOptionalMember("namespace", Optional.ofNullable(namespace).map(Node::from))
+                    .withMember("name", name)
+                    .withMember("id", id.toString())
+                    .withOptionalMember("type", Optional.ofNullable(type).map(t -> Node.from(t.toString())))
+                    .withOptionalMember("event", Optional.ofNullable(event).map(ValidationEvent::toNode))
+                    .build();
+        }
+
+        static Reference fromNode(ObjectNode node) {
+            Reference reference = new Reference(
+                    node.getStringMember("namespace").map(StringNode::getValue).orElse(null),
+                    node.expectStringMember("name").getValue());
+            reference.id = ShapeId.from(node.expectStringMember("id").getValue());
+            reference.type = node.getStringMember("type")
+                    .map(type -> ShapeType.fromString(type.getValue()).orElseThrow(IllegalArgumentException::new))
+                    .orElse(null);
+            reference.event = node.getMember("event").map(ValidationEvent::fromNode).orElse(null);
+            return reference;
+        }
+    }
+
+    private static final class Entry {
+        private final ObjectNode document;
+        private final List<ValidationEvent> events;
+        private final List<Reference> references;
+        private final Map<String, String> dependencies;
+
+        Entry(
+                ObjectNode document,
+                List<ValidationEvent> events,
+                List<Reference> references,
+                Map<String, String> dependencies
+        ) {
+            this.document = document;
+            this.events = events;
+            this.references = references;
+            this.dependencies = dependencies;
+        }
+
+        LoadOperationBuffer createBuffer(boolean deferTraits) {
+            // Events are emitted while parsing, before traits are applied when forward references are resolved.
+            LoadOperationBuffer buffer = new LoadOperationBuffer();
+            for (ValidationEvent event : events) {
+                buffer.accept(new LoadOperation.Event(event));
+            }
+            ModelLoader.loadParsedNode(document, operation -> {
+                if (deferTraits && operation instanceof LoadOperation.ApplyTrait) {
+                    // Defer traits to when forward references are resolved, like the IDL does, so that events
+                    // about traits are emitted in the same order as when parsing.
+                    LoadOperation.ApplyTrait applyTrait = (LoadOperation.ApplyTrait) operation;
+                    buffer.accept(new LoadOperation.ForwardReference(
+                            null,
+                            applyTrait.trait.toString(),
+                            (id, type) -> {
+                                buffer.accept(applyTrait);
+                                return null;
+                            }));
+                } else {
+                    buffer.accept(operation);
+                }
+            });
+            // The effects of resolving references are part of the document, so only their events are replayed.
+            for (Reference reference : references) {
+                buffer.accept(new LoadOperation.ForwardReference(
+                        reference.namespace,
+                        reference.name,
+                        (id, type) -> reference.event));
+            }
+            return buffer;
+        }
+
+        boolean resolvesSameShapes(Map<ShapeId, ShapeType> definedTypes, Model prelude) {
+            Function<ShapeId, ShapeType> shapeTypes = id -> {
+                if (id.hasMember()) {
+                    return ShapeType.MEMBER;
+                } else if (definedTypes.containsKey(id)) {
+                    return definedTypes.get(id);
+                } else {
+                    return prelude == null ? null : prelude.getShape(id).map(Shape::getType).orElse(null);
+                }
+            };
+            for (Reference reference : references) {
+                boolean same = LoadOperationProcessor.resolveForwardReference(
+                        reference.namespace,
+                        reference.name,
+                        shapeTypes,
+                        prelude,
+                        (id, type) -> id.equals(reference.id) && type == reference.type);
+                if (!same) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        ObjectNode toNode() {
+            ObjectNode.Builder dependenciesNode = Node.objectNodeBuilder();
+            dependencies.forEach(dependenciesNode::withMember);
+            return Node.objectNodeBuilder()
+                    .withMember("document", document)
+                    .withMember("events", events.stream().map(ValidationEvent::toNode).collect(ArrayNode.collect()))
+                    .withMember("references", references.stream().map(Reference::toNode).collect(ArrayNode.collect()))
+                    .withMember("dependencies", dependenciesNode.build())
+                    .build();
+        }
+
+        static Entry fromNode(ObjectNode node) {
+            Map<String, String> dependencies = new LinkedHashMap<>();
+            for (Map.Entry<String, Node> entry : node.expectObjectMember("dependencies").getStringMap().entrySet()) {
+                dependencies.put(entry.getKey(), entry.getValue().expectStringNode().getValue());
+            }
+            return new Entry(
+                    node.expectObjectMember("document"),
+                    node.expectArrayMember("events").getElementsAs(ValidationEvent::fromNode),
+                    node.expectArrayMember("references").getElementsAs(ObjectNode.class).stream()
+                            .map(Reference::fromNode)
+                            .collect(Collectors.toList()),
+                    dependencies);
+        }
+    }
+
+    /**
+     * Records what a file contributes as its load operations are sent to the processor.
+     */
+    private final class Recorder implements Consumer<LoadOperation> {
+        private final Source source;
+        private final Consumer<LoadOperation> delegate;
+        private final LoadOperation.Visitor visitor;
+
+        Recorder(Source source, Consumer<LoadOperation> delegate) {
+            this.source = source;
+            this.delegate = delegate;
+            this.visitor = new LoadOperation.Visitor() {
+                @Override
+                public void putMetadata(LoadOperation.PutMetadata operation) {
+                    if (source.metadata.put(operation.key, operation.value) != null) {
+                        // Metadata defined more than once in a file is merged, and can't be written as-is.
+                        source.cacheable = false;
+                    }
+                    delegate.accept(operation);
+                }
+
+                @Override
+                public void applyTrait(LoadOperation.ApplyTrait operation) {
+                    String previous = appliedBy.computeIfAbsent(operation.target, id -> new HashMap<>())
+                            .putIfAbsent(operation.trait, source.filename);
+                    markShared(previous);
+                    addTrait(operation.target, operation.trait);
+                    delegate.accept(operation);
+                }
+
+                @Override
+                public void defineShape(LoadOperation.DefineShape operation) {
+                    if (!source.defined.add(operation.toShapeId())) {
+                        // Shapes defined more than once in a file are only written once.
+                        source.cacheable = false;
+                    }
+                    markShared(definedBy.putIfAbsent(operation.toShapeId(), source.filename));
+                    // Loaders can add traits directly to shapes, like the values of enum members.
+                    addBuilderTraits(operation.builder());
+                    for (MemberShape.Builder member : operation.memberBuilders().values()) {
+                        addBuilderTraits(member);
+                    }
+                    delegate.accept(operation);
+                }
+
+                @Override
+                public void forwardReference(LoadOperation.ForwardReference operation) {
+                    Reference reference = new Reference(operation.namespace, operation.name);
+                    source.references.add(reference);
+                    delegate.accept(new LoadOperation.ForwardReference(operation.namespace, operation.name,
+                            (id, type) -> {
+                                reference.id = id;
+                                reference.type = type;
+                                reference.event = operation.resolve(id, type);
+                                return reference.event;
+                            }));
+                }
+
+                @Override
+                public void event(LoadOperation.Event operation) {
+                    source.events.add(operation.event);
+                    delegate.accept(operation);
+                }
+
+                @Override
+                public void modelVersion(LoadOperation.ModelVersion operation) {
+                    delegate.accept(operation);
+                }
+            };
+        }
+
+        private void addTrait(ShapeId target, ShapeId trait) {
+            source.traits.computeIfAbsent(target, id -> new HashSet<>()).add(trait);
+        }
+
+        private void addBuilderTraits(AbstractShapeBuilder<?, ?> builder) {
+            for (Trait trait : builder.getAllTraits().values()) {
+                if (!trait.isSynthetic()) {
+                    addTrait(builder.getId(), trait.toShapeId());
+                }
+            }
+        }
+
+        private void markShared(String otherFilename) {
+            if (otherFilename != null && !otherFilename.equals(source.filename)) {
+                shared.add(otherFilename);
+                shared.add(source.filename);
+            }
+        }
+
+        @Override
+        public void accept(LoadOperation operation) {
+            operation.accept(visitor);
+        }
+    }
+
+    private static final class Document {
+        private final String filename;
+        private final Map<String, Node> metadata = new LinkedHashMap<>();
+        private final Map<String, Node> shapes = new LinkedHashMap<>();
+        private final Map<ShapeId, ObjectNode.Builder> applies = new LinkedHashMap<>();
+        private final Set<ShapeId> defined = new HashSet<>();
+        private final Map<ShapeId, Set<ShapeId>> traits = new HashMap<>();
+        private boolean reproducible = true;
+
+        Document(String filename) {
+            this.filename = filename;
+        }
+
+        void addTrait(ShapeId target, Trait trait) {
+            traits.computeIfAbsent(target, id -> new HashSet<>()).add(trait.toShapeId());
+        }
+
+        void addApply(ShapeId target, Trait trait) {
+            addTrait(target, trait);
+            applies.computeIfAbsent(target, id -> Node.objectNodeBuilder().sourceLocation(trait.getSourceLocation()))
+                    .withMember(createTraitKey(trait), LoaderUtils.createTraitValue(trait));
+        }
+
+        ObjectNode toNode(Version version) {
+            // Only register a version for real files, the same way the loader does.
+            SourceLocation versionLocation = filename.equals(SourceLocation.NONE.getFilename())
+                    ? SourceLocation.NONE
+                    : new SourceLocation(filename);
+            String versionString = version == null || version == Version.UNKNOWN
+                    ? Version.VERSION_2_0.toString()
+                    : version.toString();
+
+            // Apply entries are written alongside shapes in the order their first trait appears in the file.
+            List<Map.Entry<String, Node>> entries = new ArrayList<>(shapes.entrySet());
+            for (Map.Entry<ShapeId, ObjectNode.Builder> entry : applies.entrySet()) {
+                ObjectNode traitsNode = entry.getValue().build();
+                entries.add(new AbstractMap.SimpleEntry<>(entry.getKey().toString(), Node.objectNodeBuilder()
+                        .sourceLocation(traitsNode.getSourceLocation())
+                        .withMember("type", "apply")
+                        .withMember("traits", traitsNode)
+                        .build()));
+            }
+            entries.sort(Comparator.comparing(entry -> entry.getValue().getSourceLocation()));
+            ObjectNode.Builder shapesBuilder = Node.objectNodeBuilder();
+            for (Map.Entry<String, Node> entry : entries) {
+                shapesBuilder.withMember(entry.getKey(), entry.getValue());
+            }
+
+            ObjectNode.Builder builder = Node.objectNodeBuilder()
+                    .withMember("smithy", new StringNode(versionString, versionLocation));
+            if (!metadata.isEmpty()) {
+                ObjectNode.Builder metadataBuilder = Node.objectNodeBuilder();
+                metadata.forEach(metadataBuilder::withMember);
+                builder.withMember("metadata", metadataBuilder.build());
+            }
+            return builder.withMember("shapes", shapesBuilder.build()).build();
+        }
+    }
+}
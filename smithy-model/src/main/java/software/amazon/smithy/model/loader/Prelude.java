@@ -9,6 +9,7 @@ import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.model.traits.BoxTrait;
 import software.amazon.smithy.model.traits.PrivateTrait;
+import software.amazon.smithy.model.traits.TraitFactory;
 
 /**
  * Represents the prelude model available to every Smithy model.
@@ -59,33 +60,50 @@ public final class Prelude {
         return PreludeHolder.PRELUDE;
     }
 
+    // Parses the prelude rather than loading it from the prelude snapshot.
+    static Model parsePrelude() {
+        return Model.assembler()
+                .disablePrelude()
+                // Model validation is disabled when loading the prelude
+                // because the prelude is validated during unit tests and
+                // the prelude is immutable. However, if the prelude is
+                // broken for whatever reason, ERROR events encountered
+                // when performing model validation that uses the prelude
+                // will still cause an error, meaning the prelude is still
+                // validated when actually loading and using other models.
+                .disableValidation()
+                .traitFactory(getTraitFactory())
+                .addImport(Prelude.class.getResource("prelude.smithy"))
+                // Patch in synthetic box traits for v1 compatibility.
+                .addTrait(ShapeId.from("smithy.api#Boolean"), new BoxTrait())
+                .addTrait(ShapeId.from("smithy.api#Byte"), new BoxTrait())
+                .addTrait(ShapeId.from("smithy.api#Short"), new BoxTrait())
+                .addTrait(ShapeId.from("smithy.api#Integer"), new BoxTrait())
+                .addTrait(ShapeId.from("smithy.api#Long"), new BoxTrait())
+                .addTrait(ShapeId.from("smithy.api#Float"), new BoxTrait())
+                .addTrait(ShapeId.from("smithy.api#Double"), new BoxTrait())
+                .assemble()
+                .unwrap();
+    }
+
+    // The filename used in the source locations of prelude shapes and traits.
+    static String getPreludeFilename() {
+        return ModelAssembler.createImportKey(Prelude.class.getResource("prelude.smithy"));
+    }
+
+    static TraitFactory getTraitFactory() {
+        return ModelAssembler.LazyTraitFactoryHolder.INSTANCE;
+    }
+
     // Lazy initialization holder class idiom for loading prelude traits and shapes.
     private static final class PreludeHolder {
         private static final Model PRELUDE = loadPrelude();
 
+        // The snapshot created when Smithy is built is used when available, avoiding the cost
+        // of parsing the prelude each time the JVM starts.
         private static Model loadPrelude() {
-            return Model.assembler()
-                    .disablePrelude()
-                    // Model validation is disabled when loading the prelude
-                    // because the prelude is validated during unit tests and
-                    // the prelude is immutable. However, if the prelude is
-                    // broken for whatever reason, ERROR events encountered
-                    // when performing model validation that uses the prelude
-                    // will still cause an error, meaning the prelude is still
-                    // validated when actually loading and using other models.
-                    .disableValidation()
-                    .traitFactory(ModelAssembler.LazyTraitFactoryHolder.INSTANCE)
-                    .addImport(Prelude.class.getResource("prelude.smithy"))
-                    // Patch in synthetic box traits for v1 compatibility.
-                    .addTrait(ShapeId.from("smithy.api#Boolean"), new BoxTrait())
-                    .addTrait(ShapeId.from("smithy.api#Byte"), new BoxTrait())
-                    .addTrait(ShapeId.from("smithy.api#Short"), new BoxTrait())
-                    .addTrait(ShapeId.from("smithy.api#Integer"), new BoxTrait())
-                    .addTrait(ShapeId.from("smithy.api#Long"), new BoxTrait())
-                    .addTrait(ShapeId.from("smithy.api#Float"), new BoxTrait())
-                    .addTrait(ShapeId.from("smithy.api#Double"), new BoxTrait())
-                    .assemble()
-                    .unwrap();
+            Model snapshot = PreludeSnapshot.load();
+            return snapshot != null ? snapshot : parsePrelude();
         }
     }
 }
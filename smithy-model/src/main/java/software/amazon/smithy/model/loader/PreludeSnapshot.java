@@ -0,0 +1,208 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.traits.synthetic.SyntheticEnumTrait;
+
+/**
+ * Reads and writes a binary snapshot of the prelude model.
+ *
+ * <p>The snapshot is generated when Smithy is built by running this class, and it contains
+ * every shape and trait of the prelude. Reading it creates the prelude model directly from
+ * shape builders and the trait factory, without tokenizing prelude.smithy or passing it
+ * through the model loader.
+ *
+ * <p>Source locations in the snapshot that refer to prelude.smithy are written without a
+ * filename, and are resolved against the location of prelude.smithy when read so that they
+ * match the locations of a parsed prelude.
+ */
+final class PreludeSnapshot {
+
+    static final String RESOURCE = "prelude.snapshot";
+
+    private static final Logger LOGGER = Logger.getLogger(PreludeSnapshot.class.getName());
+    private static final int MAGIC = 0x534D5053;
+    private static final int FORMAT_VERSION = 1;
+    private static final String PRELUDE_FILENAME = "";
+
+    private PreludeSnapshot() {}
+
+    /**
+     * Writes the prelude snapshot to the path given as the only argument.
+     *
+     * @param args Arguments to the generator.
+     * @throws IOException if the snapshot can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected the path of the prelude snapshot to write");
+        }
+
+        String filename = Prelude.getPreludeFilename();
+        Model prelude = Prelude.parsePrelude();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(prelude, filename, out);
+        }
+
+        // Fail the build rather than ship a snapshot that differs from the parsed prelude.
+        Model read = read(new ByteArrayInputStream(bytes.toByteArray()), filename, Prelude.getTraitFactory());
+        if (!LoaderUtils.isSameModel(prelude, read)) {
+            throw new IllegalStateException("The prelude snapshot does not reproduce the parsed prelude");
+        }
+
+        Path path = Paths.get(args[0]).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Files.write(path, bytes.toByteArray());
+    }
+
+    /**
+     * Loads the prelude snapshot from the classpath.
+     *
+     * @return Returns the prelude model, or null if the snapshot isn't available.
+     */
+    static Model load() {
+        URL url = PreludeSnapshot.class.getResource(RESOURCE);
+        if (url == null) {
+            LOGGER.fine("Prelude snapshot not found; the prelude will be parsed");
+            return null;
+        }
+
+        try (InputStream in = url.openStream()) {
+            return read(in, Prelude.getPreludeFilename(), Prelude.getTraitFactory());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Unable to read the prelude snapshot; the prelude will be parsed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static void write(Model prelude, String filename, DataOutputStream out) throws IOException {
+        BinaryNodeCodec.Writer writer = new BinaryNodeCodec.Writer(
+                out,
+                location -> location.equals(filename) ? PRELUDE_FILENAME : location);
+        List<Shape> shapes = new ArrayList<>();
+        for (Shape shape : new TreeSet<>(prelude.toSet())) {
+            if (!shape.isMemberShape()) {
+                shapes.add(shape);
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writer.writeVarInt(shapes.size());
+        for (Shape shape : shapes) {
+            // The prelude only contains simple shapes and shapes with members.
+            if (!shape.getMixins().isEmpty()
+                    || shape.isOperationShape()
+                    || shape.isResourceShape()
+                    || shape.isServiceShape()) {
+                throw new IllegalArgumentException("Unsupported prelude snapshot shape: " + shape.getId());
+            }
+            writer.writeString(shape.getType().toString());
+            writer.writeString(shape.getId().toString());
+            writer.writeLocation(shape.getSourceLocation());
+            writeTraits(writer, shape);
+            writer.writeVarInt(shape.getAllMembers().size());
+            for (MemberShape member : shape.getAllMembers().values()) {
+                writer.writeString(member.getMemberName());
+                writer.writeString(member.getTarget().toString());
+                writer.writeLocation(member.getSourceLocation());
+                writeTraits(writer, member);
+            }
+        }
+    }
+
+    private static void writeTraits(BinaryNodeCodec.Writer writer, Shape shape) throws IOException {
+        List<Trait> traits = new ArrayList<>(shape.getAllTraits().size());
+        for (Trait trait : shape.getAllTraits().values()) {
+            // The enum trait of an enum shape is created by its builder.
+            if (!(trait instanceof SyntheticEnumTrait)) {
+                traits.add(trait);
+            }
+        }
+        writer.writeVarInt(traits.size());
+        for (Trait trait : traits) {
+            writer.writeString(trait.toShapeId().toString());
+            writer.writeNode(LoaderUtils.createTraitValue(trait));
+        }
+    }
+
+    static Model read(InputStream stream, String filename, TraitFactory traitFactory) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        BinaryNodeCodec.Reader reader = new BinaryNodeCodec.Reader(
+                in,
+                location -> location.equals(PRELUDE_FILENAME) ? filename : location);
+
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported prelude snapshot format");
+        }
+
+        Model.Builder model = Model.builder();
+        int shapeCount = reader.readVarInt();
+        for (int i = 0; i < shapeCount; i++) {
+            String type = reader.readString();
+            ShapeId id = ShapeId.from(reader.readString());
+            AbstractShapeBuilder<?, ?> builder = ShapeType.fromString(type)
+                    .orElseThrow(() -> new IOException("Invalid prelude snapshot shape type: " + type))
+                    .createBuilderForType()
+                    .id(id)
+                    .source(reader.readLocation());
+            readTraits(reader, traitFactory, builder, id);
+            int memberCount = reader.readVarInt();
+            for (int j = 0; j < memberCount; j++) {
+                ShapeId memberId = id.withMember(reader.readString());
+                MemberShape.Builder member = MemberShape.builder()
+                        .id(memberId)
+                        .target(reader.readString())
+                        .source(reader.readLocation());
+                readTraits(reader, traitFactory, member, memberId);
+                builder.addMember(member.build());
+            }
+            model.addShape(builder.build());
+        }
+
+        return model.build();
+    }
+
+    private static void readTraits(
+            BinaryNodeCodec.Reader reader,
+            TraitFactory traitFactory,
+            AbstractShapeBuilder<?, ?> builder,
+            ShapeId target
+    ) throws IOException {
+        int traitCount = reader.readVarInt();
+        for (int i = 0; i < traitCount; i++) {
+            ShapeId traitId = ShapeId.from(reader.readString());
+            Node value = reader.readNode();
+            builder.addTrait(traitFactory.createTrait(traitId, target, value)
+                    .orElseGet(() -> new DynamicTrait(traitId, value)));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * Holds the events each {@link ShapeScopedValidator} emitted the last time a model was completely validated.
+ *
+ * <p>This index is stored with the validated model so that a later version of the model can be validated
+ * incrementally. Events are keyed by a name that identifies the validator within the set of validators
+ * applied to the model.
+ */
+final class ScopedValidationIndex implements KnowledgeIndex {
+
+    private volatile Map<String, List<ValidationEvent>> events;
+
+    static ScopedValidationIndex of(Model model) {
+        return model.getKnowledge(ScopedValidationIndex.class, m -> new ScopedValidationIndex());
+    }
+
+    /**
+     * Gets the events emitted by each shape-scoped validator.
+     *
+     * @return Returns the events by validator, or null if the model was not completely validated.
+     */
+    Map<String, List<ValidationEvent>> getEvents() {
+        return events;
+    }
+
+    void setEvents(Map<String, List<ValidationEvent>> events) {
+        this.events = events;
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import software.amazon.smithy.model.SourceLocation;
+
+/**
+ * Tokenizes the UTF-8 bytes of a model without decoding the model first.
+ *
+ * <p>Every token of the IDL starts with an ASCII character, and UTF-8 never uses ASCII bytes inside a multibyte
+ * sequence, so the tokenizer can scan bytes the same way {@link DefaultTokenizer} scans chars. Positions are byte
+ * offsets, but lines and columns are counted in chars so that source locations match {@link DefaultTokenizer}.
+ * Lexemes and string contents are {@link AsciiSlice} views of the bytes, and only lexemes that contain non-ASCII
+ * bytes are decoded.
+ *
+ * <p>An unexpected character outside the BMP is a single error token rather than one error token per surrogate.
+ */
+final class Utf8Tokenizer implements IdlTokenizer {
+
+    private static final int EOF = 0;
+
+    private final String filename;
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private int position;
+    private int line = 1;
+    private int column = 1;
+    private IdlToken currentTokenType;
+    private int currentTokenStart = -1;
+    private int currentTokenEnd = -1;
+    private int currentTokenLine = -1;
+    private int currentTokenColumn = -1;
+    private Number currentTokenNumber;
+    private CharSequence currentTokenStringSlice;
+    private String currentTokenError;
+
+    Utf8Tokenizer(String filename, byte[] bytes, int offset, int length) {
+        this.filename = filename;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public String getSourceFilename() {
+        return filename;
+    }
+
+    @Override
+    public CharSequence getModel() {
+        return getModel(0, length);
+    }
+
+    @Override
+    public CharSequence getModel(int start, int end) {
+        return AsciiSlice.of(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public IdlToken getCurrentToken() {
+        if (currentTokenType == null) {
+            next();
+        }
+        return currentTokenType;
+    }
+
+    @Override
+    public int getCurrentTokenLine() {
+        getCurrentToken();
+        return currentTokenLine;
+    }
+
+    @Override
+    public int getCurrentTokenColumn() {
+        getCurrentToken();
+        return currentTokenColumn;
+    }
+
+    @Override
+    public int getCurrentTokenStart() {
+        getCurrentToken();
+        return currentTokenStart;
+    }
+
+    @Override
+    public int getCurrentTokenEnd() {
+        return currentTokenEnd;
+    }
+
+    @Override
+    public CharSequence getCurrentTokenStringSlice() {
+        getCurrentToken();
+        if (currentTokenStringSlice != null) {
+            return currentTokenStringSlice;
+        } else if (currentTokenType == IdlToken.IDENTIFIER) {
+            // Identifiers are always ASCII.
+            return new AsciiSlice(bytes, offset + currentTokenStart, currentTokenEnd - currentTokenStart);
+        } else {
+            throw syntax("The current token must be string or identifier but found: "
+                    + currentTokenType.getDebug(getCurrentTokenLexeme()), getCurrentTokenLocation());
+        }
+    }
+
+    @Override
+    public Number getCurrentTokenNumberValue() {
+        getCurrentToken();
+        if (currentTokenNumber == null) {
+            throw syntax("The current token must be number but found: "
+                    + currentTokenType.getDebug(getCurrentTokenLexeme()), getCurrentTokenLocation());
+        }
+        return currentTokenNumber;
+    }
+
+    @Override
+    public String getCurrentTokenError() {
+        getCurrentToken();
+        if (currentTokenType != IdlToken.ERROR) {
+            throw syntax("The current token must be an error but found: "
+                    + currentTokenType.getDebug(getCurrentTokenLexeme()), getCurrentTokenLocation());
+        }
+        return currentTokenError == null ? "" : currentTokenError;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentTokenType != IdlToken.EOF;
+    }
+
+    @Override
+    public IdlToken next() {
+        currentTokenStringSlice = null;
+        currentTokenNumber = null;
+        currentTokenColumn = column;
+        currentTokenLine = line;
+        currentTokenStart = position;
+        currentTokenEnd = currentTokenStart;
+        int c = peek();
+
+        switch (c) {
+            case EOF:
+                if (currentTokenType == IdlToken.EOF) {
+                    throw new NoSuchElementException("Expected another token but reached EOF");
+                }
+                currentTokenEnd = position;
+                return currentTokenType = IdlToken.EOF;
+            case ' ':
+            case '\t':
+                return tokenizeSpace();
+            case '\r':
+            case '\n':
+                return tokenizeNewline();
+            case ',':
+                return singleCharToken(IdlToken.COMMA);
+            case '@':
+                return singleCharToken(IdlToken.AT);
+            case '$':
+                return singleCharToken(IdlToken.DOLLAR);
+            case '.':
+                return singleCharToken(IdlToken.DOT);
+            case '{':
+                return singleCharToken(IdlToken.LBRACE);
+            case '}':
+                return singleCharToken(IdlToken.RBRACE);
+            case '[':
+                return singleCharToken(IdlToken.LBRACKET);
+            case ']':
+                return singleCharToken(IdlToken.RBRACKET);
+            case '(':
+                return singleCharToken(IdlToken.LPAREN);
+            case ')':
+                return singleCharToken(IdlToken.RPAREN);
+            case '#':
+                return singleCharToken(IdlToken.POUND);
+            case '=':
+                return singleCharToken(IdlToken.EQUAL);
+            case ':':
+                return parseColon();
+            case '"':
+                return parseString();
+            case '/':
+                return parseComment();
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                return parseNumber();
+            default:
+                if (ParserUtils.isIdentifierStart(c)) {
+                    return parseIdentifier();
+                }
+                currentTokenError = "Unexpected character: '" + peekCharacter() + '\'';
+                skipCharacter();
+                currentTokenEnd = position;
+                return currentTokenType = IdlToken.ERROR;
+        }
+    }
+
+    private ModelSyntaxException syntax(String message, SourceLocation location) {
+        return new ModelSyntaxException("Syntax error at line " + location.getLine() + ", column "
+                + location.getColumn() + ": " + message, location);
+    }
+
+    private RuntimeException syntax(String message) {
+        return new RuntimeException("Syntax error at line " + line + ", column " + column + ": " + message);
+    }
+
+    // Returns the unsigned byte at the given offset from the current position, or EOF.
+    private int peek(int offset) {
+        int target = position + offset;
+        return target < length ? bytes[this.offset + target] & 0xFF : EOF;
+    }
+
+    private int peek() {
+        return peek(0);
+    }
+
+    // Skips a byte while counting lines and columns like SimpleParser#skip counts chars.
+    private void skip() {
+        if (position >= length) {
+            return;
+        }
+
+        int c = bytes[offset + position];
+        if (c == '\r') {
+            if (peek(1) == '\n') {
+                position++;
+            }
+            line++;
+            column = 1;
+        } else if (c == '\n') {
+            line++;
+            column = 1;
+        } else if ((c & 0xC0) != 0x80) {
+            // Continuation bytes are part of the char started by their lead byte, and four byte sequences are
+            // encoded as a surrogate pair of chars.
+            column += (c & 0xF8) == 0xF0 ? 2 : 1;
+        }
+
+        position++;
+    }
+
+    // Skips a whole UTF-8 sequence.
+    private void skipCharacter() {
+        skip();
+        while (position < length && (bytes[offset + position] & 0xC0) == 0x80) {
+            skip();
+        }
+    }
+
+    // Decodes the character at the current position for use in error messages.
+    private String peekCharacter() {
+        int end = position + 1;
+        while (end < length && (bytes[offset + end] & 0xC0) == 0x80) {
+            end++;
+        }
+        return new String(bytes, offset + position, end - position, StandardCharsets.UTF_8);
+    }
+
+    private String peekCharacterForMessage() {
+        return peek() == EOF ? "[EOF]" : peekCharacter();
+    }
+
+    private int consumeDigits() {
+        int start = position;
+        while (ParserUtils.isDigit(peek())) {
+            skip();
+        }
+        return position - start;
+    }
+
+    private IdlToken singleCharToken(IdlToken type) {
+        skip();
+        currentTokenEnd = position;
+        return currentTokenType = type;
+    }
+
+    private IdlToken tokenizeNewline() {
+        skip(); // this will \n and \r\n.
+        currentTokenEnd = position;
+        return currentTokenType = IdlToken.NEWLINE;
+    }
+
+    private IdlToken tokenizeSpace() {
+        int c = peek();
+        while (c == ' ' || c == '\t') {
+            skip();
+            c = peek();
+        }
+        currentTokenEnd = position;
+        return currentTokenType = IdlToken.SPACE;
+    }
+
+    private IdlToken parseColon() {
+        skip();
+
+        if (peek() == '=') {
+            skip();
+            currentTokenType = IdlToken.WALRUS;
+        } else {
+            currentTokenType = IdlToken.COLON;
+        }
+
+        currentTokenEnd = position;
+        return currentTokenType;
+    }
+
+    private IdlToken parseComment() {
+        // first "/".
+        skip();
+
+        // A standalone forward slash is an error.
+        if (peek() != '/') {
+            currentTokenError = "Expected a '/' to follow '/' to form a comment.";
+            return singleCharToken(IdlToken.ERROR);
+        }
+
+        // Skip the next "/".
+        skip();
+
+        IdlToken type = IdlToken.COMMENT;
+
+        // Three "///" is a documentation comment.
+        if (peek() == '/') {
+            skip();
+            type = IdlToken.DOC_COMMENT;
+        }
+
+        int c = peek();
+        while (c != EOF && c != '\n' && c != '\r') {
+            skip();
+            c = peek();
+        }
+
+        // Include the newline in the comment and doc comment lexeme.
+        skip();
+        if (c == '\r' && peek() == '\n') {
+            skip();
+        }
+
+        currentTokenEnd = position;
+        return currentTokenType = type;
+    }
+
+    private IdlToken parseNumber() {
+        try {
+            String lexeme = consumeNumber();
+            if (lexeme.contains("e") || lexeme.contains("E") || lexeme.contains(".")) {
+                double value = Double.parseDouble(lexeme);
+                if (Double.isFinite(value)) {
+                    currentTokenNumber = value;
+                } else {
+                    currentTokenNumber = new BigDecimal(lexeme);
+                }
+            } else {
+                try {
+                    currentTokenNumber = Long.parseLong(lexeme);
+                } catch (NumberFormatException e) {
+                    currentTokenNumber = new BigInteger(lexeme);
+                }
+            }
+
+            currentTokenEnd = position;
+            return currentTokenType = IdlToken.NUMBER;
+        } catch (RuntimeException e) {
+            currentTokenEnd = position;
+            currentTokenError = e.getMessage();
+            return currentTokenType = IdlToken.ERROR;
+        }
+    }
+
+    // Mirrors ParserUtils#parseNumber, but without the "Syntax error" prefix DefaultTokenizer strips off.
+    private String consumeNumber() {
+        if (peek() == '-') {
+            skip();
+            if (!ParserUtils.isDigit(peek())) {
+                throw invalidNumber("'-' must be followed by a digit");
+            }
+        }
+
+        consumeDigits();
+
+        // Consume decimals.
+        if (peek() == '.') {
+            skip();
+            if (consumeDigits() == 0) {
+                throw invalidNumber("'.' must be followed by a digit");
+            }
+        }
+
+        // Consume scientific notation.
+        int peek = peek();
+        if (peek == 'e' || peek == 'E') {
+            skip();
+            peek = peek();
+            if (peek == '+' || peek == '-') {
+                skip();
+            }
+            if (consumeDigits() == 0) {
+                throw invalidNumber("'e', '+', and '-' must be followed by a digit");
+            }
+        }
+
+        return numberLexeme();
+    }
+
+    private String numberLexeme() {
+        return new String(bytes, offset + currentTokenStart, position - currentTokenStart, StandardCharsets.US_ASCII);
+    }
+
+    private RuntimeException invalidNumber(String message) {
+        return new RuntimeException(String.format("Invalid number '%s': %s", numberLexeme(), message));
+    }
+
+    private IdlToken parseIdentifier() {
+        // Parse identifier_start
+        if (peek() == '_') {
+            while (peek() == '_') {
+                skip();
+            }
+            if (!ParserUtils.isValidIdentifierCharacter(peek())) {
+                currentTokenError = syntax("Expected a valid identifier character, but found '"
+                        + peekCharacterForMessage() + '\'').getMessage();
+                currentTokenEnd = position;
+                return currentTokenType = IdlToken.ERROR;
+            }
+        }
+
+        // Parse identifier_chars
+        while (ParserUtils.isValidIdentifierCharacter(peek())) {
+            skip();
+        }
+
+        currentTokenEnd = position;
+        return currentTokenType = IdlToken.IDENTIFIER;
+    }
+
+    private IdlToken parseString() {
+        skip(); // skip first quote.
+
+        if (peek() == '"') {
+            skip(); // skip second quote.
+            if (peek() == '"') { // A third consecutive quote is a TEXT_BLOCK.
+                skip();
+                return parseTextBlock();
+            } else {
+                // Empty string.
+                currentTokenEnd = position;
+                currentTokenStringSlice = "";
+                return currentTokenType = IdlToken.STRING;
+            }
+        }
+
+        try {
+            // Parse the contents of a quoted string.
+            currentTokenStringSlice = parseQuotedTextAndTextBlock(false);
+            currentTokenEnd = position;
+            return currentTokenType = IdlToken.STRING;
+        } catch (RuntimeException e) {
+            currentTokenEnd = position;
+            currentTokenError = "Error parsing quoted string: " + e.getMessage();
+            return currentTokenType = IdlToken.ERROR;
+        }
+    }
+
+    private IdlToken parseTextBlock() {
+        try {
+            currentTokenStringSlice = parseQuotedTextAndTextBlock(true);
+            currentTokenEnd = position;
+            return currentTokenType = IdlToken.TEXT_BLOCK;
+        } catch (RuntimeException e) {
+            currentTokenEnd = position;
+            currentTokenError = "Error parsing text block: " + e.getMessage();
+            return currentTokenType = IdlToken.ERROR;
+        }
+    }
+
+    // Parses both quoted_text and text_block
+    private CharSequence parseQuotedTextAndTextBlock(boolean triple) {
+        int start = position;
+
+        while (position < length) {
+            int next = peek();
+            if (next == '"' && (!triple || (peek(1) == '"' && peek(2) == '"'))) {
+                // Found closing quotes of quoted_text and/or text_block
+                break;
+            }
+            skip();
+            if (next == '\\') {
+                skip();
+            }
+        }
+
+        // Strip the ending '"'.
+        CharSequence result = getModel(start, position);
+        expectQuote();
+
+        if (triple) {
+            expectQuote();
+            expectQuote();
+        }
+
+        return IdlStringLexer.scanStringContents(result, triple);
+    }
+
+    private void expectQuote() {
+        if (peek() != '"') {
+            throw syntax("Expected: '\"', but found '" + peekCharacterForMessage() + '\'');
+        }
+        skip();
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.neighbor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.FunctionalUtils;
+
+/**
+ * A compact, ordinal-indexed graph of the relationships between the shapes
+ * of a model.
+ *
+ * <p>Every shape in the model is assigned a dense ordinal from {@code 0}
+ * to {@link #size()} (exclusive). The relationships of each shape are
+ * stored in compressed sparse row form: an array of offsets indexed by
+ * shape ordinal, and parallel arrays of neighbor ordinals and relationship
+ * types. Relationships are stored in the order returned by the
+ * {@link NeighborProvider} the graph was created from.
+ *
+ * <p>A graph is itself a {@link NeighborProvider}, though getting
+ * neighbors creates {@link Relationship} objects on each call. Closure
+ * computations should instead use {@link #walk(int, Predicate)} or
+ * {@link #walk(int, Predicate, BitSet, IntConsumer)}, which traverse the
+ * graph using ordinals and bitsets without allocating relationships or
+ * hashing shape IDs.
+ */
+public final class NeighborGraph implements NeighborProvider {
+
+    private static final RelationshipType[] TYPES = RelationshipType.values();
+
+    private final Shape[] shapes;
+    private final Map<ShapeId, Integer> ordinals;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final byte[] types;
+
+    // Neighbors that aren't in the model are stored as the bitwise complement of an index into this array.
+    private final ShapeId[] missing;
+
+    // Reversed graphs return the relationships that target a shape, so relationships are created from the neighbor.
+    private final boolean reversed;
+
+    private NeighborGraph(
+            Shape[] shapes,
+            Map<ShapeId, Integer> ordinals,
+            int[] offsets,
+            int[] neighbors,
+            byte[] types,
+            ShapeId[] missing,
+            boolean reversed
+    ) {
+        this.shapes = shapes;
+        this.ordinals = ordinals;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.types = types;
+        this.missing = missing;
+        this.reversed = reversed;
+    }
+
+    /**
+     * Creates a graph of the relationships returned by the default
+     * {@link NeighborProvider} of a model.
+     *
+     * @param model Model to create a graph of.
+     * @return Returns the created graph.
+     */
+    public static NeighborGraph of(Model model) {
+        return of(model, NeighborProvider.of(model));
+    }
+
+    /**
+     * Creates a graph of the relationships returned by a {@link NeighborProvider}.
+     *
+     * @param model Model to create a graph of.
+     * @param provider Provider used to find the relationships of each shape.
+     * @return Returns the created graph.
+     */
+    public static NeighborGraph of(Model model, NeighborProvider provider) {
+        Shape[] shapes = model.toSet().toArray(new Shape[0]);
+        Map<ShapeId, Integer> ordinals = new HashMap<>(shapes.length + (shapes.length >> 1) + 1);
+        for (int i = 0; i < shapes.length; i++) {
+            ordinals.put(shapes[i].getId(), i);
+        }
+
+        int[] offsets = new int[shapes.length + 1];
+        int[] neighbors = new int[Math.max(16, shapes.length)];
+        byte[] types = new byte[neighbors.length];
+        List<ShapeId> missing = new ArrayList<>();
+        Map<ShapeId, Integer> missingIndexes = new HashMap<>();
+        int size = 0;
+
+        for (int i = 0; i < shapes.length; i++) {
+            offsets[i] = size;
+            for (Relationship relationship : provider.getNeighbors(shapes[i])) {
+                if (size == neighbors.length) {
+                    neighbors = Arrays.copyOf(neighbors, size << 1);
+                    types = Arrays.copyOf(types, size << 1);
+                }
+                ShapeId neighborId = relationship.getNeighborShapeId();
+                Integer neighbor = relationship.getNeighborShape().isPresent() ? ordinals.get(neighborId) : null;
+                if (neighbor == null) {
+                    neighbor = ~missingIndexes.computeIfAbsent(neighborId, id -> {
+                        missing.add(id);
+                        return missing.size() - 1;
+                    });
+                }
+                neighbors[size] = neighbor;
+                types[size] = (byte) relationship.getRelationshipType().ordinal();
+                size++;
+            }
+        }
+        offsets[shapes.length] = size;
+
+        return new NeighborGraph(shapes,
+                ordinals,
+                offsets,
+                Arrays.copyOf(neighbors, size),
+                Arrays.copyOf(types, size),
+                missing.toArray(new ShapeId[0]),
+                false);
+    }
+
+    /**
+     * Creates a graph with every relationship reversed, so that the
+     * neighbors of a shape are the shapes that target it.
+     *
+     * <p>Like {@link NeighborProvider#reverse(Model)}, the reversed graph
+     * returns the relationships that target a shape, and duplicate
+     * relationships are only included once. Relationships to shapes that
+     * aren't in the model are not included in the reversed graph.
+     *
+     * @return Returns the reversed graph.
+     */
+    public NeighborGraph reverse() {
+        // Count the relationships that target each shape, then fill in the rows of the reversed graph.
+        int[] reverseOffsets = new int[shapes.length + 1];
+        for (int shape = 0; shape < shapes.length; shape++) {
+            for (int i = offsets[shape]; i < offsets[shape + 1]; i++) {
+                if (isReversed(shape, i)) {
+                    reverseOffsets[neighbors[i] + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < shapes.length; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        int[] position = Arrays.copyOf(reverseOffsets, shapes.length);
+        int[] reverseNeighbors = new int[reverseOffsets[shapes.length]];
+        byte[] reverseTypes = new byte[reverseNeighbors.length];
+        for (int shape = 0; shape < shapes.length; shape++) {
+            for (int i = offsets[shape]; i < offsets[shape + 1]; i++) {
+                if (isReversed(shape, i)) {
+                    int index = position[neighbors[i]]++;
+                    reverseNeighbors[index] = shape;
+                    reverseTypes[index] = types[i];
+                }
+            }
+        }
+
+        return new NeighborGraph(shapes,
+                ordinals,
+                reverseOffsets,
+                reverseNeighbors,
+                reverseTypes,
+                new ShapeId[0],
+                !reversed);
+    }
+
+    // Only relationships to shapes in the model are reversed, and duplicate relationships (which can only come
+    // from the same shape) are only reversed once.
+    private boolean isReversed(int shape, int index) {
+        if (neighbors[index] < 0) {
+            return false;
+        }
+        for (int i = offsets[shape]; i < index; i++) {
+            if (neighbors[i] == neighbors[index] && types[i] == types[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of shapes in the graph.
+     *
+     * @return Returns the number of shapes.
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Gets the ordinal of a shape.
+     *
+     * @param id Shape ID to get the ordinal of.
+     * @return Returns the ordinal of the shape, or -1 if the shape isn't in the graph.
+     */
+    public int getOrdinal(ShapeId id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Gets the shape with the given ordinal.
+     *
+     * @param ordinal Ordinal of the shape to get.
+     * @return Returns the shape.
+     * @throws IndexOutOfBoundsException if the ordinal isn't in the graph.
+     */
+    public Shape getShape(int ordinal) {
+        return shapes[ordinal];
+    }
+
+    @Override
+    public List<Relationship> getNeighbors(Shape shape) {
+        Integer ordinal = ordinals.get(shape.getId());
+        if (ordinal == null || (shapes[ordinal] != shape && !shapes[ordinal].equals(shape))) {
+            return Collections.emptyList();
+        }
+
+        int start = offsets[ordinal];
+        int end = offsets[ordinal + 1];
+        if (start == end) {
+            return Collections.emptyList();
+        }
+
+        List<Relationship> result = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            RelationshipType type = TYPES[types[i]];
+            int neighbor = neighbors[i];
+            if (neighbor < 0) {
+                result.add(Relationship.createInvalid(shapes[ordinal], type, missing[~neighbor]));
+            } else if (reversed) {
+                result.add(Relationship.create(shapes[neighbor], type, shapes[ordinal]));
+            } else {
+                result.add(Relationship.create(shapes[ordinal], type, shapes[neighbor]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the ordinals of every shape connected to a shape, including
+     * the shape itself.
+     *
+     * @param ordinal Ordinal of the shape to start from.
+     * @return Returns the ordinals of the connected shapes.
+     */
+    public BitSet walk(int ordinal) {
+        return walk(ordinal, FunctionalUtils.alwaysTrue());
+    }
+
+    /**
+     * Finds the ordinals of every shape connected to a shape through
+     * relationships of the given types, including the shape itself.
+     *
+     * @param ordinal Ordinal of the shape to start from.
+     * @param relationshipTypes Predicate that returns true for the relationship types to traverse.
+     * @return Returns the ordinals of the connected shapes.
+     */
+    public BitSet walk(int ordinal, Predicate<RelationshipType> relationshipTypes) {
+        BitSet visited = new BitSet(shapes.length);
+        walk(ordinal, relationshipTypes, visited, shape -> { });
+        return visited;
+    }
+
+    /**
+     * Walks the shapes connected to a shape through relationships of the
+     * given types, skipping shapes that were already visited.
+     *
+     * <p>Shapes are visited in the same order as {@link Walker}, starting
+     * with the given shape. Each visited shape is added to {@code visited}
+     * and passed to {@code consumer}. Shapes that are already in
+     * {@code visited} are not visited or traversed, which allows the
+     * closures of several shapes to be accumulated into a single bitset.
+     *
+     * @param ordinal Ordinal of the shape to start from.
+     * @param relationshipTypes Predicate that returns true for the relationship types to traverse.
+     * @param visited Ordinals of the shapes that were visited.
+     * @param consumer Consumer that receives the ordinal of each visited shape.
+     */
+    public void walk(int ordinal, Predicate<RelationshipType> relationshipTypes, BitSet visited, IntConsumer consumer) {
+        if (visited.get(ordinal)) {
+            return;
+        }
+
+        boolean[] traverse = new boolean[TYPES.length];
+        for (RelationshipType type : TYPES) {
+            traverse[type.ordinal()] = relationshipTypes.test(type);
+        }
+
+        // Neighbors are queued in the order they're defined and marked as visited when they're dequeued, which
+        // results in the same order as Walker.
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        int current = ordinal;
+        while (true) {
+            visited.set(current);
+            consumer.accept(current);
+            if (head == tail) {
+                head = tail = 0;
+            }
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = neighbors[i];
+                if (neighbor >= 0 && traverse[types[i]] && !visited.get(neighbor)) {
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail << 1);
+                    }
+                    queue[tail++] = neighbor;
+                }
+            }
+
+            current = -1;
+            while (head < tail) {
+                int next = queue[head++];
+                if (!visited.get(next)) {
+                    current = next;
+                    break;
+                }
+            }
+
+            if (current == -1) {
+                return;
+            }
+        }
+    }
+}
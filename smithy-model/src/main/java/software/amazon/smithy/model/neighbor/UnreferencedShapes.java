@@ -4,15 +4,16 @@
  */
 package software.amazon.smithy.model.neighbor;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.selector.Selector;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.utils.FunctionalUtils;
 
@@ -64,33 +65,32 @@ public final class UnreferencedShapes {
     public Set<Shape> compute(Model model) {
         NeighborProvider baseProvider = NeighborProviderIndex.of(model).getProvider();
         NeighborProvider providerWithIdRefRelationships = NeighborProvider.withIdRefRelationships(model, baseProvider);
-        Walker shapeWalker = new Walker(providerWithIdRefRelationships);
+        NeighborGraph graph = NeighborGraph.of(model, providerWithIdRefRelationships);
 
-        // Find all shapes connected to any service shape.
-        Set<ShapeId> connected = new HashSet<>();
-
-        // Stop traversing into trees that are already traversed.
-        Predicate<Relationship> traversed = rel -> !connected.contains(rel.getNeighborShapeId());
+        // Find the ordinals of all shapes connected to any root shape. Walking stops at shapes that were already
+        // connected to a previous root.
+        BitSet connected = new BitSet(graph.size());
+        IntConsumer ignore = ordinal -> { };
 
         Set<Shape> rootShapes = rootShapeSelector.select(model);
         for (Shape root : rootShapes) {
-            shapeWalker.iterateShapes(root, traversed).forEachRemaining(shape -> connected.add(shape.getId()));
+            graph.walk(graph.getOrdinal(root.getId()), FunctionalUtils.alwaysTrue(), connected, ignore);
         }
 
         // Don't remove shapes that are traits or connected to traits.
         for (Shape trait : model.getShapesWithTrait(TraitDefinition.class)) {
-            shapeWalker.iterateShapes(trait, traversed).forEachRemaining(shape -> connected.add(shape.getId()));
+            graph.walk(graph.getOrdinal(trait.getId()), FunctionalUtils.alwaysTrue(), connected, ignore);
         }
 
         // Any shape that wasn't identified as connected to a root is considered unreferenced.
         Set<Shape> result = new HashSet<>();
-        for (Shape shape : model.toSet()) {
-            if (!shape.isMemberShape()
-                    && !connected.contains(shape.getId())
-                    && !Prelude.isPreludeShape(shape)
-                    && keepFilter.test(shape)) {
+        int ordinal = connected.nextClearBit(0);
+        while (ordinal < graph.size()) {
+            Shape shape = graph.getShape(ordinal);
+            if (!shape.isMemberShape() && !Prelude.isPreludeShape(shape) && keepFilter.test(shape)) {
                 result.add(shape);
             }
+            ordinal = connected.nextClearBit(ordinal + 1);
         }
 
         return result;
@@ -0,0 +1,189 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.node;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable, insertion-ordered map of the members of a small {@link ObjectNode}.
+ *
+ * <p>Keys and values are stored in parallel arrays, and lookups scan the
+ * keys comparing cached string hash codes before comparing values. For the
+ * handful of members found in most trait values and AST objects, this is as
+ * fast as hashing and avoids allocating a hash table, an entry per member,
+ * and an unmodifiable wrapper. A {@code Map<String, Node>} view of the same
+ * arrays is used for {@link ObjectNode#getStringMap()}.
+ */
+final class CompactNodeMap extends AbstractMap<StringNode, Node> {
+
+    /** Objects with more members than this use a LinkedHashMap. */
+    static final int MAX_SIZE = 8;
+
+    private static final CompactNodeMap EMPTY = new CompactNodeMap(new StringNode[0], new Node[0]);
+
+    private final StringNode[] keys;
+    private final Node[] values;
+
+    private CompactNodeMap(StringNode[] keys, Node[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Copies a map with at most {@link #MAX_SIZE} entries.
+     *
+     * @param members Members to copy.
+     * @return Returns the created map.
+     */
+    static CompactNodeMap copyOf(Map<StringNode, Node> members) {
+        int size = members.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        StringNode[] keys = new StringNode[size];
+        Node[] values = new Node[size];
+        int i = 0;
+        for (Map.Entry<StringNode, Node> entry : members.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return new CompactNodeMap(keys, values);
+    }
+
+    /**
+     * Creates a view of the map keyed by the string values of each key.
+     *
+     * @return Returns the created view.
+     */
+    Map<String, Node> toStringMap() {
+        return new StringView();
+    }
+
+    private int indexOf(String key) {
+        int hash = key.hashCode();
+        for (int i = 0; i < keys.length; i++) {
+            String candidate = keys[i].getValue();
+            if (candidate.hashCode() == hash && candidate.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(Object key) {
+        return key instanceof StringNode ? indexOf(((StringNode) key).getValue()) : -1;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Node get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Map.Entry<StringNode, Node>> entrySet() {
+        return new AbstractSet<Map.Entry<StringNode, Node>>() {
+            @Override
+            public Iterator<Map.Entry<StringNode, Node>> iterator() {
+                return new EntryIterator<StringNode>() {
+                    @Override
+                    StringNode key(int index) {
+                        return keys[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    private abstract class EntryIterator<K> implements Iterator<Map.Entry<K, Node>> {
+        private int position;
+
+        abstract K key(int index);
+
+        @Override
+        public boolean hasNext() {
+            return position < keys.length;
+        }
+
+        @Override
+        public Map.Entry<K, Node> next() {
+            if (position == keys.length) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, Node> entry = new SimpleImmutableEntry<>(key(position), values[position]);
+            position++;
+            return entry;
+        }
+    }
+
+    private final class StringView extends AbstractMap<String, Node> {
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && indexOf((String) key) >= 0;
+        }
+
+        @Override
+        public Node get(Object key) {
+            int index = key instanceof String ? indexOf((String) key) : -1;
+            return index >= 0 ? values[index] : null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Node>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Node>>() {
+                @Override
+                public Iterator<Map.Entry<String, Node>> iterator() {
+                    return new EntryIterator<String>() {
+                        @Override
+                        String key(int index) {
+                            return keys[index].getValue();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+}
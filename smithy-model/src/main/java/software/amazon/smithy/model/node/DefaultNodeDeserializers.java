@@ -26,6 +26,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -41,7 +42,6 @@ import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.MapUtils;
-import software.amazon.smithy.utils.Pair;
 import software.amazon.smithy.utils.SmithyBuilder;
 import software.amazon.smithy.utils.StringUtils;
 
@@ -346,9 +346,10 @@ final class DefaultNodeDeserializers {
                         && method.getParameters().length == 1
                         && Node.class.isAssignableFrom(method.getParameters()[0].getType())
                         && Modifier.isStatic(method.getModifiers())) {
+                    MethodAccessors.Invoker fromNode = MethodAccessors.invoker(method);
                     return (node, targetType, pointer, mapper) -> {
                         try {
-                            return method.invoke(null, node);
+                            return fromNode.invoke(node);
                         } catch (ReflectiveOperationException e) {
                             String message = "Unable to deserialize Node using fromNode method: " + getCauseMessage(e);
                             throw NodeDeserializationException
@@ -362,8 +363,16 @@ final class DefaultNodeDeserializers {
     };
 
     static final class BeanMapper {
-        // Cache of Pair<types, member-name> to a setter Method.
-        private static final ConcurrentMap<Pair<Class<?>, String>, Method> SETTER_CACHE = new ConcurrentHashMap<>();
+        // Cache of member names to the setter of each member, per class. Members that have no setter are cached
+        // as NO_SETTER since the map can't contain null values.
+        private static final ClassValue<ConcurrentMap<String, MemberSetter>> SETTER_CACHE = new ClassValue<>() {
+            @Override
+            protected ConcurrentMap<String, MemberSetter> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        private static final MemberSetter NO_SETTER = new MemberSetter(null, null);
 
         static void apply(
                 Object value,
@@ -373,39 +382,47 @@ final class DefaultNodeDeserializers {
                 NodeMapper mapper
         ) throws ReflectiveOperationException {
             for (Map.Entry<String, Node> entry : node.expectObjectNode().getStringMap().entrySet()) {
-                Method setter = findSetter(target, entry.getKey());
+                MemberSetter setter = findSetter(target, entry.getKey());
                 if (setter == null) {
                     mapper.getWhenMissingSetter().handle(target, pointer, entry.getKey(), entry.getValue());
                 } else {
                     Object member = mapper.deserializeNext(
                             entry.getValue(),
                             pointer + "/" + entry.getKey(),
-                            setter.getParameters()[0].getParameterizedType(),
+                            setter.parameterType,
                             mapper);
-                    setter.invoke(value, member);
+                    setter.accessor.set(value, member);
                 }
             }
         }
 
-        // Return value is null or a setter method to invoke.
-        private static Method findSetter(Type type, String memberName) {
+        // Return value is null or the setter to invoke.
+        private static MemberSetter findSetter(Type type, String memberName) {
             Class<?> targetType = classFromType(type);
 
             if (targetType == null) {
                 return null;
             }
 
-            return SETTER_CACHE.computeIfAbsent(Pair.of(targetType, memberName), pair -> {
-                String sanitized = sanitizePropertyName(pair.right);
-                if (sanitized != null) {
-                    for (Method method : targetType.getMethods()) {
-                        if (isBeanOrBuilderSetter(method, targetType, sanitized)) {
-                            return method;
+            ConcurrentMap<String, MemberSetter> setters = SETTER_CACHE.get(targetType);
+            MemberSetter result = setters.get(memberName);
+            if (result == null) {
+                result = setters.computeIfAbsent(memberName, name -> {
+                    String sanitized = sanitizePropertyName(name);
+                    if (sanitized != null) {
+                        for (Method method : targetType.getMethods()) {
+                            if (isBeanOrBuilderSetter(method, targetType, sanitized)) {
+                                return new MemberSetter(
+                                        method.getGenericParameterTypes()[0],
+                                        MethodAccessors.setter(method));
+                            }
                         }
                     }
-                }
-                return null;
-            });
+                    return NO_SETTER;
+                });
+            }
+
+            return result == NO_SETTER ? null : result;
         }
 
         // Strips special characters by removing special characters and converting the character
@@ -461,6 +478,17 @@ final class DefaultNodeDeserializers {
         }
     }
 
+    // The type accepted by a setter method and the accessor used to invoke it.
+    private static final class MemberSetter {
+        final Type parameterType;
+        final MethodAccessors.Setter accessor;
+
+        MemberSetter(Type parameterType, MethodAccessors.Setter accessor) {
+            this.parameterType = parameterType;
+            this.accessor = accessor;
+        }
+    }
+
     // Creates an object from any type of Node using the #builder factory method.
     @SuppressWarnings("unchecked")
     private static final ObjectCreatorFactory FROM_BUILDER_CREATOR = (nodeType, target, nodeMapper) -> {
@@ -474,10 +502,10 @@ final class DefaultNodeDeserializers {
                     && SmithyBuilder.class.isAssignableFrom(method.getReturnType())
                     && method.getParameters().length == 0
                     && Modifier.isStatic(method.getModifiers())) {
-                method.setAccessible(true);
+                MethodAccessors.Creator builderMethod = MethodAccessors.creator(method);
                 return (node, targetType, pointer, mapper) -> {
                     try {
-                        SmithyBuilder<Object> builder = ((SmithyBuilder<Object>) method.invoke(null));
+                        SmithyBuilder<Object> builder = ((SmithyBuilder<Object>) builderMethod.create());
                         BeanMapper.apply(builder, node, builder.getClass(), pointer, mapper);
                         applySourceLocation(builder, node);
                         return builder.build();
@@ -493,9 +521,9 @@ final class DefaultNodeDeserializers {
 
     private static void applySourceLocation(Object object, FromSourceLocation sourceLocation)
             throws ReflectiveOperationException {
-        Method setter = BeanMapper.findSetter(object.getClass(), "sourceLocation");
+        MemberSetter setter = BeanMapper.findSetter(object.getClass(), "sourceLocation");
         if (setter != null) {
-            setter.invoke(object, sourceLocation.getSourceLocation());
+            setter.accessor.set(object, sourceLocation.getSourceLocation());
         }
     }
 
@@ -514,12 +542,11 @@ final class DefaultNodeDeserializers {
                         SourceLocation.NONE);
             }
 
-            Constructor<?> ctor = targetClass.getDeclaredConstructor();
-            ctor.setAccessible(true);
+            MethodAccessors.Creator ctor = MethodAccessors.creator(targetClass.getDeclaredConstructor());
 
             return (node, targetType, pointer, mapper) -> {
                 try {
-                    Object value = ctor.newInstance();
+                    Object value = ctor.create();
                     BeanMapper.apply(value, node, targetType, pointer, mapper);
                     applySourceLocation(value, node);
                     return value;
@@ -653,11 +680,19 @@ final class DefaultNodeDeserializers {
     };
 
     // Creates an ObjectCreatorFactory that caches the result of finding ObjectCreators.
+    //
+    // Creators are cached separately for each NodeType. Classes are used directly as keys to avoid building a key
+    // for every value that's deserialized, while other types are keyed by their name since they might not
+    // implement equals and hashCode.
     private static ObjectCreatorFactory cachedCreator(ObjectCreatorFactory delegate) {
-        IdentityClassCache<String, NodeMapper.ObjectCreator> cache = new IdentityClassCache<>();
+        Map<NodeType, IdentityClassCache<Object, NodeMapper.ObjectCreator>> caches = new EnumMap<>(NodeType.class);
+        for (NodeType nodeType : NodeType.values()) {
+            caches.put(nodeType, new IdentityClassCache<>());
+        }
         return (nodeType, target, nodeMapper) -> {
-            String key = nodeType.getNodeClass() + ":" + target.getTypeName();
-            return cache.getForClass(key, target, () -> delegate.getCreator(nodeType, target, nodeMapper));
+            Object key = target instanceof Class ? target : target.getTypeName();
+            return caches.get(nodeType)
+                    .getForClass(key, target, () -> delegate.getCreator(nodeType, target, nodeMapper));
         };
     }
 
@@ -258,6 +258,9 @@ final class DefaultNodeSerializers {
         // Methods aren't returned normally in any particular order, so give them an order.
         final Map<String, Method> getters = new TreeMap<>();
 
+        // Accessors used to invoke each getter, in the same order as getters.
+        final List<MethodAccessors.Invoker> accessors = new ArrayList<>();
+
         static ClassInfo fromClass(Class<?> klass) {
             return CACHE.getForClass(klass, klass, () -> {
                 ClassInfo info = new ClassInfo();
@@ -280,6 +283,9 @@ final class DefaultNodeSerializers {
                         }
                     }
                 }
+                for (Method getter : info.getters.values()) {
+                    info.accessors.add(MethodAccessors.invoker(getter));
+                }
                 LOGGER.fine(() -> "Detected the following getters for " + klass.getName() + ": " + info.getters);
                 return info;
             });
@@ -339,9 +345,10 @@ final class DefaultNodeSerializers {
             Map<StringNode, Node> mappings = new TreeMap<>(Comparator.comparing(StringNode::getValue));
             ClassInfo info = ClassInfo.fromClass(value.getClass());
 
+            int getterIndex = 0;
             for (Map.Entry<String, Method> entry : info.getters.entrySet()) {
                 try {
-                    Object getterResult = entry.getValue().invoke(value);
+                    Object getterResult = info.accessors.get(getterIndex++).invoke(value);
                     Node result = mapper.serialize(getterResult, serializedObjects);
                     if (canSerialize(mapper, result)) {
                         mappings.put(Node.from(entry.getKey()), result);
@@ -0,0 +1,208 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.node;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Creates accessors that invoke the constructors, factory methods, getters,
+ * and setters used by {@link NodeMapper}.
+ *
+ * <p>Accessors are created once per method using {@link LambdaMetafactory},
+ * so invoking them costs the same as calling the method directly instead of
+ * going through {@link Method#invoke}. If the declaring class can't be
+ * accessed that way (for example, it's in a module that isn't open to
+ * Smithy), a {@link MethodHandle} is used, and failing that, reflection.
+ *
+ * <p>Like reflection, anything thrown by the invoked method is wrapped in an
+ * {@link InvocationTargetException} so that errors are reported the same way
+ * regardless of how the method is invoked.
+ */
+final class MethodAccessors {
+
+    private static final Logger LOGGER = Logger.getLogger(MethodAccessors.class.getName());
+    private static final MethodType CREATOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Creates a value using a constructor or static factory method with no arguments.
+     */
+    @FunctionalInterface
+    interface Creator {
+        Object create() throws ReflectiveOperationException;
+    }
+
+    /**
+     * Invokes a static method with one argument or an instance method with no arguments.
+     */
+    @FunctionalInterface
+    interface Invoker {
+        Object invoke(Object argument) throws ReflectiveOperationException;
+    }
+
+    /**
+     * Invokes an instance method with one argument, ignoring any returned value.
+     */
+    @FunctionalInterface
+    interface Setter {
+        void set(Object target, Object value) throws ReflectiveOperationException;
+    }
+
+    private MethodAccessors() {}
+
+    static Creator creator(Constructor<?> ctor) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(ctor.getDeclaringClass());
+            return creator(lookup, lookup.unreflectConstructor(ctor));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.finest(() -> "Using reflection to invoke " + ctor + ": " + e);
+            ctor.setAccessible(true);
+            return ctor::newInstance;
+        }
+    }
+
+    static Creator creator(Method staticMethod) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(staticMethod.getDeclaringClass());
+            return creator(lookup, lookup.unreflect(staticMethod));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.finest(() -> "Using reflection to invoke " + staticMethod + ": " + e);
+            staticMethod.setAccessible(true);
+            return () -> staticMethod.invoke(null);
+        }
+    }
+
+    static Invoker invoker(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+            MethodHandle handle = lookup.unreflect(method);
+            Function<Object, Object> function = createLambda(lookup, handle, Function.class, "apply", INVOKER_TYPE);
+            if (function != null) {
+                return argument -> {
+                    try {
+                        return function.apply(argument);
+                    } catch (Throwable e) {
+                        throw new InvocationTargetException(e);
+                    }
+                };
+            }
+            MethodHandle generic = handle.asType(INVOKER_TYPE);
+            return argument -> {
+                try {
+                    return generic.invokeExact(argument);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.finest(() -> "Using reflection to invoke " + method + ": " + e);
+            method.setAccessible(true);
+            if (Modifier.isStatic(method.getModifiers())) {
+                return argument -> method.invoke(null, argument);
+            } else {
+                return method::invoke;
+            }
+        }
+    }
+
+    static Setter setter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+            MethodHandle handle = lookup.unreflect(method);
+            BiConsumer<Object, Object> consumer = createLambda(lookup, handle, BiConsumer.class, "accept", SETTER_TYPE);
+            if (consumer != null) {
+                return (target, value) -> {
+                    try {
+                        consumer.accept(target, value);
+                    } catch (Throwable e) {
+                        throw new InvocationTargetException(e);
+                    }
+                };
+            }
+            MethodHandle generic = handle.asType(SETTER_TYPE);
+            return (target, value) -> {
+                try {
+                    generic.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.finest(() -> "Using reflection to invoke " + method + ": " + e);
+            method.setAccessible(true);
+            return method::invoke;
+        }
+    }
+
+    private static Creator creator(MethodHandles.Lookup lookup, MethodHandle handle) {
+        Supplier<Object> supplier = createLambda(lookup, handle, Supplier.class, "get", CREATOR_TYPE);
+        if (supplier != null) {
+            return () -> {
+                try {
+                    return supplier.get();
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        }
+        MethodHandle generic = handle.asType(CREATOR_TYPE);
+        return () -> {
+            try {
+                return generic.invokeExact();
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> declaringClass) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+    }
+
+    // Spins a class that implements the given functional interface by calling the handle directly. Returns null
+    // if the class can't be created, in which case the handle is invoked directly instead.
+    @SuppressWarnings("unchecked")
+    private static <T> T createLambda(
+            MethodHandles.Lookup lookup,
+            MethodHandle handle,
+            Class<? super T> functionalInterface,
+            String methodName,
+            MethodType erasedType
+    ) {
+        try {
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    methodName,
+                    MethodType.methodType(functionalInterface),
+                    erasedType,
+                    handle,
+                    instantiatedType(handle.type(), erasedType));
+            return (T) site.getTarget().invoke();
+        } catch (Throwable e) {
+            LOGGER.finest(() -> "Unable to create a lambda for " + handle + ": " + e);
+            return null;
+        }
+    }
+
+    // Primitive types are boxed since the functional interface is invoked with objects, and the return value
+    // is dropped when the functional interface returns void (e.g., a builder setter that returns the builder).
+    private static MethodType instantiatedType(MethodType handleType, MethodType erasedType) {
+        MethodType result = handleType.wrap();
+        return erasedType.returnType() == void.class ? result.changeReturnType(void.class) : result;
+    }
+}
@@ -35,6 +35,7 @@ public final class ObjectNode extends Node implements ToSmithyBuilder<ObjectNode
     static final ObjectNode EMPTY = new ObjectNode(MapUtils.of(), SourceLocation.none(), false);
     private static final Logger LOGGER = Logger.getLogger(ObjectNode.class.getName());
 
+    /** Small objects store their members in a CompactNodeMap, and larger objects use an unmodifiable map. */
     private final Map<StringNode, Node> nodeMap;
     /** A cache of computed string to Node values. */
     private transient Map<String, Node> stringMap;
@@ -46,14 +47,21 @@ public final class ObjectNode extends Node implements ToSmithyBuilder<ObjectNode
     // Constructor used internally to reduce copies.
     ObjectNode(Map<StringNode, Node> nodeMap, SourceLocation sourceLocation, boolean defensiveCopy) {
         super(sourceLocation);
-        this.nodeMap = defensiveCopy
-                ? Collections.unmodifiableMap(new LinkedHashMap<>(nodeMap))
-                : Collections.unmodifiableMap(nodeMap);
+        if (nodeMap.size() <= CompactNodeMap.MAX_SIZE) {
+            this.nodeMap = CompactNodeMap.copyOf(nodeMap);
+        } else {
+            this.nodeMap = defensiveCopy
+                    ? Collections.unmodifiableMap(new LinkedHashMap<>(nodeMap))
+                    : Collections.unmodifiableMap(nodeMap);
+        }
     }
 
     private ObjectNode(Builder builder) {
         super(builder.sourceLocation);
-        this.nodeMap = builder.nodeMap.copy();
+        Map<StringNode, Node> members = builder.nodeMap.peek();
+        this.nodeMap = members.size() <= CompactNodeMap.MAX_SIZE
+                ? CompactNodeMap.copyOf(members)
+                : builder.nodeMap.copy();
     }
 
     public static ObjectNode fromStringMap(Map<String, String> map) {
@@ -227,7 +235,10 @@ public final class ObjectNode extends Node implements ToSmithyBuilder<ObjectNode
      */
     public Map<String, Node> getStringMap() {
         Map<String, Node> map = stringMap;
-        if (map == null) {
+        if (map == null && nodeMap instanceof CompactNodeMap) {
+            // Compact maps are cheaper to view by string than to copy.
+            stringMap = ((CompactNodeMap) nodeMap).toStringMap();
+        } else if (map == null) {
             map = new LinkedHashMap<>(nodeMap.size());
             for (Map.Entry<StringNode, Node> entry : nodeMap.entrySet()) {
                 map.put(entry.getKey().getValue(), entry.getValue());
@@ -61,5 +61,8 @@ abstract class JsonHandler<A, O> {
 
     void endObject(O object, SourceLocation location) {}
 
+    // Added by Smithy team to allow handlers to act on a value based on its member name.
+    void endObjectName(O object, String name) {}
+
     void endObjectValue(O object, String name, SourceLocation keyLocation) {}
 }
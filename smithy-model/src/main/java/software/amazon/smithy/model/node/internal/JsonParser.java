@@ -229,7 +229,7 @@ final class JsonParser {
             SourceLocation nameLocation = getSourceLocation();
             // handler.startObjectName(object);
             String name = readName();
-            // handler.endObjectName(object, name);
+            handler.endObjectName(object, name);
             skipWhiteSpace();
             if (!readChar(':')) {
                 throw expected("':'");
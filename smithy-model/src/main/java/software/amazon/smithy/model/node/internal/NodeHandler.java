@@ -4,10 +4,15 @@
  */
 package software.amazon.smithy.model.node.internal;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.BooleanNode;
@@ -23,6 +28,17 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     private Node value;
 
+    // Object keys are interned per document since the same few keys are repeated in most objects.
+    private Map<String, String> keys;
+
+    // State used when streaming the entries of a top-level member.
+    private String streamedMember;
+    private BiConsumer<StringNode, Node> memberConsumer;
+    private BiConsumer<StringNode, Node> entryConsumer;
+    private ObjectNode.Builder streamedObject;
+    private boolean streamNextObject;
+    private int depth;
+
     @SmithyInternalApi
     public static Node parse(String filename, String content, boolean allowComments) {
         NodeHandler handler = new NodeHandler();
@@ -30,6 +46,41 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
         return handler.value;
     }
 
+    /**
+     * Parses JSON from a reader, streaming the entries of an object member
+     * of the top-level object rather than keeping them in the parsed node.
+     *
+     * <p>Each member of the top-level object is sent to {@code memberConsumer}
+     * as soon as it's parsed. If the value of the top-level member named
+     * {@code member} is an object, then each of its entries is sent to
+     * {@code entryConsumer} as soon as it's parsed, and the entry is not
+     * added to the object. This allows very large documents to be processed
+     * without holding every entry of the member in memory.
+     *
+     * @param filename Filename used in source locations.
+     * @param reader Reader to parse.
+     * @param member Name of the top-level member to stream.
+     * @param memberConsumer Receives each member of the top-level object.
+     * @param entryConsumer Receives each entry of the streamed member.
+     * @return Returns the parsed node, with the streamed member's entries omitted.
+     * @throws IOException if the reader can't be read.
+     */
+    @SmithyInternalApi
+    public static Node parseStreaming(
+            String filename,
+            Reader reader,
+            String member,
+            BiConsumer<StringNode, Node> memberConsumer,
+            BiConsumer<StringNode, Node> entryConsumer
+    ) throws IOException {
+        NodeHandler handler = new NodeHandler();
+        handler.streamedMember = member;
+        handler.memberConsumer = memberConsumer;
+        handler.entryConsumer = entryConsumer;
+        new JsonParser(filename, handler, false).parse(reader);
+        return handler.value;
+    }
+
     @SmithyInternalApi
     public static String print(Node node) {
         StringWriter writer = new StringWriter();
@@ -88,6 +139,8 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     @Override
     ArrayNode.Builder startArray() {
+        streamNextObject = false;
+        depth++;
         return ArrayNode.builder();
     }
 
@@ -98,22 +151,51 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     @Override
     void endArray(ArrayNode.Builder builder, SourceLocation location) {
+        depth--;
         value = builder.sourceLocation(location).build();
     }
 
     @Override
     ObjectNode.Builder startObject() {
-        return ObjectNode.builder();
+        ObjectNode.Builder builder = ObjectNode.builder();
+        if (streamNextObject) {
+            streamedObject = builder;
+            streamNextObject = false;
+        }
+        depth++;
+        return builder;
+    }
+
+    @Override
+    void endObjectName(ObjectNode.Builder object, String name) {
+        streamNextObject = depth == 1 && name.equals(streamedMember);
     }
 
     @Override
     void endObjectValue(ObjectNode.Builder object, String name, SourceLocation keyLocation) {
-        StringNode key = new StringNode(name, keyLocation);
-        object.withMember(key, value);
+        StringNode key = new StringNode(internKey(name), keyLocation);
+        if (object == streamedObject) {
+            entryConsumer.accept(key, value);
+        } else {
+            streamNextObject = false;
+            object.withMember(key, value);
+            if (depth == 1 && memberConsumer != null) {
+                memberConsumer.accept(key, value);
+            }
+        }
+    }
+
+    private String internKey(String name) {
+        if (keys == null) {
+            keys = new HashMap<>();
+        }
+        String existing = keys.putIfAbsent(name, name);
+        return existing == null ? name : existing;
     }
 
     @Override
     void endObject(ObjectNode.Builder object, SourceLocation location) {
+        depth--;
         value = object.sourceLocation(location).build();
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.node.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Writes a JSON object to a writer one member at a time.
+ *
+ * <p>This allows a document to be written without first creating an
+ * {@link Node} for the entire document. The output is identical to
+ * printing an equivalent {@link Node} with {@link NodeHandler#print}
+ * or {@link NodeHandler#prettyPrint}, including the compact
+ * {@code {}} used for empty objects.
+ */
+@SmithyInternalApi
+public final class NodeStreamWriter {
+
+    private final JsonWriter jsonWriter;
+    private final NodeWriter nodeWriter;
+
+    // Object opening braces aren't written until a member is written so that empty objects can be written as "{}".
+    private boolean[] hasMembers = new boolean[8];
+    private int depth;
+
+    /**
+     * @param writer Writer to write JSON to.
+     * @param indentString String used to indent pretty-printed JSON, or null to write compact JSON.
+     */
+    public NodeStreamWriter(Writer writer, String indentString) {
+        jsonWriter = indentString == null ? new JsonWriter(writer) : new PrettyPrintWriter(writer, indentString);
+        nodeWriter = new NodeWriter(jsonWriter);
+    }
+
+    /**
+     * Starts an object, either at the top-level or as the value of the
+     * member started by {@link #startMember(String)}.
+     */
+    public void startObject() {
+        if (++depth == hasMembers.length) {
+            boolean[] resized = new boolean[depth << 1];
+            System.arraycopy(hasMembers, 0, resized, 0, depth);
+            hasMembers = resized;
+        }
+        hasMembers[depth] = false;
+    }
+
+    /**
+     * Starts a member of the current object. The member's value must be
+     * written next using {@link #startObject()}.
+     *
+     * @param name Name of the member.
+     * @throws IOException if the member can't be written.
+     */
+    public void startMember(String name) throws IOException {
+        if (hasMembers[depth]) {
+            jsonWriter.writeObjectSeparator();
+        } else {
+            hasMembers[depth] = true;
+            jsonWriter.writeObjectOpen();
+        }
+        jsonWriter.writeMemberName(name);
+        jsonWriter.writeMemberSeparator();
+    }
+
+    /**
+     * Writes a member of the current object.
+     *
+     * @param name Name of the member.
+     * @param value Value of the member.
+     * @throws IOException if the member can't be written.
+     */
+    public void writeMember(String name, Node value) throws IOException {
+        startMember(name);
+        value.accept(nodeWriter);
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @throws IOException if the object can't be written.
+     */
+    public void endObject() throws IOException {
+        if (hasMembers[depth--]) {
+            jsonWriter.writeObjectClose();
+        } else {
+            jsonWriter.writeLiteral("{}");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.pattern;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * A regular expression that is shared by every part of a process that
+ * uses the same expression.
+ *
+ * <p>Expressions are cached in a bounded, concurrent cache, so the same
+ * expression used by many traits is only compiled once. Expressions that
+ * are just a literal string, optionally anchored with {@code ^} and/or
+ * {@code $} (for example, {@code ^arn:}, {@code \.json$}, or {@code ^none$}),
+ * are matched with string comparisons and only compiled if
+ * {@link #getPattern()} is called.
+ */
+@SmithyInternalApi
+public final class CachedPattern {
+
+    // The cache is cleared when it's full rather than tracking usage, which keeps lookups lock-free.
+    private static final int MAX_SIZE = 4096;
+    private static final ConcurrentMap<String, CachedPattern> CACHE = new ConcurrentHashMap<>();
+
+    private enum Kind {
+        CONTAINS,
+        PREFIX,
+        SUFFIX,
+        EXACT,
+        REGEX
+    }
+
+    private final String regex;
+    private final Kind kind;
+    private final String literal;
+    private volatile Pattern pattern;
+
+    private CachedPattern(String regex) {
+        this.regex = regex;
+        boolean startAnchor = regex.startsWith("^");
+        boolean endAnchor = regex.length() > (startAnchor ? 1 : 0) && regex.endsWith("$") && !isEscaped(regex);
+        literal = parseLiteral(regex, startAnchor ? 1 : 0, regex.length() - (endAnchor ? 1 : 0));
+
+        if (literal == null) {
+            kind = Kind.REGEX;
+            pattern = Pattern.compile(regex);
+        } else if (startAnchor) {
+            kind = endAnchor ? Kind.EXACT : Kind.PREFIX;
+        } else {
+            kind = endAnchor ? Kind.SUFFIX : Kind.CONTAINS;
+        }
+    }
+
+    /**
+     * Gets the shared instance of a regular expression, compiling it if needed.
+     *
+     * @param regex Regular expression to get.
+     * @return Returns the shared instance.
+     * @throws PatternSyntaxException if the expression is invalid.
+     */
+    public static CachedPattern of(String regex) {
+        CachedPattern result = CACHE.get(regex);
+        if (result == null) {
+            result = new CachedPattern(regex);
+            if (CACHE.size() >= MAX_SIZE) {
+                CACHE.clear();
+            }
+            CachedPattern previous = CACHE.putIfAbsent(regex, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the regular expression.
+     *
+     * @return Returns the regular expression.
+     */
+    public String pattern() {
+        return regex;
+    }
+
+    /**
+     * Gets the compiled regular expression.
+     *
+     * @return Returns the compiled regular expression.
+     */
+    public Pattern getPattern() {
+        Pattern result = pattern;
+        if (result == null) {
+            result = Pattern.compile(regex);
+            pattern = result;
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the regular expression matches any part of the input,
+     * equivalent to {@code getPattern().matcher(input).find()}.
+     *
+     * @param input Input to check.
+     * @return Returns true if the expression is found in the input.
+     */
+    public boolean find(CharSequence input) {
+        switch (kind) {
+            case CONTAINS:
+                return input.toString().contains(literal);
+            case PREFIX:
+                return input.toString().startsWith(literal);
+            case SUFFIX:
+                return endsWith(input.toString(), false);
+            case EXACT:
+                return endsWith(input.toString(), true);
+            default:
+                return pattern.matcher(input).find();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return regex;
+    }
+
+    // "$" matches at the end of the input, or before a line terminator at the end of the input.
+    private boolean endsWith(String input, boolean fromStart) {
+        int end = input.length();
+        if (matchesBefore(input, end, fromStart)) {
+            return true;
+        } else if (end == 0) {
+            return false;
+        }
+
+        char last = input.charAt(end - 1);
+        if (last == '\n') {
+            // "\r\n" is a single line terminator, and "$" doesn't match between the "\r" and "\n".
+            return end > 1 && input.charAt(end - 2) == '\r'
+                    ? matchesBefore(input, end - 2, fromStart)
+                    : matchesBefore(input, end - 1, fromStart);
+        } else if (last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029') {
+            return matchesBefore(input, end - 1, fromStart);
+        }
+
+        return false;
+    }
+
+    private boolean matchesBefore(String input, int end, boolean fromStart) {
+        int start = end - literal.length();
+        return start >= 0 && (!fromStart || start == 0) && input.startsWith(literal, start);
+    }
+
+    // Returns true if the last character of the expression is escaped by an odd number of backslashes.
+    private static boolean isEscaped(String regex) {
+        int backslashes = 0;
+        for (int i = regex.length() - 2; i >= 0 && regex.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    // Returns the literal string matched by the given part of the expression, or null if it isn't a literal.
+    private static String parseLiteral(String regex, int start, int end) {
+        StringBuilder result = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                // Escaped punctuation is literal, but escaped letters and digits are classes, references, etc.
+                if (++i == end || Character.isLetterOrDigit(regex.charAt(i))) {
+                    return null;
+                }
+                result.append(regex.charAt(i));
+            } else if ("^$.|?*+()[]{}".indexOf(c) >= 0) {
+                return null;
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -4,6 +4,7 @@
  */
 package software.amazon.smithy.model.selector;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
@@ -16,12 +17,20 @@ import software.amazon.smithy.model.shapes.Shape;
  * <p>The list of selectors is short-circuited if any selector returns
  * an empty result (by virtue of a selector not forwarding a shape to
  * the next selector).
+ *
+ * <p>Consecutive {@link InternalSelector.Filter}s are compiled into a
+ * single {@link FilterSequence} that tests each filter in a loop rather
+ * than creating a receiver for each selector. When a sequence starts the
+ * selector, its starting shapes are taken from whichever filter can
+ * provide the fewest shapes from model indexes (for example, the shapes
+ * with a trait rather than every shape of a type).
  */
 final class AndSelector {
 
     private AndSelector() {}
 
     static InternalSelector of(List<InternalSelector> selectors) {
+        selectors = compileFilters(selectors);
         switch (selectors.size()) {
             case 0:
                 return InternalSelector.IDENTITY;
@@ -39,6 +48,64 @@ final class AndSelector {
         }
     }
 
+    private static List<InternalSelector> compileFilters(List<InternalSelector> selectors) {
+        List<InternalSelector> result = new ArrayList<>(selectors.size());
+        List<InternalSelector.Filter> filters = new ArrayList<>();
+        for (InternalSelector selector : selectors) {
+            if (selector instanceof InternalSelector.Filter) {
+                filters.add((InternalSelector.Filter) selector);
+            } else {
+                addFilters(result, filters);
+                result.add(selector);
+            }
+        }
+        addFilters(result, filters);
+        return result;
+    }
+
+    private static void addFilters(List<InternalSelector> result, List<InternalSelector.Filter> filters) {
+        if (filters.size() == 1) {
+            result.add(filters.get(0));
+        } else if (filters.size() > 1) {
+            result.add(new FilterSequence(filters.toArray(new InternalSelector.Filter[0])));
+        }
+        filters.clear();
+    }
+
+    /**
+     * Tests a flat sequence of filters in order.
+     */
+    static final class FilterSequence implements InternalSelector.Filter {
+        private final InternalSelector.Filter[] filters;
+
+        FilterSequence(InternalSelector.Filter[] filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean test(Context context, Shape shape) {
+            for (InternalSelector.Filter filter : filters) {
+                if (!filter.test(context, shape)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Collection<? extends Shape> getStartingShapes(Model model) {
+            // Every filter is tested against each shape, so any filter's starting shapes can be used.
+            Collection<? extends Shape> result = filters[0].getStartingShapes(model);
+            for (int i = 1; i < filters.length; i++) {
+                Collection<? extends Shape> candidate = filters[i].getStartingShapes(model);
+                if (candidate.size() < result.size()) {
+                    result = candidate;
+                }
+            }
+            return result;
+        }
+    }
+
     static final class IntermediateAndSelector implements InternalSelector {
         private final InternalSelector leftSelector;
         private final InternalSelector rightSelector;
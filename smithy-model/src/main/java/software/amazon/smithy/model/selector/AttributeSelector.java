@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
@@ -17,13 +18,16 @@ import software.amazon.smithy.model.traits.Trait;
 /**
  * Matches shapes with a specific attribute or that matches an attribute comparator.
  */
-final class AttributeSelector implements InternalSelector {
+final class AttributeSelector implements InternalSelector.Filter {
 
     private final List<String> path;
+    private final List<String> expectedValues;
     private final List<AttributeValue> expected;
     private final AttributeComparator comparator;
     private final boolean caseInsensitive;
     private final Function<Model, Collection<? extends Shape>> optimizer;
+    private final boolean memoize;
+    private final int hash;
 
     AttributeSelector(
             List<String> path,
@@ -32,8 +36,13 @@ final class AttributeSelector implements InternalSelector {
             boolean caseInsensitive
     ) {
         this.path = path;
+        this.expectedValues = expected == null ? Collections.emptyList() : expected;
         this.caseInsensitive = caseInsensitive;
         this.comparator = comparator;
+        this.hash = Objects.hash(path, expectedValues, caseInsensitive);
+        // Checking if a trait or property exists is a single lookup that's cheaper than sharing the result, and
+        // variables differ for each match.
+        this.memoize = !path.get(0).equals("var") && (comparator != null || path.size() > 2);
 
         // Create the valid values of the expected selector.
         if (expected == null) {
@@ -73,12 +82,12 @@ final class AttributeSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
-        if (matchesAttribute(shape, context)) {
-            return next.apply(context, shape);
-        } else {
-            return Response.CONTINUE;
+    public boolean test(Context context, Shape shape) {
+        // Attributes other than variables only depend on the shape, so their result can be shared in a batch.
+        if (context.memo == null || !memoize) {
+            return matchesAttribute(shape, context);
         }
+        return context.memo.test(this, shape, s -> matchesAttribute(s, context));
     }
 
     private boolean matchesAttribute(Shape shape, Context stack) {
@@ -96,4 +105,23 @@ final class AttributeSelector implements InternalSelector {
 
         return false;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof AttributeSelector)) {
+            return false;
+        }
+        AttributeSelector other = (AttributeSelector) o;
+        return caseInsensitive == other.caseInsensitive
+                && comparator == other.comparator
+                && path.equals(other.path)
+                && expectedValues.equals(other.expectedValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
 }
@@ -22,10 +22,18 @@ final class Context {
     private final Map<String, Set<Shape>> variables = new HashMap<>();
     private final List<Set<Shape>> roots;
 
+    // Results shared by the selectors of a SelectorBatch, or null when a selector is evaluated on its own.
+    final SelectorMemo memo;
+
     Context(Model model, NeighborProviderIndex neighborIndex, List<Set<Shape>> roots) {
+        this(model, neighborIndex, roots, null);
+    }
+
+    Context(Model model, NeighborProviderIndex neighborIndex, List<Set<Shape>> roots, SelectorMemo memo) {
         this.model = model;
         this.neighborIndex = neighborIndex;
         this.roots = roots;
+        this.memo = memo;
     }
 
     /**
@@ -110,6 +110,28 @@ interface InternalSelector {
         return ContainsShape.MAYBE;
     }
 
+    /**
+     * An internal selector that sends either the given shape or nothing to the next receiver.
+     *
+     * <p>Consecutive filters are compiled by {@link AndSelector} into a flat sequence of tests that doesn't
+     * create a receiver for each filter.
+     */
+    interface Filter extends InternalSelector {
+        /**
+         * Tests if the shape matches the filter.
+         *
+         * @param context Context being evaluated.
+         * @param shape Shape to test.
+         * @return Returns true if the shape matches.
+         */
+        boolean test(Context context, Shape shape);
+
+        @Override
+        default Response push(Context context, Shape shape, Receiver next) {
+            return test(context, shape) ? next.apply(context, shape) : Response.CONTINUE;
+        }
+    }
+
     /**
      * Receives shapes from an InternalSelector.
      */
@@ -9,7 +9,7 @@ import software.amazon.smithy.model.shapes.Shape;
 /**
  * Filters out shapes that yield shapes when applied to a selector.
  */
-final class NotSelector implements InternalSelector {
+final class NotSelector implements InternalSelector.Filter {
 
     private final InternalSelector selector;
 
@@ -18,11 +18,7 @@ final class NotSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
-        if (!context.receivedShapes(shape, selector)) {
-            return next.apply(context, shape);
-        } else {
-            return Response.CONTINUE;
-        }
+    public boolean test(Context context, Shape shape) {
+        return !context.receivedShapes(shape, selector);
     }
 }
@@ -4,7 +4,9 @@
  */
 package software.amazon.smithy.model.selector;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipDirection;
@@ -23,6 +25,16 @@ final class RecursiveNeighborSelector implements InternalSelector {
 
     @Override
     public Response push(Context context, Shape shape, Receiver next) {
+        if (context.memo != null) {
+            // Walking the closure of a shape is expensive, so selectors of a batch share the shapes that were found.
+            for (Shape nextShape : context.memo.neighbors(this, shape, s -> findNeighbors(context, s))) {
+                if (next.apply(context, nextShape) == Response.STOP) {
+                    return Response.STOP;
+                }
+            }
+            return Response.CONTINUE;
+        }
+
         Walker walker = new Walker(context.neighborIndex.getProvider());
         Iterator<Shape> shapeIterator = walker.iterateShapes(shape, ONLY_DIRECTED);
 
@@ -39,4 +51,28 @@ final class RecursiveNeighborSelector implements InternalSelector {
 
         return Response.CONTINUE;
     }
+
+    private List<Shape> findNeighbors(Context context, Shape shape) {
+        List<Shape> result = new ArrayList<>();
+        Walker walker = new Walker(context.neighborIndex.getProvider());
+        Iterator<Shape> shapeIterator = walker.iterateShapes(shape, ONLY_DIRECTED);
+        while (shapeIterator.hasNext()) {
+            Shape nextShape = shapeIterator.next();
+            if (!nextShape.equals(shape)) {
+                result.add(nextShape);
+            }
+        }
+        return result;
+    }
+
+    // Every instance finds the same shapes, so they're all equal.
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RecursiveNeighborSelector;
+    }
+
+    @Override
+    public int hashCode() {
+        return RecursiveNeighborSelector.class.hashCode();
+    }
 }
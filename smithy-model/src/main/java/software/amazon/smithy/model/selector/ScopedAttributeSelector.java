@@ -13,7 +13,7 @@ import software.amazon.smithy.model.shapes.Shape;
  * Matches a scoped attribute or projection against a set of assertions that
  * can path into the scoped attribute.
  */
-final class ScopedAttributeSelector implements InternalSelector {
+final class ScopedAttributeSelector implements InternalSelector.Filter {
 
     static final class Assertion {
         private final ScopedFactory lhs;
@@ -53,12 +53,8 @@ final class ScopedAttributeSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
-        if (matchesAssertions(shape, context.getVars())) {
-            return next.apply(context, shape);
-        } else {
-            return Response.CONTINUE;
-        }
+    public boolean test(Context context, Shape shape) {
+        return matchesAssertions(shape, context.getVars());
     }
 
     private boolean matchesAssertions(Shape shape, Map<String, Set<Shape>> vars) {
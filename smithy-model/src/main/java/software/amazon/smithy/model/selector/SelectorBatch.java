@@ -0,0 +1,182 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Evaluates many selectors against the same model in a single traversal.
+ *
+ * <p>Selectors that start from every shape in the model are evaluated together in one pass over the model, and
+ * attribute comparisons and recursive neighbor lookups that appear in more than one selector are only evaluated
+ * once per shape. The matches of each selector are recorded with the model, so evaluating one of these selectors
+ * against the same model afterward (for example, by a validator) reuses them instead of traversing the model again.
+ */
+public final class SelectorBatch {
+
+    /** Uses parallel streams when the model size exceeds this number. */
+    private static final int PARALLEL_THRESHOLD = 10000;
+
+    private final List<Selector> selectors;
+
+    private SelectorBatch(Collection<? extends Selector> selectors) {
+        this.selectors = new ArrayList<>(new LinkedHashSet<>(selectors));
+    }
+
+    /**
+     * Creates a batch of selectors.
+     *
+     * @param selectors Selectors to evaluate together. Duplicate selectors are only evaluated once.
+     * @return Returns the created batch.
+     */
+    public static SelectorBatch of(Collection<? extends Selector> selectors) {
+        return new SelectorBatch(selectors);
+    }
+
+    /**
+     * Gets the shapes in a model that match each selector of the batch.
+     *
+     * @param model Model to query.
+     * @return Returns the matching shapes of each selector.
+     */
+    public Map<Selector, Set<Shape>> select(Model model) {
+        Map<Selector, Set<Shape>> result = new LinkedHashMap<>();
+        evaluate(model).forEach((selector, matches) -> result.put(selector, matches.toSet()));
+        return result;
+    }
+
+    /**
+     * Gets the matches of each selector of the batch, including the variables they captured.
+     *
+     * @param model Model to query.
+     * @return Returns the matches of each selector.
+     */
+    public Map<Selector, List<Selector.ShapeMatch>> matches(Model model) {
+        Map<Selector, List<Selector.ShapeMatch>> result = new LinkedHashMap<>();
+        evaluate(model).forEach((selector, matches) -> result.put(selector, matches.toMatches()));
+        return result;
+    }
+
+    private Map<Selector, SelectorResults.Result> evaluate(Model model) {
+        SelectorResults recorded = SelectorResults.of(model);
+        Map<Selector, SelectorResults.Result> result = new LinkedHashMap<>();
+        NeighborProviderIndex index = NeighborProviderIndex.of(model);
+        SelectorMemo memo = new SelectorMemo();
+        List<Evaluation> evaluations = new ArrayList<>();
+
+        for (Selector selector : selectors) {
+            SelectorResults.Result matches = recorded.get(selector);
+            if (matches == null) {
+                matches = new SelectorResults.Result();
+                if (selector instanceof WrappedSelector) {
+                    evaluations.add(new Evaluation((WrappedSelector) selector, model, index, memo, matches));
+                } else {
+                    // Other implementations of Selector can't share a traversal.
+                    SelectorResults.Result other = matches;
+                    selector.consumeMatches(model, match -> other.add(match.getShape(), match));
+                }
+            }
+            result.put(selector, matches);
+        }
+
+        evaluate(model, evaluations);
+
+        for (Evaluation evaluation : evaluations) {
+            recorded.put(evaluation.selector, evaluation.matches);
+        }
+
+        return result;
+    }
+
+    private static void evaluate(Model model, List<Evaluation> evaluations) {
+        Set<Shape> shapes = model.toSet();
+        List<Evaluation> scans = new ArrayList<>();
+        for (Evaluation evaluation : evaluations) {
+            if (evaluation.startingShapes.size() == shapes.size()) {
+                scans.add(evaluation);
+            } else {
+                // Selectors that start from a subset of shapes only visit those shapes, but still share results.
+                evaluation.pushAll(evaluation.startingShapes);
+            }
+        }
+
+        if (scans.isEmpty()) {
+            return;
+        }
+
+        // Selectors that start from every shape are evaluated in a single pass over the model.
+        if (shapes.size() >= PARALLEL_THRESHOLD) {
+            shapes.parallelStream().forEach(shape -> {
+                for (Evaluation scan : scans) {
+                    scan.push(scan.createContext(), shape);
+                }
+            });
+        } else {
+            List<Context> contexts = new ArrayList<>(scans.size());
+            for (Evaluation scan : scans) {
+                contexts.add(scan.createContext());
+            }
+            for (Shape shape : shapes) {
+                for (int i = 0; i < scans.size(); i++) {
+                    scans.get(i).push(contexts.get(i), shape);
+                }
+            }
+        }
+    }
+
+    private static final class Evaluation {
+        private final WrappedSelector selector;
+        private final Model model;
+        private final NeighborProviderIndex index;
+        private final SelectorMemo memo;
+        private final Collection<? extends Shape> startingShapes;
+        private final List<Set<Shape>> roots;
+        private final SelectorResults.Result matches;
+
+        Evaluation(
+                WrappedSelector selector,
+                Model model,
+                NeighborProviderIndex index,
+                SelectorMemo memo,
+                SelectorResults.Result matches
+        ) {
+            this.selector = selector;
+            this.matches = matches;
+            this.model = model;
+            this.index = index;
+            this.memo = memo;
+            this.startingShapes = selector.getStartingShapes(model);
+            this.roots = selector.computeRoots(model, memo);
+        }
+
+        Context createContext() {
+            return new Context(model, index, roots, memo);
+        }
+
+        void pushAll(Collection<? extends Shape> shapes) {
+            Context context = createContext();
+            for (Shape shape : shapes) {
+                push(context, shape);
+            }
+        }
+
+        void push(Context context, Shape shape) {
+            context.getVars().clear();
+            selector.push(context, shape, (ctx, s) -> {
+                matches.add(s, ctx.getVars());
+                return InternalSelector.Response.CONTINUE;
+            });
+        }
+    }
+}
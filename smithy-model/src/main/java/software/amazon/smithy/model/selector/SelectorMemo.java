@@ -0,0 +1,47 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Shares the results of selectors that don't depend on variables between the selectors of a {@link SelectorBatch}.
+ *
+ * <p>Results are keyed by selectors that are equal when they perform the same test, so an attribute comparison or
+ * recursive neighbor lookup that appears in several selectors of a batch is only evaluated once per shape.
+ */
+final class SelectorMemo {
+
+    private final Map<InternalSelector, Map<Shape, Boolean>> tests = new ConcurrentHashMap<>();
+    private final Map<InternalSelector, Map<Shape, List<Shape>>> neighbors = new ConcurrentHashMap<>();
+
+    boolean test(InternalSelector selector, Shape shape, Predicate<Shape> test) {
+        return get(tests, selector, shape, test::test);
+    }
+
+    List<Shape> neighbors(InternalSelector selector, Shape shape, Function<Shape, List<Shape>> lookup) {
+        return get(neighbors, selector, shape, lookup);
+    }
+
+    // Most lookups are hits, so check with get before falling back to computeIfAbsent, which can lock.
+    private static <T> T get(
+            Map<InternalSelector, Map<Shape, T>> memo,
+            InternalSelector selector,
+            Shape shape,
+            Function<Shape, T> compute
+    ) {
+        Map<Shape, T> results = memo.get(selector);
+        if (results == null) {
+            results = memo.computeIfAbsent(selector, s -> new ConcurrentHashMap<>());
+        }
+        T result = results.get(shape);
+        return result != null ? result : results.computeIfAbsent(shape, compute);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * The matches of selectors that were evaluated against a model by a {@link SelectorBatch}.
+ *
+ * <p>Selectors evaluated against the same model later on reuse these matches rather than traversing the model
+ * again.
+ */
+final class SelectorResults implements KnowledgeIndex {
+
+    private final Map<Selector, Result> results = new ConcurrentHashMap<>();
+
+    static SelectorResults of(Model model) {
+        return model.getKnowledge(SelectorResults.class, m -> new SelectorResults());
+    }
+
+    Result get(Selector selector) {
+        return results.get(selector);
+    }
+
+    void put(Selector selector, Result result) {
+        results.put(selector, result);
+    }
+
+    /**
+     * The matches of a single selector.
+     *
+     * <p>Most selectors don't capture variables, so the shapes are kept apart from the variables and
+     * {@link Selector.ShapeMatch}es are only created when they're requested.
+     */
+    static final class Result {
+        private final List<Shape> shapes = new ArrayList<>();
+        private final List<Map<String, Set<Shape>>> vars = new ArrayList<>();
+
+        synchronized void add(Shape shape, Map<String, Set<Shape>> captured) {
+            shapes.add(shape);
+            vars.add(captured.isEmpty() ? Collections.emptyMap() : new HashMap<>(captured));
+        }
+
+        List<Shape> shapes() {
+            return shapes;
+        }
+
+        Set<Shape> toSet() {
+            return new HashSet<>(shapes);
+        }
+
+        List<Selector.ShapeMatch> toMatches() {
+            List<Selector.ShapeMatch> result = new ArrayList<>(shapes.size());
+            for (int i = 0; i < shapes.size(); i++) {
+                result.add(new Selector.ShapeMatch(shapes.get(i), vars.get(i)));
+            }
+            return result;
+        }
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Collection;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 
-final class ShapeTypeCategorySelector implements InternalSelector {
+final class ShapeTypeCategorySelector implements InternalSelector.Filter {
     private final Class<? extends Shape> shapeCategory;
 
     ShapeTypeCategorySelector(Class<? extends Shape> shapeCategory) {
@@ -16,12 +16,8 @@ final class ShapeTypeCategorySelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context ctx, Shape shape, Receiver next) {
-        if (shapeCategory.isInstance(shape)) {
-            return next.apply(ctx, shape);
-        }
-
-        return Response.CONTINUE;
+    public boolean test(Context context, Shape shape) {
+        return shapeCategory.isInstance(shape);
     }
 
     @Override
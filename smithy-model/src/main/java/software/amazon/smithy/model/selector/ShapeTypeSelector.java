@@ -9,7 +9,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeType;
 
-final class ShapeTypeSelector implements InternalSelector {
+final class ShapeTypeSelector implements InternalSelector.Filter {
 
     final ShapeType shapeType;
 
@@ -18,12 +18,8 @@ final class ShapeTypeSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context ctx, Shape shape, Receiver next) {
-        if (shape.getType().isShapeType(shapeType)) {
-            return next.apply(ctx, shape);
-        }
-
-        return Response.CONTINUE;
+    public boolean test(Context context, Shape shape) {
+        return shape.getType().isShapeType(shapeType);
     }
 
     @Override
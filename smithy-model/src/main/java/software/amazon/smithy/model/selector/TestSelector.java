@@ -13,7 +13,7 @@ import software.amazon.smithy.model.shapes.Shape;
  * <p>The result of this selector is always a subset of the input
  * (i.e., it does not map over the input).
  */
-final class TestSelector implements InternalSelector {
+final class TestSelector implements InternalSelector.Filter {
     private final List<InternalSelector> selectors;
 
     TestSelector(List<InternalSelector> selectors) {
@@ -21,15 +21,14 @@ final class TestSelector implements InternalSelector {
     }
 
     @Override
-    public Response push(Context context, Shape shape, Receiver next) {
+    public boolean test(Context context, Shape shape) {
         for (InternalSelector predicate : selectors) {
             if (context.receivedShapes(shape, predicate)) {
                 // The instant something matches, stop testing selectors.
-                return next.apply(context, shape);
+                return true;
             }
         }
 
-        // Continue to receive shapes because other shapes could match.
-        return Response.CONTINUE;
+        return false;
     }
 }
@@ -57,6 +57,11 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Set<Shape> select(Model model, StartingContext startingContext) {
+        SelectorResults.Result recorded = getRecordedMatches(model, startingContext);
+        if (recorded != null) {
+            return recorded.toSet();
+        }
+
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
 
         if (isParallel(startingShapes)) {
@@ -72,6 +77,15 @@ final class WrappedSelector implements Selector {
         }
     }
 
+    // Matches recorded by a SelectorBatch are only reused when the selector starts from every shape.
+    private SelectorResults.Result getRecordedMatches(Model model, StartingContext startingContext) {
+        return startingContext.getStartingShapes() == null ? SelectorResults.of(model).get(this) : null;
+    }
+
+    Collection<? extends Shape> getStartingShapes(Model model) {
+        return delegate.getStartingShapes(model);
+    }
+
     private Collection<? extends Shape> getStartingShapes(Model model, StartingContext startingContext) {
         Collection<? extends Shape> startingShapes = startingContext.getStartingShapes();
         return startingShapes == null ? delegate.getStartingShapes(model) : startingShapes;
@@ -91,6 +105,12 @@ final class WrappedSelector implements Selector {
         // This is more optimized than using matches() and collecting to a Set
         // because it avoids creating streams and buffering the result of
         // pushing each shape into internal selectors.
+        SelectorResults.Result recorded = getRecordedMatches(model, context);
+        if (recorded != null) {
+            recorded.toMatches().forEach(shapeMatchConsumer);
+            return;
+        }
+
         Collection<? extends Shape> startingShapes = getStartingShapes(model, context);
         pushShapes(model, startingShapes, (ctx, s) -> {
             shapeMatchConsumer.accept(new ShapeMatch(s, ctx.getVars()));
@@ -100,6 +120,11 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Stream<Shape> shapes(Model model, StartingContext startingContext) {
+        SelectorResults.Result recorded = getRecordedMatches(model, startingContext);
+        if (recorded != null) {
+            return recorded.shapes().stream();
+        }
+
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
         List<Set<Shape>> computedRoots = computeRoots(model);
@@ -111,6 +136,11 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Stream<ShapeMatch> matches(Model model, StartingContext startingContext) {
+        SelectorResults.Result recorded = getRecordedMatches(model, startingContext);
+        if (recorded != null) {
+            return recorded.toMatches().stream();
+        }
+
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
         List<Set<Shape>> computedRoots = computeRoots(model);
@@ -130,10 +160,14 @@ final class WrappedSelector implements Selector {
 
     // Eagerly compute roots over all model shapes before evaluating shapes one at a time.
     private List<Set<Shape>> computeRoots(Model model) {
+        return computeRoots(model, null);
+    }
+
+    List<Set<Shape>> computeRoots(Model model, SelectorMemo memo) {
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
         List<Set<Shape>> rootResults = new ArrayList<>(roots.size());
         for (InternalSelector selector : roots) {
-            Set<Shape> result = evalRoot(model, index, selector, rootResults);
+            Set<Shape> result = evalRoot(model, index, selector, rootResults, memo);
             rootResults.add(result);
         }
         return rootResults;
@@ -144,10 +178,11 @@ final class WrappedSelector implements Selector {
             Model model,
             NeighborProviderIndex index,
             InternalSelector selector,
-            List<Set<Shape>> results
+            List<Set<Shape>> results,
+            SelectorMemo memo
     ) {
         Collection<? extends Shape> shapesToEmit = selector.getStartingShapes(model);
-        Context isolatedContext = new Context(model, index, results);
+        Context isolatedContext = new Context(model, index, results, memo);
         Set<Shape> captures = new HashSet<>();
         for (Shape rootShape : shapesToEmit) {
             isolatedContext.getVars().clear();
@@ -160,6 +195,11 @@ final class WrappedSelector implements Selector {
         return captures;
     }
 
+    // Pushes a shape through the selector using a context created for a SelectorBatch.
+    void push(Context context, Shape shape, InternalSelector.Receiver acceptor) {
+        delegate.push(context, shape, acceptor);
+    }
+
     private void pushShapes(
             Model model,
             Collection<? extends Shape> startingShapes,
@@ -4,6 +4,9 @@
  */
 package software.amazon.smithy.model.shapes;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,6 +27,7 @@ import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeStreamWriter;
 import software.amazon.smithy.model.traits.AddedDefaultTrait;
 import software.amazon.smithy.model.traits.BoxTrait;
 import software.amazon.smithy.model.traits.ClientOptionalTrait;
@@ -45,7 +49,8 @@ import software.amazon.smithy.utils.StringUtils;
  * serialized model.
  *
  * <p>After serializing to an ObjectNode, the node can then be serialized
- * to formats like JSON, YAML, Ion, etc.
+ * to formats like JSON, YAML, Ion, etc. Models can also be written
+ * directly to JSON using {@link #serialize(Model, Writer)}.
  */
 public final class ModelSerializer {
 
@@ -119,13 +124,9 @@ public final class ModelSerializer {
                 // an inherited member changes.
                 if (!shapeSerializer.mixinMemberTraits.isEmpty()) {
                     for (MemberShape member : shapeSerializer.mixinMemberTraits) {
-                        Map<StringNode, Node> introducedTraits = createIntroducedTraitsMap(
-                                member.getIntroducedTraits().values());
-                        if (!introducedTraits.isEmpty()) {
-                            ObjectNode.Builder applyBuilder = Node.objectNodeBuilder();
-                            applyBuilder.withMember("type", "apply");
-                            ObjectNode traits = serializeTraits(applyBuilder, introducedTraits).build();
-                            shapes.put(Node.from(member.getId().toString()), traits);
+                        ObjectNode apply = createApply(member);
+                        if (apply != null) {
+                            shapes.put(Node.from(member.getId().toString()), apply);
                         }
                     }
                 }
@@ -137,6 +138,82 @@ public final class ModelSerializer {
         return builder.build();
     }
 
+    /**
+     * Serializes a {@link Model} to pretty-printed JSON, writing each shape
+     * to the writer as soon as it's serialized.
+     *
+     * <p>The written JSON is identical to pretty-printing the result of
+     * {@link #serialize(Model)} using {@link Node#prettyPrintJsonToWriter(Node, Writer)},
+     * but an {@link ObjectNode} is never created for the entire model. This
+     * allows large models to be serialized using memory proportional to the
+     * largest shape rather than to the entire model. Use
+     * {@link java.nio.channels.Channels#newWriter} to write to a channel.
+     *
+     * @param model Model to serialize.
+     * @param writer Writer to write the JSON to. The writer is not flushed or closed.
+     * @throws UncheckedIOException if the writer can't be written to.
+     */
+    public void serialize(Model model, Writer writer) {
+        ShapeSerializer shapeSerializer = new ShapeSerializer();
+
+        if (version.equals("1.0")) {
+            model = ModelTransformer.create().downgradeToV1(model);
+        }
+
+        // Sort shapes by ID, along with the inherited mixin members that might need apply statements, to write them
+        // in the same order as serialize(Model).
+        Map<String, Shape> shapes = new TreeMap<>();
+        for (Shape shape : model.toSet()) {
+            if (!shape.isMemberShape() && shapeFilter.test(shape)) {
+                shapes.put(shape.getId().toString(), shape);
+                for (MemberShape member : shape.members()) {
+                    if (!member.getMixins().isEmpty() && !member.getIntroducedTraits().isEmpty()) {
+                        shapes.put(member.getId().toString(), member);
+                    }
+                }
+            }
+        }
+
+        try {
+            NodeStreamWriter json = new NodeStreamWriter(writer, "    ");
+            json.startObject();
+            json.writeMember("smithy", Node.from(version));
+            Optional<Node> metadata = createMetadata(model).map(Node::withDeepSortedKeys);
+            if (metadata.isPresent()) {
+                json.writeMember("metadata", metadata.get());
+            }
+            json.startMember("shapes");
+            json.startObject();
+            for (Map.Entry<String, Shape> entry : shapes.entrySet()) {
+                Shape shape = entry.getValue();
+                if (!shape.isMemberShape()) {
+                    json.writeMember(entry.getKey(), shape.accept(shapeSerializer));
+                    shapeSerializer.mixinMemberTraits.clear();
+                } else {
+                    ObjectNode apply = createApply(shape.asMemberShape().get());
+                    if (apply != null) {
+                        json.writeMember(entry.getKey(), apply);
+                    }
+                }
+            }
+            json.endObject();
+            json.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Creates an apply statement for the traits added to an inherited mixin member, or null if none are serialized.
+    private ObjectNode createApply(MemberShape member) {
+        Map<StringNode, Node> introducedTraits = createIntroducedTraitsMap(member.getIntroducedTraits().values());
+        if (introducedTraits.isEmpty()) {
+            return null;
+        }
+        ObjectNode.Builder applyBuilder = Node.objectNodeBuilder();
+        applyBuilder.withMember("type", "apply");
+        return serializeTraits(applyBuilder, introducedTraits).build();
+    }
+
     private Optional<Node> createMetadata(Model model) {
         // Grab metadata, filter by key using the predicate.
         Map<StringNode, Node> metadata = model.getMetadata()
@@ -9,6 +9,7 @@ import java.util.regex.PatternSyntaxException;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.pattern.CachedPattern;
 import software.amazon.smithy.model.shapes.ShapeId;
 
 /**
@@ -17,7 +18,7 @@ import software.amazon.smithy.model.shapes.ShapeId;
 public final class PatternTrait extends StringTrait {
     public static final ShapeId ID = ShapeId.from("smithy.api#pattern");
 
-    private final Pattern pattern;
+    private final CachedPattern pattern;
 
     public PatternTrait(String value, SourceLocation sourceLocation) {
         super(ID, value, sourceLocation);
@@ -40,12 +41,13 @@ public final class PatternTrait extends StringTrait {
      * @return returns compiled regular expression.
      */
     public Pattern getPattern() {
-        return pattern;
+        return pattern.getPattern();
     }
 
-    private static Pattern compilePattern(String value, FromSourceLocation sourceLocation) {
+    private static CachedPattern compilePattern(String value, FromSourceLocation sourceLocation) {
         try {
-            return Pattern.compile(value);
+            // Identical patterns applied to many shapes share the same compiled pattern.
+            return CachedPattern.of(value);
         } catch (PatternSyntaxException e) {
             throw new SourceException(
                     "Invalid pattern trait regular expression: `" + value + "`. " + e.getMessage(),
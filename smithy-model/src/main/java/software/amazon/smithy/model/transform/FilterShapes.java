@@ -4,6 +4,7 @@
  */
 package software.amazon.smithy.model.transform;
 
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
@@ -32,11 +33,14 @@ final class FilterShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
-        return transformer.removeShapes(model,
-                model.shapes()
-                        .filter(shape -> canFilterShape(model, shape))
-                        .filter(FunctionalUtils.not(predicate))
-                        .collect(Collectors.toSet()));
+        return transformer.removeShapes(model, getFilteredShapes(model));
+    }
+
+    Set<Shape> getFilteredShapes(Model model) {
+        return model.shapes()
+                .filter(shape -> canFilterShape(model, shape))
+                .filter(FunctionalUtils.not(predicate))
+                .collect(Collectors.toSet());
     }
 
     private static boolean canFilterShape(Model model, Shape shape) {
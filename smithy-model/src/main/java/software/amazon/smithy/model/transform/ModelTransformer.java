@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -183,6 +184,21 @@ public final class ModelTransformer {
         return new FilterShapes(predicate).transform(this, model);
     }
 
+    /**
+     * Gets the shapes that {@link #filterShapes(Model, Predicate)} removes
+     * from a model, without removing them.
+     *
+     * <p>This can be used to combine several filters into a single call to
+     * {@link #removeShapes(Model, Collection)}.
+     *
+     * @param model Model to filter.
+     * @param predicate Predicate that returns false for shapes to remove.
+     * @return Returns the shapes that would be removed.
+     */
+    public Set<Shape> getFilteredShapes(Model model, Predicate<Shape> predicate) {
+        return new FilterShapes(predicate).getFilteredShapes(model);
+    }
+
     /**
      * Filters traits out of the model that do not match the given predicate.
      *
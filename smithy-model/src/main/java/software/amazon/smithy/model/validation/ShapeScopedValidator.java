@@ -0,0 +1,41 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.validation;
+
+import java.util.List;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A {@link Validator} that declares which shapes its validation depends on,
+ * allowing it to validate only the shapes affected by a change to a model.
+ *
+ * <p>The events a shape-scoped validator emits for a shape and its members
+ * may only depend on that shape, its members, and the shapes targeted by its
+ * members. Every event emitted by a shape-scoped validator must be associated
+ * with a shape.
+ *
+ * <p>When a model is validated incrementally using
+ * {@link ModelAssembler#previousResult}, shape-scoped validators are only
+ * run against the shapes affected by the changed shapes, and the events they
+ * emitted for unaffected shapes are reused from the previous result. Other
+ * validators are run against the entire model.
+ */
+public interface ShapeScopedValidator extends Validator {
+    /**
+     * Validates a subset of the shapes in a model.
+     *
+     * <p>The given shapes always include the members of each given shape.
+     * The returned events must be exactly the events that
+     * {@link #validate(Model)} emits for the given shapes.
+     *
+     * @param model Model that contains the shapes.
+     * @param shapes Shapes to validate.
+     * @return Returns the validation events emitted for the given shapes.
+     */
+    List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes);
+}
@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.node;
 
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.pattern.CachedPattern;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.traits.PatternTrait;
@@ -22,13 +23,14 @@ final class PatternTraitPlugin extends MemberAndShapeTraitPlugin<StringShape, St
 
     @Override
     protected void check(Shape shape, PatternTrait trait, StringNode node, Context context, Emitter emitter) {
-        if (!trait.getPattern().matcher(node.getValue()).find()) {
+        // Use the shared pattern, which can match simple patterns without using a regular expression.
+        if (!CachedPattern.of(trait.getValue()).find(node.getValue())) {
             emitter.accept(node,
                     getSeverity(context),
                     String.format(
                             "String value provided for `%s` must match regular expression: %s",
                             shape.getId(),
-                            trait.getPattern().pattern()));
+                            trait.getValue()));
         }
     }
 
@@ -26,6 +26,7 @@ import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ConcurrentStringTable;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
@@ -98,7 +99,9 @@ public final class SmithyTestSuite {
      */
     public static Stream<Object[]> defaultParameterizedTestSource(Class<?> contextClass) {
         ClassLoader classLoader = contextClass.getClassLoader();
-        ModelAssembler assembler = Model.assembler(classLoader).discoverModels(classLoader);
+        ModelAssembler assembler = Model.assembler(classLoader)
+                .discoverModels(classLoader)
+                .stringTable(new ConcurrentStringTable());
         return SmithyTestSuite.runner()
                 .setModelAssemblerFactory(assembler::copy)
                 .addTestCasesFromUrl(contextClass.getResource(DEFAULT_TEST_CASE_LOCATION))
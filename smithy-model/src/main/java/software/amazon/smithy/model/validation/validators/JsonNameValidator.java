@@ -5,6 +5,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -18,17 +19,33 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.JsonNameTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
-public final class JsonNameValidator extends AbstractValidator {
+public final class JsonNameValidator extends AbstractValidator implements ShapeScopedValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateMembers(model, model.getMemberShapesWithTrait(JsonNameTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
+        List<MemberShape> members = new ArrayList<>();
+        for (Shape shape : shapes) {
+            if (shape.isMemberShape() && shape.hasTrait(JsonNameTrait.class)) {
+                members.add(shape.asMemberShape().get());
+            }
+        }
+        return validateMembers(model, members);
+    }
+
+    private List<ValidationEvent> validateMembers(Model model, Collection<MemberShape> membersWithJsonName) {
         List<ValidationEvent> events = new ArrayList<>();
         Set<ShapeId> visitedContainers = new HashSet<>();
 
         // Find every member marked with a jsonName trait. The containing shapes of these members are
         // the only structure/union shapes that need to be validated.
-        for (MemberShape member : model.getMemberShapesWithTrait(JsonNameTrait.class)) {
+        for (MemberShape member : membersWithJsonName) {
             // If the container hasn't been visited yet, then validate it's members.
             if (visitedContainers.add(member.getContainer())) {
                 validateMembersOfContainer(model.expectShape(member.getContainer()), events);
@@ -6,19 +6,26 @@ package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.LengthTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
-public final class LengthTraitValidator extends AbstractValidator {
+public final class LengthTraitValidator extends AbstractValidator implements ShapeScopedValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(LengthTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(LengthTrait.class)) {
-            events.addAll(validateLengthTrait(shape, shape.expectTrait(LengthTrait.class)));
+        for (Shape shape : shapes) {
+            shape.getTrait(LengthTrait.class).ifPresent(trait -> events.addAll(validateLengthTrait(shape, trait)));
         }
 
         return events;
@@ -7,19 +7,28 @@ package software.amazon.smithy.model.validation.validators;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.MediaTypeTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.MediaType;
 
-public final class MediaTypeValidator extends AbstractValidator {
+public final class MediaTypeValidator extends AbstractValidator implements ShapeScopedValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(MediaTypeTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(MediaTypeTrait.class)) {
-            validateMediaType(shape, shape.expectTrait(MediaTypeTrait.class)).ifPresent(events::add);
+        for (Shape shape : shapes) {
+            shape.getTrait(MediaTypeTrait.class)
+                    .flatMap(trait -> validateMediaType(shape, trait))
+                    .ifPresent(events::add);
         }
 
         return events;
@@ -10,24 +10,31 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.RangeTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
 /**
  * Ensures that range traits are valid.
  */
-public final class RangeTraitValidator extends AbstractValidator {
+public final class RangeTraitValidator extends AbstractValidator implements ShapeScopedValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(RangeTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(RangeTrait.class)) {
-            events.addAll(validateRangeTrait(model, shape, shape.expectTrait(RangeTrait.class)));
+        for (Shape shape : shapes) {
+            shape.getTrait(RangeTrait.class).ifPresent(trait -> events.addAll(validateRangeTrait(model, shape, trait)));
         }
 
         return events;
@@ -6,28 +6,46 @@ package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.shapes.SetShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 @SmithyInternalApi
-public final class SetValidator extends AbstractValidator {
+public final class SetValidator extends AbstractValidator implements ShapeScopedValidator {
     @Override
+    @SuppressWarnings("deprecation")
     public List<ValidationEvent> validate(Model model) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (SetShape set : model.getSetShapes()) {
-            ValidationEvent event = ValidationEvent.builder()
-                    .id(AbstractValidator.MODEL_DEPRECATION)
-                    .severity(Severity.WARNING)
-                    .shape(set)
-                    .message("Set shapes are deprecated and have been removed in Smithy IDL v2. "
-                            + "Use a list shape with the @uniqueItems trait instead.")
-                    .build();
-            events.add(event);
+        for (Shape set : model.getSetShapes()) {
+            events.add(validateSet(set));
         }
         return events;
     }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape shape : shapes) {
+            if (shape.getType() == ShapeType.SET) {
+                events.add(validateSet(shape));
+            }
+        }
+        return events;
+    }
+
+    private ValidationEvent validateSet(Shape set) {
+        return ValidationEvent.builder()
+                .id(AbstractValidator.MODEL_DEPRECATION)
+                .severity(Severity.WARNING)
+                .shape(set)
+                .message("Set shapes are deprecated and have been removed in Smithy IDL v2. "
+                        + "Use a list shape with the @uniqueItems trait instead.")
+                .build();
+    }
 }
@@ -12,6 +12,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.MixinTrait;
@@ -58,8 +59,10 @@ public final class TraitTargetValidator extends AbstractValidator {
             });
         }
 
+        // Evaluate the selectors of every trait together in a single traversal of the model.
+        Map<Selector, Set<Shape>> matches = SelectorBatch.of(selectorsToTraits.keySet()).select(model);
         for (Map.Entry<Selector, List<ShapeId>> entry : selectorsToTraits.entrySet()) {
-            validateTraitTargets(model, events, entry.getKey(), entry.getValue());
+            validateTraitTargets(model, events, entry.getKey(), entry.getValue(), matches.get(entry.getKey()));
         }
 
         return events;
@@ -81,10 +84,9 @@ public final class TraitTargetValidator extends AbstractValidator {
             Model model,
             List<ValidationEvent> events,
             Selector selector,
-            List<ShapeId> traits
+            List<ShapeId> traits,
+            Set<Shape> matches
     ) {
-        Set<Shape> matches = selector.select(model);
-
         for (ShapeId traitId : traits) {
             // Find all shapes that have the used trait applied to it.
             for (Shape shape : model.getShapesWithTrait(traitId)) {
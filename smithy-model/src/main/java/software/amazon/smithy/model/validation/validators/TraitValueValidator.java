@@ -5,7 +5,12 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.node.Node;
@@ -19,11 +24,19 @@ import software.amazon.smithy.utils.ListUtils;
 
 /**
  * Validates that trait values are valid for their trait definitions.
+ *
+ * <p>The same trait is often applied with identical values to many shapes
+ * (for example, a shared {@code documentation} string or {@code http}
+ * pattern). Values that are found to be valid for a trait are remembered,
+ * and identical values of that trait applied to other shapes are not
+ * validated again. Values that emit events are always validated so that
+ * each event has the shape and source location of the value it refers to.
  */
 public final class TraitValueValidator implements Validator {
 
     public static final String VALIDATE_PRELUDE = "__validatePrelude__";
     private static final String NAME = "TraitValue";
+    private static final Logger LOGGER = Logger.getLogger(TraitValueValidator.class.getName());
 
     @Override
     public List<ValidationEvent> validate(Model model) {
@@ -37,12 +50,16 @@ public final class TraitValueValidator implements Validator {
 
         List<ValidationEvent> events = new ArrayList<>();
         boolean validatePrelude = model.getMetadataProperty(VALIDATE_PRELUDE).isPresent();
+        ValidValues validValues = new ValidValues();
         for (Shape shape : model.toSet()) {
             for (Trait trait : shape.getAllTraits().values()) {
-                events.addAll(validateTrait(model, validator, shape, trait, validatePrelude));
+                events.addAll(validateTrait(model, validator, shape, trait, validatePrelude, validValues));
             }
         }
 
+        LOGGER.fine(() -> String.format("Validated %d trait values; %d were identical to a previously validated "
+                + "value (%.1f%% hit rate)", validValues.lookups, validValues.hits, validValues.hitRate()));
+
         return events;
     }
 
@@ -51,7 +68,8 @@ public final class TraitValueValidator implements Validator {
             NodeValidationVisitor validator,
             Shape targetShape,
             Trait trait,
-            boolean validatePrelude
+            boolean validatePrelude,
+            ValidValues validValues
     ) {
         ShapeId shape = trait.toShapeId();
 
@@ -67,9 +85,44 @@ public final class TraitValueValidator implements Validator {
             return ListUtils.of();
         }
 
-        validator.setValue(trait.toNode());
+        Node value = trait.toNode();
+        if (validValues.contains(shape, value)) {
+            return ListUtils.of();
+        }
+
+        validator.setValue(value);
         validator.setEventShapeId(targetShape.getId());
         validator.setStartingContext("Error validating trait `" + Trait.getIdiomaticTraitName(trait) + "`");
-        return model.getShape(shape).get().accept(validator);
+        List<ValidationEvent> events = model.getShape(shape).get().accept(validator);
+        if (events.isEmpty()) {
+            validValues.add(shape, value);
+        }
+        return events;
+    }
+
+    // Values of each trait that were validated without emitting any events. Node equality ignores source
+    // locations, so a value that matches one of these is known to be valid too.
+    private static final class ValidValues {
+        private final Map<ShapeId, Set<Node>> values = new HashMap<>();
+        private int lookups;
+        private int hits;
+
+        boolean contains(ShapeId trait, Node value) {
+            lookups++;
+            Set<Node> traitValues = values.get(trait);
+            if (traitValues != null && traitValues.contains(value)) {
+                hits++;
+                return true;
+            }
+            return false;
+        }
+
+        void add(ShapeId trait, Node value) {
+            values.computeIfAbsent(trait, t -> new HashSet<>()).add(value);
+        }
+
+        double hitRate() {
+            return lookups == 0 ? 0 : hits * 100.0 / lookups;
+        }
     }
 }
@@ -6,6 +6,7 @@ package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -14,28 +15,42 @@ import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.traits.BoxTrait;
 import software.amazon.smithy.model.traits.DefaultTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 @SmithyInternalApi
-public final class UnionValidator extends AbstractValidator {
+public final class UnionValidator extends AbstractValidator implements ShapeScopedValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
         List<ValidationEvent> events = new ArrayList<>();
         for (UnionShape union : model.getUnionShapes()) {
-            if (union.members().isEmpty()) {
-                events.add(error(union, "Tagged unions must have one or more members"));
-            } else {
-                for (MemberShape member : union.getAllMembers().values()) {
-                    Shape target = model.expectShape(member.getTarget());
-                    validateUnionMemberTarget(member, target, events);
-                    validateUnionMember(member, events);
-                }
-            }
+            validateUnion(model, union, events);
         }
         return events;
     }
 
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape shape : shapes) {
+            shape.asUnionShape().ifPresent(union -> validateUnion(model, union, events));
+        }
+        return events;
+    }
+
+    private void validateUnion(Model model, UnionShape union, List<ValidationEvent> events) {
+        if (union.members().isEmpty()) {
+            events.add(error(union, "Tagged unions must have one or more members"));
+        } else {
+            for (MemberShape member : union.getAllMembers().values()) {
+                Shape target = model.expectShape(member.getTarget());
+                validateUnionMemberTarget(member, target, events);
+                validateUnionMember(member, events);
+            }
+        }
+    }
+
     private void validateUnionMemberTarget(MemberShape member, Shape target, List<ValidationEvent> events) {
         if (target.hasTrait(DefaultTrait.ID)) {
             events.add(note(member,
@@ -9,10 +9,12 @@ import static java.lang.String.format;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.XmlNamespaceTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeScopedValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -22,13 +24,20 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  *     <li>Validates that uri is valid.</li>
  * </ul>
  */
-public final class XmlNamespaceTraitValidator extends AbstractValidator {
+public final class XmlNamespaceTraitValidator extends AbstractValidator implements ShapeScopedValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(XmlNamespaceTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validateShapes(Model model, Set<Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(XmlNamespaceTrait.class)) {
-            validateTrait(shape, shape.expectTrait(XmlNamespaceTrait.class)).ifPresent(events::add);
+        for (Shape shape : shapes) {
+            shape.getTrait(XmlNamespaceTrait.class)
+                    .flatMap(trait -> validateTrait(shape, trait))
+                    .ifPresent(events::add);
         }
 
         return events;
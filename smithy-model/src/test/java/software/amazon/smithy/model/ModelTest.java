@@ -10,15 +10,22 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
@@ -31,7 +38,9 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.shapes.*;
+import software.amazon.smithy.model.traits.DynamicTrait;
 import software.amazon.smithy.model.traits.ExamplesTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
 
@@ -278,6 +287,27 @@ public class ModelTest {
         assertThat(model.getShapesWithTrait(OriginalShapeIdTrait.class), contains(stringShape));
     }
 
+    @Test
+    public void shapesWithTraitOfSameClassAreNotDuplicated() {
+        StringShape stringShape = StringShape.builder()
+                .id("com.foo#Str")
+                .addTrait(new DynamicTrait(ShapeId.from("com.foo#a"), Node.objectNode()))
+                .addTrait(new DynamicTrait(ShapeId.from("com.foo#b"), Node.objectNode()))
+                .build();
+        StringShape other = StringShape.builder().id("com.foo#Other").build();
+        Model model = Model.builder().addShapes(stringShape, other).build();
+        Set<Shape> shapes = model.getShapesWithTrait(DynamicTrait.class);
+
+        assertThat(shapes, contains(stringShape));
+        assertThat(model.getShapesWithTrait(ShapeId.from("com.foo#a")), contains(stringShape));
+        assertTrue(shapes.contains(stringShape));
+        assertFalse(shapes.contains(other));
+        assertFalse(shapes.contains(stringShape.toBuilder().id("com.foo#Missing").build()));
+        assertThat(model.getShapesWithTrait(ShapeId.from("com.foo#c")), hasSize(0));
+        assertThat(model.getAppliedTraits(),
+                containsInAnyOrder(ShapeId.from("com.foo#a"), ShapeId.from("com.foo#b")));
+    }
+
     /**
      * This test ensures that the old deprecated behavior of using reflection
      * to create a KnowledgeIndex is maintained (for now at least).
@@ -317,4 +347,116 @@ public class ModelTest {
             HttpBindingIndex.of(model);
         }
     }
+
+    @Test
+    public void prewarmsKnowledgeIndexes() {
+        Model model = Model.builder().build();
+        model.prewarm(Arrays.asList(TopDownIndex.class, Prewarmed.class)).join();
+
+        assertThat(model.getKnowledge(Prewarmed.class, m -> {
+            throw new AssertionError("Expected the index to be prewarmed");
+        }), instanceOf(Prewarmed.class));
+    }
+
+    private static final class Prewarmed implements KnowledgeIndex {
+        public static Prewarmed of(Model model) {
+            return model.getKnowledge(Prewarmed.class, m -> new Prewarmed());
+        }
+    }
+
+    @Test
+    public void computesSharedKnowledgeIndexesOnce() throws Exception {
+        Model model = Model.builder().build();
+        Shared.created.set(0);
+        Shared.computing = new CountDownLatch(1);
+        Shared.release = new CountDownLatch(1);
+        CompletableFuture<Void> prewarmed = model.prewarm(Collections.singletonList(Shared.class));
+        Shared.computing.await();
+
+        // Request the index while it's being prewarmed, and wait until the request blocks.
+        List<Shared> requested = new ArrayList<>();
+        Thread requester = new Thread(() -> requested.add(Shared.of(model)));
+        requester.start();
+        while (requester.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+
+        Shared.release.countDown();
+        prewarmed.join();
+        requester.join();
+
+        assertThat(requested.get(0), sameInstance(Shared.of(model)));
+        assertThat(Shared.created.get(), equalTo(1));
+    }
+
+    private static final class Shared implements KnowledgeIndex {
+        static final AtomicInteger created = new AtomicInteger();
+        static volatile CountDownLatch computing;
+        static volatile CountDownLatch release;
+
+        public static Shared of(Model model) {
+            return model.getKnowledge(Shared.class, m -> {
+                created.incrementAndGet();
+                computing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return new Shared();
+            });
+        }
+    }
+
+    @Test
+    public void cancellingPrewarmSkipsIndexesThatHaveNotStarted() {
+        Model model = Model.builder().build();
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<Void> prewarmed = model.prewarm(Collections.singletonList(Prewarmed.class), tasks::add);
+        prewarmed.cancel(false);
+        tasks.forEach(Runnable::run);
+
+        AtomicInteger created = new AtomicInteger();
+        model.getKnowledge(Prewarmed.class, m -> {
+            created.incrementAndGet();
+            return new Prewarmed();
+        });
+        assertThat(created.get(), equalTo(1));
+    }
+
+    @Test
+    public void carriesOverComputedStateNotAffectedByChanges() {
+        OperationShape operation = OperationShape.builder().id("smithy.example#Operation").build();
+        ServiceShape service = ServiceShape.builder()
+                .id("smithy.example#Service")
+                .version("1")
+                .addOperation(operation)
+                .build();
+        StringShape string = StringShape.builder().id("smithy.example#String").build();
+        Model model = Model.builder().addShapes(service, operation, string).build();
+        TopDownIndex index = TopDownIndex.of(model);
+        Set<StringShape> strings = model.toSet(StringShape.class);
+        Set<ServiceShape> services = model.toSet(ServiceShape.class);
+
+        Model updatedString = model.toBuilder()
+                .addShape(string.toBuilder().addTrait(new SensitiveTrait()).build())
+                .build();
+
+        assertThat(TopDownIndex.of(updatedString), sameInstance(index));
+        assertThat(updatedString.toSet(ServiceShape.class), sameInstance(services));
+        assertThat(updatedString.toSet(StringShape.class), not(sameInstance(strings)));
+        assertThat(updatedString.getShapesWithTrait(SensitiveTrait.class), hasSize(1));
+
+        Model updatedOperation = updatedString.toBuilder()
+                .addShape(operation.toBuilder().addTrait(new SensitiveTrait()).build())
+                .build();
+
+        assertThat(TopDownIndex.of(updatedOperation), not(sameInstance(index)));
+        assertThat(TopDownIndex.of(updatedOperation).getContainedOperations(service),
+                contains(updatedOperation.expectShape(operation.getId())));
+
+        Model updatedMetadata = updatedString.toBuilder().putMetadataProperty("foo", Node.from("bar")).build();
+
+        assertThat(TopDownIndex.of(updatedMetadata), not(sameInstance(index)));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+
+public class ShapeMapTest {
+
+    private static Shape shape(int i) {
+        return StringShape.builder().id("smithy.example#Shape" + i).build();
+    }
+
+    @Test
+    public void behavesLikeHashMap() {
+        Random random = new Random(0);
+        Shape[] shapes = new Shape[2000];
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = shape(i);
+        }
+
+        Map<ShapeId, Shape> expected = new HashMap<>();
+        ShapeMap.Editor editor = new ShapeMap.Editor();
+        List<ShapeMap> snapshots = new ArrayList<>();
+        List<Map<ShapeId, Shape>> expectedSnapshots = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            Shape shape = shapes[random.nextInt(shapes.length)];
+            if (random.nextInt(3) == 0) {
+                expected.remove(shape.getId());
+                editor.remove(shape.getId());
+            } else {
+                expected.put(shape.getId(), shape);
+                editor.put(shape.getId(), shape);
+            }
+            if (i % 1000 == 0) {
+                snapshots.add(editor.build());
+                expectedSnapshots.add(new HashMap<>(expected));
+            }
+        }
+
+        assertThat(editor.build(), equalTo(expected));
+        assertThat(editor.view(), equalTo(expected));
+        assertThat(editor.build().size(), equalTo(expected.size()));
+
+        // Later updates don't modify previously built maps.
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertThat(snapshots.get(i), equalTo(expectedSnapshots.get(i)));
+            assertThat(new ArrayList<>(snapshots.get(i).values()),
+                    containsInAnyOrder(expectedSnapshots.get(i).values().toArray()));
+        }
+    }
+
+    @Test
+    public void handlesHashCollisions() {
+        // "Aa" and "BB" have the same hash code, so these IDs have the same hash code too.
+        ShapeId a = ShapeId.from("smithy.example#Aa");
+        ShapeId b = ShapeId.from("smithy.example#BB");
+        Shape shapeA = StringShape.builder().id(a).build();
+        Shape shapeB = StringShape.builder().id(b).build();
+
+        ShapeMap.Editor editor = new ShapeMap.Editor();
+        editor.put(a, shapeA);
+        editor.put(b, shapeB);
+        ShapeMap both = editor.build();
+        editor.remove(a);
+        ShapeMap onlyB = editor.build();
+
+        assertThat(both.get(a), sameInstance(shapeA));
+        assertThat(both.get(b), sameInstance(shapeB));
+        assertThat(onlyB.get(a), nullValue());
+        assertThat(onlyB.get(b), sameInstance(shapeB));
+        assertThat(onlyB.size(), equalTo(1));
+    }
+
+    @Test
+    public void diffsOnlyChangedEntries() {
+        ShapeMap.Editor editor = new ShapeMap.Editor();
+        for (int i = 0; i < 1000; i++) {
+            Shape shape = shape(i);
+            editor.put(shape.getId(), shape);
+        }
+        ShapeMap previous = editor.build();
+
+        Shape added = shape(1000);
+        Shape replaced = StringShape.builder().id("smithy.example#Shape1").build();
+        Shape removed = previous.get(ShapeId.from("smithy.example#Shape2"));
+        ShapeMap.Editor updates = new ShapeMap.Editor(previous);
+        updates.put(added.getId(), added);
+        updates.put(replaced.getId(), replaced);
+        updates.remove(removed.getId());
+        // Putting the same value isn't a change.
+        updates.put(ShapeId.from("smithy.example#Shape3"), previous.get(ShapeId.from("smithy.example#Shape3")));
+        ShapeMap current = updates.build();
+
+        List<String> changes = new ArrayList<>();
+        ShapeMap.diff(previous, current, (before, after) -> changes.add(describe(before) + " -> " + describe(after)));
+
+        assertThat(changes, containsInAnyOrder(
+                "null -> smithy.example#Shape1000",
+                "smithy.example#Shape1 -> smithy.example#Shape1",
+                "smithy.example#Shape2 -> null"));
+
+        List<String> none = new ArrayList<>();
+        ShapeMap.diff(current, new ShapeMap.Editor(current).build(), (before, after) -> none.add(before + ""));
+        assertThat(none, empty());
+    }
+
+    private static String describe(Shape shape) {
+        return shape == null ? "null" : shape.getId().toString();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentStringTableTest {
+    @Test
+    public void cachesAndReturnsStringValues() {
+        ConcurrentStringTable table = new ConcurrentStringTable();
+
+        CharBuffer originalFoo = CharBuffer.wrap(new char[] {'f', 'o', 'o'});
+        String internedFoo = table.apply(originalFoo);
+
+        assertThat(internedFoo, equalTo("foo"));
+        assertThat(table.apply(originalFoo), sameInstance(internedFoo));
+        assertThat(table.apply("foo"), sameInstance(internedFoo));
+    }
+
+    @Test
+    public void overwritesPreviousValuesWhenFull() {
+        ConcurrentStringTable table = new ConcurrentStringTable(2); // A single bucket of 4 entries.
+        List<String> interned = IntStream.range(0, 4)
+                .mapToObj(i -> table.apply("foo" + i))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(table.apply("foo" + i), sameInstance(interned.get(i)));
+        }
+
+        // The table is now full, so one of the entries is overwritten.
+        String bar = table.apply("bar");
+        assertThat(table.apply("bar"), sameInstance(bar));
+        long retained = IntStream.range(0, 4).filter(i -> table.apply("foo" + i) == interned.get(i)).count();
+        assertThat(retained, equalTo(3L));
+    }
+
+    @Test
+    public void sharesValuesAcrossThreads() {
+        ConcurrentStringTable table = new ConcurrentStringTable();
+        List<String> values = IntStream.range(0, 10000)
+                .parallel()
+                .mapToObj(i -> table.apply(new StringBuilder("shape").append(i % 100)))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(values.get(i), equalTo("shape" + (i % 100)));
+        }
+
+        // Once populated, every thread sees the same instances.
+        String shape1 = table.apply("shape1");
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            assertThat(table.apply(new StringBuilder("shape1")), sameInstance(shape1));
+        });
+    }
+
+    @Test
+    public void doesNotCreateTooBigOfCache() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentStringTable(21));
+    }
+
+    @Test
+    public void doesNotCreateTooSmallOfCache() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentStringTable(1));
+    }
+}
@@ -10,11 +10,13 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -22,9 +24,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -38,12 +43,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.smithy.model.JarUtils;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
@@ -77,10 +88,12 @@ import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidatedResultException;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.ValidationEventDecorator;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
 import software.amazon.smithy.utils.IoUtils;
 import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SetUtils;
 
 public class ModelAssemblerTest {
 
@@ -500,6 +513,195 @@ public class ModelAssemblerTest {
         assertImportPathsWereLoaded(model);
     }
 
+    @Test
+    public void parallelLoadProducesSameModelAsSequentialLoad() throws Exception {
+        ModelAssembler assembler = new ModelAssembler()
+                .addImport(getClass().getResource("merges-1.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .addImport(Paths.get(getClass().getResource("forwardrefs").toURI()));
+        ValidatedResult<Model> sequential = assembler.copy().assemble();
+        ValidatedResult<Model> parallel = assembler.copy()
+                .putProperty(ModelAssembler.PARALLEL_LOAD, true)
+                .assemble();
+
+        assertImportPathsWereLoaded(parallel.unwrap());
+        assertThat(parallel.unwrap(), equalTo(sequential.unwrap()));
+        assertThat(ModelSerializer.builder().build().serialize(parallel.unwrap()),
+                equalTo(ModelSerializer.builder().build().serialize(sequential.unwrap())));
+        assertThat(parallel.getValidationEvents(), equalTo(sequential.getValidationEvents()));
+    }
+
+    @Test
+    public void parallelLoadEmitsEventsInFileOrder() throws Exception {
+        ModelAssembler assembler = new ModelAssembler()
+                .addImport(Paths.get(getClass().getResource("error-recovery").toURI()));
+        List<ValidationEvent> sequential = assembler.copy().assemble().getValidationEvents();
+        List<ValidationEvent> parallel = assembler.copy()
+                .putProperty(ModelAssembler.PARALLEL_LOAD, true)
+                .assemble()
+                .getValidationEvents();
+
+        assertThat(parallel, not(empty()));
+        assertThat(parallel, equalTo(sequential));
+    }
+
+    @Test
+    public void parsedModelCacheProducesSameModelAsParsing(@TempDir Path cacheDir) throws Exception {
+        ModelAssembler assembler = new ModelAssembler()
+                .addImport(getClass().getResource("merges-1.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()));
+        ValidatedResult<Model> parsed = assembler.copy().assemble();
+        List<String> missLog = new ArrayList<>();
+        ValidatedResult<Model> miss = captureParsedModelCacheLog(missLog, () -> assembler.copy()
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir)
+                .assemble());
+        List<String> hitLog = new ArrayList<>();
+        ValidatedResult<Model> hit = captureParsedModelCacheLog(hitLog, () -> assembler.copy()
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir.toString())
+                .assemble());
+
+        assertThat(countCacheLog(missLog, "Parsed model cache miss"), equalTo(5L));
+        assertThat(countCacheLog(hitLog, "Parsed model cache hit"), equalTo(5L));
+        assertThat(countCacheLog(hitLog, "Parsed model cache miss"), equalTo(0L));
+        assertImportPathsWereLoaded(hit.unwrap());
+        assertThat(miss.unwrap(), equalTo(parsed.unwrap()));
+        assertThat(hit.unwrap(), equalTo(parsed.unwrap()));
+        assertTrue(LoaderUtils.isSameModel(parsed.unwrap(), hit.unwrap()));
+        assertThat(ModelSerializer.builder().build().serialize(hit.unwrap()),
+                equalTo(ModelSerializer.builder().build().serialize(parsed.unwrap())));
+        assertThat(hit.getValidationEvents(), equalTo(parsed.getValidationEvents()));
+    }
+
+    @Test
+    public void parsedModelCacheIsNotWrittenForInvalidModels(@TempDir Path cacheDir) throws Exception {
+        ModelAssembler assembler = new ModelAssembler()
+                .addImport(Paths.get(getClass().getResource("error-recovery").toURI()))
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir);
+        List<ValidationEvent> events = assembler.assemble().getValidationEvents();
+
+        assertThat(events, not(empty()));
+        assertThat(Files.list(cacheDir).count(), equalTo(0L));
+    }
+
+    @Test
+    public void parsedModelCacheDoesNotCacheFilesThatDefineTheSameShapes(@TempDir Path cacheDir) throws Exception {
+        // Duplicate shape definitions emit events that are not recreated when loading a cache entry.
+        ModelAssembler assembler = new ModelAssembler()
+                .addUnparsedModel("a.smithy", "$version: \"2.0\"\nnamespace smithy.example\nstring A\n")
+                .addUnparsedModel("b.smithy", "$version: \"2.0\"\nnamespace smithy.example\nstring A\n")
+                .addUnparsedModel("c.smithy", "$version: \"2.0\"\nnamespace smithy.example\nstring C\n")
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir);
+        List<ValidationEvent> events = assembler.copy().assemble().getValidationEvents();
+        List<String> log = new ArrayList<>();
+        List<ValidationEvent> cachedEvents = captureParsedModelCacheLog(log, () -> assembler.copy().assemble())
+                .getValidationEvents();
+
+        assertThat(events, not(empty()));
+        assertThat(cachedEvents, equalTo(events));
+        assertThat(log, hasItem("Parsed model cache miss: a.smithy"));
+        assertThat(log, hasItem("Parsed model cache miss: b.smithy"));
+        assertThat(log, hasItem("Parsed model cache hit: c.smithy"));
+    }
+
+    @Test
+    public void parsedModelCacheReplacesEntriesWhenSourcesChange(@TempDir Path cacheDir, @TempDir Path modelDir)
+            throws Exception {
+        Path file = modelDir.resolve("model.smithy");
+        Files.write(file,
+                "$version: \"2.0\"\nnamespace smithy.example\nstring A\n".getBytes(StandardCharsets.UTF_8));
+        ModelAssembler assembler = new ModelAssembler()
+                .addImport(file)
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir);
+        assembler.copy().assemble().unwrap();
+        Files.write(file,
+                "$version: \"2.0\"\nnamespace smithy.example\nstring B\n".getBytes(StandardCharsets.UTF_8));
+        Model model = assembler.copy().assemble().unwrap();
+
+        assertTrue(model.getShape(ShapeId.from("smithy.example#B")).isPresent());
+        assertFalse(model.getShape(ShapeId.from("smithy.example#A")).isPresent());
+        assertThat(Files.list(cacheDir).count(), equalTo(1L));
+    }
+
+    @Test
+    public void parsedModelCacheReparsesFilesThatDependOnChangedFiles(@TempDir Path cacheDir, @TempDir Path modelDir)
+            throws Exception {
+        Path mixins = modelDir.resolve("mixins.smithy");
+        Path structures = modelDir.resolve("structures.smithy");
+        Path other = modelDir.resolve("other.smithy");
+        Files.write(mixins, ("$version: \"2.0\"\nnamespace smithy.example\n"
+                + "@mixin\nstructure Mixin {\n    foo: String\n}\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(structures, ("$version: \"2.0\"\nnamespace smithy.example\n"
+                + "structure Foo with [Mixin] {\n    @required\n    $foo\n}\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(other, ("$version: \"2.0\"\nnamespace smithy.example\n"
+                + "string Other\n").getBytes(StandardCharsets.UTF_8));
+        ModelAssembler assembler = new ModelAssembler()
+                .addImport(mixins)
+                .addImport(structures)
+                .addImport(other)
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir);
+        assembler.copy().assemble().unwrap();
+
+        Files.write(mixins, ("$version: \"2.0\"\nnamespace smithy.example\n"
+                + "@mixin\nstructure Mixin {\n    foo: Integer\n}\n").getBytes(StandardCharsets.UTF_8));
+        List<String> log = new ArrayList<>();
+        Model model = captureParsedModelCacheLog(log, () -> assembler.copy().assemble()).unwrap();
+
+        assertThat(log, hasItem("Parsed model cache miss: " + mixins));
+        assertThat(log, hasItem("Parsed model cache miss: " + structures));
+        assertThat(log, hasItem("Parsed model cache hit: " + other));
+        assertThat(model.expectShape(ShapeId.from("smithy.example#Foo$foo"), MemberShape.class).getTarget(),
+                equalTo(ShapeId.from("smithy.api#Integer")));
+    }
+
+    @Test
+    public void parsedModelCacheReparsesFilesWhoseReferencesResolveToNewShapes(@TempDir Path cacheDir)
+            throws Exception {
+        ModelAssembler assembler = new ModelAssembler()
+                .addUnparsedModel("a.smithy", "$version: \"2.0\"\nnamespace smithy.example\n"
+                        + "structure Foo {\n    bar: String\n}\n")
+                .putProperty(ModelAssembler.PARSED_MODEL_CACHE, cacheDir);
+        assembler.copy().assemble().unwrap();
+
+        // String now resolves to a shape in the namespace rather than to the prelude.
+        List<String> log = new ArrayList<>();
+        Model model = captureParsedModelCacheLog(log, () -> assembler.copy()
+                .addUnparsedModel("b.smithy", "$version: \"2.0\"\nnamespace smithy.example\nstring String\n")
+                .assemble()).unwrap();
+
+        assertThat(log, hasItem("Parsed model cache miss: a.smithy"));
+        assertThat(model.expectShape(ShapeId.from("smithy.example#Foo$bar"), MemberShape.class).getTarget(),
+                equalTo(ShapeId.from("smithy.example#String")));
+    }
+
+    private static <T> T captureParsedModelCacheLog(List<String> messages, Supplier<T> action) {
+        Logger logger = Logger.getLogger(ParsedModelCache.class.getName());
+        Level level = logger.getLevel();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        logger.setLevel(Level.FINE);
+        logger.addHandler(handler);
+        try {
+            return action.get();
+        } finally {
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+    }
+
+    private static long countCacheLog(List<String> messages, String prefix) {
+        return messages.stream().filter(message -> message.startsWith(prefix)).count();
+    }
+
     private void assertImportPathsWereLoaded(Model model) {
         assertTrue(model.getShape(ShapeId.from("example.namespace#String"))
                 .flatMap(shape -> shape.getTrait(DocumentationTrait.class))
@@ -1512,4 +1714,290 @@ public class ModelAssemblerTest {
 
         assertThat(fileContents, containsString("string ExampleString"));
     }
+
+    @Test
+    public void incrementallyValidatesChangedShapes() {
+        String unchanged = "$version: \"2.0\"\n"
+                + "namespace smithy.example\n"
+                + "structure Struct {\n"
+                + "    @length(min: 5, max: 1)\n"
+                + "    member: String\n"
+                + "}\n"
+                + "@range(min: 5, max: 1)\n"
+                + "integer Range\n";
+        ModelAssembler base = Model.assembler().addUnparsedModel("unchanged.smithy", unchanged);
+        ValidatedResult<Model> previous = base.copy()
+                .addUnparsedModel("changed.smithy",
+                        "$version: \"2.0\"\nnamespace smithy.example\n@length(min: 5, max: 1)\nstring Length\n")
+                .assemble();
+        ModelAssembler next = base.copy()
+                .addUnparsedModel("changed.smithy",
+                        "$version: \"2.0\"\nnamespace smithy.example\n@length(min: 1, max: 5)\nstring Length\n");
+        ValidatedResult<Model> full = next.copy().assemble();
+        ValidatedResult<Model> incremental = next.copy()
+                .previousResult(previous, SetUtils.of(ShapeId.from("smithy.example#Length")))
+                .assemble();
+
+        assertThat(previous.getValidationEvents(Severity.ERROR), hasSize(3));
+        assertThat(incremental.getValidationEvents(Severity.ERROR), hasSize(2));
+        assertThat(incremental.getValidationEvents(), containsInAnyOrder(full.getValidationEvents().toArray()));
+    }
+
+    @Test
+    public void incrementallyValidatesShapesThatMoved() {
+        String model = "$version: \"2.0\"\nnamespace smithy.example\n@range(min: 5, max: 1)\ninteger Range\n";
+        ValidatedResult<Model> previous = Model.assembler().addUnparsedModel("a.smithy", model).assemble();
+        ModelAssembler next = Model.assembler()
+                .addUnparsedModel("a.smithy", model.replace("@range", "// Comment\n\n@range"));
+        ValidatedResult<Model> full = next.copy().assemble();
+        ValidatedResult<Model> incremental = next.copy()
+                .previousResult(previous, Collections.emptySet())
+                .assemble();
+
+        List<ValidationEvent> events = incremental.getValidationEvents(Severity.ERROR);
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getSourceLocation().getLine(), equalTo(5));
+        assertThat(incremental.getValidationEvents(), containsInAnyOrder(full.getValidationEvents().toArray()));
+    }
+
+    @Test
+    public void validatesEntireModelWhenPreviousModelWasNotValidated() {
+        String model = "$version: \"2.0\"\nnamespace smithy.example\n@length(min: 5, max: 1)\nstring Length\n";
+        ValidatedResult<Model> previous = Model.assembler()
+                .addUnparsedModel("a.smithy", model)
+                .disableValidation()
+                .assemble();
+        ValidatedResult<Model> result = Model.assembler()
+                .addUnparsedModel("a.smithy", model)
+                .previousResult(previous, Collections.emptySet())
+                .assemble();
+
+        assertThat(result.getValidationEvents(Severity.ERROR), hasSize(1));
+    }
+
+    @Test
+    public void streamsJsonShapesDefinedBeforeVersion() {
+        String contents = "{\"shapes\": {"
+                + "\"smithy.example#Foo\": {\"type\": \"structure\", \"members\": {"
+                + "\"bar\": {\"target\": \"smithy.api#String\", \"traits\": {\"smithy.api#required\": {}}}}},"
+                + "\"smithy.example#Baz\": {\"type\": \"string\"}},"
+                + "\"metadata\": {\"foo\": \"bar\"},"
+                + "\"smithy\": \"2.0\"}";
+        Model streamed = Model.assembler().addUnparsedModel("test.json", contents).assemble().unwrap();
+        Model parsed = Model.assembler().addDocumentNode(Node.parse(contents, "test.json")).assemble().unwrap();
+
+        assertThat(streamed.getShape(ShapeId.from("smithy.example#Foo$bar")).isPresent(), is(true));
+        assertThat(streamed.getShape(ShapeId.from("smithy.example#Baz")).isPresent(), is(true));
+        assertThat(streamed.getMetadataProperty("foo"), equalTo(Optional.of(Node.from("bar"))));
+        assertThat(streamed, equalTo(parsed));
+    }
+
+    @Test
+    public void ignoresStreamedJsonWithoutVersion() {
+        String contents = "{\"shapes\": {\"smithy.example#Baz\": {\"type\": \"string\"}}}";
+        Model model = Model.assembler().addUnparsedModel("test.json", contents).assemble().unwrap();
+
+        assertThat(model.getShape(ShapeId.from("smithy.example#Baz")).isPresent(), is(false));
+    }
+
+    @Test
+    public void sharesStringTablesAcrossAssemblers() {
+        ConcurrentStringTable table = new ConcurrentStringTable();
+        String model = "$version: \"2.0\"\nnamespace smithy.example\nstructure Foo { someMemberName: String }\n";
+        Model a = Model.assembler().stringTable(table).addUnparsedModel("a.smithy", model).assemble().unwrap();
+        Model b = Model.assembler().stringTable(table).addUnparsedModel("b.smithy", model).assemble().unwrap();
+        Model c = Model.assembler().addUnparsedModel("c.smithy", model).assemble().unwrap();
+        ShapeId member = ShapeId.from("smithy.example#Foo$someMemberName");
+
+        assertThat(a.expectShape(member).asMemberShape().get().getMemberName(),
+                sameInstance(b.expectShape(member).asMemberShape().get().getMemberName()));
+        assertThat(a.expectShape(member).asMemberShape().get().getMemberName(),
+                not(sameInstance(c.expectShape(member).asMemberShape().get().getMemberName())));
+    }
+
+    @Test
+    public void loadsModelSnapshots() {
+        ValidatedResult<Model> original = Model.assembler()
+                .addImport(getClass().getResource("model-snapshot.smithy"))
+                .assemble();
+        Path snapshot = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(original, snapshot);
+        ValidatedResult<Model> loaded = Model.assembler().addImport(snapshot).assemble();
+
+        assertThat(original.getValidationEvents(Severity.WARNING), not(empty()));
+        assertThat(loaded.getValidationEvents(), equalTo(original.getValidationEvents()));
+        assertThat(loaded.unwrap().getMetadata(), equalTo(original.unwrap().getMetadata()));
+        assertTrue(LoaderUtils.isSameModel(original.unwrap(), loaded.unwrap()));
+    }
+
+    @Test
+    public void decodesSnapshotShapesOnDemand() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("model-snapshot.smithy"))
+                .assemble()
+                .unwrap();
+        Path path = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(new ValidatedResult<>(model, Collections.emptyList()), path);
+        ModelSnapshot snapshot = ModelSnapshot.open(path);
+        ShapeId member = ShapeId.from("smithy.example#GetThingInput$token");
+
+        assertThat(snapshot.getShape(member), equalTo(model.getShape(member)));
+        assertThat(snapshot.getShape(ShapeId.from("smithy.example#Missing")), equalTo(Optional.empty()));
+        assertThat(snapshot.getShapeIds(), hasSize((int) model.shapes().filter(s -> !s.isMemberShape()).count()));
+        assertThat(snapshot.getEvents(), empty());
+    }
+
+    @Test
+    public void mergesModelSnapshotsWithOtherSources() {
+        ValidatedResult<Model> original = Model.assembler()
+                .addImport(getClass().getResource("model-snapshot.smithy"))
+                .assemble();
+        Path snapshot = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(original, snapshot);
+        Model model = Model.assembler()
+                .addImport(snapshot)
+                .addUnparsedModel("other.smithy",
+                        "$version: \"2.0\"\nnamespace other\nlist Names { member: smithy.example#Name }\n")
+                .assemble()
+                .unwrap();
+        ShapeId service = ShapeId.from("smithy.example#Example");
+
+        assertThat(model.getShape(ShapeId.from("other#Names")).isPresent(), is(true));
+        assertThat(model.getShape(service), equalTo(original.unwrap().getShape(service)));
+        assertThat(model.getMetadata(), equalTo(original.unwrap().getMetadata()));
+    }
+
+    @Test
+    public void rejectsSnapshotsWrittenByOtherVersionsOfSmithy() throws IOException {
+        Path path = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(new ValidatedResult<>(Model.builder().build(), Collections.emptyList()), path);
+
+        // The version is the first string in the string table, which starts right after the header.
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[ByteBuffer.wrap(bytes).getInt(8 * Integer.BYTES)] = 'x';
+        Files.write(path, bytes);
+
+        ModelImportException e = Assertions.assertThrows(ModelImportException.class, () -> ModelSnapshot.open(path));
+        assertThat(e.getMessage(), containsString("written by Smithy x"));
+    }
+
+    @Test
+    public void doesNotWriteSnapshotsOfInvalidModels() {
+        ValidatedResult<Model> result = Model.assembler()
+                .addUnparsedModel("a.smithy", "$version: \"2.0\"\nnamespace a\n@length(min: 5, max: 1)\nstring A\n")
+                .assemble();
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ModelSnapshot.write(result, outputDirectory.resolve("a" + ModelSnapshot.EXTENSION)));
+    }
+
+    @Test
+    public void validatesSnapshotsWrittenWithoutThePrelude() {
+        ModelAssembler assembler = Model.assembler()
+                .disablePrelude()
+                .addUnparsedModel("a.smithy", "$version: \"2.0\"\nnamespace a\nstring A\n");
+        Path path = outputDirectory.resolve("a" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(assembler.assemble(), path, assembler);
+        ShapeId preludeShape = ShapeId.from("smithy.api#String");
+
+        assertThat(Model.assembler().disablePrelude().addImport(path).assemble().unwrap().getShape(preludeShape),
+                equalTo(Optional.empty()));
+        assertThat(Model.assembler().addImport(path).assemble().unwrap().getShape(preludeShape).isPresent(),
+                is(true));
+    }
+
+    @Test
+    public void validatesSnapshotsWrittenWithOtherSettings() {
+        ModelAssembler assembler = Model.assembler()
+                .putProperty(ModelAssembler.ALLOW_UNKNOWN_TRAITS, true)
+                .addUnparsedModel("a.smithy", "$version: \"2.0\"\nnamespace a\n@unknown\nstring A\n");
+        ValidatedResult<Model> original = assembler.assemble();
+        Path path = outputDirectory.resolve("a" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(original, path, assembler);
+        ValidatedResult<Model> replayed = Model.assembler()
+                .putProperty(ModelAssembler.ALLOW_UNKNOWN_TRAITS, true)
+                .addImport(path)
+                .assemble();
+        ValidatedResult<Model> validated = Model.assembler().addImport(path).assemble();
+
+        // Events recorded by the loader are only replayed when the snapshot isn't validated again.
+        assertThat(original.getValidationEvents(), hasSize(1));
+        assertThat(replayed.getValidationEvents(), equalTo(original.getValidationEvents()));
+        assertThat(validated.getValidationEvents(), empty());
+    }
+
+    @Test
+    public void validatesSnapshotsWrittenWithOtherValidators() {
+        ValidatedResult<Model> original = Model.assembler()
+                .addImport(getClass().getResource("model-snapshot.smithy"))
+                .assemble();
+        Path path = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(original, path);
+        ValidatorFactory defaultFactory = ModelValidator.defaultValidationFactory();
+        List<Validator> validators = new ArrayList<>(defaultFactory.loadBuiltinValidators());
+        validators.add(model -> ListUtils.of(ValidationEvent.builder()
+                .id("Extra")
+                .severity(Severity.NOTE)
+                .message("Validated again")
+                .build()));
+        ValidatorFactory factory = new ValidatorFactory() {
+            @Override
+            public List<Validator> loadBuiltinValidators() {
+                return validators;
+            }
+
+            @Override
+            public Optional<Validator> createValidator(String name, ObjectNode configuration) {
+                return defaultFactory.createValidator(name, configuration);
+            }
+        };
+        ValidatedResult<Model> loaded = Model.assembler().validatorFactory(factory).addImport(path).assemble();
+
+        assertThat(loaded.getValidationEvents().stream().map(ValidationEvent::getId).collect(Collectors.toList()),
+                hasItem("Extra"));
+    }
+
+    @Test
+    public void decoratesEventsOfSnapshots() {
+        ValidatedResult<Model> original = Model.assembler()
+                .addImport(getClass().getResource("model-snapshot.smithy"))
+                .assemble();
+        Path path = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        ModelSnapshot.write(original, path);
+        List<ValidationEvent> emitted = new ArrayList<>();
+        ValidatedResult<Model> loaded = Model.assembler()
+                .validatorFactory(ValidationEventDecoratorTest.testFactory(new ValidationEventDecorator() {
+                    @Override
+                    public boolean canDecorate(ValidationEvent ev) {
+                        return true;
+                    }
+
+                    @Override
+                    public ValidationEvent decorate(ValidationEvent ev) {
+                        return ev.toBuilder().hint("decorated").build();
+                    }
+                }))
+                .validationEventListener(emitted::add)
+                .addImport(path)
+                .assemble();
+
+        assertThat(loaded.getValidationEvents(), hasSize(original.getValidationEvents().size()));
+        assertThat(loaded.getValidationEvents(), equalTo(emitted));
+        for (ValidationEvent event : loaded.getValidationEvents()) {
+            assertThat(event.getHint(), equalTo(Optional.of("decorated")));
+        }
+    }
+
+    @Test
+    public void removesTemporaryFileWhenSnapshotCannotBeWritten() throws IOException {
+        // A non-empty directory can't be replaced by the snapshot.
+        Path path = outputDirectory.resolve("model" + ModelSnapshot.EXTENSION);
+        Files.createDirectories(path.resolve("child"));
+        ValidatedResult<Model> result = new ValidatedResult<>(Model.builder().build(), Collections.emptyList());
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> ModelSnapshot.write(result, path));
+        try (Stream<Path> files = Files.list(outputDirectory)) {
+            assertThat(files.collect(Collectors.toList()), contains(path));
+        }
+    }
 }
@@ -6,10 +6,16 @@ package software.amazon.smithy.model.loader;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.emptyCollectionOf;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
@@ -85,4 +91,27 @@ public class PreludeTest {
         assertThat(model.expectShape(ShapeId.from("smithy.api#Double")).hasTrait(BoxTrait.ID), is(true));
         assertThat(model.expectShape(ShapeId.from("smithy.api#PrimitiveBoolean")).hasTrait(BoxTrait.ID), is(false));
     }
+
+    @Test
+    public void preludeSnapshotReproducesParsedPrelude() throws IOException {
+        Model parsed = Prelude.parsePrelude();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            PreludeSnapshot.write(parsed, Prelude.getPreludeFilename(), out);
+        }
+        Model snapshot = PreludeSnapshot.read(new ByteArrayInputStream(bytes.toByteArray()),
+                Prelude.getPreludeFilename(),
+                Prelude.getTraitFactory());
+
+        assertThat(snapshot, equalTo(parsed));
+        assertTrue(LoaderUtils.isSameModel(parsed, snapshot));
+    }
+
+    @Test
+    public void loadsPreludeFromSnapshot() {
+        Model snapshot = PreludeSnapshot.load();
+
+        assertThat(snapshot, notNullValue());
+        assertTrue(LoaderUtils.isSameModel(Prelude.parsePrelude(), snapshot));
+    }
 }
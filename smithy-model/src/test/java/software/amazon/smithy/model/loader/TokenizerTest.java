@@ -8,7 +8,18 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -269,4 +280,85 @@ public class TokenizerTest {
         assertThat(tokenizer.getCurrentTokenLexeme().toString(), equalTo("\"\""));
         assertThat(tokenizer.getCurrentTokenSpan(), is(2));
     }
+
+    @Test
+    public void tokenizesUtf8BytesLikeChars() {
+        String[] models = {
+            "$version: \"2.0\"\nnamespace smithy.example\n\n/// Docs\nstring Foo // comment\n",
+            "metadata foo = \"caf\u00e9 \u2603 \ud83d\ude00\"\nmetadata bar = \"\\u00e9\\n\"\n",
+            "/// D\u00f6cs \ud83d\ude00\r\n// \u2603\r\n\r\nstring A\r\n",
+            "metadata a = [-1, 0, 1.5, 2e10, 1E-3, 99999999999999999999, 1.0e400]\n",
+            "metadata a = \"\"\"\n    caf\u00e9\n      \\\"\n    \"\"\"\n",
+            "metadata a = -\nmetadata b = 1.\nmetadata c = 1e\n",
+            "__ ___a _1 a_b \u00e9 \u2603 % / :=:\n",
+            "metadata a = \"\u00e9\\q\"\nmetadata b = \"\u00e9",
+            "metadata a = \"\"\"\u00e9\"\"\"\n",
+            "metadata a = \"\"\"\n\u00e9"
+        };
+
+        for (String model : models) {
+            assertTokenizesUtf8BytesLikeChars(model);
+        }
+    }
+
+    @Test
+    public void tokenizesUtf8BytesOfModelsLikeChars() throws IOException, URISyntaxException {
+        Path root = Paths.get(getClass().getResource("valid").toURI()).getParent();
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(path -> path.toString().endsWith(".smithy")).collect(Collectors.toList());
+        }
+
+        for (Path file : files) {
+            assertTokenizesUtf8BytesLikeChars(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void tokenizesRangeOfUtf8ByteBuffers() {
+        byte[] bytes = "xxstring Foo\u00e9xx".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        direct.position(2).limit(bytes.length - 2);
+        List<String> expected = tokenize(IdlTokenizer.create("string Foo\u00e9"));
+
+        assertThat(tokenize(IdlTokenizer.create("a.smithy", heap)), equalTo(expected));
+        assertThat(tokenize(IdlTokenizer.create("a.smithy", direct)), equalTo(expected));
+        assertThat(heap.position(), is(0));
+        assertThat(direct.position(), is(2));
+    }
+
+    private static void assertTokenizesUtf8BytesLikeChars(String model) {
+        ByteBuffer bytes = ByteBuffer.wrap(model.getBytes(StandardCharsets.UTF_8));
+        List<String> expected = tokenize(IdlTokenizer.create(model));
+        List<String> actual = tokenize(IdlTokenizer.create("a.smithy", bytes));
+
+        assertThat(model, actual, equalTo(expected));
+    }
+
+    // Positions are byte offsets when tokenizing bytes, so tokens are compared by lexeme, location, and value.
+    private static List<String> tokenize(IdlTokenizer tokenizer) {
+        List<String> result = new ArrayList<>();
+        while (tokenizer.hasNext()) {
+            IdlToken token = tokenizer.next();
+            StringBuilder builder = new StringBuilder()
+                    .append(token)
+                    .append(' ')
+                    .append(tokenizer.getCurrentTokenLine())
+                    .append(':')
+                    .append(tokenizer.getCurrentTokenColumn())
+                    .append(' ')
+                    .append(tokenizer.getCurrentTokenLexeme());
+            if (token == IdlToken.IDENTIFIER || token == IdlToken.STRING || token == IdlToken.TEXT_BLOCK) {
+                builder.append(" = ").append(tokenizer.getCurrentTokenStringSlice());
+            } else if (token == IdlToken.NUMBER) {
+                builder.append(" = ").append(tokenizer.getCurrentTokenNumberValue());
+            } else if (token == IdlToken.ERROR) {
+                builder.append(" = ").append(tokenizer.getCurrentTokenError());
+            }
+            result.add(builder.toString());
+        }
+        result.add("end " + tokenizer.getLine() + ':' + tokenizer.getColumn());
+        return result;
+    }
 }
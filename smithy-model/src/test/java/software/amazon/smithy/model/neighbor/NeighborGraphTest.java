@@ -0,0 +1,135 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.neighbor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+public class NeighborGraphTest {
+
+    private static Model createModel() {
+        return Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "service Service { version: \"1\", operations: [GetFoo], resources: [Foo] }\n"
+                                + "resource Foo { operations: [PutFoo] }\n"
+                                + "operation PutFoo {}\n"
+                                + "operation GetFoo { input: GetFooInput }\n"
+                                + "structure GetFooInput { a: StringList, b: StringList }\n"
+                                + "list StringList { member: String }\n"
+                                + "string Unconnected\n")
+                .assemble()
+                .unwrap();
+    }
+
+    @Test
+    public void returnsSameNeighborsAsProvider() {
+        Model model = createModel();
+        NeighborProvider provider = NeighborProvider.of(model);
+        NeighborGraph graph = NeighborGraph.of(model, provider);
+
+        for (Shape shape : model.toSet()) {
+            assertThat(graph.getNeighbors(shape), equalTo(provider.getNeighbors(shape)));
+        }
+    }
+
+    @Test
+    public void includesInvalidRelationships() {
+        MemberShape member = MemberShape.builder()
+                .id("smithy.example#List$member")
+                .target("smithy.example#Missing")
+                .build();
+        ListShape list = ListShape.builder().id("smithy.example#List").member(member).build();
+        Model model = Model.builder().addShapes(list, member).build();
+        NeighborGraph graph = NeighborGraph.of(model);
+
+        assertThat(graph.getNeighbors(member), equalTo(NeighborProvider.of(model).getNeighbors(member)));
+        assertThat(graph.walk(graph.getOrdinal(member.getId())).cardinality(), equalTo(2));
+    }
+
+    @Test
+    public void reversesRelationships() {
+        Model model = createModel();
+        NeighborProvider reverse = NeighborProvider.reverse(model);
+        NeighborGraph graph = NeighborGraph.of(model).reverse();
+
+        for (Shape shape : model.toSet()) {
+            assertThat(new HashSet<>(graph.getNeighbors(shape)), equalTo(new HashSet<>(reverse.getNeighbors(shape))));
+        }
+    }
+
+    @Test
+    public void walksShapesInWalkerOrder() {
+        Model model = createModel();
+        NeighborGraph graph = NeighborGraph.of(model);
+        Walker walker = new Walker(model);
+
+        for (Shape shape : model.toSet()) {
+            List<ShapeId> walked = new ArrayList<>();
+            graph.walk(graph.getOrdinal(shape.getId()), type -> true, new BitSet(), ordinal -> {
+                walked.add(graph.getShape(ordinal).getId());
+            });
+
+            assertThat(walked, contains(walker.walkShapeIds(shape).toArray()));
+        }
+    }
+
+    @Test
+    public void walksOnlyGivenRelationshipTypes() {
+        Model model = createModel();
+        NeighborGraph graph = NeighborGraph.of(model);
+        BitSet result = graph.walk(graph.getOrdinal(ShapeId.from("smithy.example#Service")),
+                RelationshipType::isOperationBinding);
+        List<ShapeId> ids = new ArrayList<>();
+        result.stream().forEach(ordinal -> ids.add(graph.getShape(ordinal).getId()));
+
+        assertThat(ids,
+                containsInAnyOrder(
+                        ShapeId.from("smithy.example#Service"),
+                        ShapeId.from("smithy.example#GetFoo")));
+    }
+
+    @Test
+    public void skipsAlreadyVisitedShapes() {
+        Model model = createModel();
+        NeighborGraph graph = NeighborGraph.of(model);
+        BitSet visited = graph.walk(graph.getOrdinal(ShapeId.from("smithy.example#StringList")));
+        List<ShapeId> walked = new ArrayList<>();
+        graph.walk(graph.getOrdinal(ShapeId.from("smithy.example#GetFooInput")), type -> true, visited, ordinal -> {
+            walked.add(graph.getShape(ordinal).getId());
+        });
+
+        assertThat(walked,
+                contains(
+                        ShapeId.from("smithy.example#GetFooInput"),
+                        ShapeId.from("smithy.example#GetFooInput$a"),
+                        ShapeId.from("smithy.example#GetFooInput$b")));
+    }
+
+    @Test
+    public void returnsNoNeighborsForShapesNotInGraph() {
+        NeighborGraph graph = NeighborGraph.of(createModel());
+        StructureShape shape = StructureShape.builder().id("smithy.example#GetFooInput").build();
+
+        assertThat(graph.getNeighbors(shape), empty());
+        assertThat(graph.getOrdinal(ShapeId.from("smithy.example#Nope")), equalTo(-1));
+    }
+}
@@ -1666,4 +1666,38 @@ public class NodeMapperTest {
             this.bytes = bytes;
         }
     }
+
+    @Test
+    public void roundTripsPrivateClassesWithPrimitiveMembers() {
+        NodeMapper mapper = new NodeMapper();
+        Node input = Node.objectNode().withMember("count", 3).withMember("enabled", true);
+        PrivateBean result = mapper.deserialize(input, PrivateBean.class);
+
+        assertThat(result.getCount(), equalTo(3));
+        assertThat(result.isEnabled(), is(true));
+        assertThat(mapper.serialize(result), equalTo(input));
+    }
+
+    private static final class PrivateBean {
+        private int count;
+        private boolean enabled;
+
+        private PrivateBean() {}
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
 }
@@ -499,4 +499,49 @@ public class ObjectNodeTest {
             return mapper;
         }
     }
+
+    @Test
+    public void smallAndLargeObjectsBehaveTheSame() {
+        ObjectNode.Builder smallBuilder = Node.objectNodeBuilder();
+        ObjectNode.Builder largeBuilder = Node.objectNodeBuilder();
+        for (int i = 0; i < 20; i++) {
+            if (i < 3) {
+                smallBuilder.withMember("m" + i, i);
+            }
+            largeBuilder.withMember("m" + i, i);
+        }
+        ObjectNode small = smallBuilder.build();
+        ObjectNode large = largeBuilder.build();
+        ObjectNode trimmed = large.getMembers()
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().expectNumberNode().getValue().intValue() < 3)
+                .collect(ObjectNode.collect(Map.Entry::getKey, Map.Entry::getValue));
+
+        assertThat(small, equalTo(trimmed));
+        assertThat(small.hashCode(), equalTo(trimmed.hashCode()));
+        assertThat(small.getMembers(), equalTo(trimmed.getMembers()));
+        assertThat(small.getStringMap(), equalTo(trimmed.getStringMap()));
+        assertThat(small.getStringMap().keySet(), contains("m0", "m1", "m2"));
+        assertThat(small.getMember("m2"), equalTo(Optional.of(Node.from(2))));
+        assertThat(small.getMember("m3"), equalTo(Optional.empty()));
+        assertTrue(small.getMembers().containsKey(Node.from("m1")));
+        assertFalse(small.getStringMap().containsKey("m4"));
+        assertThat(large.getMember("m19"), equalTo(Optional.of(Node.from(19))));
+        assertThat(large.withoutMember("m19").withoutMember("m18").size(), equalTo(18));
+        assertThat(small.merge(large), equalTo(large));
+    }
+
+    @Test
+    public void membersOfSmallObjectsAreUnmodifiable() {
+        ObjectNode node = Node.objectNodeBuilder().withMember("foo", "bar").build();
+
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> node.getMembers().put(Node.from("baz"), Node.from("qux")));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> node.getStringMap().remove("foo"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> node.getMembers().entrySet().iterator().next().setValue(Node.nullNode()));
+    }
+
 }
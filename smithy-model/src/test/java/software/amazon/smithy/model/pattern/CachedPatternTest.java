@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CachedPatternTest {
+
+    @Test
+    public void sharesInstancesOfTheSamePattern() {
+        assertThat(CachedPattern.of("^[a-z]+$"), sameInstance(CachedPattern.of("^[a-z]+$")));
+        assertThat(CachedPattern.of("^foo").getPattern(), sameInstance(CachedPattern.of("^foo").getPattern()));
+    }
+
+    @Test
+    public void throwsForInvalidPatterns() {
+        Assertions.assertThrows(PatternSyntaxException.class, () -> CachedPattern.of("[a-z"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    public void findsLikeRegularExpressions(String regex, String input, boolean expected) {
+        CachedPattern pattern = CachedPattern.of(regex);
+
+        assertThat(pattern.find(input), equalTo(expected));
+        assertThat(Pattern.compile(regex).matcher(input).find(), equalTo(expected));
+    }
+
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+                {"", "", true},
+                {"foo", "xfoox", true},
+                {"foo", "fo", false},
+                {"^foo", "foobar", true},
+                {"^foo", "xfoo", false},
+                {"foo$", "xfoo", true},
+                {"foo$", "foox", false},
+                {"foo$", "foo\n", true},
+                {"foo$", "foo\r\n", true},
+                {"foo$", "foo\n\n", false},
+                {"^foo$", "foo", true},
+                {"^foo$", "foo\n", true},
+                {"^foo$", "xfoo", false},
+                {"^$", "", true},
+                {"\\.json$", "model.json", true},
+                {"\\.json$", "modeljson", false},
+                {"a\\$", "a$b", true},
+                {"a\\\\$", "a\\", true},
+                {"^[a-z]+$", "abc", true},
+                {"^[a-z]+$", "ABC", false},
+                {"\\d", "a1", true},
+        });
+    }
+}
@@ -5,10 +5,15 @@
 package software.amazon.smithy.model.selector;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 
+import java.util.Arrays;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeType;
 
 public class AndSelectorTest {
@@ -26,4 +31,34 @@ public class AndSelectorTest {
 
         assertThat(selector, is(shapeTypeSelector));
     }
+
+    @Test
+    public void compilesConsecutiveFilters() {
+        InternalSelector selector = AndSelector.of(Arrays.asList(
+                new ShapeTypeSelector(ShapeType.STRUCTURE),
+                AttributeSelector.existence(Arrays.asList("trait", "error"))));
+
+        assertThat(selector, instanceOf(AndSelector.FilterSequence.class));
+    }
+
+    @Test
+    public void usesSmallestStartingShapesOfFilters() {
+        Model model = Model.assembler()
+                .addUnparsedModel("test.smithy",
+                        "$version: \"2.0\"\n"
+                                + "namespace smithy.example\n"
+                                + "structure A {}\n"
+                                + "structure B {}\n"
+                                + "@error(\"client\")\n"
+                                + "structure C {}\n")
+                .assemble()
+                .unwrap();
+        InternalSelector selector = AndSelector.of(Arrays.asList(
+                new ShapeTypeSelector(ShapeType.STRUCTURE),
+                AttributeSelector.existence(Arrays.asList("trait", "error"))));
+
+        assertThat(selector.getStartingShapes(model), contains(model.expectShape(ShapeId.from("smithy.example#C"))));
+        assertThat(Selector.parse("structure [trait|error]").select(model),
+                contains(model.expectShape(ShapeId.from("smithy.example#C"))));
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+public class SelectorBatchTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(SelectorBatchTest.class.getResource("http-model.smithy"))
+                .addImport(SelectorBatchTest.class.getResource("resource.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    private static List<Selector> selectors() {
+        return Arrays.asList(
+                Selector.parse("*"),
+                Selector.parse("operation [trait|http]"),
+                Selector.parse("[trait|required]"),
+                Selector.parse("member [trait|required] :not([trait|default])"),
+                Selector.parse("member > string"),
+                Selector.parse(":is(structure, union) > member > [trait|required]"),
+                Selector.parse("service $operations(~> operation) :test(${operations}[trait|http]) ${operations}"),
+                Selector.parse("operation :not(:in(service ~> operation))"),
+                Selector.parse("$shape(*) -[input, output]-> structure [@: @{id|name} = @{var|shape|id|name}]"),
+                Selector.parse("structure :not([trait|error]) <-[input]- operation"));
+    }
+
+    @Test
+    public void matchesTheSameShapesAsEachSelector() {
+        List<Selector> selectors = selectors();
+        Map<Selector, Set<Shape>> batch = SelectorBatch.of(selectors).select(model);
+
+        // Evaluate each selector against a copy of the model so that the matches recorded by the batch aren't reused.
+        Model copy = Model.builder().addShapes(model).build();
+        assertThat(new ArrayList<>(batch.keySet()), equalTo(selectors));
+        for (Selector selector : selectors) {
+            Set<Shape> expected = selector.select(copy);
+            assertThat(selector.toString(), batch.get(selector), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void capturesVariablesOfEachMatch() {
+        Selector selector = Selector.parse("service $operations(~> operation) ${operations} [trait|http]");
+        Model copy = Model.builder().addShapes(model).build();
+        List<Selector.ShapeMatch> expected = new ArrayList<>();
+        selector.consumeMatches(copy, expected::add);
+
+        List<Selector.ShapeMatch> matches = SelectorBatch.of(Collections.singletonList(selector))
+                .matches(model)
+                .get(selector);
+
+        assertThat(matches, containsInAnyOrder(expected.toArray()));
+    }
+
+    @Test
+    public void evaluatingSelectorsAfterBatchReusesRecordedMatches() {
+        Model copy = Model.builder().addShapes(model).build();
+        Selector selector = Selector.parse("member > string");
+        Set<Shape> matches = SelectorBatch.of(Collections.singletonList(selector)).select(copy).get(selector);
+        SelectorResults.Result recorded = SelectorResults.of(copy).get(selector);
+        Selector equal = Selector.parse("member > string");
+
+        assertThat(SelectorResults.of(copy).get(equal), sameInstance(recorded));
+        assertThat(equal.select(copy), equalTo(matches));
+        assertThat(equal.shapes(copy).count(), equalTo((long) recorded.shapes().size()));
+    }
+
+    @Test
+    public void sharesResultsOfEqualAttributeAndRecursiveNeighborSelectors() {
+        SelectorMemo memo = new SelectorMemo();
+        Shape shape = model.toSet().iterator().next();
+        AtomicInteger calls = new AtomicInteger();
+
+        InternalSelector a = new AttributeSelector(
+                Arrays.asList("id", "name"), Arrays.asList("Foo"), AttributeComparator.EQUALS, false);
+        InternalSelector b = new AttributeSelector(
+                Arrays.asList("id", "name"), Arrays.asList("Foo"), AttributeComparator.EQUALS, false);
+        memo.test(a, shape, s -> calls.incrementAndGet() > 0);
+        memo.test(b, shape, s -> calls.incrementAndGet() > 0);
+        assertThat(calls.get(), equalTo(1));
+
+        memo.neighbors(new RecursiveNeighborSelector(), shape, s -> {
+            calls.incrementAndGet();
+            return Collections.emptyList();
+        });
+        memo.neighbors(new RecursiveNeighborSelector(), shape, s -> {
+            calls.incrementAndGet();
+            return Collections.emptyList();
+        });
+        assertThat(calls.get(), equalTo(2));
+    }
+}
@@ -14,6 +14,7 @@ import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -70,6 +71,7 @@ public class ModelSerializerTest {
         ObjectNode expected = Node.parse(IoUtils.readUtf8File(expectedV2Path)).expectObjectNode();
 
         Node.assertEquals(actual, expected);
+        assertThat(serializeToString(serializer, model), equalTo(Node.prettyPrintJson(actual)));
     }
 
     private void testV1DowngradeSerialization(Path path, Path expectedV1Path) {
@@ -79,6 +81,13 @@ public class ModelSerializerTest {
         ObjectNode model1 = serializer1.serialize(model);
 
         Node.assertEquals(model1, expectedDowngrade);
+        assertThat(serializeToString(serializer1, model), equalTo(Node.prettyPrintJson(model1)));
+    }
+
+    private static String serializeToString(ModelSerializer serializer, Model model) {
+        StringWriter writer = new StringWriter();
+        serializer.serialize(model, writer);
+        return writer.toString();
     }
 
     @Test
@@ -302,4 +311,29 @@ public class ModelSerializerTest {
             ModelSerializer.builder().version("1.0").includePrelude(true).build();
         });
     }
+
+    @Test
+    public void writesSameJsonAsPrettyPrintedNode() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-model.json"))
+                .assemble()
+                .unwrap();
+        ModelSerializer serializer = ModelSerializer.builder()
+                .metadataFilter(key -> !key.equals("foo"))
+                .includePrelude(true)
+                .build();
+
+        assertThat(serializeToString(serializer, model),
+                equalTo(Node.prettyPrintJson(serializer.serialize(model))));
+    }
+
+    @Test
+    public void writesEmptyShapesAsEmptyObject() {
+        ModelSerializer serializer = ModelSerializer.builder().build();
+        Model model = Model.builder().build();
+
+        assertThat(serializeToString(serializer, model),
+                equalTo(Node.prettyPrintJson(serializer.serialize(model))));
+    }
+
 }
@@ -9,6 +9,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
@@ -64,6 +65,22 @@ public class FilterShapesTest {
         assertThat(result.shapes().count(), Matchers.is(6L));
     }
 
+    @Test
+    public void getsFilteredShapesWithoutRemovingThem() {
+        ShapeId stringShapeId = ShapeId.from("ns.foo#String");
+        StringShape string = StringShape.builder().id(stringShapeId).build();
+        MemberShape listMember = MemberShape.builder().id("ns.foo#List$member").target(stringShapeId).build();
+        ListShape list = ListShape.builder().id("ns.foo#List").member(listMember).build();
+        MemberShape structureMember = MemberShape.builder().id("ns.foo#Structure$member").target(stringShapeId).build();
+        StructureShape structure = StructureShape.builder().id("ns.foo#Structure").addMember(structureMember).build();
+        Model model = Model.builder().addShapes(string, list, listMember, structure, structureMember).build();
+
+        Set<Shape> filtered = ModelTransformer.create().getFilteredShapes(model, shape -> !shape.isMemberShape());
+
+        assertThat(filtered, Matchers.contains(structureMember));
+        assertThat(model.getShape(structureMember.getId()), Matchers.equalTo(Optional.of(structureMember)));
+    }
+
     @Test
     public void updatesStructureContainerWhenMemberIsRemoved() {
         ShapeId stringShapeId = ShapeId.from("ns.foo#String");
@@ -0,0 +1,215 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.jmh;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.CompiledEndpointResolver;
+import software.amazon.smithy.rulesengine.language.evaluation.EndpointResolverCompiler;
+import software.amazon.smithy.rulesengine.language.evaluation.RuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.BooleanEquals;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.IsSet;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.IsValidHostLabel;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.StringEquals;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.ParameterType;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.logic.cfg.Cfg;
+import software.amazon.smithy.rulesengine.traits.EndpointBddTrait;
+
+/**
+ * Compares resolving endpoints with {@link RuleEvaluator}, over both the BDD
+ * and the rule-set it was compiled from, against a resolver compiled by
+ * {@link EndpointResolverCompiler}.
+ *
+ * <p>The rule-set is shaped like a typical service rule-set: a custom
+ * endpoint override, FIPS and dual-stack variants for each known region,
+ * and a fallback for any other valid region. Each invocation resolves the
+ * same mix of regions and flags. Run with {@code -prof gc} to compare
+ * allocations.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class EndpointResolution {
+
+    @State(Scope.Benchmark)
+    public static class EndpointResolutionState {
+
+        @Param({"50"})
+        public int regionCount;
+
+        public EndpointRuleSet ruleSet;
+        public EndpointBddTrait bdd;
+        public CompiledEndpointResolver resolver;
+        public List<Map<Identifier, Value>> namedArguments = new ArrayList<>();
+        public List<Value[]> positionalArguments = new ArrayList<>();
+
+        @Setup
+        public void prepare() {
+            ruleSet = createRuleSet(regionCount);
+            bdd = EndpointBddTrait.from(Cfg.from(ruleSet));
+            resolver = EndpointResolverCompiler.compile(bdd);
+
+            for (int i = 0; i < 32; i++) {
+                Map<Identifier, Value> arguments = new LinkedHashMap<>();
+                // Every eighth region isn't a known region and uses the fallback rule.
+                String region = i % 8 == 7 ? "other-" + i : "region-" + ((i * 7) % regionCount);
+                arguments.put(Identifier.of("Region"), Value.stringValue(region));
+                arguments.put(Identifier.of("UseFIPS"), Value.booleanValue(i % 3 == 0));
+                arguments.put(Identifier.of("UseDualStack"), Value.booleanValue(i % 4 == 0));
+                if (i == 31) {
+                    arguments.put(Identifier.of("Endpoint"), Value.stringValue("https://custom.example.com"));
+                    arguments.put(Identifier.of("UseFIPS"), Value.booleanValue(false));
+                    arguments.put(Identifier.of("UseDualStack"), Value.booleanValue(false));
+                }
+                namedArguments.add(arguments);
+
+                Value[] positional = new Value[resolver.getParameterNames().size()];
+                for (int p = 0; p < positional.length; p++) {
+                    positional[p] = arguments.get(resolver.getParameterNames().get(p));
+                }
+                positionalArguments.add(positional);
+            }
+        }
+    }
+
+    @Benchmark
+    public void interpreter(EndpointResolutionState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> arguments : state.namedArguments) {
+            blackhole.consume(RuleEvaluator.evaluate(state.bdd, arguments));
+        }
+    }
+
+    @Benchmark
+    public void interpreterRuleSet(EndpointResolutionState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> arguments : state.namedArguments) {
+            blackhole.consume(RuleEvaluator.evaluate(state.ruleSet, arguments));
+        }
+    }
+
+    @Benchmark
+    public void compiledNamedArguments(EndpointResolutionState state, Blackhole blackhole) {
+        for (Map<Identifier, Value> arguments : state.namedArguments) {
+            blackhole.consume(state.resolver.resolve(arguments));
+        }
+    }
+
+    @Benchmark
+    public void compiledPositionalArguments(EndpointResolutionState state, Blackhole blackhole) {
+        for (Value[] arguments : state.positionalArguments) {
+            blackhole.consume(state.resolver.resolve(arguments));
+        }
+    }
+
+    @Benchmark
+    public CompiledEndpointResolver compile(EndpointResolutionState state) {
+        return EndpointResolverCompiler.compile(state.bdd);
+    }
+
+    private static EndpointRuleSet createRuleSet(int regionCount) {
+        Parameters parameters = Parameters.builder()
+                .addParameter(Parameter.builder().name("Region").type(ParameterType.STRING).build())
+                .addParameter(Parameter.builder()
+                        .name("UseFIPS")
+                        .type(ParameterType.BOOLEAN)
+                        .required(true)
+                        .defaultValue(Value.booleanValue(false))
+                        .build())
+                .addParameter(Parameter.builder()
+                        .name("UseDualStack")
+                        .type(ParameterType.BOOLEAN)
+                        .required(true)
+                        .defaultValue(Value.booleanValue(false))
+                        .build())
+                .addParameter(Parameter.builder().name("Endpoint").type(ParameterType.STRING).build())
+                .build();
+
+        Rule customEndpoint = Rule.builder()
+                .conditions(isSet("Endpoint"))
+                .treeRule(
+                        Rule.builder()
+                                .conditions(isTrue("UseFIPS"))
+                                .error("Invalid Configuration: FIPS and custom endpoint are not supported"),
+                        Rule.builder()
+                                .conditions(isTrue("UseDualStack"))
+                                .error("Invalid Configuration: Dualstack and custom endpoint are not supported"),
+                        Rule.builder().endpoint(endpoint("{Endpoint}")));
+
+        List<Rule> regionRules = new ArrayList<>();
+        for (int i = 0; i < regionCount; i++) {
+            String domain = "example" + (i % 3) + ".com";
+            regionRules.add(Rule.builder()
+                    .conditions(Condition.builder()
+                            .fn(StringEquals.ofExpressions(ref("Region"), Literal.of("region-" + i)))
+                            .build())
+                    .treeRule(
+                            Rule.builder()
+                                    .conditions(isTrue("UseFIPS"), isTrue("UseDualStack"))
+                                    .endpoint(endpoint("https://service-fips.{Region}.api." + domain)),
+                            Rule.builder()
+                                    .conditions(isTrue("UseFIPS"))
+                                    .endpoint(endpoint("https://service-fips.{Region}." + domain)),
+                            Rule.builder()
+                                    .conditions(isTrue("UseDualStack"))
+                                    .endpoint(endpoint("https://service.{Region}.api." + domain)),
+                            Rule.builder().endpoint(endpoint("https://service.{Region}." + domain))));
+        }
+        regionRules.add(Rule.builder()
+                .conditions(Condition.builder()
+                        .fn(IsValidHostLabel.ofExpressions(ref("Region"), Literal.of(false)))
+                        .build())
+                .endpoint(endpoint("https://service.{Region}.example.com")));
+        regionRules.add(Rule.builder().error("Invalid Configuration: Invalid region"));
+
+        return EndpointRuleSet.builder()
+                .parameters(parameters)
+                .addRule(customEndpoint)
+                .addRule(Rule.builder().conditions(isSet("Region")).treeRule(regionRules))
+                .addRule(Rule.builder().error("Invalid Configuration: Missing Region"))
+                .build();
+    }
+
+    private static Expression ref(String name) {
+        return Expression.getReference(Identifier.of(name));
+    }
+
+    private static Condition isSet(String name) {
+        return Condition.builder().fn(IsSet.ofExpressions(ref(name))).build();
+    }
+
+    private static Condition isTrue(String name) {
+        return Condition.builder().fn(BooleanEquals.ofExpressions(ref(name), Literal.of(true))).build();
+    }
+
+    private static Endpoint endpoint(String url) {
+        return Endpoint.builder().url(Expression.of(url)).build();
+    }
+}
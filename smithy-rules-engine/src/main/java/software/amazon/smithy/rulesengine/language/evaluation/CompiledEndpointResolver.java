@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.logic.bdd.Bdd;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * An endpoint resolver created by {@link EndpointResolverCompiler}.
+ *
+ * <p>Resolvers are immutable and can be used concurrently. Each resolution only allocates the array of slots that
+ * hold its parameters and bound variables, along with the values created by functions and the result.
+ */
+@SmithyUnstableApi
+public final class CompiledEndpointResolver {
+    private final List<Identifier> parameterNames;
+    private final Map<Identifier, Integer> parameterSlots;
+    private final Value[] initialSlots;
+    private final Test[] conditions;
+    private final Operation[] results;
+    private final int[] nodes;
+    private final int rootRef;
+
+    CompiledEndpointResolver(
+            Identifier[] parameterNames,
+            Map<Identifier, Integer> parameterSlots,
+            Value[] initialSlots,
+            Test[] conditions,
+            Operation[] results,
+            int[] nodes,
+            int rootRef
+    ) {
+        this.parameterNames = Collections.unmodifiableList(Arrays.asList(parameterNames));
+        this.parameterSlots = parameterSlots;
+        this.initialSlots = initialSlots;
+        this.conditions = conditions;
+        this.results = results;
+        this.nodes = nodes;
+        this.rootRef = rootRef;
+    }
+
+    /**
+     * Gets the names of the parameters of the resolver, in the order expected by {@link #resolve(Value...)}.
+     *
+     * @return the parameter names.
+     */
+    public List<Identifier> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Resolves an endpoint using named parameter arguments.
+     *
+     * <p>Arguments for undefined parameters are ignored, and parameters without an argument use their default
+     * value if they have one.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and values to evaluate against.
+     * @return The resulting value from the matched rule.
+     */
+    public Value resolve(Map<Identifier, Value> parameterArguments) {
+        Value[] slots = initialSlots.clone();
+        for (Map.Entry<Identifier, Value> entry : parameterArguments.entrySet()) {
+            Integer slot = parameterSlots.get(entry.getKey());
+            if (slot != null) {
+                slots[slot] = entry.getValue();
+            }
+        }
+        return evaluate(slots);
+    }
+
+    /**
+     * Resolves an endpoint using positional parameter arguments.
+     *
+     * <p>Each argument is the value of the parameter at the same index in {@link #getParameterNames()}.
+     * A null argument uses the default value of the parameter if it has one.
+     *
+     * @param parameterArguments The values of each parameter.
+     * @return The resulting value from the matched rule.
+     * @throws IllegalArgumentException if the number of arguments doesn't match the number of parameters.
+     */
+    public Value resolve(Value... parameterArguments) {
+        if (parameterArguments.length != parameterNames.size()) {
+            throw new IllegalArgumentException(String.format("Expected %d parameter arguments, but found %d",
+                    parameterNames.size(),
+                    parameterArguments.length));
+        }
+
+        Value[] slots = initialSlots.clone();
+        for (int i = 0; i < parameterArguments.length; i++) {
+            if (parameterArguments[i] != null) {
+                slots[i] = parameterArguments[i];
+            }
+        }
+        return evaluate(slots);
+    }
+
+    private Value evaluate(Value[] slots) {
+        int ref = rootRef;
+        int[] n = nodes;
+
+        while (Bdd.isNodeReference(ref)) {
+            int base = (ref > 0 ? ref - 1 : -ref - 1) * 3;
+            ref = (conditions[n[base]].test(slots) ^ (ref < 0)) ? n[base + 1] : n[base + 2];
+        }
+
+        if (Bdd.isTerminal(ref)) {
+            throw new RuntimeException("No BDD result matched");
+        }
+
+        return results[ref - Bdd.RESULT_OFFSET].evaluate(slots);
+    }
+
+    /**
+     * Computes a value from the slots of a resolution.
+     */
+    @FunctionalInterface
+    interface Operation {
+        Value evaluate(Value[] slots);
+    }
+
+    /**
+     * Tests a condition using the slots of a resolution, binding its result to a slot if needed.
+     */
+    @FunctionalInterface
+    interface Test {
+        boolean test(Value[] slots);
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.evaluation.CompiledEndpointResolver.Operation;
+import software.amazon.smithy.rulesengine.language.evaluation.CompiledEndpointResolver.Test;
+import software.amazon.smithy.rulesengine.language.evaluation.value.EndpointValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.EndpointRule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.ErrorRule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.logic.bdd.Bdd;
+import software.amazon.smithy.rulesengine.traits.EndpointBddTrait;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Compiles an endpoint BDD into a reusable {@link CompiledEndpointResolver}.
+ *
+ * <p>{@link RuleEvaluator} resolves each reference by name through a {@link Scope} and walks the expression tree
+ * of each condition every time it's evaluated. The compiler instead gives every parameter and bound variable a
+ * slot in an array, resolves references to slots up front, and turns conditions, functions, and string templates
+ * into closures over those slots. Literals and static templates are evaluated once when the resolver is compiled.
+ *
+ * <p>A compiled resolver returns the same values and throws the same errors as {@link RuleEvaluator}.
+ */
+@SmithyUnstableApi
+public final class EndpointResolverCompiler {
+    private VariableSlots slots;
+
+    private EndpointResolverCompiler() {}
+
+    /**
+     * Compiles a resolver for the BDD of an endpoint BDD trait.
+     *
+     * @param trait The trait to compile.
+     * @return the compiled resolver.
+     */
+    public static CompiledEndpointResolver compile(EndpointBddTrait trait) {
+        return compile(trait.getBdd(), trait.getParameters(), trait.getConditions(), trait.getResults());
+    }
+
+    /**
+     * Compiles a resolver for a BDD.
+     *
+     * @param bdd The endpoint BDD.
+     * @param parameters The parameters of the BDD.
+     * @param conditions The conditions referenced by the BDD, in variable order.
+     * @param results The results referenced by the BDD, in result order.
+     * @return the compiled resolver.
+     */
+    public static CompiledEndpointResolver compile(
+            Bdd bdd,
+            Parameters parameters,
+            List<Condition> conditions,
+            List<Rule> results
+    ) {
+        return new EndpointResolverCompiler().compileResolver(bdd, parameters, conditions, results);
+    }
+
+    private CompiledEndpointResolver compileResolver(
+            Bdd bdd,
+            Parameters parameters,
+            List<Condition> conditions,
+            List<Rule> results
+    ) {
+        // Parameters take the first slots so that positional arguments can be copied directly into them.
+        slots = VariableSlots.of(parameters, conditions, results);
+        List<Identifier> parameterNames = new ArrayList<>();
+        Map<Identifier, Integer> parameterSlots = new HashMap<>();
+        for (Parameter parameter : parameters) {
+            parameterSlots.put(parameter.getName(), parameterNames.size());
+            parameterNames.add(parameter.getName());
+        }
+
+        Test[] compiledConditions = new Test[conditions.size()];
+        for (int i = 0; i < compiledConditions.length; i++) {
+            compiledConditions[i] = compileCondition(conditions.get(i));
+        }
+
+        Operation[] compiledResults = new Operation[results.size()];
+        for (int i = 0; i < compiledResults.length; i++) {
+            compiledResults[i] = compileResult(results.get(i));
+        }
+
+        // Unset parameters and variables are empty, like a reference that isn't in scope.
+        Value[] initialSlots = new Value[slots.size()];
+        Arrays.fill(initialSlots, Value.emptyValue());
+        for (Parameter parameter : parameters) {
+            int slot = slots.get(parameter.getName());
+            parameter.getDefault().ifPresent(value -> initialSlots[slot] = value);
+        }
+
+        int[] nodes = new int[bdd.getNodeCount() * 3];
+        int[] offset = new int[1];
+        bdd.getNodes((var, high, low) -> {
+            nodes[offset[0]++] = var;
+            nodes[offset[0]++] = high;
+            nodes[offset[0]++] = low;
+        });
+
+        return new CompiledEndpointResolver(parameterNames.toArray(new Identifier[0]),
+                parameterSlots,
+                initialSlots,
+                compiledConditions,
+                compiledResults,
+                nodes,
+                bdd.getRootRef());
+    }
+
+    private Test compileCondition(Condition condition) {
+        if (!condition.getResult().isPresent()) {
+            Test test = condition.getFunction().accept(new TestCompiler());
+            if (test != null) {
+                return test;
+            }
+        }
+
+        Operation operation = compile(condition.getFunction());
+        if (!condition.getResult().isPresent()) {
+            return slots -> operation.evaluate(slots).isTruthy();
+        }
+
+        int result = slots.get(condition.getResult().get());
+        return slots -> {
+            Value value = operation.evaluate(slots);
+            if (value.isEmpty()) {
+                return false;
+            }
+            slots[result] = value;
+            return value.isTruthy();
+        };
+    }
+
+    private Operation compileResult(Rule rule) {
+        if (rule instanceof EndpointRule) {
+            return compileEndpoint(((EndpointRule) rule).getEndpoint());
+        } else if (rule instanceof ErrorRule) {
+            return compile(((ErrorRule) rule).getError());
+        } else {
+            return slots -> {
+                throw new RuntimeException("Invalid BDD rule result: " + rule);
+            };
+        }
+    }
+
+    private Operation compileEndpoint(Endpoint endpoint) {
+        Operation url = compile(endpoint.getUrl());
+
+        Map<String, Operation> properties = new LinkedHashMap<>();
+        for (Map.Entry<Identifier, Literal> entry : endpoint.getProperties().entrySet()) {
+            properties.put(entry.getKey().toString(), compile(entry.getValue()));
+        }
+
+        Map<String, Operation[]> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Expression>> entry : endpoint.getHeaders().entrySet()) {
+            headers.put(entry.getKey(), compileAll(entry.getValue()));
+        }
+
+        return slots -> {
+            // Use the location of the endpoint rather than EndpointValue.builder(), which walks the stack to find
+            // the location of its caller.
+            EndpointValue.Builder builder = new EndpointValue.Builder(endpoint)
+                    .url(url.evaluate(slots).expectStringValue().getValue());
+
+            for (Map.Entry<String, Operation> entry : properties.entrySet()) {
+                builder.putProperty(entry.getKey(), entry.getValue().evaluate(slots));
+            }
+
+            for (Map.Entry<String, Operation[]> entry : headers.entrySet()) {
+                List<String> values = new ArrayList<>(entry.getValue().length);
+                for (Operation operation : entry.getValue()) {
+                    values.add(operation.evaluate(slots).expectStringValue().getValue());
+                }
+                builder.putHeader(entry.getKey(), values);
+            }
+
+            return builder.build();
+        };
+    }
+
+    private Operation compile(Expression expression) {
+        return expression.accept(new OperationCompiler());
+    }
+
+    private Operation[] compileAll(List<? extends Expression> expressions) {
+        Operation[] result = new Operation[expressions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = compile(expressions.get(i));
+        }
+        return result;
+    }
+
+    private static boolean allConstant(Operation[] operations) {
+        for (Operation operation : operations) {
+            if (!(operation instanceof Constant)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Compiles expressions to operations that return the same values as RuleEvaluator.
+    private final class OperationCompiler implements ExpressionVisitor<Operation> {
+        @Override
+        public Operation visitLiteral(Literal literal) {
+            return literal.accept(new LiteralVisitor<Operation>() {
+                @Override
+                public Operation visitBoolean(boolean b) {
+                    return new Constant(Value.booleanValue(b));
+                }
+
+                @Override
+                public Operation visitString(Template value) {
+                    return compileTemplate(value);
+                }
+
+                @Override
+                public Operation visitRecord(Map<Identifier, Literal> members) {
+                    Map<Identifier, Operation> operations = new LinkedHashMap<>();
+                    boolean constant = true;
+                    for (Map.Entry<Identifier, Literal> entry : members.entrySet()) {
+                        Operation operation = compile(entry.getValue());
+                        operations.put(entry.getKey(), operation);
+                        constant &= operation instanceof Constant;
+                    }
+
+                    Operation record = slots -> {
+                        Map<Identifier, Value> values = new HashMap<>();
+                        for (Map.Entry<Identifier, Operation> entry : operations.entrySet()) {
+                            values.put(entry.getKey(), entry.getValue().evaluate(slots));
+                        }
+                        return Value.recordValue(values);
+                    };
+                    return constant ? new Constant(record.evaluate(null)) : record;
+                }
+
+                @Override
+                public Operation visitTuple(List<Literal> members) {
+                    Operation[] operations = compileAll(members);
+                    Operation tuple = slots -> {
+                        List<Value> values = new ArrayList<>(operations.length);
+                        for (Operation operation : operations) {
+                            values.add(operation.evaluate(slots));
+                        }
+                        return Value.arrayValue(values);
+                    };
+                    return allConstant(operations) ? new Constant(tuple.evaluate(null)) : tuple;
+                }
+
+                @Override
+                public Operation visitInteger(int value) {
+                    return new Constant(Value.integerValue(value));
+                }
+            });
+        }
+
+        private Operation compileTemplate(Template template) {
+            if (template.isStatic()) {
+                return new Constant(Value.stringValue(template.expectLiteral()));
+            }
+
+            List<Template.Part> parts = template.getParts();
+            if (parts.size() == 1) {
+                Operation operation = compile(((Template.Dynamic) parts.get(0)).toExpression());
+                return slots -> Value.stringValue(operation.evaluate(slots).expectStringValue().getValue());
+            }
+
+            // Static parts are kept as strings and dynamic parts as operations, in template order.
+            Object[] compiledParts = new Object[parts.size()];
+            for (int i = 0; i < compiledParts.length; i++) {
+                Template.Part part = parts.get(i);
+                compiledParts[i] = part instanceof Template.Literal
+                        ? ((Template.Literal) part).getValue()
+                        : compile(((Template.Dynamic) part).toExpression());
+            }
+
+            return slots -> {
+                StringBuilder result = new StringBuilder();
+                for (Object part : compiledParts) {
+                    if (part instanceof String) {
+                        result.append((String) part);
+                    } else {
+                        result.append(((Operation) part).evaluate(slots).expectStringValue().getValue());
+                    }
+                }
+                return Value.stringValue(result.toString());
+            };
+        }
+
+        @Override
+        public Operation visitRef(Reference reference) {
+            int slot = slots.get(reference);
+            if (slot < 0) {
+                // Names that are never assigned are never in scope.
+                return slots -> Value.emptyValue();
+            }
+            return slots -> slots[slot];
+        }
+
+        @Override
+        public Operation visitGetAttr(GetAttr getAttr) {
+            Operation target = compile(getAttr.getTarget());
+            return slots -> getAttr.evaluate(target.evaluate(slots));
+        }
+
+        @Override
+        public Operation visitIsSet(Expression fn) {
+            Operation operation = compile(fn);
+            return slots -> Value.booleanValue(!operation.evaluate(slots).isEmpty());
+        }
+
+        @Override
+        public Operation visitCoalesce(List<Expression> expressions) {
+            Operation[] operations = compileAll(expressions);
+            return slots -> {
+                for (Operation operation : operations) {
+                    Value result = operation.evaluate(slots);
+                    if (!result.isEmpty()) {
+                        return result;
+                    }
+                }
+                return Value.emptyValue();
+            };
+        }
+
+        @Override
+        public Operation visitNot(Expression not) {
+            Operation operation = compile(not);
+            return slots -> Value.booleanValue(!operation.evaluate(slots).expectBooleanValue().getValue());
+        }
+
+        @Override
+        public Operation visitBoolEquals(Expression left, Expression right) {
+            Operation l = compile(left);
+            Operation r = compile(right);
+            return slots -> Value.booleanValue(l.evaluate(slots)
+                    .expectBooleanValue()
+                    .equals(r.evaluate(slots).expectBooleanValue()));
+        }
+
+        @Override
+        public Operation visitStringEquals(Expression left, Expression right) {
+            Operation l = compile(left);
+            Operation r = compile(right);
+            return slots -> Value.booleanValue(l.evaluate(slots)
+                    .expectStringValue()
+                    .equals(r.evaluate(slots).expectStringValue()));
+        }
+
+        @Override
+        public Operation visitLibraryFunction(FunctionDefinition fn, List<Expression> args) {
+            Operation[] operations = compileAll(args);
+            return slots -> {
+                Value[] values = new Value[operations.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = operations[i].evaluate(slots);
+                }
+                return fn.evaluate(Arrays.asList(values));
+            };
+        }
+    }
+
+    // Compiles the conditions that don't bind a result and are most common in rule-sets to tests that don't create
+    // an intermediate boolean value. Returns null for any other condition.
+    private final class TestCompiler extends ExpressionVisitor.Default<Test> {
+        @Override
+        public Test getDefault() {
+            return null;
+        }
+
+        @Override
+        public Test visitIsSet(Expression fn) {
+            Operation operation = compile(fn);
+            return slots -> !operation.evaluate(slots).isEmpty();
+        }
+
+        @Override
+        public Test visitNot(Expression not) {
+            Operation operation = compile(not);
+            return slots -> !operation.evaluate(slots).expectBooleanValue().getValue();
+        }
+
+        @Override
+        public Test visitBoolEquals(Expression left, Expression right) {
+            Operation l = compile(left);
+            Operation r = compile(right);
+            if (r instanceof Constant) {
+                boolean expected = ((Constant) r).value.expectBooleanValue().getValue();
+                return slots -> l.evaluate(slots).expectBooleanValue().getValue() == expected;
+            } else if (l instanceof Constant) {
+                boolean expected = ((Constant) l).value.expectBooleanValue().getValue();
+                return slots -> r.evaluate(slots).expectBooleanValue().getValue() == expected;
+            }
+            return slots -> l.evaluate(slots).expectBooleanValue().getValue()
+                    == r.evaluate(slots).expectBooleanValue().getValue();
+        }
+
+        @Override
+        public Test visitStringEquals(Expression left, Expression right) {
+            Operation l = compile(left);
+            Operation r = compile(right);
+            if (r instanceof Constant) {
+                String expected = ((Constant) r).value.expectStringValue().getValue();
+                return slots -> l.evaluate(slots).expectStringValue().getValue().equals(expected);
+            } else if (l instanceof Constant) {
+                String expected = ((Constant) l).value.expectStringValue().getValue();
+                return slots -> expected.equals(r.evaluate(slots).expectStringValue().getValue());
+            }
+            return slots -> l.evaluate(slots)
+                    .expectStringValue()
+                    .getValue()
+                    .equals(r.evaluate(slots).expectStringValue().getValue());
+        }
+    }
+
+    // An operation whose value was computed when it was compiled.
+    private static final class Constant implements Operation {
+        private final Value value;
+
+        Constant(Value value) {
+            this.value = value;
+        }
+
+        @Override
+        public Value evaluate(Value[] slots) {
+            return value;
+        }
+    }
+}
@@ -5,6 +5,9 @@
 package software.amazon.smithy.rulesengine.language.evaluation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import software.amazon.smithy.rulesengine.language.Endpoint;
@@ -35,7 +38,25 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  */
 @SmithyUnstableApi
 public class RuleEvaluator implements ExpressionVisitor<Value> {
-    private final Scope<Value> scope = new Scope<>();
+    // Variables are stored in a flat frame indexed by the slots assigned by a resolution pass over the rule-set or
+    // conditions being evaluated, which is cached with the rule-set or conditions. Variables the pass didn't see,
+    // like those assigned by conditions evaluated one at a time, are given the slots after it in extraSlots. While a
+    // rule is being evaluated, assignments are recorded in an undo log so that leaving the rule restores the values
+    // it shadowed.
+    private VariableSlots slots = VariableSlots.EMPTY;
+    private Map<Identifier, Integer> extraSlots;
+    private Value[] frame = new Value[0];
+    private int[] undoSlots = new int[16];
+    private Value[] undoValues = new Value[16];
+    private int undoSize;
+    private int marks;
+
+    // Results of library function calls made while evaluating a BDD, keyed by the argument list of the call. Each
+    // function owns its argument list, so this is keyed by call identity. EndpointBddTrait shares equal calls across
+    // conditions, so a call like parseURL(Endpoint) is made at most once per evaluation. The memo assumes that every
+    // variable is bound before any call that reads it, as BDD condition ordering guarantees: only rebinding a variable
+    // clears it, so a call made before a variable's first binding would keep the result it computed without it.
+    private Map<List<Expression>, Value> memo;
 
     public RuleEvaluator() {}
 
@@ -48,10 +69,8 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
      * @param parameterArguments Arguments used to initialize evaluation scope state.
      */
     public RuleEvaluator(Parameters parameters, Map<Identifier, Value> parameterArguments) {
-        for (Parameter parameter : parameters) {
-            parameter.getDefault().ifPresent(value -> scope.insert(parameter.getName(), value));
-        }
-        parameterArguments.forEach(scope::insert);
+        slots = VariableSlots.of(parameters);
+        insertParameters(parameters, parameterArguments);
     }
 
     /**
@@ -102,12 +121,11 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
             List<Rule> results,
             Map<Identifier, Value> parameterArguments
     ) {
-        return scope.inScope(() -> {
-            for (Parameter parameter : parameters) {
-                parameter.getDefault().ifPresent(value -> scope.insert(parameter.getName(), value));
-            }
-
-            parameterArguments.forEach(scope::insert);
+        SavedFrame saved = useSlots(VariableSlots.of(parameters, conditions, results));
+        int mark = mark();
+        try {
+            insertParameters(parameters, parameterArguments);
+            memo = new IdentityHashMap<>();
 
             Condition[] conds = conditions.toArray(new Condition[0]);
             RuleBasedConditionEvaluator conditionEvaluator = new RuleBasedConditionEvaluator(this, conds);
@@ -125,7 +143,11 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
             } else {
                 throw new RuntimeException("Invalid BDD rule result: " + rule);
             }
-        });
+        } finally {
+            memo = null;
+            restore(mark);
+            restoreFrame(saved);
+        }
     }
 
     /**
@@ -137,12 +159,10 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
      * @return The resulting value from the final matched rule.
      */
     public Value evaluateRuleSet(EndpointRuleSet ruleset, Map<Identifier, Value> parameterArguments) {
-        return scope.inScope(() -> {
-            for (Parameter parameter : ruleset.getParameters()) {
-                parameter.getDefault().ifPresent(value -> scope.insert(parameter.getName(), value));
-            }
-
-            parameterArguments.forEach(scope::insert);
+        SavedFrame saved = useSlots(VariableSlots.of(ruleset));
+        int mark = mark();
+        try {
+            insertParameters(ruleset.getParameters(), parameterArguments);
 
             for (Rule rule : ruleset.getRules()) {
                 Value result = handleRule(rule);
@@ -151,7 +171,10 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
                 }
             }
             throw new RuntimeException("No rules in ruleset matched");
-        });
+        } finally {
+            restore(mark);
+            restoreFrame(saved);
+        }
     }
 
     /**
@@ -163,7 +186,7 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
     public Value evaluateCondition(Condition condition) {
         Value value = condition.getFunction().accept(this);
         if (!value.isEmpty()) {
-            condition.getResult().ifPresent(res -> scope.insert(res, value));
+            condition.getResult().ifPresent(res -> insert(res, value));
         }
         return value;
     }
@@ -175,9 +198,12 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
 
     @Override
     public Value visitRef(Reference reference) {
-        return scope
-                .getValue(reference.getName())
-                .orElse(Value.emptyValue());
+        int slot = slots.get(reference);
+        if (slot < 0 && extraSlots != null) {
+            slot = extraSlots.getOrDefault(reference.getName(), -1);
+        }
+        Value value = slot < 0 || slot >= frame.length ? null : frame[slot];
+        return value == null ? Value.emptyValue() : value;
     }
 
     @Override
@@ -222,6 +248,19 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
 
     @Override
     public Value visitLibraryFunction(FunctionDefinition definition, List<Expression> arguments) {
+        if (memo == null) {
+            return call(definition, arguments);
+        }
+
+        Value value = memo.get(arguments);
+        if (value == null) {
+            value = call(definition, arguments);
+            memo.put(arguments, value);
+        }
+        return value;
+    }
+
+    private Value call(FunctionDefinition definition, List<Expression> arguments) {
         List<Value> values = new ArrayList<>();
         for (Expression argument : arguments) {
             values.add(argument.accept(this));
@@ -231,7 +270,8 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
 
     private Value handleRule(Rule rule) {
         RuleEvaluator self = this;
-        return scope.inScope(() -> {
+        int mark = mark();
+        try {
             for (Condition condition : rule.getConditions()) {
                 Value value = evaluateCondition(condition);
                 if (!value.isTruthy()) {
@@ -262,7 +302,94 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
                     return resolveEndpoint(self, endpoint);
                 }
             });
-        });
+        } finally {
+            restore(mark);
+        }
+    }
+
+    private void insertParameters(Parameters parameters, Map<Identifier, Value> parameterArguments) {
+        for (Parameter parameter : parameters) {
+            parameter.getDefault().ifPresent(value -> insert(parameter.getName(), value));
+        }
+        parameterArguments.forEach(this::insert);
+    }
+
+    // Evaluating with other slots uses a new frame, since the slots of variables may differ. The previous frame is
+    // returned so that it can be restored once the evaluation exits.
+    private SavedFrame useSlots(VariableSlots newSlots) {
+        if (newSlots == slots) {
+            return null;
+        }
+        SavedFrame saved = new SavedFrame(slots, extraSlots, frame);
+        slots = newSlots;
+        extraSlots = null;
+        frame = new Value[newSlots.size()];
+        return saved;
+    }
+
+    private void restoreFrame(SavedFrame saved) {
+        if (saved != null) {
+            slots = saved.slots;
+            extraSlots = saved.extraSlots;
+            frame = saved.frame;
+        }
+    }
+
+    private int getOrCreateSlot(Identifier name) {
+        int slot = slots.get(name);
+        if (slot < 0) {
+            if (extraSlots == null) {
+                extraSlots = new HashMap<>();
+            }
+            Integer extra = extraSlots.get(name);
+            if (extra == null) {
+                extra = slots.size() + extraSlots.size();
+                extraSlots.put(name, extra);
+            }
+            slot = extra;
+        }
+        return slot;
+    }
+
+    private void insert(Identifier name, Value value) {
+        int slot = getOrCreateSlot(name);
+        if (slot >= frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(slot + 1, frame.length * 2));
+        }
+
+        // Rebinding a variable invalidates any memoized call that may have read it. A first binding doesn't, since no
+        // call can have read a variable before it is bound.
+        if (memo != null && frame[slot] != null) {
+            memo.clear();
+        }
+
+        // Values only need to be restored if a mark will be restored.
+        if (marks > 0) {
+            if (undoSize == undoSlots.length) {
+                undoSlots = Arrays.copyOf(undoSlots, undoSize * 2);
+                undoValues = Arrays.copyOf(undoValues, undoSize * 2);
+            }
+            undoSlots[undoSize] = slot;
+            undoValues[undoSize] = frame[slot];
+            undoSize++;
+        }
+
+        frame[slot] = value;
+    }
+
+    private int mark() {
+        marks++;
+        return undoSize;
+    }
+
+    // Undoes every assignment made since the given mark.
+    private void restore(int mark) {
+        while (undoSize > mark) {
+            undoSize--;
+            frame[undoSlots[undoSize]] = undoValues[undoSize];
+            undoValues[undoSize] = null;
+        }
+        marks--;
     }
 
     private static Value resolveEndpoint(RuleEvaluator self, Endpoint endpoint) {
@@ -290,4 +417,16 @@ public class RuleEvaluator implements ExpressionVisitor<Value> {
     private static Value resolveError(RuleEvaluator self, Expression error) {
         return error.accept(self);
     }
+
+    private static final class SavedFrame {
+        private final VariableSlots slots;
+        private final Map<Identifier, Integer> extraSlots;
+        private final Value[] frame;
+
+        SavedFrame(VariableSlots slots, Map<Identifier, Integer> extraSlots, Value[] frame) {
+            this.slots = slots;
+            this.extraSlots = extraSlots;
+            this.frame = frame;
+        }
+    }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.EndpointRule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.ErrorRule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.TreeRule;
+
+/**
+ * Assigns a fixed slot index to each parameter and assigned variable of a rule-set or a set of conditions.
+ *
+ * <p>Parameters are resolved first, in the order they're defined, so they take the first slots. Every
+ * {@link Reference} of the resolved rules is then bound to the slot of the variable it reads, so evaluating a
+ * reference doesn't need to look up its name.
+ *
+ * <p>Slots are immutable once resolved, and are cached by the identity of the rule-set or conditions they were
+ * resolved from, so they're only resolved once however many times a rule-set is evaluated.
+ */
+final class VariableSlots {
+    private static final IdentityCache CACHE = new IdentityCache();
+
+    static final VariableSlots EMPTY = of(Parameters.builder().build());
+
+    private final Map<Identifier, Integer> slots = new HashMap<>();
+    private final Parameters parameters;
+    private final List<Rule> results;
+
+    private VariableSlots(Parameters parameters, List<Rule> results) {
+        this.parameters = parameters;
+        this.results = results;
+        for (Parameter parameter : parameters) {
+            assign(parameter.getName());
+        }
+    }
+
+    /**
+     * Gets the slots of the parameters of a rule-set and every variable assigned by its rules.
+     *
+     * @param ruleSet Rule-set to resolve.
+     * @return the slots.
+     */
+    static VariableSlots of(EndpointRuleSet ruleSet) {
+        VariableSlots cached = CACHE.get(ruleSet);
+        if (cached != null) {
+            return cached;
+        }
+
+        VariableSlots result = new VariableSlots(ruleSet.getParameters(), Collections.emptyList());
+        for (Rule rule : ruleSet.getRules()) {
+            result.assign(rule);
+        }
+        for (Rule rule : ruleSet.getRules()) {
+            result.bind(rule);
+        }
+        CACHE.put(ruleSet, result);
+        return result;
+    }
+
+    /**
+     * Gets the slots of parameters and the variables assigned by conditions, such as the conditions of a BDD or CFG.
+     *
+     * @param parameters Parameters to resolve.
+     * @param conditions Conditions to resolve.
+     * @param results Results that read the variables.
+     * @return the slots.
+     */
+    static VariableSlots of(Parameters parameters, List<Condition> conditions, List<Rule> results) {
+        // The same conditions can be evaluated with other parameters or results, which is checked by identity.
+        VariableSlots cached = CACHE.get(conditions);
+        if (cached != null && cached.parameters == parameters && cached.results == results) {
+            return cached;
+        }
+
+        VariableSlots result = new VariableSlots(parameters, results);
+        for (Condition condition : conditions) {
+            result.assign(condition);
+        }
+        for (Condition condition : conditions) {
+            result.bind(condition);
+        }
+        for (Rule rule : results) {
+            result.bind(rule);
+        }
+        CACHE.put(conditions, result);
+        return result;
+    }
+
+    /**
+     * Gets the slots of parameters, without caching them.
+     *
+     * @param parameters Parameters to resolve.
+     * @return the slots.
+     */
+    static VariableSlots of(Parameters parameters) {
+        return new VariableSlots(parameters, Collections.emptyList());
+    }
+
+    private void assign(Rule rule) {
+        for (Condition condition : rule.getConditions()) {
+            assign(condition);
+        }
+        if (rule instanceof TreeRule) {
+            for (Rule child : ((TreeRule) rule).getRules()) {
+                assign(child);
+            }
+        }
+    }
+
+    private void assign(Condition condition) {
+        condition.getResult().ifPresent(this::assign);
+    }
+
+    private void assign(Identifier name) {
+        slots.putIfAbsent(name, slots.size());
+    }
+
+    private void bind(Rule rule) {
+        for (Condition condition : rule.getConditions()) {
+            bind(condition);
+        }
+        if (rule instanceof TreeRule) {
+            for (Rule child : ((TreeRule) rule).getRules()) {
+                bind(child);
+            }
+        } else if (rule instanceof EndpointRule) {
+            Endpoint endpoint = ((EndpointRule) rule).getEndpoint();
+            bind(endpoint.getUrl());
+            endpoint.getProperties().values().forEach(this::bind);
+            endpoint.getHeaders().values().forEach(values -> values.forEach(this::bind));
+        } else if (rule instanceof ErrorRule) {
+            bind(((ErrorRule) rule).getError());
+        }
+    }
+
+    private void bind(Condition condition) {
+        bind(condition.getFunction());
+    }
+
+    private void bind(Expression expression) {
+        expression.accept(new Binder());
+    }
+
+    /**
+     * Gets the slot of a name.
+     *
+     * @param name Name to look up.
+     * @return the slot, or -1 if the name has no slot.
+     */
+    int get(Identifier name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Gets the slot of the variable read by a reference.
+     *
+     * @param reference Reference to look up.
+     * @return the slot, or -1 if the name of the reference has no slot.
+     */
+    int get(Reference reference) {
+        int slot = reference.getBoundSlot(this);
+        // References that weren't bound, or were bound again by other slots since, are looked up by name.
+        return slot >= 0 ? slot : get(reference.getName());
+    }
+
+    /**
+     * Gets the number of assigned slots.
+     *
+     * @return the number of slots.
+     */
+    int size() {
+        return slots.size();
+    }
+
+    // Binds every reference of an expression, including references in templates and the arguments of functions.
+    private final class Binder implements ExpressionVisitor<Void>, LiteralVisitor<Void> {
+        @Override
+        public Void visitLiteral(Literal literal) {
+            return literal.accept((LiteralVisitor<Void>) this);
+        }
+
+        @Override
+        public Void visitRef(Reference reference) {
+            int slot = get(reference.getName());
+            if (slot >= 0) {
+                reference.bindSlot(VariableSlots.this, slot);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitGetAttr(GetAttr getAttr) {
+            return getAttr.getTarget().accept(this);
+        }
+
+        @Override
+        public Void visitIsSet(Expression fn) {
+            return fn.accept(this);
+        }
+
+        @Override
+        public Void visitCoalesce(List<Expression> expressions) {
+            return visitAll(expressions);
+        }
+
+        @Override
+        public Void visitNot(Expression not) {
+            return not.accept(this);
+        }
+
+        @Override
+        public Void visitBoolEquals(Expression left, Expression right) {
+            left.accept(this);
+            return right.accept(this);
+        }
+
+        @Override
+        public Void visitStringEquals(Expression left, Expression right) {
+            left.accept(this);
+            return right.accept(this);
+        }
+
+        @Override
+        public Void visitLibraryFunction(FunctionDefinition fn, List<Expression> args) {
+            return visitAll(args);
+        }
+
+        @Override
+        public Void visitBoolean(boolean b) {
+            return null;
+        }
+
+        @Override
+        public Void visitString(Template value) {
+            for (Template.Part part : value.getParts()) {
+                if (part instanceof Template.Dynamic) {
+                    ((Template.Dynamic) part).toExpression().accept(this);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitRecord(Map<Identifier, Literal> members) {
+            return visitAll(members.values());
+        }
+
+        @Override
+        public Void visitTuple(List<Literal> members) {
+            return visitAll(members);
+        }
+
+        @Override
+        public Void visitInteger(int value) {
+            return null;
+        }
+
+        private Void visitAll(Iterable<? extends Expression> expressions) {
+            for (Expression expression : expressions) {
+                expression.accept(this);
+            }
+            return null;
+        }
+    }
+
+    // Caches slots by the identity of what they were resolved from, without keeping it from being collected.
+    private static final class IdentityCache {
+        private final Map<Key, VariableSlots> entries = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+        VariableSlots get(Object owner) {
+            return entries.get(new Key(owner, null));
+        }
+
+        void put(Object owner, VariableSlots slots) {
+            for (Object key = collected.poll(); key != null; key = collected.poll()) {
+                entries.remove(key);
+            }
+            entries.put(new Key(owner, collected), slots);
+        }
+
+        private static final class Key extends WeakReference<Object> {
+            private final int hash;
+
+            Key(Object owner, ReferenceQueue<Object> queue) {
+                super(owner, queue);
+                this.hash = System.identityHashCode(owner);
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) {
+                    return true;
+                }
+                Object owner = get();
+                return o instanceof Key && owner != null && owner == ((Key) o).get();
+            }
+        }
+    }
+}
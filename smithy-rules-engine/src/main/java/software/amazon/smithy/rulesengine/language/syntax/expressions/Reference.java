@@ -15,6 +15,7 @@ import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.rulesengine.language.evaluation.Scope;
 import software.amazon.smithy.rulesengine.language.evaluation.type.Type;
 import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.utils.SmithyInternalApi;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
 /**
@@ -23,6 +24,7 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
 @SmithyUnstableApi
 public final class Reference extends Expression {
     private final Identifier name;
+    private SlotBinding slotBinding;
 
     /**
      * Creates a Reference for the identifier from the given source location.
@@ -44,6 +46,32 @@ public final class Reference extends Expression {
         return name;
     }
 
+    /**
+     * Binds this reference to the slot that holds its value in the variable frame of an evaluator.
+     *
+     * <p>A reference can be shared by rule-sets that assign different slots, so the binding is tagged with the
+     * slot assignment it came from, and only the most recent binding is kept.
+     *
+     * @param owner the slot assignment the slot belongs to.
+     * @param slot the slot of the referenced variable.
+     */
+    @SmithyInternalApi
+    public void bindSlot(Object owner, int slot) {
+        slotBinding = new SlotBinding(owner, slot);
+    }
+
+    /**
+     * Gets the slot this reference was bound to by {@link #bindSlot}.
+     *
+     * @param owner the slot assignment to get the slot of.
+     * @return the slot, or -1 if the reference isn't bound to a slot of {@code owner}.
+     */
+    @SmithyInternalApi
+    public int getBoundSlot(Object owner) {
+        SlotBinding binding = slotBinding;
+        return binding != null && binding.owner == owner ? binding.slot : -1;
+    }
+
     @Override
     public String template() {
         return String.format("{%s}", name);
@@ -99,4 +127,15 @@ public final class Reference extends Expression {
     public String toString() {
         return name.toString();
     }
+
+    // Bindings are immutable so that a binding made by another thread is never seen half-written.
+    private static final class SlotBinding {
+        private final Object owner;
+        private final int slot;
+
+        SlotBinding(Object owner, int slot) {
+            this.owner = owner;
+            this.slot = slot;
+        }
+    }
 }
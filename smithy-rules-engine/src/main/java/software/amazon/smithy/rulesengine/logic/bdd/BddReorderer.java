@@ -0,0 +1,407 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.logic.bdd;
+
+import java.util.Arrays;
+
+/**
+ * A mutable copy of a reduced {@link Bdd} that reorders variables in place by swapping adjacent levels.
+ *
+ * <p>Swapping two adjacent levels only rewrites the nodes of the upper level that test the variable of the lower
+ * level, so moving a variable costs time proportional to the levels it passes through rather than a recompile of
+ * the whole BDD. Each level has its own unique table, and nodes are reference counted so that nodes orphaned by a
+ * swap are reclaimed immediately and {@link #size()} is always exact.
+ *
+ * <p>Levels are positions in the variable order. Variable {@code i} of the BDD the reorderer is created from
+ * starts at level {@code i}.
+ *
+ * <p>Complemented node references aren't supported. BDDs compiled from a CFG only have results and terminals as
+ * leaves, so they never contain them.
+ */
+final class BddReorderer {
+
+    private final int[] varAtLevel;
+    private final int[] levelOfVar;
+    private final LevelTable[] levels;
+
+    private int[] vars;
+    private int[] highs;
+    private int[] lows;
+    private int[] refs;
+    private int[] free;
+    private int freeCount;
+    private int nodeLimit;
+    private int size;
+
+    /**
+     * Creates a reorderer from a reduced BDD.
+     *
+     * @param bdd BDD to copy.
+     * @throws IllegalArgumentException if the BDD contains complemented node references.
+     */
+    BddReorderer(Bdd bdd) {
+        int variableCount = bdd.getConditionCount();
+        varAtLevel = new int[variableCount];
+        levelOfVar = new int[variableCount];
+        levels = new LevelTable[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            varAtLevel[i] = i;
+            levelOfVar[i] = i;
+            levels[i] = new LevelTable();
+        }
+
+        // Node i of the BDD is stored at index i so that references don't need to be remapped. Index 0 is the
+        // terminal, which is never stored in a level.
+        int nodeCount = bdd.getNodeCount();
+        int capacity = Math.max(16, nodeCount * 2);
+        vars = new int[capacity];
+        highs = new int[capacity];
+        lows = new int[capacity];
+        refs = new int[capacity];
+        free = new int[capacity];
+        nodeLimit = nodeCount;
+
+        for (int i = 1; i < nodeCount; i++) {
+            vars[i] = bdd.getVariable(i);
+            highs[i] = checkReference(bdd.getHigh(i));
+            lows[i] = checkReference(bdd.getLow(i));
+        }
+
+        // Only nodes reachable from the root are kept. The root is given an extra reference so it's never freed.
+        int root = checkReference(bdd.getRootRef());
+        boolean[] reachable = new boolean[nodeCount];
+        int[] stack = new int[nodeCount];
+        int top = 0;
+        if (isNode(root)) {
+            reachable[root - 1] = true;
+            stack[top++] = root - 1;
+            refs[root - 1]++;
+        }
+        while (top > 0) {
+            int node = stack[--top];
+            levels[vars[node]].insert(node);
+            size++;
+            top = markChild(highs[node], reachable, stack, top);
+            top = markChild(lows[node], reachable, stack, top);
+        }
+
+        for (int i = nodeCount - 1; i > 0; i--) {
+            if (!reachable[i]) {
+                free[freeCount++] = i;
+            }
+        }
+    }
+
+    private int markChild(int ref, boolean[] reachable, int[] stack, int top) {
+        if (isNode(ref)) {
+            int child = ref - 1;
+            refs[child]++;
+            if (!reachable[child]) {
+                reachable[child] = true;
+                stack[top++] = child;
+            }
+        }
+        return top;
+    }
+
+    private static int checkReference(int ref) {
+        if (Bdd.isComplemented(ref)) {
+            throw new IllegalArgumentException("BDD reordering doesn't support complemented node references: " + ref);
+        }
+        return ref;
+    }
+
+    private static boolean isNode(int ref) {
+        return ref > 1 && ref < Bdd.RESULT_OFFSET;
+    }
+
+    /**
+     * Gets the number of nodes in the BDD, not including the terminal.
+     *
+     * @return the number of nodes.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the variable at a level.
+     *
+     * @param level Level to check.
+     * @return the variable at the level.
+     */
+    int getVariable(int level) {
+        return varAtLevel[level];
+    }
+
+    /**
+     * Gets the level of a variable.
+     *
+     * @param variable Variable to check.
+     * @return the level of the variable.
+     */
+    int getLevel(int variable) {
+        return levelOfVar[variable];
+    }
+
+    /**
+     * Swaps the variables at a level and the level below it.
+     *
+     * @param level Upper level to swap.
+     */
+    void swap(int level) {
+        int x = varAtLevel[level];
+        int y = varAtLevel[level + 1];
+        LevelTable upper = levels[level + 1];
+        LevelTable lower = levels[level];
+        int[] xNodes = lower.drain();
+
+        // y moves up to the table that held y, and x moves down into the drained table.
+        levels[level] = upper;
+        levels[level + 1] = lower;
+        varAtLevel[level] = y;
+        varAtLevel[level + 1] = x;
+        levelOfVar[y] = level;
+        levelOfVar[x] = level + 1;
+
+        // Nodes that don't test y are unaffected by the swap and just move down a level.
+        int dependent = 0;
+        for (int node : xNodes) {
+            if (testsVariable(highs[node], y) || testsVariable(lows[node], y)) {
+                xNodes[dependent++] = node;
+            } else {
+                lower.insert(node);
+            }
+        }
+
+        // Each remaining node F = x ? (y ? f11 : f10) : (y ? f01 : f00) is rewritten in place to
+        // F = y ? (x ? f11 : f01) : (x ? f10 : f00), so references to F stay valid.
+        for (int i = 0; i < dependent; i++) {
+            int node = xNodes[i];
+            int high = highs[node];
+            int low = lows[node];
+            int newHigh = makeNode(lower, x, cofactor(high, y, true), cofactor(low, y, true));
+            int newLow = makeNode(lower, x, cofactor(high, y, false), cofactor(low, y, false));
+            reference(newHigh);
+            reference(newLow);
+            vars[node] = y;
+            highs[node] = newHigh;
+            lows[node] = newLow;
+            upper.insert(node);
+            dereference(high);
+            dereference(low);
+        }
+    }
+
+    /**
+     * Moves the variable at a level to the level between {@code minLevel} and {@code maxLevel} (inclusive) that
+     * results in the smallest BDD.
+     *
+     * <p>The variable is first moved to the closest bound, then to the other bound, and then back to the best level
+     * that was seen. Ties are resolved in favor of the starting level.
+     *
+     * @param level Level of the variable to move.
+     * @param minLevel Lowest level the variable can be moved to.
+     * @param maxLevel Highest level the variable can be moved to.
+     * @return the new level of the variable.
+     */
+    int sift(int level, int minLevel, int maxLevel) {
+        int bestLevel = level;
+        int bestSize = size;
+        int current = level;
+
+        if (level - minLevel <= maxLevel - level) {
+            while (current > minLevel) {
+                swap(--current);
+                if (size < bestSize) {
+                    bestSize = size;
+                    bestLevel = current;
+                }
+            }
+            while (current < maxLevel) {
+                swap(current++);
+                if (size < bestSize) {
+                    bestSize = size;
+                    bestLevel = current;
+                }
+            }
+        } else {
+            while (current < maxLevel) {
+                swap(current++);
+                if (size < bestSize) {
+                    bestSize = size;
+                    bestLevel = current;
+                }
+            }
+            while (current > minLevel) {
+                swap(--current);
+                if (size < bestSize) {
+                    bestSize = size;
+                    bestLevel = current;
+                }
+            }
+        }
+
+        while (current > bestLevel) {
+            swap(--current);
+        }
+        while (current < bestLevel) {
+            swap(current++);
+        }
+
+        return bestLevel;
+    }
+
+    private boolean testsVariable(int ref, int variable) {
+        return isNode(ref) && vars[ref - 1] == variable;
+    }
+
+    private int cofactor(int ref, int variable, boolean value) {
+        if (!testsVariable(ref, variable)) {
+            return ref;
+        }
+        return value ? highs[ref - 1] : lows[ref - 1];
+    }
+
+    private int makeNode(LevelTable table, int variable, int high, int low) {
+        if (high == low) {
+            return high;
+        }
+
+        int existing = table.find(high, low);
+        if (existing != 0) {
+            return existing + 1;
+        }
+
+        int node = allocate();
+        vars[node] = variable;
+        highs[node] = high;
+        lows[node] = low;
+        refs[node] = 0;
+        reference(high);
+        reference(low);
+        table.insert(node);
+        size++;
+        return node + 1;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+
+        if (nodeLimit == vars.length) {
+            int capacity = vars.length * 2;
+            vars = Arrays.copyOf(vars, capacity);
+            highs = Arrays.copyOf(highs, capacity);
+            lows = Arrays.copyOf(lows, capacity);
+            refs = Arrays.copyOf(refs, capacity);
+            free = Arrays.copyOf(free, capacity);
+        }
+
+        return nodeLimit++;
+    }
+
+    private void reference(int ref) {
+        if (isNode(ref)) {
+            refs[ref - 1]++;
+        }
+    }
+
+    private void dereference(int ref) {
+        if (!isNode(ref)) {
+            return;
+        }
+
+        int node = ref - 1;
+        if (--refs[node] == 0) {
+            levels[levelOfVar[vars[node]]].remove(node);
+            free[freeCount++] = node;
+            size--;
+            dereference(highs[node]);
+            dereference(lows[node]);
+        }
+    }
+
+    /**
+     * An open addressing hash set of the node indices at a level, keyed by their high and low references.
+     */
+    private final class LevelTable {
+        private int[] slots = new int[8];
+        private int count;
+
+        int find(int high, int low) {
+            int mask = slots.length - 1;
+            for (int i = hash(high, low) & mask;; i = (i + 1) & mask) {
+                int node = slots[i];
+                if (node == 0 || (highs[node] == high && lows[node] == low)) {
+                    return node;
+                }
+            }
+        }
+
+        void insert(int node) {
+            if ((count + 1) * 4 > slots.length * 3) {
+                int[] previous = slots;
+                slots = new int[previous.length * 2];
+                for (int existing : previous) {
+                    if (existing != 0) {
+                        place(existing);
+                    }
+                }
+            }
+            place(node);
+            count++;
+        }
+
+        private void place(int node) {
+            int mask = slots.length - 1;
+            int i = hash(highs[node], lows[node]) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = node;
+        }
+
+        void remove(int node) {
+            int mask = slots.length - 1;
+            int i = hash(highs[node], lows[node]) & mask;
+            while (slots[i] != node) {
+                i = (i + 1) & mask;
+            }
+
+            // Shift later entries of the probe sequence back so that lookups don't stop at the removed slot.
+            slots[i] = 0;
+            for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+                int moving = slots[j];
+                int home = hash(highs[moving], lows[moving]) & mask;
+                if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                    slots[i] = moving;
+                    slots[j] = 0;
+                    i = j;
+                }
+            }
+            count--;
+        }
+
+        int[] drain() {
+            int[] result = new int[count];
+            int n = 0;
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != 0) {
+                    result[n++] = slots[i];
+                    slots[i] = 0;
+                }
+            }
+            count = 0;
+            return result;
+        }
+    }
+
+    private static int hash(int high, int low) {
+        int h = high * 0x9E3779B1 + low;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.logic.bdd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionNode;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.LibraryFunction;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Shares structurally equal function calls across a list of conditions.
+ *
+ * <p>Conditions of a BDD often repeat the same calls, like {@code parseURL(Endpoint)} or
+ * {@code substring(Bucket, 0, 6, true)}, nested inside different conditions. After this pass, every equal call is
+ * the same expression instance, so evaluators can memoize function results by expression identity for the
+ * duration of a single evaluation.
+ */
+@SmithyInternalApi
+public final class CommonSubexpressions {
+    private final Map<LibraryFunction, LibraryFunction> canonical = new HashMap<>();
+
+    private CommonSubexpressions() {}
+
+    /**
+     * Rewrites conditions so that equal function calls share a single instance.
+     *
+     * @param conditions Conditions to rewrite.
+     * @return the rewritten conditions, or the given list if nothing changed.
+     */
+    public static List<Condition> share(List<Condition> conditions) {
+        CommonSubexpressions cse = new CommonSubexpressions();
+        List<Condition> result = null;
+
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            LibraryFunction fn = cse.intern(condition.getFunction());
+            if (fn != condition.getFunction()) {
+                if (result == null) {
+                    result = new ArrayList<>(conditions.subList(0, i));
+                }
+                result.add(condition.toBuilder().fn(fn).build());
+            } else if (result != null) {
+                result.add(condition);
+            }
+        }
+
+        return result == null ? conditions : result;
+    }
+
+    private Expression intern(Expression expression) {
+        return expression instanceof LibraryFunction ? intern((LibraryFunction) expression) : expression;
+    }
+
+    // Interns arguments first so that equal calls are rebuilt from the same argument instances.
+    private LibraryFunction intern(LibraryFunction fn) {
+        List<Expression> arguments = fn.getArguments();
+        List<Expression> rewritten = null;
+
+        for (int i = 0; i < arguments.size(); i++) {
+            Expression argument = arguments.get(i);
+            Expression interned = intern(argument);
+            if (interned != argument && rewritten == null) {
+                rewritten = new ArrayList<>(arguments.subList(0, i));
+            }
+            if (rewritten != null) {
+                rewritten.add(interned);
+            }
+        }
+
+        LibraryFunction result = fn;
+        if (rewritten != null) {
+            FunctionNode node = FunctionNode.builder()
+                    .sourceLocation(fn)
+                    .name(StringNode.from(fn.getName()))
+                    .arguments(rewritten)
+                    .build();
+            result = fn.getFunctionDefinition().createFunction(node);
+        }
+
+        LibraryFunction existing = canonical.putIfAbsent(result, result);
+        return existing == null ? result : existing;
+    }
+}
@@ -6,40 +6,33 @@ package software.amazon.smithy.rulesengine.logic.bdd;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
-import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
 import software.amazon.smithy.rulesengine.logic.cfg.Cfg;
 import software.amazon.smithy.rulesengine.logic.cfg.ConditionDependencyGraph;
 import software.amazon.smithy.rulesengine.traits.EndpointBddTrait;
 import software.amazon.smithy.utils.SmithyBuilder;
 
 /**
- * BDD optimization using tiered parallel position evaluation with dependency-aware constraints.
+ * BDD optimization using tiered sifting with dependency-aware constraints.
+ *
+ * <p>Variables are sifted in place by swapping adjacent levels of the BDD (see {@link BddReorderer}), so each
+ * candidate position is evaluated by rewriting two levels rather than recompiling the BDD. Each sifted condition
+ * is moved across every position allowed by its dependencies and left at the position that produced the smallest
+ * BDD. The BDD is only recompiled once, for the final ordering.
  *
  * <p>The optimization runs in three stages with decreasing granularity:
  * <ul>
- *   <li>Coarse: Fast reduction with large steps</li>
+ *   <li>Coarse: Fast reduction by sifting a sample of the conditions</li>
  *   <li>Medium: Balanced optimization</li>
- *   <li>Granular: Fine-tuned optimization for maximum reduction</li>
+ *   <li>Granular: Sifts every condition for maximum reduction</li>
  * </ul>
  */
 public final class SiftingOptimization implements Function<EndpointBddTrait, EndpointBddTrait> {
     private static final Logger LOGGER = Logger.getLogger(SiftingOptimization.class.getName());
 
-    // When to use a parallel stream
-    private static final int PARALLEL_THRESHOLD = 7;
-
-    // Thread-local BDD builders to avoid allocation overhead
-    private final ThreadLocal<BddBuilder> threadBuilder = ThreadLocal.withInitial(BddBuilder::new);
-
     private final Cfg cfg;
     private final ConditionDependencyGraph dependencyGraph;
 
@@ -53,29 +46,16 @@ public final class SiftingOptimization implements Function<EndpointBddTrait, End
 
     // Internal effort levels for the tiered optimization stages.
     private enum OptimizationEffort {
-        COARSE(11, 4, 0, 20, 4_000, 6),
-        MEDIUM(2, 20, 6, 20, 1_000, 6),
-        GRANULAR(1, 50, 12, 20, 8_000, 12);
+        COARSE(11, 4_000, 6),
+        MEDIUM(2, 1_000, 6),
+        GRANULAR(1, 8_000, 12);
 
         final int sampleRate;
-        final int maxPositions;
-        final int nearbyRadius;
-        final int exhaustiveThreshold;
         final int defaultNodeThreshold;
         final int defaultMaxPasses;
 
-        OptimizationEffort(
-                int sampleRate,
-                int maxPositions,
-                int nearbyRadius,
-                int exhaustiveThreshold,
-                int defaultNodeThreshold,
-                int defaultMaxPasses
-        ) {
+        OptimizationEffort(int sampleRate, int defaultNodeThreshold, int defaultMaxPasses) {
             this.sampleRate = sampleRate;
-            this.maxPositions = maxPositions;
-            this.nearbyRadius = nearbyRadius;
-            this.exhaustiveThreshold = exhaustiveThreshold;
             this.defaultNodeThreshold = defaultNodeThreshold;
             this.defaultMaxPasses = defaultMaxPasses;
         }
@@ -98,55 +78,46 @@ public final class SiftingOptimization implements Function<EndpointBddTrait, End
 
     @Override
     public EndpointBddTrait apply(EndpointBddTrait trait) {
-        try {
-            return doApply(trait);
-        } finally {
-            threadBuilder.remove();
-        }
-    }
-
-    private EndpointBddTrait doApply(EndpointBddTrait trait) {
         LOGGER.info("Starting BDD sifting optimization");
         long startTime = System.currentTimeMillis();
-        OptimizationState state = initializeOptimization(trait);
-        LOGGER.info(String.format("Initial size: %d nodes", state.initialSize));
+        int initialSize = trait.getBdd().getNodeCount() - 1;
+        LOGGER.info(String.format("Initial size: %d nodes", initialSize));
+
+        // Start from a BDD compiled with the trait's existing ordering so that it's reduced.
+        OptimizationState state = new OptimizationState(trait.getConditions(), compile(trait.getConditions()));
 
-        state = runOptimizationStage("Coarse", state, OptimizationEffort.COARSE, coarseMinNodes, coarseMaxPasses, 4.0);
-        state = runOptimizationStage("Medium", state, OptimizationEffort.MEDIUM, mediumMinNodes, mediumMaxPasses, 1.5);
-        if (state.currentSize <= granularMaxNodes) {
-            state = runOptimizationStage("Granular", state, OptimizationEffort.GRANULAR, 0, granularMaxPasses, 0.0);
+        runOptimizationStage("Coarse", state, OptimizationEffort.COARSE, coarseMinNodes, coarseMaxPasses, 4.0);
+        runOptimizationStage("Medium", state, OptimizationEffort.MEDIUM, mediumMinNodes, mediumMaxPasses, 1.5);
+        if (state.size() <= granularMaxNodes) {
+            runOptimizationStage("Granular", state, OptimizationEffort.GRANULAR, 0, granularMaxPasses, 0.0);
         } else {
             LOGGER.info("Skipping granular stage - too large");
         }
-        state = runAdjacentSwaps(state);
+        runAdjacentSwaps(state);
 
-        double totalTimeInSeconds = (System.currentTimeMillis() - startTime) / 1000.0;
-
-        if (state.bestSize >= state.initialSize) {
+        if (state.size() >= initialSize) {
+            double totalTimeInSeconds = (System.currentTimeMillis() - startTime) / 1000.0;
             LOGGER.info(String.format("No improvements found in %fs", totalTimeInSeconds));
             return trait;
         }
 
+        // Recompile with the final ordering to get a canonical node layout and result indices.
+        List<Condition> order = state.getOrder();
+        BddCompiler compiler = new BddCompiler(cfg, OrderingStrategy.fixed(order), new BddBuilder());
+        Bdd bdd = compiler.compile();
+        int bestSize = bdd.getNodeCount() - 1;
+        double totalTimeInSeconds = (System.currentTimeMillis() - startTime) / 1000.0;
+
         LOGGER.info(String.format("Optimization complete: %d -> %d nodes (%.1f%% total reduction) in %fs",
-                state.initialSize,
-                state.bestSize,
-                (1.0 - (double) state.bestSize / state.initialSize) * 100,
+                initialSize,
+                bestSize,
+                (1.0 - (double) bestSize / initialSize) * 100,
                 totalTimeInSeconds));
 
-        return trait.toBuilder().conditions(state.orderView).results(state.results).bdd(state.bestBdd).build();
+        return trait.toBuilder().conditions(order).results(compiler.getIndexedResults()).bdd(bdd).build();
     }
 
-    private OptimizationState initializeOptimization(EndpointBddTrait trait) {
-        // Use the trait's existing ordering as the starting point
-        List<Condition> initialOrder = new ArrayList<>(trait.getConditions());
-        Condition[] order = initialOrder.toArray(new Condition[0]);
-        List<Condition> orderView = Arrays.asList(order);
-        Bdd bdd = trait.getBdd();
-        int initialSize = bdd.getNodeCount() - 1;
-        return new OptimizationState(order, orderView, bdd, initialSize, initialSize, trait.getResults());
-    }
-
-    private OptimizationState runOptimizationStage(
+    private void runOptimizationStage(
             String stageName,
             OptimizationState state,
             OptimizationEffort effort,
@@ -154,31 +125,30 @@ public final class SiftingOptimization implements Function<EndpointBddTrait, End
             int maxPasses,
             double minReductionPercent
     ) {
-        if (targetNodeCount > 0 && state.currentSize <= targetNodeCount) {
-            return state;
+        if (targetNodeCount > 0 && state.size() <= targetNodeCount) {
+            return;
         }
 
         LOGGER.info(String.format("Stage: %s optimization (%d nodes%s)",
                 stageName,
-                state.currentSize,
+                state.size(),
                 targetNodeCount > 0 ? String.format(", target < %d", targetNodeCount) : ""));
 
-        OptimizationState currentState = state;
         for (int pass = 1; pass <= maxPasses; pass++) {
-            if (targetNodeCount > 0 && currentState.currentSize <= targetNodeCount) {
+            if (targetNodeCount > 0 && state.size() <= targetNodeCount) {
                 break;
             }
 
-            int passStartSize = currentState.currentSize;
-            OptimizationResult result = runPass(currentState, effort);
-            if (result.improved) {
-                currentState = currentState.withResult(result.bdd, result.size, result.results);
-                double reduction = (1.0 - (double) result.size / passStartSize) * 100;
+            int passStartSize = state.size();
+            runPass(state, effort);
+            int size = state.size();
+            if (size < passStartSize) {
+                double reduction = (1.0 - (double) size / passStartSize) * 100;
                 LOGGER.fine(String.format("%s pass %d: %d -> %d nodes (%.1f%% reduction)",
                         stageName,
                         pass,
                         passStartSize,
-                        result.size,
+                        size,
                         reduction));
                 if (minReductionPercent > 0 && reduction < minReductionPercent) {
                     LOGGER.fine(String.format("%s optimization yielding diminishing returns", stageName));
@@ -189,329 +159,90 @@ public final class SiftingOptimization implements Function<EndpointBddTrait, End
                 break;
             }
         }
-
-        return currentState;
     }
 
-    private OptimizationState runAdjacentSwaps(OptimizationState state) {
-        if (state.currentSize > granularMaxNodes) {
-            return state;
+    private void runAdjacentSwaps(OptimizationState state) {
+        if (state.size() > granularMaxNodes) {
+            return;
         }
 
         LOGGER.info("Running adjacent swaps optimization");
-        OptimizationState currentState = state;
+        BddReorderer reorderer = state.reorderer;
 
         // Run multiple sweeps until no improvement
         for (int sweep = 1; sweep <= 3; sweep++) {
-            OptimizationContext context = new OptimizationContext(currentState, dependencyGraph);
-            int startSize = currentState.currentSize;
-
-            for (int i = 0; i < currentState.order.length - 1; i++) {
-                if (context.constraints.canMove(i, i + 1)) {
-                    move(currentState.order, i, i + 1);
-                    BddCompilationResult compilationResult = compileBddWithResults(currentState.orderView);
-                    int swappedSize = compilationResult.bdd.getNodeCount() - 1;
-                    if (swappedSize < context.bestSize) {
-                        context = context.withImprovement(
-                                new PositionResult(i + 1,
-                                        swappedSize,
-                                        compilationResult.bdd,
-                                        compilationResult.results));
+            ConditionDependencyGraph.OrderConstraints constraints = createConstraints(state);
+            int startSize = reorderer.size();
+
+            for (int i = 0; i < state.variables.length - 1; i++) {
+                if (constraints.canMove(i, i + 1)) {
+                    int size = reorderer.size();
+                    reorderer.swap(i);
+                    if (reorderer.size() < size) {
+                        constraints = createConstraints(state);
                     } else {
-                        move(currentState.order, i + 1, i); // Swap back
+                        reorderer.swap(i); // Swap back
                     }
                 }
             }
 
-            if (context.improvements > 0) {
-                currentState = currentState.withResult(context.bestBdd, context.bestSize, context.bestResults);
+            if (reorderer.size() < startSize) {
                 LOGGER.fine(String.format("Adjacent swaps sweep %d: %d -> %d nodes",
                         sweep,
                         startSize,
-                        context.bestSize));
+                        reorderer.size()));
             } else {
                 break;
             }
         }
-
-        return currentState;
-    }
-
-    private OptimizationResult runPass(OptimizationState state, OptimizationEffort effort) {
-        OptimizationContext context = new OptimizationContext(state, dependencyGraph);
-
-        List<Condition> selectedConditions = IntStream.range(0, state.orderView.size())
-                .filter(i -> i % effort.sampleRate == 0)
-                .mapToObj(state.orderView::get)
-                .collect(Collectors.toList());
-
-        for (Condition condition : selectedConditions) {
-            Integer varIdx = context.liveIndex.get(condition);
-            if (varIdx == null) {
-                continue;
-            }
-
-            List<Integer> positions = getStrategicPositions(varIdx, context.constraints, effort);
-            if (positions.isEmpty()) {
-                continue;
-            }
-
-            context = tryImprovePosition(context, varIdx, positions);
-        }
-
-        return context.toResult();
-    }
-
-    private OptimizationContext tryImprovePosition(OptimizationContext context, int varIdx, List<Integer> positions) {
-        PositionResult best = findBestPosition(positions, context, varIdx);
-        if (best != null && best.count <= context.bestSize) { // Accept ties
-            move(context.order, varIdx, best.position);
-            return context.withImprovement(best);
-        }
-
-        return context;
     }
 
-    private PositionResult findBestPosition(List<Integer> positions, OptimizationContext ctx, int varIdx) {
-        return (positions.size() > PARALLEL_THRESHOLD ? positions.parallelStream() : positions.stream())
-                .map(pos -> {
-                    Condition[] order = ctx.order.clone();
-                    move(order, varIdx, pos);
-                    BddCompilationResult cr = compileBddWithResults(Arrays.asList(order));
-                    return new PositionResult(pos, cr.bdd.getNodeCount() - 1, cr.bdd, cr.results);
-                })
-                .filter(pr -> pr.count <= ctx.bestSize)
-                .min(Comparator.comparingInt((PositionResult pr) -> pr.count).thenComparingInt(pr -> pr.position))
-                .orElse(null);
-    }
-
-    private static List<Integer> getStrategicPositions(
-            int varIdx,
-            ConditionDependencyGraph.OrderConstraints constraints,
-            OptimizationEffort effort
-    ) {
-        int min = constraints.getMinValidPosition(varIdx);
-        int max = constraints.getMaxValidPosition(varIdx);
-        int range = max - min;
-
-        if (range <= effort.exhaustiveThreshold) {
-            List<Integer> positions = new ArrayList<>(range);
-            for (int p = min; p < max; p++) {
-                if (p != varIdx && constraints.canMove(varIdx, p)) {
-                    positions.add(p);
-                }
-            }
-            return positions;
-        }
-
-        List<Integer> positions = new ArrayList<>(effort.maxPositions);
-
-        // Test extremes first since they often yield the best improvements
-        if (min != varIdx && constraints.canMove(varIdx, min)) {
-            positions.add(min);
+    private void runPass(OptimizationState state, OptimizationEffort effort) {
+        // Select conditions by their position at the start of the pass, since sifting moves them around.
+        List<Integer> selected = new ArrayList<>();
+        for (int level = 0; level < state.variables.length; level += effort.sampleRate) {
+            selected.add(state.reorderer.getVariable(level));
         }
-        if (positions.size() >= effort.maxPositions) {
-            return positions;
-        }
-
-        if (max - 1 != varIdx && constraints.canMove(varIdx, max - 1)) {
-            positions.add(max - 1);
-        }
-        if (positions.size() >= effort.maxPositions) {
-            return positions;
-        }
-
-        // Test local moves that preserve relative ordering with neighbors
-        for (int offset = -effort.nearbyRadius; offset <= effort.nearbyRadius; offset++) {
-            if (offset != 0) {
-                if (positions.size() >= effort.maxPositions) {
-                    return positions;
-                }
-                int p = varIdx + offset;
-                if (p >= min && p < max && !positions.contains(p) && constraints.canMove(varIdx, p)) {
-                    positions.add(p);
-                }
-            }
-        }
-
-        // Sample intermediate positions to find global improvements
-        if (positions.size() >= effort.maxPositions) {
-            return positions;
-        }
-
-        int maxSamples = Math.min(15, effort.maxPositions / 2);
-        int samples = Math.min(maxSamples, Math.max(2, range / 4));
-        int step = Math.max(1, range / samples);
 
-        for (int p = min + step; p < max - step && positions.size() < effort.maxPositions; p += step) {
-            if (p != varIdx && !positions.contains(p) && constraints.canMove(varIdx, p)) {
-                positions.add(p);
+        for (int variable : selected) {
+            int level = state.reorderer.getLevel(variable);
+            ConditionDependencyGraph.OrderConstraints constraints = createConstraints(state);
+            int min = constraints.getMinValidPosition(level);
+            int max = constraints.getMaxValidPosition(level);
+            if (min < max) {
+                state.reorderer.sift(level, min, max);
             }
         }
-        return positions;
-    }
-
-    private static void move(Condition[] arr, int from, int to) {
-        if (from == to) {
-            return;
-        }
-
-        Condition moving = arr[from];
-        if (from < to) {
-            System.arraycopy(arr, from + 1, arr, from, to - from);
-        } else {
-            System.arraycopy(arr, to, arr, to + 1, from - to);
-        }
-        arr[to] = moving;
-    }
-
-    private static Map<Condition, Integer> rebuildIndex(List<Condition> orderView) {
-        Map<Condition, Integer> index = new IdentityHashMap<>();
-        for (int i = 0; i < orderView.size(); i++) {
-            index.put(orderView.get(i), i);
-        }
-        return index;
-    }
-
-    private BddCompilationResult compileBddWithResults(List<Condition> ordering) {
-        BddBuilder builder = threadBuilder.get().reset();
-        BddCompiler compiler = new BddCompiler(cfg, OrderingStrategy.fixed(ordering), builder);
-        Bdd bdd = compiler.compile();
-        return new BddCompilationResult(bdd, compiler.getIndexedResults());
     }
 
-    // Helper class to track optimization context within a pass
-    private static final class OptimizationContext {
-        final Condition[] order;
-        final List<Condition> orderView;
-        final ConditionDependencyGraph dependencyGraph;
-        final ConditionDependencyGraph.OrderConstraints constraints;
-        final Map<Condition, Integer> liveIndex;
-        final Bdd bestBdd;
-        final int bestSize;
-        final List<Rule> bestResults;
-        final int improvements;
-
-        OptimizationContext(OptimizationState state, ConditionDependencyGraph dependencyGraph) {
-            this.order = state.order;
-            this.orderView = state.orderView;
-            this.dependencyGraph = dependencyGraph;
-            this.constraints = dependencyGraph.createOrderConstraints(orderView);
-            this.liveIndex = rebuildIndex(orderView);
-            this.bestBdd = null;
-            this.bestSize = state.currentSize;
-            this.bestResults = null;
-            this.improvements = 0;
-        }
-
-        private OptimizationContext(
-                Condition[] order,
-                List<Condition> orderView,
-                ConditionDependencyGraph dependencyGraph,
-                ConditionDependencyGraph.OrderConstraints constraints,
-                Map<Condition, Integer> liveIndex,
-                Bdd bestBdd,
-                int bestSize,
-                List<Rule> bestResults,
-                int improvements
-        ) {
-            this.order = order;
-            this.orderView = orderView;
-            this.dependencyGraph = dependencyGraph;
-            this.constraints = constraints;
-            this.liveIndex = liveIndex;
-            this.bestBdd = bestBdd;
-            this.bestSize = bestSize;
-            this.bestResults = bestResults;
-            this.improvements = improvements;
-        }
-
-        OptimizationContext withImprovement(PositionResult result) {
-            ConditionDependencyGraph.OrderConstraints newConstraints =
-                    dependencyGraph.createOrderConstraints(orderView);
-            Map<Condition, Integer> newIndex = rebuildIndex(orderView);
-            return new OptimizationContext(order,
-                    orderView,
-                    dependencyGraph,
-                    newConstraints,
-                    newIndex,
-                    result.bdd,
-                    result.count,
-                    result.results,
-                    improvements + 1);
-        }
-
-        OptimizationResult toResult() {
-            return new OptimizationResult(bestBdd, bestSize, improvements > 0, bestResults);
-        }
+    private ConditionDependencyGraph.OrderConstraints createConstraints(OptimizationState state) {
+        return dependencyGraph.createOrderConstraints(state.getOrder());
     }
 
-    private static final class BddCompilationResult {
-        final Bdd bdd;
-        final List<Rule> results;
-
-        BddCompilationResult(Bdd bdd, List<Rule> results) {
-            this.bdd = bdd;
-            this.results = results;
-        }
+    private Bdd compile(List<Condition> ordering) {
+        return new BddCompiler(cfg, OrderingStrategy.fixed(ordering), new BddBuilder()).compile();
     }
 
-    private static final class PositionResult {
-        final int position;
-        final int count;
-        final Bdd bdd;
-        final List<Rule> results;
-
-        PositionResult(int position, int count, Bdd bdd, List<Rule> results) {
-            this.position = position;
-            this.count = count;
-            this.bdd = bdd;
-            this.results = results;
-        }
-    }
+    // Tracks the BDD being reordered, and the condition of each of its variables.
+    private static final class OptimizationState {
+        final Condition[] variables;
+        final BddReorderer reorderer;
 
-    private static final class OptimizationResult {
-        final Bdd bdd;
-        final int size;
-        final boolean improved;
-        final List<Rule> results;
-
-        OptimizationResult(Bdd bdd, int size, boolean improved, List<Rule> results) {
-            this.bdd = bdd;
-            this.size = size;
-            this.improved = improved;
-            this.results = results;
+        OptimizationState(List<Condition> ordering, Bdd bdd) {
+            this.variables = ordering.toArray(new Condition[0]);
+            this.reorderer = new BddReorderer(bdd);
         }
-    }
 
-    private static final class OptimizationState {
-        final Condition[] order;
-        final List<Condition> orderView;
-        final Bdd bestBdd;
-        final int currentSize;
-        final int bestSize;
-        final int initialSize;
-        final List<Rule> results;
-
-        OptimizationState(
-                Condition[] order,
-                List<Condition> orderView,
-                Bdd bestBdd,
-                int currentSize,
-                int initialSize,
-                List<Rule> results
-        ) {
-            this.order = order;
-            this.orderView = orderView;
-            this.bestBdd = bestBdd;
-            this.currentSize = currentSize;
-            this.bestSize = currentSize;
-            this.initialSize = initialSize;
-            this.results = results;
+        int size() {
+            return reorderer.size();
         }
 
-        OptimizationState withResult(Bdd newBdd, int newSize, List<Rule> newResults) {
-            return new OptimizationState(order, orderView, newBdd, newSize, initialSize, newResults);
+        List<Condition> getOrder() {
+            Condition[] order = new Condition[variables.length];
+            for (int level = 0; level < order.length; level++) {
+                order[level] = variables[reorderer.getVariable(level)];
+            }
+            return Arrays.asList(order);
         }
     }
 
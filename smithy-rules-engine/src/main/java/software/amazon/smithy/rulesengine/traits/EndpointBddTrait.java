@@ -29,6 +29,7 @@ import software.amazon.smithy.rulesengine.language.syntax.rule.NoMatchRule;
 import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
 import software.amazon.smithy.rulesengine.logic.bdd.Bdd;
 import software.amazon.smithy.rulesengine.logic.bdd.BddCompiler;
+import software.amazon.smithy.rulesengine.logic.bdd.CommonSubexpressions;
 import software.amazon.smithy.rulesengine.logic.cfg.Cfg;
 import software.amazon.smithy.utils.SetUtils;
 import software.amazon.smithy.utils.SmithyBuilder;
@@ -60,7 +61,8 @@ public final class EndpointBddTrait extends AbstractTrait implements ToSmithyBui
         super(ID, builder.getSourceLocation());
         this.version = SmithyBuilder.requiredState("version", builder.version);
         this.parameters = SmithyBuilder.requiredState("parameters", builder.parameters);
-        this.conditions = SmithyBuilder.requiredState("conditions", builder.conditions);
+        // Equal function calls are shared so that evaluators can memoize them by identity.
+        this.conditions = CommonSubexpressions.share(SmithyBuilder.requiredState("conditions", builder.conditions));
         this.results = SmithyBuilder.requiredState("results", builder.results);
         this.bdd = SmithyBuilder.requiredState("bdd", builder.bdd);
 
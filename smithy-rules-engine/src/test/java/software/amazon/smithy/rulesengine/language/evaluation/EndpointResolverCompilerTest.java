@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.IntegrationTest;
+import software.amazon.smithy.rulesengine.language.TestRunnerTest;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.logic.cfg.Cfg;
+import software.amazon.smithy.rulesengine.traits.EndpointBddTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.utils.MapUtils;
+
+public class EndpointResolverCompilerTest {
+    public static List<Arguments> testCases() throws Exception {
+        List<Arguments> result = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(
+                Paths.get(IntegrationTest.class.getResource("errorfiles/valid/").toURI()))) {
+            paths.filter(path -> path.toString().endsWith(".smithy")).sorted().forEach(path -> {
+                Model model = Model.assembler().discoverModels().addImport(path).assemble().unwrap();
+                for (ServiceShape service : model.getServiceShapesWithTrait(EndpointTestsTrait.class)) {
+                    if (service.hasTrait(EndpointRuleSetTrait.class)) {
+                        EndpointRuleSet ruleSet = service.expectTrait(EndpointRuleSetTrait.class).getEndpointRuleSet();
+                        EndpointBddTrait bdd = EndpointBddTrait.from(Cfg.from(ruleSet));
+                        for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class)
+                                .getTestCases()) {
+                            result.add(Arguments.of(path.getFileName().toString(), bdd, testCase));
+                        }
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("testCases")
+    public void resolvesSameValuesAsRuleEvaluator(String filename, EndpointBddTrait bdd, EndpointTestCase testCase) {
+        Map<Identifier, Value> parameters = new LinkedHashMap<>();
+        for (Map.Entry<StringNode, Node> entry : testCase.getParams().getMembers().entrySet()) {
+            parameters.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
+        }
+
+        Object expected = evaluate(() -> RuleEvaluator.evaluate(bdd, parameters));
+        Object actual = evaluate(() -> EndpointResolverCompiler.compile(bdd).resolve(parameters));
+
+        assertEquals(expected, actual);
+    }
+
+    // Compares the error messages when evaluation fails.
+    private static Object evaluate(Supplier<Value> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            return e.getClass() + ": " + e.getMessage();
+        }
+    }
+
+    @Test
+    public void resolvesPositionalArguments() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getMinimalEndpointRuleSet();
+        EndpointBddTrait bdd = EndpointBddTrait.from(Cfg.from(ruleSet));
+        CompiledEndpointResolver resolver = EndpointResolverCompiler.compile(bdd);
+
+        Value[] arguments = new Value[resolver.getParameterNames().size()];
+        arguments[resolver.getParameterNames().indexOf(Identifier.of("Region"))] = Value.stringValue("us-east-1");
+
+        assertEquals(RuleEvaluator.evaluate(bdd, MapUtils.of(Identifier.of("Region"), Value.stringValue("us-east-1"))),
+                resolver.resolve(arguments));
+    }
+
+    @Test
+    public void validatesNumberOfPositionalArguments() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getMinimalEndpointRuleSet();
+        CompiledEndpointResolver resolver = EndpointResolverCompiler.compile(EndpointBddTrait.from(Cfg.from(ruleSet)));
+
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(new Value[0]));
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.type.Type;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionNode;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.IsSet;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.LibraryFunction;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.StringEquals;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.Substring;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.ParameterType;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.logic.bdd.Bdd;
+import software.amazon.smithy.utils.MapUtils;
+
+public class RuleEvaluatorTest {
+    private static final Reference REGION = Expression.getReference("Region");
+    private static final Reference X = Expression.getReference("x");
+
+    @Test
+    public void bindingsFromFailedRulesAreNotVisibleToSiblings() {
+        // The first rule binds x and then fails, so x must be unbound when its sibling is evaluated.
+        EndpointRuleSet ruleSet = ruleSet(regionParameters(),
+                Rule.builder()
+                        .conditions(Condition.builder().fn(StringEquals.ofExpressions(REGION, "us-east-1")).build())
+                        .treeRule(
+                                Rule.builder()
+                                        .conditions(assignX(0, 2), Condition.builder()
+                                                .fn(StringEquals.ofExpressions(X, "eu"))
+                                                .build())
+                                        .endpoint(endpoint("https://eu.example.com")),
+                                Rule.builder()
+                                        .conditions(Condition.builder()
+                                                .fn(StringEquals.ofExpressions(REGION, "us-east-1"))
+                                                .build())
+                                        .endpoint(endpoint("https://us.example.com"))));
+        ProbingEvaluator evaluator = new ProbingEvaluator();
+        Value result = evaluator.evaluateRuleSet(ruleSet, regionArgument("us-east-1"));
+
+        assertThat(result.expectEndpointValue().getUrl(), equalTo("https://us.example.com"));
+        assertThat(evaluator.probes,
+                contains(Value.emptyValue(), Value.stringValue("us"), Value.emptyValue()));
+    }
+
+    @Test
+    public void restoresShadowedValuesWhenRuleSetExits() {
+        RuleEvaluator evaluator = new RuleEvaluator(regionParameters(), regionArgument("eu-west-1"));
+        evaluator.evaluateCondition(assignX(0, 2));
+
+        EndpointRuleSet ruleSet = ruleSet(regionParameters(),
+                Rule.builder()
+                        .conditions(assignX(3, 7), Condition.builder()
+                                .fn(StringEquals.ofExpressions(X, "east"))
+                                .build())
+                        .endpoint(endpoint("https://{Region}.example.com")));
+        Value result = evaluator.evaluateRuleSet(ruleSet, regionArgument("us-east-1"));
+
+        assertThat(result.expectEndpointValue().getUrl(), equalTo("https://us-east-1.example.com"));
+        assertThat(REGION.accept(evaluator), equalTo(Value.stringValue("eu-west-1")));
+        assertThat(X.accept(evaluator), equalTo(Value.stringValue("eu")));
+    }
+
+    @Test
+    public void restoresValuesWhenEvaluationFails() {
+        RuleEvaluator evaluator = new RuleEvaluator(regionParameters(), regionArgument("eu-west-1"));
+        evaluator.evaluateCondition(assignX(0, 2));
+
+        // No rule inside of the tree rule matches, so evaluation fails after x has been rebound.
+        EndpointRuleSet ruleSet = ruleSet(regionParameters(),
+                Rule.builder()
+                        .conditions(assignX(3, 7))
+                        .treeRule(Rule.builder()
+                                .conditions(Condition.builder().fn(StringEquals.ofExpressions(X, "west")).build())
+                                .endpoint(endpoint("https://west.example.com"))));
+
+        assertThrows(RuntimeException.class,
+                () -> evaluator.evaluateRuleSet(ruleSet, regionArgument("us-east-1")));
+        assertThat(REGION.accept(evaluator), equalTo(Value.stringValue("eu-west-1")));
+        assertThat(X.accept(evaluator), equalTo(Value.stringValue("eu")));
+
+        Value result = evaluator.evaluateRuleSet(ruleSet, regionArgument("us-west-2"));
+        assertThat(result.expectEndpointValue().getUrl(), equalTo("https://west.example.com"));
+    }
+
+    @Test
+    public void reusesEvaluatorAcrossRuleSets() {
+        EndpointRuleSet regional = ruleSet(regionParameters(),
+                Rule.builder()
+                        .conditions(assignX(0, 2), Condition.builder()
+                                .fn(StringEquals.ofExpressions(X, "us"))
+                                .build())
+                        .endpoint(endpoint("https://{Region}.example.com")));
+        EndpointRuleSet bucketed = ruleSet(
+                Parameters.builder()
+                        .addParameter(stringParameter("Bucket"))
+                        .addParameter(stringParameter("Region"))
+                        .build(),
+                Rule.builder()
+                        .conditions(Condition.builder()
+                                .fn(StringEquals.ofExpressions(Expression.getReference("Bucket"), "b"))
+                                .build())
+                        .endpoint(endpoint("https://{Bucket}.{Region}.example.com")));
+        ProbingEvaluator evaluator = new ProbingEvaluator();
+
+        Value first = evaluator.evaluateRuleSet(regional, regionArgument("us-east-1"));
+        Value second = evaluator.evaluateRuleSet(bucketed,
+                MapUtils.of(Identifier.of("Bucket"),
+                        Value.stringValue("b"),
+                        Identifier.of("Region"),
+                        Value.stringValue("us-west-2")));
+        Value third = evaluator.evaluateRuleSet(regional, regionArgument("us-east-2"));
+
+        assertThat(first.expectEndpointValue().getUrl(), equalTo("https://us-east-1.example.com"));
+        assertThat(second.expectEndpointValue().getUrl(), equalTo("https://b.us-west-2.example.com"));
+        assertThat(third.expectEndpointValue().getUrl(), equalTo("https://us-east-2.example.com"));
+        // x is only bound while evaluating the rule of the first rule-set that assigns it.
+        assertThat(evaluator.probes,
+                contains(Value.stringValue("us"), Value.emptyValue(), Value.stringValue("us")));
+    }
+
+    @Test
+    public void resolvesSlotsOncePerRuleSetAndBindsReferences() {
+        Condition isUsEast = Condition.builder().fn(StringEquals.ofExpressions(REGION, "us-east-1")).build();
+        EndpointRuleSet ruleSet = ruleSet(bucketParameters(),
+                Rule.builder().conditions(isUsEast).endpoint(endpoint("https://us.example.com")));
+        VariableSlots slots = VariableSlots.of(ruleSet);
+
+        assertThat(VariableSlots.of(ruleSet), sameInstance(slots));
+        assertThat(REGION.getBoundSlot(slots), equalTo(1));
+
+        List<Condition> conditions = Collections.singletonList(isUsEast);
+        List<Rule> results = Collections.singletonList(Rule.builder().endpoint(endpoint("https://{Region}")));
+        Parameters parameters = regionParameters();
+        VariableSlots bddSlots = VariableSlots.of(parameters, conditions, results);
+
+        assertThat(VariableSlots.of(parameters, conditions, results), sameInstance(bddSlots));
+        assertThat(VariableSlots.of(regionParameters(), conditions, results), not(sameInstance(bddSlots)));
+    }
+
+    @Test
+    public void evaluatesReferencesSharedByRuleSetsWithOtherSlots() {
+        // Region takes the first slot of one rule-set and the second slot of the other, but the rule-sets share the
+        // same reference to it.
+        Rule rule = Rule.builder()
+                .conditions(Condition.builder().fn(StringEquals.ofExpressions(REGION, "us-east-1")).build())
+                .endpoint(endpoint("https://us.example.com"));
+        EndpointRuleSet regional = ruleSet(regionParameters(), rule);
+        EndpointRuleSet bucketed = ruleSet(bucketParameters(), rule);
+        Map<Identifier, Value> bucketArguments = MapUtils.of(Identifier.of("Bucket"),
+                Value.stringValue("b"),
+                Identifier.of("Region"),
+                Value.stringValue("us-east-1"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(RuleEvaluator.evaluate(regional, regionArgument("us-east-1")).expectEndpointValue().getUrl(),
+                    equalTo("https://us.example.com"));
+            assertThat(RuleEvaluator.evaluate(bucketed, bucketArguments).expectEndpointValue().getUrl(),
+                    equalTo("https://us.example.com"));
+        }
+    }
+
+    @Test
+    public void bindsConditionResultsWithoutRuleSet() {
+        RuleEvaluator evaluator = new RuleEvaluator(regionParameters(), regionArgument("us-east-1"));
+
+        assertThat(X.accept(evaluator), equalTo(Value.emptyValue()));
+        assertThat(evaluator.evaluateCondition(assignX(0, 2)), equalTo(Value.stringValue("us")));
+        assertThat(X.accept(evaluator), equalTo(Value.stringValue("us")));
+        assertThat(evaluator.evaluateCondition(assignX(3, 7)), equalTo(Value.stringValue("east")));
+        assertThat(X.accept(evaluator), equalTo(Value.stringValue("east")));
+        assertThat(REGION.accept(evaluator), equalTo(Value.stringValue("us-east-1")));
+    }
+
+    @Test
+    public void callsSharedFunctionsOncePerBddResolution() {
+        CountingDefinition echo = new CountingDefinition();
+        FunctionNode node = FunctionNode.ofExpressions(CountingDefinition.ID, SourceLocation.none(), REGION);
+        LibraryFunction call = echo.createFunction(node);
+        List<Condition> conditions = Arrays.asList(
+                Condition.builder().fn(IsSet.ofExpressions(call)).build(),
+                Condition.builder().fn(call).result("value").build());
+        Bdd bdd = new Bdd(2, 2, 1, 3, consumer -> {
+            consumer.accept(-1, 1, -1);
+            consumer.accept(0, 3, -1);
+            consumer.accept(1, Bdd.RESULT_OFFSET, -1);
+        });
+        List<Rule> results = Collections.singletonList(Rule.builder().error(Expression.getReference("value")));
+        Parameters parameters = regionParameters();
+
+        Value first = RuleEvaluator.evaluate(bdd, parameters, conditions, results, regionArgument("us-east-1"));
+        assertThat(first, equalTo(Value.stringValue("us-east-1")));
+        assertThat(echo.calls, equalTo(1));
+
+        Value second = RuleEvaluator.evaluate(bdd, parameters, conditions, results, regionArgument("us-west-2"));
+        assertThat(second, equalTo(Value.stringValue("us-west-2")));
+        assertThat(echo.calls, equalTo(2));
+    }
+
+    @Test
+    public void rebindingVariablesInvalidatesMemoizedCalls() {
+        CountingDefinition echo = new CountingDefinition();
+        FunctionNode node = FunctionNode.ofExpressions(CountingDefinition.ID, SourceLocation.none(), X);
+        LibraryFunction call = echo.createFunction(node);
+        // x is bound to "us", read by the call, then rebound to "east" before the call is made again.
+        List<Condition> conditions = Arrays.asList(
+                assignX(0, 2),
+                Condition.builder().fn(IsSet.ofExpressions(call)).build(),
+                assignX(3, 7),
+                Condition.builder().fn(call).result("value").build());
+        Bdd bdd = new Bdd(2, 4, 1, 5, consumer -> {
+            consumer.accept(-1, 1, -1);
+            consumer.accept(0, 3, -1);
+            consumer.accept(1, 4, -1);
+            consumer.accept(2, 5, -1);
+            consumer.accept(3, Bdd.RESULT_OFFSET, -1);
+        });
+        List<Rule> results = Collections.singletonList(Rule.builder().error(Expression.getReference("value")));
+        Parameters parameters = regionParameters();
+
+        Value result = RuleEvaluator.evaluate(bdd, parameters, conditions, results, regionArgument("us-east-1"));
+
+        assertThat(result, equalTo(Value.stringValue("east")));
+        assertThat(echo.calls, equalTo(2));
+    }
+
+    private static Condition assignX(int start, int stop) {
+        return Condition.builder().fn(Substring.ofExpressions(REGION, start, stop, false)).result("x").build();
+    }
+
+    private static Parameter stringParameter(String name) {
+        return Parameter.builder().name(name).type(ParameterType.STRING).required(true).build();
+    }
+
+    private static Parameters regionParameters() {
+        return Parameters.builder().addParameter(stringParameter("Region")).build();
+    }
+
+    private static Parameters bucketParameters() {
+        return Parameters.builder()
+                .addParameter(stringParameter("Bucket"))
+                .addParameter(stringParameter("Region"))
+                .build();
+    }
+
+    private static Map<Identifier, Value> regionArgument(String region) {
+        return MapUtils.of(Identifier.of("Region"), Value.stringValue(region));
+    }
+
+    private static Endpoint endpoint(String url) {
+        return Endpoint.builder().url(Expression.of(url)).build();
+    }
+
+    private static EndpointRuleSet ruleSet(Parameters parameters, Rule rule) {
+        return EndpointRuleSet.builder().version("1.3").parameters(parameters).addRule(rule).build();
+    }
+
+    // Records the value bound to x each time stringEquals is evaluated.
+    private static final class ProbingEvaluator extends RuleEvaluator {
+        private final List<Value> probes = new ArrayList<>();
+
+        @Override
+        public Value visitStringEquals(Expression left, Expression right) {
+            probes.add(X.accept(this));
+            return super.visitStringEquals(left, right);
+        }
+    }
+
+    // Returns its string argument and counts how many times it was called.
+    private static final class CountingDefinition implements FunctionDefinition {
+        private static final String ID = "echo";
+        private int calls;
+
+        @Override
+        public String getId() {
+            return ID;
+        }
+
+        @Override
+        public List<Type> getArguments() {
+            return Collections.singletonList(Type.stringType());
+        }
+
+        @Override
+        public Type getReturnType() {
+            return Type.stringType();
+        }
+
+        @Override
+        public Value evaluate(List<Value> arguments) {
+            calls++;
+            return arguments.get(0);
+        }
+
+        @Override
+        public LibraryFunction createFunction(FunctionNode functionNode) {
+            return new LibraryFunction(this, functionNode) {
+                @Override
+                public <R> R accept(ExpressionVisitor<R> visitor) {
+                    return visitor.visitLibraryFunction(definition, getArguments());
+                }
+            };
+        }
+    }
+}
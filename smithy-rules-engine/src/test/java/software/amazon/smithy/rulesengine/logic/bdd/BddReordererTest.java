@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.logic.bdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.ParameterType;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.EndpointRule;
+import software.amazon.smithy.rulesengine.logic.TestHelpers;
+import software.amazon.smithy.rulesengine.logic.cfg.Cfg;
+
+class BddReordererTest {
+
+    // (A1 && B1) || (A2 && B2) || (A3 && B3), which is much larger when the As come before the Bs.
+    private static Cfg createCfg() {
+        Parameters.Builder params = Parameters.builder();
+        EndpointRuleSet.Builder ruleSet = EndpointRuleSet.builder();
+        for (int i = 1; i <= 3; i++) {
+            params.addParameter(Parameter.builder().name("A" + i).type(ParameterType.STRING).build());
+            params.addParameter(Parameter.builder().name("B" + i).type(ParameterType.STRING).build());
+            ruleSet.addRule(EndpointRule.builder()
+                    .conditions(Condition.builder().fn(TestHelpers.isSet("A" + i)).build(),
+                            Condition.builder().fn(TestHelpers.isSet("B" + i)).build())
+                    .endpoint(TestHelpers.endpoint("https://example" + i + ".com")));
+        }
+        return Cfg.from(ruleSet.parameters(params.build()).build());
+    }
+
+    private static Bdd compile(Cfg cfg, List<Condition> order) {
+        return new BddCompiler(cfg, OrderingStrategy.fixed(order), new BddBuilder()).compile();
+    }
+
+    private static List<Condition> getOrder(BddReorderer reorderer, List<Condition> variables) {
+        List<Condition> order = new ArrayList<>();
+        for (int level = 0; level < variables.size(); level++) {
+            order.add(variables.get(reorderer.getVariable(level)));
+        }
+        return order;
+    }
+
+    @Test
+    void sizeMatchesCompiledBdd() {
+        Cfg cfg = createCfg();
+        List<Condition> order = Arrays.asList(cfg.getConditions());
+        Bdd bdd = compile(cfg, order);
+        BddReorderer reorderer = new BddReorderer(bdd);
+
+        assertEquals(bdd.getNodeCount() - 1, reorderer.size());
+    }
+
+    @Test
+    void swapsProduceSameSizeAsRecompiling() {
+        Cfg cfg = createCfg();
+        List<Condition> variables = Arrays.asList(cfg.getConditions());
+        BddReorderer reorderer = new BddReorderer(compile(cfg, variables));
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200; i++) {
+            reorderer.swap(random.nextInt(variables.size() - 1));
+            Bdd recompiled = compile(cfg, getOrder(reorderer, variables));
+
+            assertEquals(recompiled.getNodeCount() - 1, reorderer.size());
+        }
+    }
+
+    @Test
+    void swappingTwiceRestoresOrder() {
+        Cfg cfg = createCfg();
+        List<Condition> variables = Arrays.asList(cfg.getConditions());
+        BddReorderer reorderer = new BddReorderer(compile(cfg, variables));
+        int size = reorderer.size();
+
+        reorderer.swap(2);
+        reorderer.swap(2);
+
+        assertEquals(size, reorderer.size());
+        assertEquals(variables, getOrder(reorderer, variables));
+    }
+
+    @Test
+    void siftsToSmallestPosition() {
+        Cfg cfg = createCfg();
+        List<Condition> variables = Arrays.asList(cfg.getConditions());
+        BddReorderer reorderer = new BddReorderer(compile(cfg, variables));
+        int variable = reorderer.getVariable(0);
+
+        int smallest = Integer.MAX_VALUE;
+        for (int position = 0; position < variables.size(); position++) {
+            List<Condition> order = new ArrayList<>(getOrder(reorderer, variables));
+            order.add(position, order.remove(0));
+            smallest = Math.min(smallest, compile(cfg, order).getNodeCount() - 1);
+        }
+
+        int level = reorderer.sift(0, 0, variables.size() - 1);
+
+        assertEquals(level, reorderer.getLevel(variable));
+        assertEquals(smallest, reorderer.size());
+        assertEquals(compile(cfg, getOrder(reorderer, variables)).getNodeCount() - 1, reorderer.size());
+    }
+
+    @Test
+    void rejectsComplementedReferences() {
+        Bdd bdd = new Bdd(3, 2, 1, 3, new int[] {-1, 1, -1, 1, 1, -1, 0, -2, 1});
+
+        assertThrows(IllegalArgumentException.class, () -> new BddReorderer(bdd));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package software.amazon.smithy.rulesengine.logic.bdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.IsSet;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.LibraryFunction;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.ParseUrl;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.StringEquals;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.Substring;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+
+class CommonSubexpressionsTest {
+
+    private static final Expression ENDPOINT = Expression.getReference(Identifier.of("Endpoint"));
+    private static final Expression BUCKET = Expression.getReference(Identifier.of("Bucket"));
+
+    @Test
+    void sharesEqualNestedCalls() {
+        List<Condition> conditions = Arrays.asList(
+                Condition.builder().fn(ParseUrl.ofExpressions(ENDPOINT)).result("url").build(),
+                Condition.builder()
+                        .fn(StringEquals.ofExpressions(
+                                GetAttr.ofExpressions(ParseUrl.ofExpressions(ENDPOINT), "scheme"),
+                                "https"))
+                        .build(),
+                Condition.builder()
+                        .fn(StringEquals.ofExpressions(Substring.ofExpressions(BUCKET, 0, 6, true), "--x-s3"))
+                        .build(),
+                Condition.builder()
+                        .fn(StringEquals.ofExpressions(Substring.ofExpressions(BUCKET, 0, 6, true), "--op-s3"))
+                        .build());
+
+        List<Condition> shared = CommonSubexpressions.share(conditions);
+
+        assertEquals(conditions, shared);
+        assertEquals(Identifier.of("url"), shared.get(0).getResult().get());
+
+        LibraryFunction parseUrl = shared.get(0).getFunction();
+        LibraryFunction getAttr = (LibraryFunction) shared.get(1).getFunction().getArguments().get(0);
+        assertSame(parseUrl, getAttr.getArguments().get(0));
+        assertSame(shared.get(2).getFunction().getArguments().get(0),
+                shared.get(3).getFunction().getArguments().get(0));
+    }
+
+    @Test
+    void returnsSameListWhenNothingIsShared() {
+        List<Condition> conditions = Arrays.asList(
+                Condition.builder().fn(IsSet.ofExpressions(ENDPOINT)).build(),
+                Condition.builder().fn(IsSet.ofExpressions(BUCKET)).build());
+
+        assertSame(conditions, CommonSubexpressions.share(conditions));
+    }
+}